@@ -0,0 +1,125 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Learns how many requests can be in flight before they start to queue, in the style of TCP Vegas:
+ * the lowest latency seen approximates the latency without load, and {@code limit * (1 - noLoad / rtt)}
+ * estimates how many of the in-flight requests are waiting, e.g. for a Hikari connection. While that
+ * queue is short the limit grows, once it exceeds a few requests the limit shrinks. The no-load
+ * latency is kept per endpoint, as a cached read and a PDF render differ by orders of magnitude, and
+ * re-measured every few dozen limits' worth of samples, so a database that stays slower does not pin
+ * the limit at its minimum.
+ *
+ * <p>Priority requests may exceed the limit by a quarter, so the gateway's health checks still
+ * get through while regular traffic fills the limit.
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private static final int PROBE_MULTIPLIER = 30;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    // Guarded by this
+    private final Map<String, Baseline> baselines = new HashMap<>();
+
+    private static final class Baseline {
+        long noLoadRttNanos;
+        long samplesUntilProbe;
+    }
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Expected 1 <= min-limit <= max-limit, got " + minLimit + " and " + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Admits a request if the limit allows it; admitted requests must call one of the release methods.
+     */
+    public boolean tryAcquire(boolean priority) {
+        int current = getLimit();
+        int max = priority ? current + Math.max(1, current / 4) : current;
+        while (true) {
+            int admitted = inFlight.get();
+            if (admitted >= max) {
+                return false;
+            }
+            if (inFlight.compareAndSet(admitted, admitted + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Releases a request to {@code endpoint} that completed after {@code rttNanos} and adjusts the
+     * limit to its latency.
+     */
+    public void release(String endpoint, long rttNanos) {
+        int admitted = inFlight.getAndDecrement();
+        onSample(endpoint, rttNanos, admitted);
+    }
+
+    /**
+     * Releases a request whose latency says nothing about the backend, e.g. one that went async.
+     */
+    public void releaseWithoutSample() {
+        inFlight.decrementAndGet();
+    }
+
+    synchronized void onSample(String endpoint, long rttNanos, int admitted) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        Baseline baseline = baselines.computeIfAbsent(endpoint, e -> new Baseline());
+        if (--baseline.samplesUntilProbe <= 0) {
+            baseline.samplesUntilProbe = nextProbe();
+            baseline.noLoadRttNanos = rttNanos;
+            return;
+        }
+        if (rttNanos < baseline.noLoadRttNanos) {
+            baseline.noLoadRttNanos = rttNanos;
+            return;
+        }
+
+        double current = limit;
+        double log = Math.max(1, Math.log10(current));
+        double queued = Math.ceil(current * (1 - (double) baseline.noLoadRttNanos / rttNanos));
+        double next;
+        if (queued > 6 * log) {
+            next = current - log;
+        } else if (2 * admitted < current) {
+            // Too little traffic to tell whether a higher limit would still be healthy
+            return;
+        } else if (queued <= log) {
+            next = current + 6 * log;
+        } else if (queued < 3 * log) {
+            next = current + log;
+        } else {
+            return;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, next));
+    }
+
+    // Jittered, so instances behind the same database do not probe in lockstep
+    private long nextProbe() {
+        return (long) (PROBE_MULTIPLIER * limit * ThreadLocalRandom.current().nextDouble(0.5, 1.0));
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
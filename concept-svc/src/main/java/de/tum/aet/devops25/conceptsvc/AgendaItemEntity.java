@@ -2,6 +2,8 @@ package de.tum.aet.devops25.conceptsvc;
 
 import java.util.UUID;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -17,6 +19,7 @@ import jakarta.validation.constraints.NotBlank;
 
 @Entity
 @Table(name = "agenda_items")
+@DynamicUpdate
 public class AgendaItemEntity {
 
     @Id
@@ -34,6 +34,16 @@ public class AgendaItemMapper {
         return entity;
     }
 
+    // DTO → existing Entity, in place: the row keeps its id and is only updated if a value changed
+    public static void updateEntity(AgendaItemEntity entity, AgendaItem dto) {
+        entity.setTime(dto.getTime());
+        entity.setTitle(dto.getTitle());
+        entity.setDescription(dto.getDescription());
+        entity.setType(dto.getType() != null ? AgendaItemType.valueOf(dto.getType().getValue()) : null);
+        entity.setSpeaker(dto.getSpeaker());
+        entity.setDuration(dto.getDuration());
+    }
+
     // Entity → DTO
     public static AgendaItem toDto(AgendaItemEntity entity) {
         if (entity == null) {
@@ -0,0 +1,43 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.io.IOException;
+
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Measures the bytes a request allocates on its servlet thread while allocation profiling is on
+ * (see {@link AllocationProfiler}), tagged with the route pattern like {@code http.server.requests}.
+ * Work handed to other threads, e.g. streamed response bodies or PDF rendering, is not included.
+ */
+public class AllocationMetricsFilter extends OncePerRequestFilter {
+
+    private final AllocationProfiler profiler;
+
+    public AllocationMetricsFilter(AllocationProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        if (!profiler.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        long before = profiler.currentThreadAllocatedBytes();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long allocated = profiler.currentThreadAllocatedBytes() - before;
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            profiler.record(request.getMethod(), pattern != null ? pattern.toString() : "UNKNOWN", allocated);
+        }
+    }
+}
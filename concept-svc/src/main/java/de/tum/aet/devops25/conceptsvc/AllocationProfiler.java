@@ -0,0 +1,73 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.lang.management.ManagementFactory;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Measures the heap bytes allocated by request threads with
+ * {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()} and publishes them by
+ * endpoint as {@code http.server.requests.allocated}. Off by default and switched at runtime
+ * through the {@code allocation} actuator endpoint; while off, requests are not measured at all.
+ * On JVMs without per-thread allocation accounting it stays off.
+ */
+public class AllocationProfiler {
+
+    private static final double KIB = 1024;
+    private static final double MIB = 1024 * KIB;
+    // A cached read allocates tens of KiB, a PDF render tens of MiB; a full percentile histogram
+    // would add about 70 series per endpoint
+    private static final double[] BUCKETS = {64 * KIB, 256 * KIB, MIB, 4 * MIB, 16 * MIB, 64 * MIB, 256 * MIB};
+
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final MeterRegistry meterRegistry;
+    private volatile boolean enabled;
+
+    public AllocationProfiler(MeterRegistry meterRegistry, boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.threadBean = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() ? bean : null;
+        setEnabled(enabled);
+    }
+
+    public boolean isSupported() {
+        return threadBean != null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switches measuring on or off; has no effect when the JVM cannot measure allocations.
+     *
+     * @return whether requests are measured from now on
+     */
+    public boolean setEnabled(boolean enabled) {
+        if (enabled && isSupported() && !threadBean.isThreadAllocatedMemoryEnabled()) {
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+        }
+        this.enabled = enabled && isSupported();
+        return this.enabled;
+    }
+
+    /**
+     * Bytes allocated by the current thread so far; only differences between two calls on the same
+     * thread are meaningful.
+     */
+    long currentThreadAllocatedBytes() {
+        return threadBean.getCurrentThreadAllocatedBytes();
+    }
+
+    void record(String method, String uri, long bytes) {
+        DistributionSummary.builder("http.server.requests.allocated")
+                .description("Heap bytes allocated while handling a request")
+                .baseUnit("bytes")
+                .tag("method", method)
+                .tag("uri", uri)
+                .serviceLevelObjectives(BUCKETS)
+                .register(meterRegistry)
+                .record(bytes);
+    }
+}
@@ -0,0 +1,37 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Wires per-endpoint allocation profiling: {@link AllocationMetricsFilter} around every request and
+ * the {@code allocation} actuator endpoint that switches it.
+ */
+@Configuration
+public class AllocationProfilingConfig {
+
+    @Bean
+    public AllocationProfiler allocationProfiler(MeterRegistry meterRegistry,
+            @Value("${concept.allocation-profiling.enabled:false}") boolean enabled) {
+        return new AllocationProfiler(meterRegistry, enabled);
+    }
+
+    @Bean
+    public AllocationProfilingEndpoint allocationProfilingEndpoint(AllocationProfiler profiler) {
+        return new AllocationProfilingEndpoint(profiler);
+    }
+
+    @Bean
+    public FilterRegistrationBean<AllocationMetricsFilter> allocationMetricsFilter(AllocationProfiler profiler) {
+        FilterRegistrationBean<AllocationMetricsFilter> registration = new FilterRegistrationBean<>(
+                new AllocationMetricsFilter(profiler));
+        // Outermost, so security and SQL instrumentation are part of the request's allocations
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,32 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+/**
+ * {@code /actuator/allocation}: GET shows whether allocation profiling is on, POST
+ * {@code {"enabled": true}} switches it at runtime.
+ */
+@Endpoint(id = "allocation")
+public class AllocationProfilingEndpoint {
+
+    private final AllocationProfiler profiler;
+
+    public AllocationProfilingEndpoint(AllocationProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @ReadOperation
+    public Map<String, Object> status() {
+        return Map.of("enabled", profiler.isEnabled(), "supported", profiler.isSupported());
+    }
+
+    @WriteOperation
+    public Map<String, Object> configure(boolean enabled) {
+        profiler.setEnabled(enabled);
+        return status();
+    }
+}
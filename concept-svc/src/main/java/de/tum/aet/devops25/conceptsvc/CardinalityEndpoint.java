@@ -0,0 +1,90 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.HistogramSupport;
+
+/**
+ * {@code /actuator/cardinality}: the series each meter currently contributes to a Prometheus scrape,
+ * largest first, with the distinct values per tag and the tags capped by
+ * {@link CardinalityLimitFilter}.
+ */
+@Endpoint(id = "cardinality")
+public class CardinalityEndpoint {
+
+    private final MeterRegistry meterRegistry;
+    private final CardinalityLimitFilter limitFilter;
+
+    public CardinalityEndpoint(MeterRegistry meterRegistry, CardinalityLimitFilter limitFilter) {
+        this.meterRegistry = meterRegistry;
+        this.limitFilter = limitFilter;
+    }
+
+    public record MeterSeries(String name, String type, int meters, long series, Map<String, Integer> tagValues,
+            List<String> cappedTags) {
+    }
+
+    public record Report(long totalSeries, int maxTagValues, List<MeterSeries> meters) {
+    }
+
+    @ReadOperation
+    public Report report() {
+        Map<String, List<Meter>> byName = meterRegistry.getMeters().stream()
+                .collect(Collectors.groupingBy(meter -> meter.getId().getName()));
+        Map<String, List<String>> capped = new HashMap<>();
+        for (CardinalityLimitFilter.TagKey tagKey : limitFilter.capped()) {
+            capped.computeIfAbsent(tagKey.meter(), k -> new ArrayList<>()).add(tagKey.tag());
+        }
+        List<MeterSeries> meters = new ArrayList<>();
+        for (Map.Entry<String, List<Meter>> entry : byName.entrySet()) {
+            Map<String, Set<String>> values = new TreeMap<>();
+            long series = 0;
+            for (Meter meter : entry.getValue()) {
+                series += series(meter);
+                for (Tag tag : meter.getId().getTags()) {
+                    values.computeIfAbsent(tag.getKey(), k -> new HashSet<>()).add(tag.getValue());
+                }
+            }
+            Map<String, Integer> tagValues = new LinkedHashMap<>();
+            values.forEach((key, distinct) -> tagValues.put(key, distinct.size()));
+            meters.add(new MeterSeries(entry.getKey(), entry.getValue().get(0).getId().getType().name(),
+                    entry.getValue().size(), series, tagValues,
+                    capped.getOrDefault(entry.getKey(), List.of()).stream().sorted().toList()));
+        }
+        meters.sort(Comparator.comparingLong(MeterSeries::series).reversed().thenComparing(MeterSeries::name));
+        return new Report(meters.stream().mapToLong(MeterSeries::series).sum(), limitFilter.getMaxTagValues(), meters);
+    }
+
+    // Series in the Prometheus format: one per measurement (count, sum, max, ...), plus one per
+    // histogram bucket (and +Inf) and per client-side percentile
+    static long series(Meter meter) {
+        long series = 0;
+        for (var ignored : meter.measure()) {
+            series++;
+        }
+        if (meter instanceof HistogramSupport histogram) {
+            HistogramSnapshot snapshot = histogram.takeSnapshot();
+            if (snapshot.histogramCounts().length > 0) {
+                series += snapshot.histogramCounts().length + 1;
+            }
+            series += snapshot.percentileValues().length;
+        }
+        return series;
+    }
+}
@@ -0,0 +1,142 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.tum.aet.devops25.api.generated.model.BatchItemResult;
+import de.tum.aet.devops25.api.generated.model.BatchOperationResponse;
+import de.tum.aet.devops25.api.generated.model.Concept;
+import de.tum.aet.devops25.api.generated.model.CreateConceptRequest;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Set-based create, status change and delete for many concepts at once.
+ * Each call runs in one transaction; inserts are grouped by Hibernate's JDBC batching
+ * and updates/deletes are issued as a single IN-list statement per table.
+ */
+@Service
+public class ConceptBatchService {
+
+    private final ConceptRepository conceptRepository;
+    private final Validator validator;
+    private final ConceptOutbox conceptOutbox;
+
+    public ConceptBatchService(ConceptRepository conceptRepository, Validator validator, ConceptOutbox conceptOutbox) {
+        this.conceptRepository = conceptRepository;
+        this.validator = validator;
+        this.conceptOutbox = conceptOutbox;
+    }
+
+    @Transactional
+    public BatchOperationResponse createConcepts(List<CreateConceptRequest> requests, UUID userId) {
+        List<BatchItemResult> results = new ArrayList<>(requests.size());
+        List<ConceptEntity> valid = new ArrayList<>();
+        List<BatchItemResult> pending = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            BatchItemResult result = new BatchItemResult().index(i);
+            results.add(result);
+            try {
+                ConceptEntity entity = ConceptMapper.fromCreateRequest(requests.get(i), userId);
+                Set<ConstraintViolation<ConceptEntity>> violations = validator.validate(entity);
+                if (!violations.isEmpty()) {
+                    result.result(BatchItemResult.ResultEnum.FAILED).error(describe(violations));
+                    continue;
+                }
+                valid.add(entity);
+                pending.add(result);
+            } catch (IllegalArgumentException e) {
+                result.result(BatchItemResult.ResultEnum.FAILED).error(e.getMessage());
+            }
+        }
+
+        // saveAll + hibernate.jdbc.batch_size turns this into batched INSERTs per table
+        List<ConceptEntity> saved = conceptRepository.saveAll(valid);
+        conceptRepository.flush();
+        for (int i = 0; i < saved.size(); i++) {
+            ConceptEntity entity = saved.get(i);
+            Concept dto = ConceptMapper.toDto(entity);
+            pending.get(i)
+                    .result(BatchItemResult.ResultEnum.CREATED)
+                    .conceptId(entity.getId())
+                    .concept(dto);
+            conceptOutbox.append(ConceptChangeType.CREATED, entity.getId(), userId, entity.getVersion(),
+                    entity.getStatus(), ConceptOutbox.changedFields(null, dto));
+        }
+
+        return toResponse(results);
+    }
+
+    @Transactional
+    public BatchOperationResponse changeStatus(List<UUID> conceptIds, ConceptStatus status, UUID userId) {
+        Set<UUID> owned = findOwned(conceptIds, userId);
+        if (!owned.isEmpty()) {
+            conceptRepository.updateStatusByIdsAndUserId(owned, userId, status, OffsetDateTime.now());
+            conceptOutbox.appendAll(ConceptChangeType.UPDATED, owned, userId, status, List.of("status"));
+        }
+        return toResponse(conceptIds, owned, BatchItemResult.ResultEnum.UPDATED);
+    }
+
+    @Transactional
+    public BatchOperationResponse deleteConcepts(List<UUID> conceptIds, boolean permanent, UUID userId) {
+        Set<UUID> owned = findOwned(conceptIds, userId);
+        if (!owned.isEmpty()) {
+            if (permanent) {
+                conceptRepository.deleteCascadingByIdsAndUserId(owned, userId);
+                conceptOutbox.appendAll(ConceptChangeType.DELETED, owned, userId, null, List.of());
+            } else {
+                conceptRepository.updateStatusByIdsAndUserId(owned, userId, ConceptStatus.ARCHIVED, OffsetDateTime.now());
+                conceptOutbox.appendAll(ConceptChangeType.ARCHIVED, owned, userId, ConceptStatus.ARCHIVED,
+                        List.of("status"));
+            }
+        }
+        return toResponse(conceptIds, owned, BatchItemResult.ResultEnum.DELETED);
+    }
+
+    private Set<UUID> findOwned(List<UUID> conceptIds, UUID userId) {
+        return new HashSet<>(conceptRepository.findOwnedIds(new LinkedHashSet<>(conceptIds), userId));
+    }
+
+    private BatchOperationResponse toResponse(List<UUID> conceptIds, Set<UUID> owned, BatchItemResult.ResultEnum success) {
+        List<BatchItemResult> results = new ArrayList<>(conceptIds.size());
+        for (int i = 0; i < conceptIds.size(); i++) {
+            UUID id = conceptIds.get(i);
+            BatchItemResult result = new BatchItemResult().index(i).conceptId(id);
+            if (owned.contains(id)) {
+                result.result(success);
+            } else {
+                result.result(BatchItemResult.ResultEnum.NOT_FOUND).error("Concept not found");
+            }
+            results.add(result);
+        }
+        return toResponse(results);
+    }
+
+    private BatchOperationResponse toResponse(List<BatchItemResult> results) {
+        int failed = (int) results.stream()
+                .filter(r -> r.getResult() == BatchItemResult.ResultEnum.FAILED
+                        || r.getResult() == BatchItemResult.ResultEnum.NOT_FOUND)
+                .count();
+        return new BatchOperationResponse()
+                .results(results)
+                .succeeded(results.size() - failed)
+                .failed(failed);
+    }
+
+    private static String describe(Set<ConstraintViolation<ConceptEntity>> violations) {
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,158 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import de.tum.aet.devops25.api.generated.model.Concept;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Size-bounded, in-process LRU cache of mapped {@link Concept} DTOs keyed by (conceptId, userId).
+ * Misses for the same key are coalesced into a single load; writers either replace the entry
+ * with a newer version or invalidate it, which also detaches any load still in flight so a
+ * stale result can never be stored.
+ */
+@Component
+public class ConceptCache {
+
+    record Key(UUID conceptId, UUID userId) {
+    }
+
+    private final int maxSize;
+    private final Map<Key, Concept> entries;
+    private final Map<Key, CompletableFuture<Optional<Concept>>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Counter sizeEvictions;
+    private final Counter invalidations;
+
+    public ConceptCache(MeterRegistry meterRegistry, @Value("${concept.cache.max-size:10000}") int maxSize) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Concept> eldest) {
+                if (size() > ConceptCache.this.maxSize) {
+                    sizeEvictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+
+        this.hits = Counter.builder("concept.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("concept.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.coalesced = Counter.builder("concept.cache.requests").tag("result", "coalesced").register(meterRegistry);
+        this.sizeEvictions = Counter.builder("concept.cache.evictions").tag("cause", "size").register(meterRegistry);
+        this.invalidations = Counter.builder("concept.cache.evictions").tag("cause", "invalidation").register(meterRegistry);
+        Gauge.builder("concept.cache.size", this, ConceptCache::size).register(meterRegistry);
+        Gauge.builder("concept.cache.hit.ratio", this, ConceptCache::hitRatio).register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached concept or loads it with {@code loader}. Concurrent callers for the same
+     * key wait for the first caller's load instead of querying the database themselves.
+     * Absent concepts are not cached.
+     */
+    public Optional<Concept> get(UUID conceptId, UUID userId, Supplier<Optional<Concept>> loader) {
+        Key key = new Key(conceptId, userId);
+        Concept cached = lookup(key);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+
+        CompletableFuture<Optional<Concept>> load = new CompletableFuture<>();
+        CompletableFuture<Optional<Concept>> existing = inFlight.putIfAbsent(key, load);
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing);
+        }
+
+        misses.increment();
+        try {
+            Optional<Concept> loaded = loader.get();
+            synchronized (entries) {
+                // Only store if no writer invalidated or replaced the key while we were loading
+                if (loaded.isPresent() && inFlight.get(key) == load) {
+                    entries.put(key, loaded.get());
+                }
+            }
+            load.complete(loaded);
+            return loaded;
+        } catch (RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, load);
+        }
+    }
+
+    /**
+     * Stores the concept as written by the caller unless a newer version is already cached.
+     */
+    public void put(UUID conceptId, UUID userId, Concept concept) {
+        Key key = new Key(conceptId, userId);
+        synchronized (entries) {
+            inFlight.remove(key);
+            Concept current = entries.get(key);
+            if (current == null || version(concept) >= version(current)) {
+                entries.put(key, concept);
+            }
+        }
+    }
+
+    public void invalidate(UUID conceptId, UUID userId) {
+        Key key = new Key(conceptId, userId);
+        synchronized (entries) {
+            inFlight.remove(key);
+            if (entries.remove(key) != null) {
+                invalidations.increment();
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Concept lookup(Key key) {
+        synchronized (entries) {
+            return entries.get(key);
+        }
+    }
+
+    private double hitRatio() {
+        double total = hits.count() + misses.count() + coalesced.count();
+        return total == 0 ? 0 : (hits.count() + coalesced.count()) / total;
+    }
+
+    private static int version(Concept concept) {
+        return concept.getVersion() != null ? concept.getVersion() : 0;
+    }
+
+    private static Optional<Concept> join(CompletableFuture<Optional<Concept>> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+
+/**
+ * Outbox row describing one committed concept change. Rows are written in the transaction of
+ * the change itself and removed by {@link ConceptChangeRelay} once a sink has accepted them.
+ */
+@Entity
+@Table(name = "concept_changes")
+public class ConceptChangeEntity {
+
+    // Pooled sequence keeps batch inserts batched; ids still grow in write order per instance
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "concept_change_seq")
+    @SequenceGenerator(name = "concept_change_seq", sequenceName = "concept_change_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false)
+    private UUID conceptId;
+
+    @Column(nullable = false)
+    private UUID userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private ConceptChangeType type;
+
+    // Concept version after the change; null when the concept no longer exists
+    private Integer version;
+
+    // Comma-separated top-level Concept field names
+    @Column(length = 255)
+    private String changedFields;
+
+    @Column(nullable = false)
+    private OffsetDateTime occurredAt;
+
+    protected ConceptChangeEntity() {
+    }
+
+    public ConceptChangeEntity(UUID conceptId, UUID userId, ConceptChangeType type, Integer version,
+            Collection<String> changedFields, OffsetDateTime occurredAt) {
+        this.conceptId = conceptId;
+        this.userId = userId;
+        this.type = type;
+        this.version = version;
+        this.changedFields = changedFields.isEmpty() ? null : String.join(",", changedFields);
+        this.occurredAt = occurredAt;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public UUID getConceptId() {
+        return conceptId;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public ConceptChangeType getType() {
+        return type;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public List<String> getChangedFields() {
+        return changedFields == null ? List.of() : Arrays.asList(changedFields.split(","));
+    }
+
+    public OffsetDateTime getOccurredAt() {
+        return occurredAt;
+    }
+}
@@ -0,0 +1,135 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import de.tum.aet.devops25.api.generated.model.ConceptChangeEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Publishes outbox records to the configured {@link ConceptChangeSink}. Every
+ * {@code concept.outbox.relay-interval} it takes the oldest {@code concept.outbox.batch-size}
+ * records, hands them to the sink and deletes them, all in one transaction: a batch is removed
+ * only after the sink accepted it, so delivery is at least once and in id order. A backlog is
+ * drained batch after batch without waiting for the next tick.
+ */
+@Component
+public class ConceptChangeRelay {
+
+    private static final Logger log = LoggerFactory.getLogger(ConceptChangeRelay.class);
+
+    private final ConceptChangeRepository conceptChangeRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Optional<ConceptChangeSink> sink;
+    private final int batchSize;
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler;
+
+    private final Counter published;
+    private final Counter failures;
+    private final Timer lag;
+
+    public ConceptChangeRelay(ConceptChangeRepository conceptChangeRepository,
+            PlatformTransactionManager transactionManager, Optional<ConceptChangeSink> sink,
+            MeterRegistry meterRegistry,
+            @Value("${concept.outbox.batch-size:100}") int batchSize,
+            @Value("${concept.outbox.relay-interval:1s}") Duration interval) {
+        this.conceptChangeRepository = conceptChangeRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.sink = sink;
+        this.batchSize = batchSize;
+        this.interval = interval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("concept-outbox-"));
+
+        this.published = Counter.builder("concept.outbox.published")
+                .description("Concept change records accepted by the sink")
+                .register(meterRegistry);
+        this.failures = Counter.builder("concept.outbox.publish.failures")
+                .description("Batches the sink rejected; they are offered again")
+                .register(meterRegistry);
+        this.lag = Timer.builder("concept.outbox.lag")
+                .description("Time from a concept change to its publication")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (sink.isPresent()) {
+            long millis = interval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::drain, millis, millis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Publishes batches until the outbox is empty or the sink fails.
+     *
+     * @return number of records published
+     */
+    public int drain() {
+        int total = 0;
+        try {
+            int count;
+            do {
+                count = publishBatch();
+                total += count;
+            } while (count == batchSize);
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Publishing concept changes failed; retrying in {}", interval, e);
+        }
+        return total;
+    }
+
+    private int publishBatch() {
+        ConceptChangeSink target = sink.orElseThrow(() -> new IllegalStateException("No concept change sink configured"));
+        Integer count = transactionTemplate.execute(status -> {
+            List<ConceptChangeEntity> batch = conceptChangeRepository.findOldestForPublishing(Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return 0;
+            }
+            target.publish(batch.stream().map(ConceptChangeRelay::toEvent).toList());
+            conceptChangeRepository.deleteAllByIdInBatch(batch.stream().map(ConceptChangeEntity::getId).toList());
+
+            OffsetDateTime now = OffsetDateTime.now();
+            batch.forEach(change -> lag.record(Duration.between(change.getOccurredAt(), now)));
+            return batch.size();
+        });
+        published.increment(count);
+        return count;
+    }
+
+    private static ConceptChangeEvent toEvent(ConceptChangeEntity change) {
+        return new ConceptChangeEvent()
+                .id(change.getId())
+                .conceptId(change.getConceptId())
+                .userId(change.getUserId())
+                .type(ConceptChangeEvent.TypeEnum.fromValue(change.getType().name()))
+                .version(change.getVersion())
+                .changedFields(change.getChangedFields())
+                .occurredAt(change.getOccurredAt());
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        scheduler.shutdownNow();
+        scheduler.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,22 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface ConceptChangeRepository extends JpaRepository<ConceptChangeEntity, Long> {
+
+    // Oldest pending changes. Rows locked by another relay instance are skipped, so
+    // concurrent relays publish disjoint batches instead of waiting on each other.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT c FROM ConceptChangeEntity c ORDER BY c.id")
+    List<ConceptChangeEntity> findOldestForPublishing(Limit limit);
+}
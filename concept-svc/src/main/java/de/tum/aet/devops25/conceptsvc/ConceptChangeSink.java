@@ -0,0 +1,15 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.util.List;
+
+import de.tum.aet.devops25.api.generated.model.ConceptChangeEvent;
+
+/**
+ * Destination of published concept changes, selected with {@code concept.outbox.sink}.
+ * {@link #publish} either accepts the whole batch or throws; a failed batch stays in the
+ * outbox and is offered again, so implementations must tolerate redelivery.
+ */
+public interface ConceptChangeSink {
+
+    void publish(List<ConceptChangeEvent> batch);
+}
@@ -0,0 +1,5 @@
+package de.tum.aet.devops25.conceptsvc;
+
+public enum ConceptChangeType {
+    CREATED, UPDATED, ARCHIVED, DELETED
+}
@@ -0,0 +1,49 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Serves the cached concept context snapshot. Hand-written instead of implementing the
+ * generated {@code ContextApi}: the body is the pre-serialized snapshot, which the generated
+ * {@code ResponseEntity<Concept>} signature would re-serialize including every empty field.
+ * Documented in concept-service.yaml under the Context tag.
+ */
+@RestController
+public class ConceptContextController {
+
+    private final ConceptContextService conceptContextService;
+
+    public ConceptContextController(ConceptContextService conceptContextService) {
+        this.conceptContextService = conceptContextService;
+    }
+
+    private UUID getCurrentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return UUID.fromString((String) auth.getPrincipal());
+    }
+
+    @GetMapping(value = "/api/concepts/{conceptId}/context", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<byte[]> getConceptContext(@PathVariable UUID conceptId) {
+        UUID userId = getCurrentUserId();
+
+        Optional<ConceptContextService.Snapshot> snapshot = conceptContextService.getSnapshot(conceptId, userId);
+        if (snapshot.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // Spring answers a matching If-None-Match with 304 and drops the body
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag("v" + snapshot.get().version())
+                .body(snapshot.get().json());
+    }
+}
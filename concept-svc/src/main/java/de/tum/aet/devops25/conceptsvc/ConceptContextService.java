@@ -0,0 +1,124 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import de.tum.aet.devops25.api.generated.model.Concept;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Builds the compact concept snapshot that is handed to the AI assistant as prompt context.
+ * The snapshot is the {@link Concept} DTO without audit fields and child ids, serialized with
+ * empty values omitted. It is serialized once per concept version and kept in a size-bounded
+ * LRU; each request only runs a version lookup (which also checks ownership) and loads the
+ * concept graph when that version is not cached yet.
+ */
+@Service
+public class ConceptContextService {
+
+    record Snapshot(int version, byte[] json) {
+    }
+
+    private final ConceptRepository conceptRepository;
+    private final ObjectWriter writer;
+    private final int maxSize;
+    private final Map<UUID, Snapshot> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+
+    public ConceptContextService(ConceptRepository conceptRepository, ObjectMapper objectMapper,
+            MeterRegistry meterRegistry, @Value("${concept.context-cache.max-size:10000}") int maxSize) {
+        this.conceptRepository = conceptRepository;
+        this.writer = objectMapper.copy()
+                .setSerializationInclusion(JsonInclude.Include.NON_EMPTY)
+                .writer();
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Snapshot> eldest) {
+                return size() > ConceptContextService.this.maxSize;
+            }
+        };
+
+        this.hits = Counter.builder("concept.context.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("concept.context.cache.requests").tag("result", "miss").register(meterRegistry);
+        Gauge.builder("concept.context.cache.size", this, ConceptContextService::size).register(meterRegistry);
+    }
+
+    /**
+     * Returns the snapshot of the concept's current version, serializing it on the first request
+     * for that version. Empty if the concept does not exist or belongs to someone else.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Snapshot> getSnapshot(UUID conceptId, UUID userId) {
+        Optional<Integer> version = conceptRepository.findVersionByIdAndUserId(conceptId, userId);
+        if (version.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Snapshot cached = lookup(conceptId);
+        if (cached != null && cached.version() == version.get()) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+
+        misses.increment();
+        return conceptRepository.findByIdAndUserId(conceptId, userId).map(concept -> {
+            Snapshot snapshot = new Snapshot(versionOf(concept), serialize(concept));
+            synchronized (entries) {
+                // A slower load of an older version must not replace a newer snapshot
+                Snapshot current = entries.get(conceptId);
+                if (current == null || snapshot.version() >= current.version()) {
+                    entries.put(conceptId, snapshot);
+                }
+            }
+            return snapshot;
+        });
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private Snapshot lookup(UUID conceptId) {
+        synchronized (entries) {
+            return entries.get(conceptId);
+        }
+    }
+
+    private byte[] serialize(ConceptEntity concept) {
+        Concept context = ConceptMapper.toDto(concept);
+        // Audit fields and child ids cost tokens without helping the assistant
+        context.setUserId(null);
+        context.setCreatedAt(null);
+        context.setUpdatedAt(null);
+        context.setLastModifiedBy(null);
+        context.getAgenda().forEach(item -> item.setId(null));
+        context.getSpeakers().forEach(speaker -> speaker.setId(null));
+        try {
+            return writer.writeValueAsBytes(context);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize context of concept " + concept.getId(), e);
+        }
+    }
+
+    private static int versionOf(ConceptEntity concept) {
+        return concept.getVersion() != null ? concept.getVersion() : 0;
+    }
+}
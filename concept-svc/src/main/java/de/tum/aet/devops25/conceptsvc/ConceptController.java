@@ -1,6 +1,5 @@
 package de.tum.aet.devops25.conceptsvc;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -10,13 +9,24 @@ import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import de.tum.aet.devops25.api.generated.controller.ConceptsApi;
 import de.tum.aet.devops25.api.generated.model.ApplyConceptSuggestionRequest;
+import de.tum.aet.devops25.api.generated.model.BatchCreateConceptsRequest;
+import de.tum.aet.devops25.api.generated.model.BatchDeleteConceptsRequest;
+import de.tum.aet.devops25.api.generated.model.BatchItemResult;
+import de.tum.aet.devops25.api.generated.model.BatchOperationResponse;
+import de.tum.aet.devops25.api.generated.model.BatchStatusChangeRequest;
 import de.tum.aet.devops25.api.generated.model.Concept;
 import de.tum.aet.devops25.api.generated.model.CreateConceptRequest;
 import de.tum.aet.devops25.api.generated.model.GetUserConcepts200Response;
@@ -26,11 +36,27 @@ import de.tum.aet.devops25.api.generated.model.UpdateConceptRequest;
 public class ConceptController implements ConceptsApi {
 
     private final ConceptRepository conceptRepository;
+    private final ConceptPdfSource conceptPdfSource;
     private final PdfService pdfService;
+    private final ConceptBatchService conceptBatchService;
+    private final ConceptCache conceptCache;
+    private final PdfCache pdfCache;
+    private final PdfRenderExecutor pdfRenderExecutor;
+    private final ConceptOutbox conceptOutbox;
+    private final ObjectMapper objectMapper;
 
-    public ConceptController(ConceptRepository conceptRepository, PdfService pdfService) {
+    public ConceptController(ConceptRepository conceptRepository, ConceptPdfSource conceptPdfSource, PdfService pdfService,
+            ConceptBatchService conceptBatchService, ConceptCache conceptCache, PdfCache pdfCache,
+            PdfRenderExecutor pdfRenderExecutor, ConceptOutbox conceptOutbox, ObjectMapper objectMapper) {
         this.conceptRepository = conceptRepository;
+        this.conceptPdfSource = conceptPdfSource;
         this.pdfService = pdfService;
+        this.conceptBatchService = conceptBatchService;
+        this.conceptCache = conceptCache;
+        this.pdfCache = pdfCache;
+        this.pdfRenderExecutor = pdfRenderExecutor;
+        this.conceptOutbox = conceptOutbox;
+        this.objectMapper = objectMapper;
     }
 
     private UUID getCurrentUserId() {
@@ -38,7 +64,22 @@ public class ConceptController implements ConceptsApi {
         return UUID.fromString((String) auth.getPrincipal());
     }
 
+    // Caches must not see a change that is later rolled back
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
     @Override
+    @QueryBudget(8)
     public ResponseEntity<GetUserConcepts200Response> getUserConcepts(Integer page, Integer size, String status) {
         UUID userId = getCurrentUserId();
         Pageable pageable = PageRequest.of(page, size);
@@ -64,57 +105,37 @@ public class ConceptController implements ConceptsApi {
     }
 
     @Override
+    @Transactional
+    @QueryBudget(5)
     public ResponseEntity<Concept> createConcept(CreateConceptRequest createConceptRequest) {
         UUID userId = getCurrentUserId();
         
-        ConceptEntity entity = new ConceptEntity();
-        entity.setTitle(createConceptRequest.getTitle());
-        entity.setDescription(createConceptRequest.getDescription());
-        entity.setStatus(ConceptStatus.DRAFT);
-        entity.setUserId(userId);
-        entity.setLastModifiedBy(userId);
-        // Note: createdAt/updatedAt handled by @CreatedDate/@LastModifiedDate
-        
-        if (createConceptRequest.getTags() != null) {
-            entity.setTags(new ArrayList<>(createConceptRequest.getTags()));
-        }
-        
-        // Map initial requirements to eventDetails
-        if (createConceptRequest.getInitialRequirements() != null) {
-            EventDetailsEntity eventDetails = new EventDetailsEntity();
-            var reqs = createConceptRequest.getInitialRequirements();
-            
-            eventDetails.setCapacity(reqs.getExpectedCapacity());
-            eventDetails.setDuration(reqs.getDuration());
-            eventDetails.setTargetAudience(reqs.getTargetAudience());
-            eventDetails.setTheme(reqs.getTheme());
-            eventDetails.setStartDate(reqs.getStartDate());
-            eventDetails.setEndDate(reqs.getEndDate());
-            
-            if (reqs.getPreferredFormat() != null) {
-                eventDetails.setFormat(EventFormat.valueOf(reqs.getPreferredFormat().getValue()));
-            }
-            
-            entity.setEventDetails(eventDetails);
-        }
+        ConceptEntity entity = ConceptMapper.fromCreateRequest(createConceptRequest, userId);
         
         ConceptEntity saved = conceptRepository.save(entity);
-        return ResponseEntity.status(201).body(ConceptMapper.toDto(saved));
+        Concept dto = ConceptMapper.toDto(saved);
+        conceptOutbox.append(ConceptChangeType.CREATED, saved.getId(), userId, saved.getVersion(),
+                saved.getStatus(), ConceptOutbox.changedFields(null, dto));
+        return ResponseEntity.status(201).body(dto);
     }
 
     @Override
+    @QueryBudget(6)
     public ResponseEntity<Concept> getConceptById(UUID conceptId) {
         UUID userId = getCurrentUserId();
         
-        Optional<ConceptEntity> conceptOpt = conceptRepository.findByIdAndUserId(conceptId, userId);
-        if (conceptOpt.isEmpty()) {
+        Optional<Concept> concept = conceptCache.get(conceptId, userId,
+                () -> conceptRepository.findByIdAndUserId(conceptId, userId).map(ConceptMapper::toDto));
+        if (concept.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
         
-        return ResponseEntity.ok(ConceptMapper.toDto(conceptOpt.get()));
+        return ResponseEntity.ok().eTag(etag(concept.get().getVersion())).body(concept.get());
     }
 
     @Override
+    @Transactional
+    @QueryBudget(10)
     public ResponseEntity<Concept> updateConcept(UUID conceptId, UpdateConceptRequest updateConceptRequest) {
         UUID userId = getCurrentUserId();
         
@@ -124,6 +145,7 @@ public class ConceptController implements ConceptsApi {
         }
         
         ConceptEntity entity = conceptOpt.get();
+        Concept before = ConceptMapper.toDto(entity);
         
         // Use existing mapper method
         ConceptMapper.updateEntityFromRequest(entity, updateConceptRequest);
@@ -131,11 +153,22 @@ public class ConceptController implements ConceptsApi {
         // updatedAt handled automatically by @LastModifiedDate
         
         ConceptEntity saved = conceptRepository.save(entity);
-        return ResponseEntity.ok(ConceptMapper.toDto(saved));
+        // Flush so the response and the change record carry the incremented version
+        conceptRepository.flush();
+        Concept dto = ConceptMapper.toDto(saved);
+        List<String> changedFields = ConceptOutbox.changedFields(before, dto);
+        if (!changedFields.isEmpty()) {
+            conceptOutbox.append(ConceptChangeType.UPDATED, conceptId, userId, saved.getVersion(), saved.getStatus(),
+                    changedFields);
+        }
+        afterCommit(() -> conceptCache.put(conceptId, userId, dto));
+        return ResponseEntity.ok(dto);
     }
 
     @Override
-    public ResponseEntity<Void> deleteConcept(UUID conceptId, Boolean permanent) {
+    @Transactional
+    @QueryBudget(10)
+    public ResponseEntity<Concept> patchConcept(UUID conceptId, Object body, String ifMatch, String prefer) {
         UUID userId = getCurrentUserId();
         
         Optional<ConceptEntity> conceptOpt = conceptRepository.findByIdAndUserId(conceptId, userId);
@@ -144,15 +177,76 @@ public class ConceptController implements ConceptsApi {
         }
         
         ConceptEntity entity = conceptOpt.get();
+        if (ifMatch != null && !matchesEtag(ifMatch, entity.getVersion())) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).eTag(etag(entity.getVersion())).build();
+        }
+        
+        // The entity is managed: dirty checking writes only what the patch changed
+        List<String> changedFields = ConceptMergePatch.apply(entity, objectMapper.valueToTree(body), objectMapper);
+        Concept dto = ConceptMapper.toDto(entity);
+        if (!changedFields.isEmpty()) {
+            entity.setLastModifiedBy(userId);
+            // Flush so the response and the change record carry the incremented version
+            conceptRepository.flush();
+            dto = ConceptMapper.toDto(entity);
+            conceptOutbox.append(ConceptChangeType.UPDATED, conceptId, userId, entity.getVersion(), entity.getStatus(),
+                    changedFields);
+            Concept updated = dto;
+            afterCommit(() -> conceptCache.put(conceptId, userId, updated));
+        }
+        
+        if (prefer != null && prefer.contains("return=minimal")) {
+            return ResponseEntity.noContent()
+                    .eTag(etag(dto.getVersion()))
+                    .header("Preference-Applied", "return=minimal")
+                    .build();
+        }
+        return ResponseEntity.ok().eTag(etag(dto.getVersion())).body(dto);
+    }
+
+    private static String etag(Integer version) {
+        return "\"v" + version + "\"";
+    }
+
+    // If-Match lists one or more entity tags, or * for any current version
+    private static boolean matchesEtag(String ifMatch, Integer version) {
+        String current = etag(version);
+        for (String candidate : ifMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @Transactional
+    public ResponseEntity<Void> deleteConcept(UUID conceptId, Boolean permanent) {
+        UUID userId = getCurrentUserId();
         
+        // Ownership is enforced inside the statements; no entity is loaded
+        int affected;
         if (Boolean.TRUE.equals(permanent)) {
             // Hard delete
-            conceptRepository.delete(entity);
+            affected = conceptRepository.deleteCascadingByIdAndUserId(conceptId, userId);
         } else {
             // Soft delete - set status to ARCHIVED
-            entity.setStatus(ConceptStatus.ARCHIVED);
-            entity.setLastModifiedBy(userId);
-            conceptRepository.save(entity);
+            affected = conceptRepository.archiveByIdAndUserId(conceptId, userId);
+        }
+        afterCommit(() -> conceptCache.invalidate(conceptId, userId));
+        
+        if (affected == 0) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        if (Boolean.TRUE.equals(permanent)) {
+            conceptOutbox.append(ConceptChangeType.DELETED, conceptId, userId, null, null, List.of());
+            afterCommit(() -> pdfCache.evict(conceptId));
+        } else {
+            conceptOutbox.append(ConceptChangeType.ARCHIVED, conceptId, userId,
+                    conceptRepository.findVersionByIdAndUserId(conceptId, userId).orElse(null), ConceptStatus.ARCHIVED,
+                    List.of("status"));
         }
         
         return ResponseEntity.noContent().build();
@@ -162,22 +256,32 @@ public class ConceptController implements ConceptsApi {
     public ResponseEntity<Resource> downloadConceptPdf(UUID conceptId) {
         UUID userId = getCurrentUserId();
         
-        Optional<ConceptEntity> conceptOpt = conceptRepository.findByIdAndUserId(conceptId, userId);
+        // Loaded up front so no connection is held while the render waits for a slot
+        Optional<ConceptEntity> conceptOpt = conceptPdfSource.find(conceptId, userId);
         if (conceptOpt.isEmpty()) {
             return ResponseEntity.notFound().build();
         }
         
+        ConceptEntity concept = conceptOpt.get();
         try {
-            Resource pdfResource = pdfService.generateConceptPdf(conceptOpt.get());
+            // Rendered documents are reused until the concept's version changes
+            Resource pdfResource = pdfCache.get(conceptId, concept.getVersion(),
+                    () -> pdfRenderExecutor.execute(() -> pdfService.generateConceptPdf(concept)));
+            PdfCache.releaseAfterRequest(pdfResource);
             return ResponseEntity.ok()
                     .header("Content-Disposition", "attachment; filename=concept-" + conceptId + ".pdf")
                     .body(pdfResource);
+        } catch (PdfRenderRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", String.valueOf(e.getRetryAfterSeconds()))
+                    .build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
 
     @Override
+    @Transactional
     public ResponseEntity<Concept> applyConceptSuggestion(UUID conceptId, ApplyConceptSuggestionRequest request) {
         UUID userId = getCurrentUserId();
         
@@ -188,10 +292,48 @@ public class ConceptController implements ConceptsApi {
         
         // Mock implementation - just return existing concept with note
         ConceptEntity entity = conceptOpt.get();
+        Concept before = ConceptMapper.toDto(entity);
         entity.setNotes("AI suggestion applied (mock implementation)");
         entity.setLastModifiedBy(userId);
         
         ConceptEntity saved = conceptRepository.save(entity);
-        return ResponseEntity.ok(ConceptMapper.toDto(saved));
+        conceptRepository.flush();
+        Concept dto = ConceptMapper.toDto(saved);
+        List<String> changedFields = ConceptOutbox.changedFields(before, dto);
+        if (!changedFields.isEmpty()) {
+            conceptOutbox.append(ConceptChangeType.UPDATED, conceptId, userId, saved.getVersion(), saved.getStatus(),
+                    changedFields);
+        }
+        afterCommit(() -> conceptCache.put(conceptId, userId, dto));
+        return ResponseEntity.ok(dto);
+    }
+
+    @Override
+    public ResponseEntity<BatchOperationResponse> batchCreateConcepts(BatchCreateConceptsRequest request) {
+        UUID userId = getCurrentUserId();
+        return ResponseEntity.ok(conceptBatchService.createConcepts(request.getConcepts(), userId));
+    }
+
+    @Override
+    public ResponseEntity<BatchOperationResponse> batchUpdateConceptStatus(BatchStatusChangeRequest request) {
+        UUID userId = getCurrentUserId();
+        ConceptStatus status = ConceptStatus.valueOf(request.getStatus().getValue());
+        BatchOperationResponse response = conceptBatchService.changeStatus(request.getConceptIds(), status, userId);
+        request.getConceptIds().forEach(id -> conceptCache.invalidate(id, userId));
+        return ResponseEntity.ok(response);
+    }
+
+    @Override
+    public ResponseEntity<BatchOperationResponse> batchDeleteConcepts(BatchDeleteConceptsRequest request) {
+        UUID userId = getCurrentUserId();
+        boolean permanent = Boolean.TRUE.equals(request.getPermanent());
+        BatchOperationResponse response = conceptBatchService.deleteConcepts(request.getConceptIds(), permanent, userId);
+        request.getConceptIds().forEach(id -> conceptCache.invalidate(id, userId));
+        if (permanent) {
+            response.getResults().stream()
+                    .filter(result -> result.getResult() == BatchItemResult.ResultEnum.DELETED)
+                    .forEach(result -> pdfCache.evict(result.getConceptId()));
+        }
+        return ResponseEntity.ok(response);
     }
 } 
\ No newline at end of file
@@ -5,6 +5,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -40,6 +41,8 @@ import jakarta.validation.constraints.Size;
     @Index(name = "idx_concept_user_updated", columnList = "userId, updatedAt DESC")
 })
 @EntityListeners(AuditingEntityListener.class)
+// UPDATEs list only the changed columns; merge patches usually touch one or two
+@DynamicUpdate
 public class ConceptEntity {
 
     @Id
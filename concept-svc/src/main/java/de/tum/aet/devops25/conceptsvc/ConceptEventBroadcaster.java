@@ -0,0 +1,301 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import de.tum.aet.devops25.api.generated.model.ConceptChangeNotification;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes committed concept changes to the owner's open event streams. Streams are async
+ * requests, so an idle connection holds no thread. Events are queued per stream and written by
+ * a small sender pool, never on the committing request's thread; a stream whose queue
+ * overflows is closed and its client reconnects and refetches. Heartbeat comments keep idle
+ * connections open through proxies and detect clients that went away.
+ */
+@Component
+public class ConceptEventBroadcaster {
+
+    static final String EVENT_NAME = "concept-change";
+    // Reconnect delay advertised to clients, also used as Retry-After for refused streams
+    static final Duration RECONNECT_DELAY = Duration.ofSeconds(5);
+
+    private final ConcurrentHashMap<UUID, Set<Subscription>> subscriptions = new ConcurrentHashMap<>();
+    private final AtomicInteger connections = new AtomicInteger();
+
+    private final int maxConnections;
+    private final int maxConnectionsPerUser;
+    private final int queueCapacity;
+    private final Duration heartbeatInterval;
+    private final Duration timeout;
+    private final ExecutorService sender;
+    private final ScheduledExecutorService heartbeats;
+
+    private final Counter sent;
+    private final Counter overflows;
+    private final Counter rejectedForUser;
+    private final Counter rejectedForCapacity;
+
+    public ConceptEventBroadcaster(MeterRegistry meterRegistry,
+            @Value("${concept.events.max-connections:10000}") int maxConnections,
+            @Value("${concept.events.max-connections-per-user:10}") int maxConnectionsPerUser,
+            @Value("${concept.events.queue-capacity:256}") int queueCapacity,
+            @Value("${concept.events.heartbeat-interval:30s}") Duration heartbeatInterval,
+            @Value("${concept.events.timeout:30m}") Duration timeout,
+            @Value("${concept.events.sender-threads:2}") int senderThreads) {
+        this.maxConnections = maxConnections;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+        this.queueCapacity = queueCapacity;
+        this.heartbeatInterval = heartbeatInterval;
+        this.timeout = timeout;
+        this.sender = Executors.newFixedThreadPool(senderThreads, new CustomizableThreadFactory("concept-events-"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(
+                new CustomizableThreadFactory("concept-events-heartbeat-"));
+
+        Gauge.builder("concept.events.connections", connections, AtomicInteger::get)
+                .description("Open concept event streams")
+                .register(meterRegistry);
+        this.sent = Counter.builder("concept.events.sent")
+                .description("Concept change events written to streams")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("concept.events.overflows")
+                .description("Streams closed because the client fell too far behind")
+                .register(meterRegistry);
+        this.rejectedForUser = Counter.builder("concept.events.rejected")
+                .tag("reason", "user-limit")
+                .description("Stream requests refused")
+                .register(meterRegistry);
+        this.rejectedForCapacity = Counter.builder("concept.events.rejected")
+                .tag("reason", "capacity")
+                .description("Stream requests refused")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        long millis = heartbeatInterval.toMillis();
+        heartbeats.scheduleAtFixedRate(this::heartbeat, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a stream for the user's concept changes.
+     *
+     * @throws SubscriptionRejectedException if the user or this instance has no stream left
+     */
+    public SseEmitter subscribe(UUID userId) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            rejectedForCapacity.increment();
+            throw new SubscriptionRejectedException(HttpStatus.SERVICE_UNAVAILABLE, "Too many open event streams");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        try {
+            // Buffered until the handler returns, then written on the request thread: the response
+            // headers reach the client right away through every proxy
+            emitter.send(SseEmitter.event().reconnectTime(RECONNECT_DELAY.toMillis()).comment("connected"));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        Subscription subscription = new Subscription(userId, emitter);
+        boolean[] added = {false};
+        subscriptions.compute(userId, (id, streams) -> {
+            Set<Subscription> target = streams != null ? streams : ConcurrentHashMap.newKeySet();
+            if (target.size() < maxConnectionsPerUser) {
+                added[0] = target.add(subscription);
+            }
+            return target.isEmpty() ? null : target;
+        });
+        if (!added[0]) {
+            connections.decrementAndGet();
+            rejectedForUser.increment();
+            throw new SubscriptionRejectedException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many open event streams for this user");
+        }
+
+        emitter.onCompletion(() -> remove(subscription));
+        emitter.onTimeout(() -> {
+            // Ends the stream cleanly; the client reconnects after RECONNECT_DELAY
+            remove(subscription);
+            emitter.complete();
+        });
+        emitter.onError(error -> remove(subscription));
+        return emitter;
+    }
+
+    /**
+     * Forwards a committed change to the owner's streams; rolled back changes never arrive here.
+     */
+    @TransactionalEventListener
+    public void onConceptChange(ConceptOutbox.Change change) {
+        Set<Subscription> streams = subscriptions.get(change.userId());
+        if (streams == null || streams.isEmpty()) {
+            return;
+        }
+
+        ConceptChangeNotification notification = new ConceptChangeNotification()
+                .id(change.conceptId())
+                .type(ConceptChangeNotification.TypeEnum.fromValue(change.type().name()))
+                .version(change.version())
+                .status(change.status() != null
+                        ? ConceptChangeNotification.StatusEnum.fromValue(change.status().name())
+                        : null);
+        Outgoing event = new Outgoing(SseEmitter.event()
+                .name(EVENT_NAME)
+                .data(notification, MediaType.APPLICATION_JSON)
+                .build(), true);
+        streams.forEach(subscription -> subscription.offer(event));
+    }
+
+    public int getConnectionCount() {
+        return connections.get();
+    }
+
+    private void heartbeat() {
+        Outgoing event = new Outgoing(SseEmitter.event().comment("").build(), false);
+        subscriptions.values().forEach(streams -> streams.forEach(subscription -> subscription.offer(event)));
+    }
+
+    private void remove(Subscription subscription) {
+        boolean[] removed = {false};
+        subscriptions.computeIfPresent(subscription.userId, (id, streams) -> {
+            removed[0] = streams.remove(subscription);
+            return streams.isEmpty() ? null : streams;
+        });
+        if (removed[0]) {
+            connections.decrementAndGet();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        heartbeats.shutdownNow();
+        subscriptions.values().forEach(streams -> streams.forEach(subscription -> subscription.emitter.complete()));
+        sender.shutdown();
+        sender.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    /**
+     * A built event, shared by all streams it goes to; heartbeats are not counted as sent.
+     */
+    private record Outgoing(Set<DataWithMediaType> data, boolean change) {
+    }
+
+    private final class Subscription {
+
+        private final UUID userId;
+        private final SseEmitter emitter;
+        private final Queue<Outgoing> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+
+        Subscription(UUID userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        void offer(Outgoing event) {
+            boolean overflow;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                overflow = queue.size() >= queueCapacity;
+                if (overflow) {
+                    closed = true;
+                    queue.clear();
+                } else {
+                    queue.add(event);
+                    if (draining) {
+                        return;
+                    }
+                    draining = true;
+                }
+            }
+
+            if (overflow) {
+                overflows.increment();
+                remove(this);
+                emitter.complete();
+                return;
+            }
+            try {
+                sender.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // Shutting down; the stream is completed in shutdown()
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                Outgoing next;
+                synchronized (this) {
+                    next = closed ? null : queue.poll();
+                    if (next == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(next.data());
+                    if (next.change()) {
+                        sent.increment();
+                    }
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away or the stream ended; stop writing to it
+                    synchronized (this) {
+                        closed = true;
+                        queue.clear();
+                        draining = false;
+                    }
+                    remove(this);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * A stream request refused for lack of capacity; answered with {@link #getStatus()} and a
+     * Retry-After of {@link #RECONNECT_DELAY}.
+     */
+    public static class SubscriptionRejectedException extends RuntimeException {
+
+        private final HttpStatus status;
+
+        public SubscriptionRejectedException(HttpStatus status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        public HttpStatus getStatus() {
+            return status;
+        }
+    }
+}
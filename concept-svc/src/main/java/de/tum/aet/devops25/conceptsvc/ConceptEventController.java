@@ -0,0 +1,49 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.util.UUID;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Streams the authenticated user's concept change notifications as Server-Sent Events.
+ * Hand-written instead of implementing the generated {@code EventsApi}: the response is an
+ * {@link SseEmitter} kept open after the handler returns, which the generated
+ * {@code ResponseEntity<org.springframework.core.io.Resource>} signature cannot express.
+ * Documented in concept-service.yaml under the Events tag.
+ */
+@RestController
+public class ConceptEventController {
+
+    private final ConceptEventBroadcaster conceptEventBroadcaster;
+
+    public ConceptEventController(ConceptEventBroadcaster conceptEventBroadcaster) {
+        this.conceptEventBroadcaster = conceptEventBroadcaster;
+    }
+
+    private UUID getCurrentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return UUID.fromString((String) auth.getPrincipal());
+    }
+
+    @GetMapping(value = "/api/concepts/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> streamConceptEvents() {
+        UUID userId = getCurrentUserId();
+
+        try {
+            return ResponseEntity.ok()
+                    // Keeps buffering proxies (nginx) from holding events back
+                    .header("X-Accel-Buffering", "no")
+                    .body(conceptEventBroadcaster.subscribe(userId));
+        } catch (ConceptEventBroadcaster.SubscriptionRejectedException e) {
+            return ResponseEntity.status(e.getStatus())
+                    .header("Retry-After", String.valueOf(ConceptEventBroadcaster.RECONNECT_DELAY.toSeconds()))
+                    .build();
+        }
+    }
+}
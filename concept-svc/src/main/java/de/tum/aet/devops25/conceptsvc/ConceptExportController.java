@@ -0,0 +1,129 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.io.IOException;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import de.tum.aet.devops25.api.generated.model.PdfArchiveRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+
+/**
+ * Streaming endpoints that cannot be expressed through the generated {@code ConceptsApi}
+ * interface (which only knows buffered {@code Resource} bodies). Documented in
+ * concept-service.yaml under the Export tag.
+ */
+@RestController
+public class ConceptExportController {
+
+    static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    static final MediaType APPLICATION_ZIP = MediaType.parseMediaType("application/zip");
+
+    private final ConceptExportService conceptExportService;
+    private final ConceptPdfSource conceptPdfSource;
+    private final PdfService pdfService;
+    private final PdfCache pdfCache;
+    private final PdfRenderExecutor pdfRenderExecutor;
+    private final ConceptPdfArchiveService conceptPdfArchiveService;
+
+    public ConceptExportController(ConceptExportService conceptExportService, ConceptPdfSource conceptPdfSource,
+            PdfService pdfService, PdfCache pdfCache, PdfRenderExecutor pdfRenderExecutor,
+            ConceptPdfArchiveService conceptPdfArchiveService) {
+        this.conceptExportService = conceptExportService;
+        this.conceptPdfSource = conceptPdfSource;
+        this.pdfService = pdfService;
+        this.pdfCache = pdfCache;
+        this.pdfRenderExecutor = pdfRenderExecutor;
+        this.conceptPdfArchiveService = conceptPdfArchiveService;
+    }
+
+    private UUID getCurrentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return UUID.fromString((String) auth.getPrincipal());
+    }
+
+    @GetMapping(value = "/api/concepts/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportUserConcepts() {
+        UUID userId = getCurrentUserId();
+
+        StreamingResponseBody body = out -> conceptExportService.exportUserConcepts(userId, out);
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_NDJSON)
+                .header("Content-Disposition", "attachment; filename=concepts-export.ndjson")
+                // Ask reverse proxies not to buffer the stream
+                .header("X-Accel-Buffering", "no")
+                .body(body);
+    }
+
+    @GetMapping("/api/concepts/{conceptId}/pdf/stream")
+    public ResponseEntity<StreamingResponseBody> streamConceptPdf(@PathVariable UUID conceptId,
+            HttpServletResponse response) {
+        UUID userId = getCurrentUserId();
+
+        // Loaded up front so no connection is held while the render waits for a slot
+        Optional<ConceptEntity> conceptOpt = conceptPdfSource.find(conceptId, userId);
+        if (conceptOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        ConceptEntity concept = conceptOpt.get();
+        // iText writes pages into the response as they are laid out; nothing is buffered
+        StreamingResponseBody body = out -> {
+            try {
+                pdfCache.stream(conceptId, concept.getVersion(), out,
+                        target -> pdfRenderExecutor.run(() -> pdfService.writeConceptPdf(concept, target)));
+            } catch (IOException | RuntimeException e) {
+                // Nothing sent yet: drop the PDF headers so the error handler can answer with JSON.
+                // Otherwise the container aborts the chunked response and the client sees it fail.
+                if (!response.isCommitted()) {
+                    response.reset();
+                }
+                throw e;
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_PDF)
+                .header("Content-Disposition", "attachment; filename=concept-" + conceptId + ".pdf")
+                .header("X-Accel-Buffering", "no")
+                .body(body);
+    }
+
+    @PostMapping("/api/concepts/export/pdf")
+    public ResponseEntity<StreamingResponseBody> exportConceptPdfs(@Valid @RequestBody PdfArchiveRequest request,
+            HttpServletResponse response) {
+        UUID userId = getCurrentUserId();
+        if (request.getConceptIds() == null && request.getStatus() == null) {
+            throw new IllegalArgumentException("Either conceptIds or status is required");
+        }
+
+        ConceptStatus status = request.getStatus() != null ? ConceptStatus.valueOf(request.getStatus().getValue()) : null;
+        // Entries are written as their PDFs finish; per-concept failures end up in errors.txt
+        StreamingResponseBody body = out -> {
+            try {
+                conceptPdfArchiveService.writeArchive(userId, request.getConceptIds(), status, out);
+            } catch (IOException | RuntimeException e) {
+                // Same as streamConceptPdf: answer with JSON if nothing has been sent yet
+                if (!response.isCommitted()) {
+                    response.reset();
+                }
+                throw e;
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(APPLICATION_ZIP)
+                .header("Content-Disposition", "attachment; filename=concepts-pdf.zip")
+                .header("X-Accel-Buffering", "no")
+                .body(body);
+    }
+}
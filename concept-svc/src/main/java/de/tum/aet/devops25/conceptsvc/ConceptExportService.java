@@ -0,0 +1,78 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Writes all concepts of a user as NDJSON (one {@code Concept} DTO per line).
+ * Rows are read through a forward-only cursor and processed in chunks; the persistence
+ * context is cleared after every chunk so memory stays flat regardless of concept count.
+ */
+@Service
+public class ConceptExportService {
+
+    static final int FETCH_SIZE = 500;
+
+    private final ConceptRepository conceptRepository;
+    private final EntityManager entityManager;
+    private final ObjectWriter writer;
+
+    public ConceptExportService(ConceptRepository conceptRepository, EntityManager entityManager,
+            ObjectMapper objectMapper) {
+        this.conceptRepository = conceptRepository;
+        this.entityManager = entityManager;
+        // Flushing is done per chunk, not per line
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    @Transactional(readOnly = true)
+    public long exportUserConcepts(UUID userId, OutputStream out) throws IOException {
+        JsonGenerator generator = writer.createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(null);
+
+        long count = 0;
+        List<ConceptEntity> chunk = new ArrayList<>(FETCH_SIZE);
+        try (Stream<ConceptEntity> concepts = conceptRepository.streamByUserId(userId)) {
+            Iterator<ConceptEntity> iterator = concepts.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == FETCH_SIZE) {
+                    count += writeChunk(chunk, generator);
+                }
+            }
+            count += writeChunk(chunk, generator);
+        }
+        generator.close();
+        return count;
+    }
+
+    private int writeChunk(List<ConceptEntity> chunk, JsonGenerator generator) throws IOException {
+        // Child collections of the whole chunk are initialized together via default_batch_fetch_size
+        for (ConceptEntity entity : chunk) {
+            writer.writeValue(generator, ConceptMapper.toDto(entity));
+            generator.writeRaw('\n');
+        }
+        generator.flush();
+
+        int written = chunk.size();
+        chunk.clear();
+        entityManager.clear();
+        return written;
+    }
+}
@@ -0,0 +1,67 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.tum.aet.devops25.api.generated.model.ConceptImportEvent;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * NDJSON bulk import. Like the export, this streams in both directions and therefore
+ * lives outside the generated {@code ConceptsApi}; documented under the Export tag.
+ */
+@RestController
+public class ConceptImportController {
+
+    private final ConceptImportService conceptImportService;
+    private final ObjectMapper objectMapper;
+
+    public ConceptImportController(ConceptImportService conceptImportService, ObjectMapper objectMapper) {
+        this.conceptImportService = conceptImportService;
+        this.objectMapper = objectMapper;
+    }
+
+    private UUID getCurrentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return UUID.fromString((String) auth.getPrincipal());
+    }
+
+    @PostMapping(value = "/api/concepts/import", consumes = "application/x-ndjson", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> importConcepts(HttpServletRequest request) throws IOException {
+        UUID userId = getCurrentUserId();
+        InputStream in = request.getInputStream();
+
+        StreamingResponseBody body = out -> {
+            ConceptImportEvent summary = conceptImportService.importConcepts(userId, in, event -> {
+                try {
+                    writeEvent(out, event);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writeEvent(out, summary);
+        };
+        return ResponseEntity.ok()
+                .contentType(ConceptExportController.APPLICATION_NDJSON)
+                .header("X-Accel-Buffering", "no")
+                .body(body);
+    }
+
+    private void writeEvent(OutputStream out, ConceptImportEvent event) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(event));
+        out.write('\n');
+        out.flush();
+    }
+}
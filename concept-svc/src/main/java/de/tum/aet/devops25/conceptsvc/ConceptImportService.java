@@ -0,0 +1,185 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.tum.aet.devops25.api.generated.model.Concept;
+import de.tum.aet.devops25.api.generated.model.ConceptImportEvent;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Imports concepts from NDJSON (one {@code Concept} DTO per line, as written by
+ * {@link ConceptExportService}). Lines are parsed one at a time and persisted in chunks,
+ * each chunk in its own transaction so Hibernate can group the inserts of all five
+ * tables into JDBC batches. Invalid lines are reported and skipped; a chunk that fails
+ * on flush is retried line by line to isolate the offending rows.
+ */
+@Service
+public class ConceptImportService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final ConceptRepository conceptRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final ConceptOutbox conceptOutbox;
+
+    public ConceptImportService(ConceptRepository conceptRepository, PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper, Validator validator, ConceptOutbox conceptOutbox) {
+        this.conceptRepository = conceptRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.conceptOutbox = conceptOutbox;
+    }
+
+    /**
+     * Reads {@code in} to the end. {@code events} receives a PROGRESS event after every
+     * committed chunk and an ERROR event for every rejected line; the returned SUMMARY
+     * holds the final counters.
+     */
+    public ConceptImportEvent importConcepts(UUID userId, InputStream in, Consumer<ConceptImportEvent> events)
+            throws IOException {
+        ConceptImportEvent summary = new ConceptImportEvent()
+                .type(ConceptImportEvent.TypeEnum.SUMMARY)
+                .processed(0)
+                .imported(0)
+                .failed(0);
+        List<ImportLine> chunk = new ArrayList<>(CHUNK_SIZE);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            summary.setProcessed(summary.getProcessed() + 1);
+
+            try {
+                Concept dto = objectMapper.readValue(line, Concept.class);
+                ConceptEntity entity = toImportEntity(dto, userId);
+                Set<ConstraintViolation<ConceptEntity>> violations = validator.validate(entity);
+                if (!violations.isEmpty()) {
+                    reject(summary, lineNumber, describe(violations), events);
+                    continue;
+                }
+                chunk.add(new ImportLine(lineNumber, dto, entity));
+            } catch (JsonProcessingException e) {
+                reject(summary, lineNumber, "Malformed JSON: " + e.getOriginalMessage(), events);
+                continue;
+            } catch (IllegalArgumentException e) {
+                reject(summary, lineNumber, e.getMessage(), events);
+                continue;
+            }
+
+            if (chunk.size() == CHUNK_SIZE) {
+                persistChunk(chunk, userId, summary, events);
+            }
+        }
+        persistChunk(chunk, userId, summary, events);
+
+        return summary;
+    }
+
+    private void persistChunk(List<ImportLine> chunk, UUID userId, ConceptImportEvent summary,
+            Consumer<ConceptImportEvent> events) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                conceptRepository.saveAll(chunk.stream().map(ImportLine::entity).toList());
+                chunk.forEach(importLine -> recordCreated(importLine.entity(), importLine.dto(), userId));
+            });
+            summary.setImported(summary.getImported() + chunk.size());
+        } catch (RuntimeException e) {
+            // Rolled back as a whole; retry line by line with fresh entities to isolate failures
+            for (ImportLine importLine : chunk) {
+                try {
+                    ConceptEntity fresh = toImportEntity(importLine.dto(), userId);
+                    transactionTemplate.executeWithoutResult(status -> {
+                        conceptRepository.saveAndFlush(fresh);
+                        recordCreated(fresh, importLine.dto(), userId);
+                    });
+                    summary.setImported(summary.getImported() + 1);
+                } catch (RuntimeException lineFailure) {
+                    reject(summary, importLine.lineNumber(), rootMessage(lineFailure), events);
+                }
+            }
+        }
+        chunk.clear();
+
+        events.accept(new ConceptImportEvent()
+                .type(ConceptImportEvent.TypeEnum.PROGRESS)
+                .processed(summary.getProcessed())
+                .imported(summary.getImported())
+                .failed(summary.getFailed()));
+    }
+
+    private void recordCreated(ConceptEntity entity, Concept dto, UUID userId) {
+        conceptOutbox.append(ConceptChangeType.CREATED, entity.getId(), userId, entity.getVersion(),
+                entity.getStatus(), ConceptOutbox.changedFields(null, dto));
+    }
+
+    // Imported concepts always get fresh ids and belong to the importing user
+    private static ConceptEntity toImportEntity(Concept dto, UUID userId) {
+        ConceptEntity entity = ConceptMapper.toEntity(dto);
+        entity.setId(null);
+        entity.setVersion(null);
+        entity.setCreatedAt(null);
+        entity.setUpdatedAt(null);
+        entity.setUserId(userId);
+        entity.setLastModifiedBy(userId);
+        entity.getAgenda().forEach(item -> item.setId(null));
+        entity.getSpeakers().forEach(speaker -> speaker.setId(null));
+        return entity;
+    }
+
+    private static void reject(ConceptImportEvent summary, int lineNumber, String error,
+            Consumer<ConceptImportEvent> events) {
+        summary.setFailed(summary.getFailed() + 1);
+        events.accept(new ConceptImportEvent()
+                .type(ConceptImportEvent.TypeEnum.ERROR)
+                .line(lineNumber)
+                .error(error));
+    }
+
+    private static String describe(Set<ConstraintViolation<ConceptEntity>> violations) {
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+
+    private record ImportLine(int lineNumber, Concept dto, ConceptEntity entity) {
+    }
+}
@@ -3,15 +3,23 @@ package de.tum.aet.devops25.conceptsvc;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 import de.tum.aet.devops25.api.generated.model.Concept;
+import de.tum.aet.devops25.api.generated.model.CreateConceptRequest;
 import de.tum.aet.devops25.api.generated.model.UpdateConceptRequest;
 
 public class ConceptMapper {
 
     // DTO → Entity (full mapping for creation/retrieval)
     public static ConceptEntity toEntity(Concept dto) {
+        try (Span span = Span.startChild("ConceptMapper.toEntity")) {
+            return mapToEntity(dto);
+        }
+    }
+
+    private static ConceptEntity mapToEntity(Concept dto) {
         if (dto == null) {
             return null;
         }
@@ -68,8 +76,60 @@ public class ConceptMapper {
         return entity;
     }
 
+    // CreateConceptRequest → Entity (new DRAFT concept owned by userId)
+    public static ConceptEntity fromCreateRequest(CreateConceptRequest request, UUID userId) {
+        try (Span span = Span.startChild("ConceptMapper.fromCreateRequest")) {
+            return mapCreateRequest(request, userId);
+        }
+    }
+
+    private static ConceptEntity mapCreateRequest(CreateConceptRequest request, UUID userId) {
+        if (request == null) {
+            return null;
+        }
+        
+        ConceptEntity entity = new ConceptEntity();
+        entity.setTitle(request.getTitle());
+        entity.setDescription(request.getDescription());
+        entity.setStatus(ConceptStatus.DRAFT);
+        entity.setUserId(userId);
+        entity.setLastModifiedBy(userId);
+        // Note: createdAt/updatedAt handled by @CreatedDate/@LastModifiedDate
+        
+        if (request.getTags() != null) {
+            entity.setTags(new ArrayList<>(request.getTags()));
+        }
+        
+        // Map initial requirements to eventDetails
+        if (request.getInitialRequirements() != null) {
+            EventDetailsEntity eventDetails = new EventDetailsEntity();
+            var reqs = request.getInitialRequirements();
+            
+            eventDetails.setCapacity(reqs.getExpectedCapacity());
+            eventDetails.setDuration(reqs.getDuration());
+            eventDetails.setTargetAudience(reqs.getTargetAudience());
+            eventDetails.setTheme(reqs.getTheme());
+            eventDetails.setStartDate(reqs.getStartDate());
+            eventDetails.setEndDate(reqs.getEndDate());
+            
+            if (reqs.getPreferredFormat() != null) {
+                eventDetails.setFormat(EventFormat.valueOf(reqs.getPreferredFormat().getValue()));
+            }
+            
+            entity.setEventDetails(eventDetails);
+        }
+        
+        return entity;
+    }
+
     // Entity → DTO (full mapping for responses)
     public static Concept toDto(ConceptEntity entity) {
+        try (Span span = Span.startChild("ConceptMapper.toDto")) {
+            return mapToDto(entity);
+        }
+    }
+
+    private static Concept mapToDto(ConceptEntity entity) {
         if (entity == null) {
             return null;
         }
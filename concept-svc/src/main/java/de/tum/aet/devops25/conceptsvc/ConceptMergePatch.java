@@ -0,0 +1,224 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import de.tum.aet.devops25.api.generated.model.AgendaItem;
+import de.tum.aet.devops25.api.generated.model.Concept;
+import de.tum.aet.devops25.api.generated.model.EventDetails;
+import de.tum.aet.devops25.api.generated.model.Pricing;
+import de.tum.aet.devops25.api.generated.model.Speaker;
+
+/**
+ * Applies an RFC 7386 JSON Merge Patch to a managed {@link ConceptEntity} in place. Only members
+ * present in the patch are touched and values are set on the existing objects, so Hibernate's
+ * dirty checking (with {@code @DynamicUpdate}) writes just the changed columns. Arrays replace the
+ * current array as the RFC requires, but agenda items and speakers are matched by id: kept rows
+ * are updated in place, missing rows deleted and rows without a known id inserted. A patch that
+ * changes anything also touches {@code updatedAt}: agenda items and speakers edited in place leave
+ * the concept row clean, and its version, which ETags, the PDF cache and change records key on,
+ * would not increment. Invalid patches fail with {@link IllegalArgumentException}.
+ */
+public final class ConceptMergePatch {
+
+    // Server-managed members; a patch may carry them (e.g. a modified GET response) but cannot change them
+    private static final Set<String> READ_ONLY = Set.of("id", "userId", "version", "createdAt", "updatedAt",
+            "lastModifiedBy");
+
+    private ConceptMergePatch() {
+    }
+
+    /**
+     * @return the members the patch changed, named as in change records
+     */
+    public static List<String> apply(ConceptEntity entity, JsonNode patch, ObjectMapper objectMapper) {
+        if (patch == null || !patch.isObject()) {
+            throw new IllegalArgumentException("A concept merge patch must be a JSON object");
+        }
+
+        Concept before = ConceptMapper.toDto(entity);
+        applyMembers(entity, patch, objectMapper);
+        List<String> changedFields = ConceptOutbox.changedFields(before, ConceptMapper.toDto(entity));
+        if (!changedFields.isEmpty()) {
+            entity.setUpdatedAt(OffsetDateTime.now());
+        }
+        return changedFields;
+    }
+
+    private static void applyMembers(ConceptEntity entity, JsonNode patch, ObjectMapper objectMapper) {
+        Iterator<Map.Entry<String, JsonNode>> members = patch.fields();
+        while (members.hasNext()) {
+            Map.Entry<String, JsonNode> member = members.next();
+            String name = member.getKey();
+            JsonNode value = member.getValue();
+            if (READ_ONLY.contains(name)) {
+                continue;
+            }
+
+            switch (name) {
+                case "title" -> entity.setTitle(requiredText(name, value));
+                case "description" -> entity.setDescription(optionalText(name, value));
+                case "notes" -> entity.setNotes(optionalText(name, value));
+                case "status" -> entity.setStatus(status(requiredText(name, value)));
+                case "tags" -> {
+                    List<String> tags = value.isNull() ? List.of() : read(value, objectMapper, name, String.class);
+                    if (!tags.equals(entity.getTags())) {
+                        entity.getTags().clear();
+                        entity.getTags().addAll(tags);
+                    }
+                }
+                case "eventDetails" -> patchEventDetails(entity, value, objectMapper);
+                case "pricing" -> patchPricing(entity, value, objectMapper);
+                case "agenda" -> mergeChildren(entity.getAgenda(),
+                        value.isNull() ? List.of() : read(value, objectMapper, name, AgendaItem.class),
+                        AgendaItemEntity::getId, AgendaItem::getId,
+                        item -> {
+                            AgendaItemEntity created = AgendaItemMapper.toEntity(item);
+                            created.setId(null);
+                            created.setConcept(entity);
+                            return created;
+                        },
+                        AgendaItemMapper::updateEntity);
+                case "speakers" -> mergeChildren(entity.getSpeakers(),
+                        value.isNull() ? List.of() : read(value, objectMapper, name, Speaker.class),
+                        SpeakerEntity::getId, Speaker::getId,
+                        speaker -> {
+                            SpeakerEntity created = SpeakerMapper.toEntity(speaker);
+                            created.setId(null);
+                            created.setConcept(entity);
+                            return created;
+                        },
+                        SpeakerMapper::updateEntity);
+                default -> throw new IllegalArgumentException("Unknown concept member: " + name);
+            }
+        }
+    }
+
+    /**
+     * RFC 7386 MergePatch(target, patch) on JSON trees; {@code target} is not modified.
+     */
+    static JsonNode merge(JsonNode target, JsonNode patch) {
+        if (!patch.isObject()) {
+            return patch;
+        }
+        ObjectNode result = target != null && target.isObject() ? ((ObjectNode) target).deepCopy()
+                : ((ObjectNode) patch).objectNode();
+        Iterator<Map.Entry<String, JsonNode>> members = patch.fields();
+        while (members.hasNext()) {
+            Map.Entry<String, JsonNode> member = members.next();
+            if (member.getValue().isNull()) {
+                result.remove(member.getKey());
+            } else {
+                result.set(member.getKey(), merge(result.get(member.getKey()), member.getValue()));
+            }
+        }
+        return result;
+    }
+
+    private static void patchEventDetails(ConceptEntity entity, JsonNode value, ObjectMapper objectMapper) {
+        if (value.isNull()) {
+            entity.setEventDetails(null);
+            return;
+        }
+        JsonNode current = objectMapper.valueToTree(EventDetailsMapper.toDto(entity.getEventDetails()));
+        EventDetails merged = convert(merge(current, value), objectMapper, "eventDetails", EventDetails.class);
+        if (entity.getEventDetails() == null) {
+            entity.setEventDetails(EventDetailsMapper.toEntity(merged));
+        } else {
+            EventDetailsMapper.updateEntity(entity.getEventDetails(), merged);
+        }
+    }
+
+    private static void patchPricing(ConceptEntity entity, JsonNode value, ObjectMapper objectMapper) {
+        if (value.isNull()) {
+            entity.setPricing(null);
+            return;
+        }
+        JsonNode current = objectMapper.valueToTree(PricingMapper.toDto(entity.getPricing()));
+        Pricing merged = convert(merge(current, value), objectMapper, "pricing", Pricing.class);
+        if (entity.getPricing() == null) {
+            entity.setPricing(PricingMapper.toEntity(merged));
+        } else {
+            PricingMapper.updateEntity(entity.getPricing(), merged);
+        }
+    }
+
+    private static <E, D> void mergeChildren(List<E> current, List<D> items, Function<E, UUID> entityId,
+            Function<D, UUID> dtoId, Function<D, E> create, BiConsumer<E, D> update) {
+        Map<UUID, E> byId = new HashMap<>();
+        current.forEach(child -> byId.put(entityId.apply(child), child));
+
+        List<E> added = new ArrayList<>();
+        for (D item : items) {
+            E existing = dtoId.apply(item) != null ? byId.remove(dtoId.apply(item)) : null;
+            if (existing != null) {
+                update.accept(existing, item);
+            } else {
+                added.add(create.apply(item));
+            }
+        }
+        // Whatever was not matched is gone from the new array; orphan removal deletes those rows
+        current.removeAll(byId.values());
+        current.addAll(added);
+    }
+
+    private static String requiredText(String name, JsonNode value) {
+        if (!value.isTextual() || value.asText().isBlank()) {
+            throw new IllegalArgumentException(name + " must be a non-empty string");
+        }
+        return value.asText();
+    }
+
+    private static String optionalText(String name, JsonNode value) {
+        if (value.isNull()) {
+            return null;
+        }
+        if (!value.isTextual()) {
+            throw new IllegalArgumentException(name + " must be a string or null");
+        }
+        return value.asText();
+    }
+
+    private static ConceptStatus status(String value) {
+        try {
+            return ConceptStatus.valueOf(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown status: " + value);
+        }
+    }
+
+    private static <T> List<T> read(JsonNode value, ObjectMapper objectMapper, String name, Class<T> type) {
+        if (!value.isArray()) {
+            throw new IllegalArgumentException(name + " must be an array or null");
+        }
+        try {
+            return objectMapper.readerForListOf(type).readValue(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + e.getOriginalMessage(), e);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid " + name, e);
+        }
+    }
+
+    private static <T> T convert(JsonNode value, ObjectMapper objectMapper, String name, Class<T> type) {
+        try {
+            return objectMapper.treeToValue(value, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Invalid " + name + ": " + e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.tum.aet.devops25.api.generated.model.AgendaItem;
+import de.tum.aet.devops25.api.generated.model.Concept;
+import de.tum.aet.devops25.api.generated.model.Speaker;
+
+/**
+ * Transactional outbox for concept changes. Writers append a change record in the same
+ * transaction as the change, so a record exists exactly when the change committed;
+ * {@link ConceptChangeRelay} publishes the records afterwards. With
+ * {@code concept.outbox.sink=none} nobody consumes the records and nothing is written.
+ * <p>
+ * Every change is also published as a {@link Change} application event, regardless of the
+ * sink, for in-process listeners such as the {@link ConceptEventBroadcaster}.
+ */
+@Component
+public class ConceptOutbox {
+
+    /**
+     * A change as seen by in-process listeners. {@code version} is absent for deletions and
+     * set-based changes, {@code status} for deletions.
+     */
+    public record Change(ConceptChangeType type, UUID conceptId, UUID userId, Integer version,
+            ConceptStatus status) {
+    }
+
+    private final ConceptChangeRepository conceptChangeRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+
+    public ConceptOutbox(ConceptChangeRepository conceptChangeRepository, ApplicationEventPublisher eventPublisher,
+            @Value("${concept.outbox.sink:none}") String sink) {
+        this.conceptChangeRepository = conceptChangeRepository;
+        this.eventPublisher = eventPublisher;
+        this.enabled = !"none".equals(sink);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Records a change; must run inside the transaction that made it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(ConceptChangeType type, UUID conceptId, UUID userId, Integer version, ConceptStatus status,
+            Collection<String> changedFields) {
+        if (enabled) {
+            conceptChangeRepository.save(new ConceptChangeEntity(conceptId, userId, type, version, changedFields,
+                    OffsetDateTime.now()));
+        }
+        eventPublisher.publishEvent(new Change(type, conceptId, userId, version, status));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(ConceptChangeType type, Collection<UUID> conceptIds, UUID userId, ConceptStatus status,
+            Collection<String> changedFields) {
+        if (enabled) {
+            OffsetDateTime now = OffsetDateTime.now();
+            conceptChangeRepository.saveAll(conceptIds.stream()
+                    .map(id -> new ConceptChangeEntity(id, userId, type, null, changedFields, now))
+                    .toList());
+        }
+        conceptIds.forEach(id -> eventPublisher.publishEvent(new Change(type, id, userId, null, status)));
+    }
+
+    /**
+     * Top-level {@link Concept} fields that differ between two mappings of the same concept.
+     * With {@code before == null} (a new concept) every field that is set counts as changed.
+     * Agenda items and speakers are compared without their ids, which are regenerated
+     * whenever the lists are replaced.
+     */
+    static List<String> changedFields(Concept before, Concept after) {
+        List<String> changed = new ArrayList<>();
+        compare(changed, "title", before, after, Concept::getTitle);
+        compare(changed, "description", before, after, Concept::getDescription);
+        compare(changed, "status", before, after, Concept::getStatus);
+        compare(changed, "eventDetails", before, after, Concept::getEventDetails);
+        compare(changed, "agenda", before, after, concept -> withoutIds(concept.getAgenda(), ConceptOutbox::content));
+        compare(changed, "speakers", before, after, concept -> withoutIds(concept.getSpeakers(), ConceptOutbox::content));
+        compare(changed, "pricing", before, after, Concept::getPricing);
+        compare(changed, "notes", before, after, Concept::getNotes);
+        compare(changed, "tags", before, after, Concept::getTags);
+        return changed;
+    }
+
+    private static void compare(List<String> changed, String field, Concept before, Concept after,
+            Function<Concept, Object> value) {
+        Object newValue = emptyToNull(value.apply(after));
+        Object oldValue = before != null ? emptyToNull(value.apply(before)) : null;
+        if (!Objects.equals(oldValue, newValue)) {
+            changed.add(field);
+        }
+    }
+
+    private static Object emptyToNull(Object value) {
+        return value instanceof Collection<?> collection && collection.isEmpty() ? null : value;
+    }
+
+    private static <T> List<List<Object>> withoutIds(List<T> items, Function<T, List<Object>> content) {
+        return items == null ? null : items.stream().map(content).toList();
+    }
+
+    private static List<Object> content(AgendaItem item) {
+        return Arrays.asList(item.getTime(), item.getTitle(), item.getDescription(), item.getType(),
+                item.getSpeaker(), item.getDuration());
+    }
+
+    private static List<Object> content(Speaker speaker) {
+        return Arrays.asList(speaker.getName(), speaker.getExpertise(), speaker.getSuggestedTopic(),
+                speaker.getBio(), speaker.getConfirmed());
+    }
+}
@@ -0,0 +1,296 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Writes a ZIP archive with one PDF per selected concept. Concepts are loaded in chunks of
+ * {@link #CHUNK_SIZE} (one query per chunk plus batched child collections) and rendered on a
+ * bounded worker pool. Entries are written in selection order as soon as their PDF is ready;
+ * at most {@code parallelism * 2} rendered documents are held at once, so memory stays flat
+ * regardless of how many concepts are selected.
+ */
+@Service
+public class ConceptPdfArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConceptPdfArchiveService.class);
+
+    static final int CHUNK_SIZE = 100;
+    static final String ERRORS_ENTRY = "errors.txt";
+
+    // Smallest UUID in database order; keyset paging starts after it
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private record Pending(UUID conceptId, Future<Resource> pdf) {
+    }
+
+    private final ConceptRepository conceptRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final PdfService pdfService;
+    private final PdfCache pdfCache;
+    private final PdfRenderExecutor pdfRenderExecutor;
+    private final ThreadPoolExecutor executor;
+    private final int window;
+
+    private final Counter writtenEntries;
+    private final Counter failedEntries;
+    private final Timer archiveTimer;
+
+    public ConceptPdfArchiveService(ConceptRepository conceptRepository, EntityManager entityManager,
+            PlatformTransactionManager transactionManager, PdfService pdfService, PdfCache pdfCache,
+            PdfRenderExecutor pdfRenderExecutor, MeterRegistry meterRegistry,
+            @Value("${concept.pdf-archive.parallelism:0}") int parallelism) {
+        this.conceptRepository = conceptRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.pdfService = pdfService;
+        this.pdfCache = pdfCache;
+        this.pdfRenderExecutor = pdfRenderExecutor;
+
+        // More workers than render slots would only wait on the render executor
+        int workers = parallelism > 0 ? parallelism : pdfRenderExecutor.maxConcurrency();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("pdf-archive-"));
+        // Keep every worker busy while the request thread copies the oldest entry
+        this.window = workers * 2;
+
+        this.writtenEntries = Counter.builder("concept.pdf.archive.entries").tag("result", "written")
+                .register(meterRegistry);
+        this.failedEntries = Counter.builder("concept.pdf.archive.entries").tag("result", "failed")
+                .register(meterRegistry);
+        this.archiveTimer = Timer.builder("concept.pdf.archive.duration")
+                .description("Time to stream a complete PDF archive")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Streams the archive into {@code out}. With {@code conceptIds} the archive follows the
+     * given order (duplicates ignored) and {@code status}, if set, filters it further; without
+     * ids every concept of the user in {@code status} is included. Ids that are not found and
+     * concepts that fail to render are listed in a trailing {@value #ERRORS_ENTRY} entry.
+     *
+     * @return number of PDFs written
+     */
+    public int writeArchive(UUID userId, List<UUID> conceptIds, ConceptStatus status, OutputStream out)
+            throws IOException {
+        if (conceptIds == null && status == null) {
+            throw new IllegalArgumentException("Either conceptIds or status is required");
+        }
+
+        long start = System.nanoTime();
+        ZipOutputStream zip = new ZipOutputStream(out);
+        // Page content is already Flate-compressed; only the PDF structure still shrinks
+        zip.setLevel(Deflater.BEST_SPEED);
+        ArchiveWriter writer = new ArchiveWriter(zip, out);
+        try {
+            if (conceptIds != null) {
+                addById(writer, userId, new ArrayList<>(new LinkedHashSet<>(conceptIds)), status);
+            } else {
+                addByStatus(writer, userId, status);
+            }
+            writer.finish();
+        } finally {
+            writer.cancelPending();
+            archiveTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return writer.written;
+    }
+
+    private void addById(ArchiveWriter writer, UUID userId, List<UUID> conceptIds, ConceptStatus status)
+            throws IOException {
+        for (int from = 0; from < conceptIds.size(); from += CHUNK_SIZE) {
+            List<UUID> ids = conceptIds.subList(from, Math.min(from + CHUNK_SIZE, conceptIds.size()));
+            Map<UUID, ConceptEntity> loaded = loadChunk(() -> conceptRepository.findByIdInAndUserId(ids, userId))
+                    .stream()
+                    .collect(Collectors.toMap(ConceptEntity::getId, Function.identity()));
+            for (UUID id : ids) {
+                ConceptEntity concept = loaded.get(id);
+                if (concept == null) {
+                    writer.fail(id, "concept not found");
+                } else if (status == null || concept.getStatus() == status) {
+                    writer.add(concept);
+                }
+            }
+        }
+    }
+
+    private void addByStatus(ArchiveWriter writer, UUID userId, ConceptStatus status) throws IOException {
+        UUID after = FIRST_ID;
+        List<ConceptEntity> page;
+        do {
+            UUID pageAfter = after;
+            page = loadChunk(() -> conceptRepository.findPageByUserIdAndStatus(userId, status, pageAfter,
+                    Limit.of(CHUNK_SIZE)));
+            for (ConceptEntity concept : page) {
+                writer.add(concept);
+                after = concept.getId();
+            }
+        } while (page.size() == CHUNK_SIZE);
+    }
+
+    private List<ConceptEntity> loadChunk(Supplier<List<ConceptEntity>> query) {
+        return transactionTemplate.execute(tx -> {
+            List<ConceptEntity> chunk = query.get();
+            // Renders run on worker threads after the transaction; first access of a
+            // collection loads it for the whole chunk via default_batch_fetch_size
+            for (ConceptEntity concept : chunk) {
+                Hibernate.initialize(concept.getAgenda());
+                Hibernate.initialize(concept.getSpeakers());
+                Hibernate.initialize(concept.getTags());
+                if (concept.getEventDetails() != null) {
+                    Hibernate.initialize(concept.getEventDetails().getObjectives());
+                }
+            }
+            // The request may share one persistence context (open-in-view); detach the chunk
+            entityManager.clear();
+            return chunk;
+        });
+    }
+
+    private Resource render(ConceptEntity concept) {
+        return pdfCache.get(concept.getId(), concept.getVersion(),
+                () -> pdfRenderExecutor.execute(() -> {
+                    // Unlike generateConceptPdf, failures propagate instead of producing a text fallback
+                    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+                    pdfService.writeConceptPdf(concept, buffer);
+                    return new ByteArrayResource(buffer.toByteArray());
+                }));
+    }
+
+    private final class ArchiveWriter {
+        private final ZipOutputStream zip;
+        private final OutputStream out;
+        private final Deque<Pending> pending = new ArrayDeque<>();
+        private final StringBuilder errors = new StringBuilder();
+        private int written;
+
+        ArchiveWriter(ZipOutputStream zip, OutputStream out) {
+            this.zip = zip;
+            this.out = out;
+        }
+
+        void add(ConceptEntity concept) throws IOException {
+            if (pending.size() >= window) {
+                writeOldest();
+            }
+            pending.addLast(new Pending(concept.getId(), executor.submit(() -> render(concept))));
+        }
+
+        void fail(UUID conceptId, String reason) {
+            failedEntries.increment();
+            errors.append(conceptId).append(": ").append(reason).append('\n');
+        }
+
+        void finish() throws IOException {
+            while (!pending.isEmpty()) {
+                writeOldest();
+            }
+            if (!errors.isEmpty()) {
+                zip.putNextEntry(new ZipEntry(ERRORS_ENTRY));
+                zip.write(errors.toString().getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+            zip.finish();
+            out.flush();
+        }
+
+        void cancelPending() {
+            // The client went away or an entry failed to write; stop rendering for it
+            for (Pending next : pending) {
+                if (!next.pdf().cancel(true) && next.pdf().isDone()) {
+                    releaseRendered(next.pdf());
+                }
+            }
+            pending.clear();
+        }
+
+        private void writeOldest() throws IOException {
+            Pending next = pending.removeFirst();
+            UUID conceptId = next.conceptId();
+            Resource pdf;
+            try {
+                pdf = next.pdf().get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while rendering concept " + conceptId);
+            } catch (ExecutionException e) {
+                log.warn("PDF archive entry for concept {} failed", conceptId, e.getCause());
+                fail(conceptId, e.getCause().getMessage());
+                return;
+            }
+
+            try {
+                zip.putNextEntry(new ZipEntry("concept-" + conceptId + ".pdf"));
+                try (InputStream content = pdf.getInputStream()) {
+                    content.transferTo(zip);
+                }
+            } finally {
+                PdfCache.release(pdf);
+            }
+            zip.closeEntry();
+            // Hand each finished entry to the client instead of waiting for the next one
+            out.flush();
+            written++;
+            writtenEntries.increment();
+        }
+
+        // Already rendered, e.g. a disk hit that holds its cached file open
+        private void releaseRendered(Future<Resource> pdf) {
+            try {
+                PdfCache.release(pdf.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                // Nothing was opened
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
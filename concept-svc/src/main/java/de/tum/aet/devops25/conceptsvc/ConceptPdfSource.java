@@ -0,0 +1,40 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import org.hibernate.Hibernate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Loads a concept for rendering in its own short transaction. The PDF endpoints run without
+ * open-in-view (see {@link OpenInViewConfig}), so the Hikari connection goes back to the pool
+ * when this returns instead of being held while the request waits for a render slot.
+ */
+@Service
+public class ConceptPdfSource {
+
+    private final ConceptRepository conceptRepository;
+
+    public ConceptPdfSource(ConceptRepository conceptRepository) {
+        this.conceptRepository = conceptRepository;
+    }
+
+    /**
+     * Returns the user's concept with every collection the PDF reads already loaded.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ConceptEntity> find(UUID conceptId, UUID userId) {
+        Optional<ConceptEntity> concept = conceptRepository.findByIdAndUserId(conceptId, userId);
+        concept.ifPresent(entity -> {
+            Hibernate.initialize(entity.getAgenda());
+            Hibernate.initialize(entity.getSpeakers());
+            Hibernate.initialize(entity.getTags());
+            if (entity.getEventDetails() != null) {
+                Hibernate.initialize(entity.getEventDetails().getObjectives());
+            }
+        });
+        return concept;
+    }
+}
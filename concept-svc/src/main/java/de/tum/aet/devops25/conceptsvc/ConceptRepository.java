@@ -1,12 +1,24 @@
 package de.tum.aet.devops25.conceptsvc;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
 
 public interface ConceptRepository extends JpaRepository<ConceptEntity, UUID> {
 
@@ -23,4 +35,88 @@ public interface ConceptRepository extends JpaRepository<ConceptEntity, UUID> {
 
     // Essential for ownership verification in controllers (get/update/delete operations)
     Optional<ConceptEntity> findByIdAndUserId(UUID id, UUID userId);
-} 
\ No newline at end of file
+
+    // Forward-only cursor over all of a user's concepts for streaming export.
+    // Callers must consume it inside a transaction and close it.
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + ConceptExportService.FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT c FROM ConceptEntity c WHERE c.userId = :userId ORDER BY c.updatedAt DESC")
+    Stream<ConceptEntity> streamByUserId(@Param("userId") UUID userId);
+
+    // Cheap freshness check for version-keyed caches; empty when the user does not own the concept
+    @Query("SELECT c.version FROM ConceptEntity c WHERE c.id = :id AND c.userId = :userId")
+    Optional<Integer> findVersionByIdAndUserId(@Param("id") UUID id, @Param("userId") UUID userId);
+
+    // Ownership filter for set-based operations; returns only the ids the user owns.
+    @Query("SELECT c.id FROM ConceptEntity c WHERE c.id IN :ids AND c.userId = :userId")
+    List<UUID> findOwnedIds(@Param("ids") Collection<UUID> ids, @Param("userId") UUID userId);
+
+    // Batched loads for PDF archives; child collections follow via default_batch_fetch_size
+    List<ConceptEntity> findByIdInAndUserId(Collection<UUID> ids, UUID userId);
+
+    // Keyset page over a user's concepts in one status; pass the last id of the previous page
+    @Query("SELECT c FROM ConceptEntity c WHERE c.userId = :userId AND c.status = :status AND c.id > :after ORDER BY c.id")
+    List<ConceptEntity> findPageByUserIdAndStatus(@Param("userId") UUID userId, @Param("status") ConceptStatus status,
+            @Param("after") UUID after, Limit limit);
+
+    // Single-statement, ownership-checked mutations. These never load the entity graph;
+    // callers use the affected-row count to decide between success and 404.
+    // Bulk JPQL bypasses @Version and auditing, so both are maintained explicitly.
+    @Transactional
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE ConceptEntity c SET c.status = :status, c.lastModifiedBy = :userId, "
+            + "c.updatedAt = :updatedAt, c.version = c.version + 1 "
+            + "WHERE c.id IN :ids AND c.userId = :userId")
+    int updateStatusByIdsAndUserId(@Param("ids") Collection<UUID> ids, @Param("userId") UUID userId,
+            @Param("status") ConceptStatus status, @Param("updatedAt") OffsetDateTime updatedAt);
+
+    default int updateStatusByIdAndUserId(UUID id, UUID userId, ConceptStatus status, OffsetDateTime updatedAt) {
+        return updateStatusByIdsAndUserId(List.of(id), userId, status, updatedAt);
+    }
+
+    default int archiveByIdAndUserId(UUID id, UUID userId) {
+        return updateStatusByIdAndUserId(id, userId, ConceptStatus.ARCHIVED, OffsetDateTime.now());
+    }
+
+    // Child tables are removed directly; the ownership subquery keeps them untouched
+    // when the concept belongs to someone else.
+    @Modifying
+    @Query(value = "DELETE FROM agenda_items WHERE concept_id IN "
+            + "(SELECT c.id FROM concepts c WHERE c.id IN (:ids) AND c.user_id = :userId)", nativeQuery = true)
+    int deleteAgendaItemsByConceptIdsAndUserId(@Param("ids") Collection<UUID> ids, @Param("userId") UUID userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM speakers WHERE concept_id IN "
+            + "(SELECT c.id FROM concepts c WHERE c.id IN (:ids) AND c.user_id = :userId)", nativeQuery = true)
+    int deleteSpeakersByConceptIdsAndUserId(@Param("ids") Collection<UUID> ids, @Param("userId") UUID userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM concept_tags WHERE concept_id IN "
+            + "(SELECT c.id FROM concepts c WHERE c.id IN (:ids) AND c.user_id = :userId)", nativeQuery = true)
+    int deleteTagsByConceptIdsAndUserId(@Param("ids") Collection<UUID> ids, @Param("userId") UUID userId);
+
+    @Modifying
+    @Query(value = "DELETE FROM event_objectives WHERE concept_id IN "
+            + "(SELECT c.id FROM concepts c WHERE c.id IN (:ids) AND c.user_id = :userId)", nativeQuery = true)
+    int deleteObjectivesByConceptIdsAndUserId(@Param("ids") Collection<UUID> ids, @Param("userId") UUID userId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM ConceptEntity c WHERE c.id IN :ids AND c.userId = :userId")
+    int deleteConceptRowsByIdsAndUserId(@Param("ids") Collection<UUID> ids, @Param("userId") UUID userId);
+
+    @Transactional
+    default int deleteCascadingByIdsAndUserId(Collection<UUID> ids, UUID userId) {
+        deleteAgendaItemsByConceptIdsAndUserId(ids, userId);
+        deleteSpeakersByConceptIdsAndUserId(ids, userId);
+        deleteTagsByConceptIdsAndUserId(ids, userId);
+        deleteObjectivesByConceptIdsAndUserId(ids, userId);
+        return deleteConceptRowsByIdsAndUserId(ids, userId);
+    }
+
+    default int deleteCascadingByIdAndUserId(UUID id, UUID userId) {
+        return deleteCascadingByIdsAndUserId(List.of(id), userId);
+    }
+}
@@ -0,0 +1,155 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import de.tum.aet.devops25.api.generated.model.ErrorResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Sheds requests beyond the {@link AdaptiveConcurrencyLimit} with 503 before they take a Tomcat
+ * thread into the security chain and the connection pool, so a slow database makes some requests
+ * fail fast instead of all of them slow. Paths in {@code priorityPaths} (e.g. health) use the
+ * limit's priority headroom. Publishes {@code concept.concurrency.limit},
+ * {@code concept.concurrency.inflight} and {@code concept.concurrency.rejected}.
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    static final long RETRY_AFTER_SECONDS = 1;
+
+    private final AdaptiveConcurrencyLimit limit;
+    private final List<String> priorityPaths;
+    private final ObjectMapper objectMapper;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final Counter rejected;
+    private final Counter rejectedPriority;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimit limit, List<String> priorityPaths,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.limit = limit;
+        this.priorityPaths = List.copyOf(priorityPaths);
+        this.objectMapper = objectMapper;
+        this.rejected = Counter.builder("concept.concurrency.rejected")
+                .description("Requests shed because the concurrency limit was reached")
+                .tag("priority", "false")
+                .register(meterRegistry);
+        this.rejectedPriority = Counter.builder("concept.concurrency.rejected")
+                .description("Requests shed because the concurrency limit was reached")
+                .tag("priority", "true")
+                .register(meterRegistry);
+        Gauge.builder("concept.concurrency.limit", limit, AdaptiveConcurrencyLimit::getLimit)
+                .description("Requests admitted at once, learned from their latency")
+                .register(meterRegistry);
+        Gauge.builder("concept.concurrency.inflight", limit, AdaptiveConcurrencyLimit::getInFlight)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        boolean priority = isPriority(request.getRequestURI());
+        if (!limit.tryAcquire(priority)) {
+            (priority ? rejectedPriority : rejected).increment();
+            reject(request, response);
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (!request.isAsyncStarted()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                limit.release(request.getMethod() + " " + (pattern != null ? pattern : "UNKNOWN"),
+                        System.nanoTime() - start);
+            } else if (isEventStream(response)) {
+                // Open for minutes and bounded by concept.events.max-connections; holding a slot would starve the limit
+                limit.releaseWithoutSample();
+            } else {
+                // Streamed bodies keep the renderer and the database busy until the async request completes
+                request.getAsyncContext().addListener(new ReleaseOnCompletion());
+            }
+        }
+    }
+
+    private static boolean isEventStream(HttpServletResponse response) {
+        return response.getContentType() != null
+                && response.getContentType().startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    private boolean isPriority(String path) {
+        for (String pattern : priorityPaths) {
+            if (pathMatcher.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponse error = new ErrorResponse()
+                .error("SERVICE_UNAVAILABLE")
+                .message("Service is at its concurrency limit")
+                .path(request.getRequestURI())
+                .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                .timestamp(OffsetDateTime.now());
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader("Retry-After", String.valueOf(RETRY_AFTER_SECONDS));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+
+    /**
+     * Releases the slot of an async request once it completed, failed or timed out. Its latency
+     * includes the client's download and says nothing about the backend, so it is not sampled.
+     */
+    private final class ReleaseOnCompletion implements AsyncListener {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Listeners are dropped when async processing is started again on a redispatch
+            event.getAsyncContext().addListener(this);
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limit.releaseWithoutSample();
+            }
+        }
+    }
+}
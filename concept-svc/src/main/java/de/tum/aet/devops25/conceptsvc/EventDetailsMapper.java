@@ -34,6 +34,25 @@ public class EventDetailsMapper {
         return entity;
     }
 
+    // DTO → existing Entity, in place: only changed columns become dirty and the
+    // objectives collection is rewritten only if it changed
+    public static void updateEntity(EventDetailsEntity entity, EventDetails dto) {
+        entity.setTheme(dto.getTheme());
+        entity.setFormat(dto.getFormat() != null ? EventFormat.valueOf(dto.getFormat().getValue()) : null);
+        entity.setCapacity(dto.getCapacity());
+        entity.setDuration(dto.getDuration());
+        entity.setStartDate(dto.getStartDate());
+        entity.setEndDate(dto.getEndDate());
+        entity.setTargetAudience(dto.getTargetAudience());
+        entity.setLocation(dto.getLocation());
+        
+        List<String> objectives = dto.getObjectives() != null ? dto.getObjectives() : List.of();
+        if (!objectives.equals(entity.getObjectives())) {
+            entity.getObjectives().clear();
+            entity.getObjectives().addAll(objectives);
+        }
+    }
+
     // Entity → DTO
     public static EventDetails toDto(EventDetailsEntity entity) {
         if (entity == null) {
@@ -0,0 +1,243 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Java Flight Recorder recordings on demand, for the {@code jfr} actuator endpoint.
+ * <ul>
+ * <li>Bounded recordings run with a built-in JFR settings profile ({@code default}, about 1%
+ * overhead, or the more detailed {@code profile}) for at most {@code concept.jfr.max-duration};
+ * at most {@code concept.jfr.max-concurrent} run at once. Finished recordings stay on disk until
+ * deleted or until more than {@code concept.jfr.retained} have piled up.</li>
+ * <li>The continuous recording, off by default, keeps the last {@code concept.jfr.continuous.max-age} (and at most
+ * {@code concept.jfr.continuous.max-size}) of {@code default} events in a ring buffer, so the
+ * minutes before an incident can be dumped afterwards.</li>
+ * </ul>
+ * Both profiles record the process environment, system properties and JVM arguments, which hold
+ * the JWT secret and the datasource credentials; those events are switched off in every recording.
+ */
+@Service
+public class FlightRecorderService {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRecorderService.class);
+
+    static final String CONTINUOUS = "continuous";
+
+    private static final List<String> PROFILES = List.of("default", "profile");
+    private static final Duration DEFAULT_DURATION = Duration.ofMinutes(1);
+    static final List<String> SECRET_EVENTS = List.of("jdk.InitialEnvironmentVariable",
+            "jdk.InitialSystemProperty", "jdk.JVMInformation");
+
+    /**
+     * A recording as listed by the endpoint.
+     */
+    public record RecordingInfo(long id, String name, String profile, String state, Instant startTime,
+            Duration duration, long size) {
+    }
+
+    private final Path directory;
+    private final Duration maxDuration;
+    private final Duration defaultDuration;
+    private final int maxConcurrent;
+    private final int retained;
+    private final boolean continuousEnabled;
+    private final Duration continuousMaxAge;
+    private final DataSize continuousMaxSize;
+    private final Map<Long, Recording> recordings = new ConcurrentHashMap<>();
+    private final Map<Long, String> profiles = new ConcurrentHashMap<>();
+
+    public FlightRecorderService(@Value("${concept.jfr.directory:${java.io.tmpdir}/concept-jfr}") Path directory,
+            @Value("${concept.jfr.max-duration:5m}") Duration maxDuration,
+            @Value("${concept.jfr.max-concurrent:1}") int maxConcurrent,
+            @Value("${concept.jfr.retained:5}") int retained,
+            @Value("${concept.jfr.continuous.enabled:false}") boolean continuousEnabled,
+            @Value("${concept.jfr.continuous.max-age:15m}") Duration continuousMaxAge,
+            @Value("${concept.jfr.continuous.max-size:64MB}") DataSize continuousMaxSize) {
+        this.directory = directory;
+        this.maxDuration = maxDuration;
+        this.defaultDuration = DEFAULT_DURATION.compareTo(maxDuration) < 0 ? DEFAULT_DURATION : maxDuration;
+        this.maxConcurrent = maxConcurrent;
+        this.retained = retained;
+        this.continuousEnabled = continuousEnabled;
+        this.continuousMaxAge = continuousMaxAge;
+        this.continuousMaxSize = continuousMaxSize;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        Files.createDirectories(directory);
+        if (continuousEnabled) {
+            Recording continuous = new Recording(settings("default"));
+            continuous.setName(CONTINUOUS);
+            continuous.setToDisk(true);
+            continuous.setMaxAge(continuousMaxAge);
+            continuous.setMaxSize(continuousMaxSize.toBytes());
+            continuous.start();
+            recordings.put(continuous.getId(), continuous);
+            profiles.put(continuous.getId(), "default");
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        recordings.values().forEach(Recording::close);
+        recordings.clear();
+    }
+
+    public List<RecordingInfo> list() {
+        return recordings.values().stream()
+                .sorted(Comparator.comparingLong(Recording::getId))
+                .map(this::info)
+                .toList();
+    }
+
+    /**
+     * Starts a bounded recording; it stops by itself after {@code duration} (one minute or the
+     * maximum if null) and is written to disk.
+     *
+     * @throws FlightRecordingRejectedException if the profile is unknown, the duration out of range
+     *         or too many recordings are running
+     */
+    public synchronized RecordingInfo start(String profile, Duration duration) {
+        String settings = profile != null ? profile : "default";
+        if (!PROFILES.contains(settings)) {
+            throw new FlightRecordingRejectedException("Unknown profile '" + settings + "', use one of " + PROFILES,
+                    false);
+        }
+        Duration length = duration != null ? duration : defaultDuration;
+        if (length.isNegative() || length.isZero() || length.compareTo(maxDuration) > 0) {
+            throw new FlightRecordingRejectedException("Duration must be positive and at most " + maxDuration, false);
+        }
+        long running = recordings.values().stream()
+                .filter(recording -> !CONTINUOUS.equals(recording.getName()))
+                .filter(recording -> recording.getState() == RecordingState.RUNNING)
+                .count();
+        if (running >= maxConcurrent) {
+            throw new FlightRecordingRejectedException(running + " recording(s) already running, the limit is "
+                    + maxConcurrent, true);
+        }
+        evictFinished();
+
+        Recording recording = new Recording(settings(settings));
+        recording.setName("recording-" + recording.getId());
+        recording.setToDisk(true);
+        recording.setDuration(length);
+        try {
+            recording.setDestination(directory.resolve(recording.getName() + ".jfr"));
+        } catch (IOException e) {
+            recording.close();
+            throw new UncheckedIOException(e);
+        }
+        recording.start();
+        recordings.put(recording.getId(), recording);
+        profiles.put(recording.getId(), settings);
+        log.info("Started JFR recording {} with profile '{}' for {}", recording.getId(), settings, length);
+        return info(recording);
+    }
+
+    /**
+     * The recording's data as a {@code .jfr} file: the written file of a finished recording, a
+     * snapshot of what was recorded so far for a running one (the continuous ring buffer included).
+     */
+    public synchronized Optional<Path> file(long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null) {
+            return Optional.empty();
+        }
+        try {
+            if (isFinished(recording) && recording.getDestination() != null) {
+                return Optional.of(recording.getDestination());
+            }
+            Path snapshot = directory.resolve(recording.getName() + "-snapshot.jfr");
+            recording.dump(snapshot);
+            return Optional.of(snapshot);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Stops the recording and deletes its files. The continuous recording cannot be deleted.
+     */
+    public synchronized boolean delete(long id) {
+        Recording recording = recordings.get(id);
+        if (recording == null || CONTINUOUS.equals(recording.getName())) {
+            return false;
+        }
+        discard(recording);
+        return true;
+    }
+
+    // Keeps at most `retained` finished recordings on disk, dropping the oldest
+    private void evictFinished() {
+        List<Recording> finished = new ArrayList<>(recordings.values().stream()
+                .filter(FlightRecorderService::isFinished)
+                .sorted(Comparator.comparingLong(Recording::getId))
+                .toList());
+        while (finished.size() >= retained && !finished.isEmpty()) {
+            discard(finished.remove(0));
+        }
+    }
+
+    private void discard(Recording recording) {
+        recordings.remove(recording.getId());
+        profiles.remove(recording.getId());
+        Path destination = recording.getDestination();
+        recording.close();
+        try {
+            if (destination != null) {
+                Files.deleteIfExists(destination);
+            }
+            Files.deleteIfExists(directory.resolve(recording.getName() + "-snapshot.jfr"));
+        } catch (IOException e) {
+            log.warn("Could not delete files of JFR recording {}: {}", recording.getId(), e.getMessage());
+        }
+    }
+
+    // A bounded recording is closed by JFR once it has written its destination file
+    private static boolean isFinished(Recording recording) {
+        return recording.getState() == RecordingState.STOPPED || recording.getState() == RecordingState.CLOSED;
+    }
+
+    private RecordingInfo info(Recording recording) {
+        return new RecordingInfo(recording.getId(), recording.getName(), profiles.get(recording.getId()),
+                recording.getState().name(), recording.getStartTime(), recording.getDuration(),
+                recording.getSize());
+    }
+
+    static Map<String, String> settings(String name) {
+        Map<String, String> settings;
+        try {
+            settings = new HashMap<>(Configuration.getConfiguration(name).getSettings());
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("JFR settings '" + name + "' not available", e);
+        }
+        SECRET_EVENTS.forEach(event -> settings.put(event + "#enabled", "false"));
+        return settings;
+    }
+}
@@ -0,0 +1,19 @@
+package de.tum.aet.devops25.conceptsvc;
+
+/**
+ * Thrown when {@link FlightRecorderService} refuses to start a recording, either because the
+ * request is invalid or because the concurrency limit is reached.
+ */
+public class FlightRecordingRejectedException extends RuntimeException {
+
+    private final boolean limitReached;
+
+    public FlightRecordingRejectedException(String message, boolean limitReached) {
+        super(message);
+        this.limitReached = limitReached;
+    }
+
+    public boolean isLimitReached() {
+        return limitReached;
+    }
+}
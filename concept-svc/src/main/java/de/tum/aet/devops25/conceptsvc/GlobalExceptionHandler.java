@@ -1,7 +1,9 @@
 package de.tum.aet.devops25.conceptsvc;
 
 import java.time.OffsetDateTime;
+import java.util.stream.Collectors;
 
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -9,8 +11,10 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.resource.NoResourceFoundException;
 
 import de.tum.aet.devops25.api.generated.model.ErrorResponse;
+import jakarta.validation.ConstraintViolationException;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
@@ -51,6 +55,60 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
     }
 
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailureException(OptimisticLockingFailureException ex, WebRequest request) {
+        ErrorResponse error = new ErrorResponse()
+                .error("CONFLICT")
+                .message("The concept was changed concurrently; reload it and retry")
+                .path(request.getDescription(false).replace("uri=", ""))
+                .status(409)
+                .timestamp(OffsetDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    @ExceptionHandler(ConstraintViolationException.class)
+    public ResponseEntity<ErrorResponse> handleConstraintViolationException(ConstraintViolationException ex, WebRequest request) {
+        ErrorResponse error = new ErrorResponse()
+                .error("VALIDATION_ERROR")
+                .message(ex.getConstraintViolations().stream()
+                        .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")))
+                .path(request.getDescription(false).replace("uri=", ""))
+                .status(400)
+                .timestamp(OffsetDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    @ExceptionHandler(PdfRenderRejectedException.class)
+    public ResponseEntity<ErrorResponse> handlePdfRenderRejectedException(PdfRenderRejectedException ex, WebRequest request) {
+        ErrorResponse error = new ErrorResponse()
+                .error("SERVICE_UNAVAILABLE")
+                .message(ex.getMessage())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .status(503)
+                .timestamp(OffsetDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+
+    // Unknown paths, including /actuator/** on the API port, which is served on the management port only
+    @ExceptionHandler(NoResourceFoundException.class)
+    public ResponseEntity<ErrorResponse> handleNoResourceFoundException(NoResourceFoundException ex, WebRequest request) {
+        ErrorResponse error = new ErrorResponse()
+                .error("NOT_FOUND")
+                .message("No endpoint " + ex.getHttpMethod() + " /" + ex.getResourcePath())
+                .path(request.getDescription(false).replace("uri=", ""))
+                .status(404)
+                .timestamp(OffsetDateTime.now());
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<ErrorResponse> handleRuntimeException(RuntimeException ex, WebRequest request) {
         ErrorResponse error = new ErrorResponse()
@@ -0,0 +1,49 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import de.tum.aet.devops25.api.generated.model.ConceptChangeEvent;
+
+/**
+ * POSTs each batch as a JSON array of {@link ConceptChangeEvent}s to
+ * {@code concept.outbox.http.url} ({@code concept.outbox.sink=http}). Any non-2xx answer or
+ * I/O error fails the batch, which the relay offers again later.
+ */
+@Component
+@ConditionalOnProperty(name = "concept.outbox.sink", havingValue = "http")
+public class HttpConceptChangeSink implements ConceptChangeSink {
+
+    private final RestClient restClient;
+
+    public HttpConceptChangeSink(RestClient.Builder restClientBuilder,
+            @Value("${concept.outbox.http.url}") String url,
+            @Value("${concept.outbox.http.timeout:5s}") Duration timeout) {
+        if (url.isBlank()) {
+            throw new IllegalArgumentException("concept.outbox.http.url is required for the http sink");
+        }
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(timeout);
+        requestFactory.setReadTimeout(timeout);
+        this.restClient = restClientBuilder
+                .baseUrl(url)
+                .requestFactory(requestFactory)
+                .build();
+    }
+
+    @Override
+    public void publish(List<ConceptChangeEvent> batch) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(batch)
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
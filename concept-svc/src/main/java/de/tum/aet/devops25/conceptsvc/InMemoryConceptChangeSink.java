@@ -0,0 +1,46 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import de.tum.aet.devops25.api.generated.model.ConceptChangeEvent;
+
+/**
+ * Keeps the most recent published changes in memory ({@code concept.outbox.sink=memory}),
+ * for tests and local development without a downstream consumer.
+ */
+@Component
+@ConditionalOnProperty(name = "concept.outbox.sink", havingValue = "memory")
+public class InMemoryConceptChangeSink implements ConceptChangeSink {
+
+    private final int capacity;
+    private final Deque<ConceptChangeEvent> events = new ArrayDeque<>();
+
+    public InMemoryConceptChangeSink(@Value("${concept.outbox.memory.capacity:10000}") int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<ConceptChangeEvent> batch) {
+        for (ConceptChangeEvent event : batch) {
+            if (events.size() == capacity) {
+                events.removeFirst();
+            }
+            events.addLast(event);
+        }
+    }
+
+    public synchronized List<ConceptChangeEvent> events() {
+        return new ArrayList<>(events);
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
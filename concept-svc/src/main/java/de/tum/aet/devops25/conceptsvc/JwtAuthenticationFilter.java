@@ -45,6 +45,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     }
 
     private String validateTokenAndExtractUserId(String token) {
+        try (Span span = Span.startChild("jwt.verify")) {
+            String userId = parseSubject(token);
+            span.setAttribute("jwt.valid", userId != null);
+            return userId;
+        }
+    }
+
+    private String parseSubject(String token) {
         try {
             SecretKey key = Keys.hmacShaKeyFor(JWT_SECRET.getBytes());
             Claims claims = Jwts.parserBuilder()
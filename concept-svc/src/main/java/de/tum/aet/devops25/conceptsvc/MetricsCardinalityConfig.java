@@ -0,0 +1,37 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keeps the Prometheus scrape small: {@link CardinalityLimitFilter} and {@link SloMeterFilter} are
+ * applied to every meter of the registry, and the {@code cardinality} actuator endpoint reports the
+ * series per meter.
+ */
+@Configuration
+public class MetricsCardinalityConfig {
+
+    @Bean
+    public CardinalityLimitFilter cardinalityLimitFilter(@Value("${concept.metrics.max-tag-values:100}") int maxTagValues) {
+        return new CardinalityLimitFilter(maxTagValues);
+    }
+
+    @Bean
+    public SloMeterFilter sloMeterFilter(@Value("${concept.metrics.slo.meters:http.server.requests}") String meters,
+            @Value("${concept.metrics.slo.default:50ms,100ms,250ms,500ms,1s,2500ms,5s,10s}") String defaultBuckets,
+            @Value("${concept.metrics.slo.endpoints:}") String endpointBuckets) {
+        return new SloMeterFilter(Set.of(StringUtils.commaDelimitedListToStringArray(meters.replace(" ", ""))),
+                defaultBuckets, endpointBuckets);
+    }
+
+    @Bean
+    public CardinalityEndpoint cardinalityEndpoint(MeterRegistry meterRegistry, CardinalityLimitFilter limitFilter) {
+        return new CardinalityEndpoint(meterRegistry, limitFilter);
+    }
+}
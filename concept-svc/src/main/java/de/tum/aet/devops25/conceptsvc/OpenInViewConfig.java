@@ -0,0 +1,40 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Open-in-view for every endpoint except the PDF renders (spring.jpa.open-in-view is off so it
+ * can be scoped). Under open-in-view the request's persistence context keeps its JDBC connection
+ * until the response is written, so every download waiting for a render slot would pin a Hikari
+ * connection. The excluded endpoints load concepts in short transactions instead.
+ */
+@Configuration
+public class OpenInViewConfig implements WebMvcConfigurer {
+
+    static final String[] RENDER_PATHS = {"/api/concepts/{conceptId}/pdf", "/api/concepts/{conceptId}/pdf/stream",
+            "/api/concepts/export/pdf"};
+
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public OpenInViewConfig(ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        if (factory == null) {
+            // MVC slice tests run without JPA
+            return;
+        }
+        OpenEntityManagerInViewInterceptor interceptor = new OpenEntityManagerInViewInterceptor();
+        interceptor.setEntityManagerFactory(factory);
+        registry.addWebRequestInterceptor(interceptor).excludePathPatterns(RENDER_PATHS);
+    }
+}
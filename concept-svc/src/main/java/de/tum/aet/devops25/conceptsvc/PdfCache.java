@@ -0,0 +1,603 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.io.EOFException;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Two-tier cache of rendered concept PDFs keyed by (conceptId, version). Each concept keeps at
+ * most one version per tier, so asking for a newer version evicts the stale artifact. The memory
+ * tier is an LRU bounded by total bytes; the disk tier holds one file per concept, bounded the
+ * same way, and is sent from the file with {@link FileChannel#transferTo} instead of being copied
+ * onto the heap. Files are opened while they are still indexed, so a concurrent eviction only
+ * unlinks them: readers that already hold the file keep reading it. A disk hit holds its file open
+ * until {@link #release} closes it; request handlers use {@link #releaseAfterRequest}.
+ */
+@Component
+public class PdfCache {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfCache.class);
+    private static final byte[] PDF_MAGIC = "%PDF".getBytes(StandardCharsets.US_ASCII);
+
+    record MemoryEntry(int version, byte[] content) {
+    }
+
+    record DiskEntry(int version, Path file, long size) {
+    }
+
+    record DiskHit(FileChannel channel, long size) {
+    }
+
+    private final Path directory;
+    private final long memoryMaxBytes;
+    private final long diskMaxBytes;
+
+    private final LinkedHashMap<UUID, MemoryEntry> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<UUID, DiskEntry> disk = new LinkedHashMap<>(16, 0.75f, true);
+    private long memoryBytes;
+    private long diskBytes;
+
+    private final Timer renderTimer;
+    private final Timer memoryHitTimer;
+    private final Timer diskHitTimer;
+
+    public PdfCache(MeterRegistry meterRegistry,
+            @Value("${concept.pdf-cache.directory:${java.io.tmpdir}/concept-pdf-cache}") Path directory,
+            @Value("${concept.pdf-cache.memory-max-bytes:33554432}") long memoryMaxBytes,
+            @Value("${concept.pdf-cache.disk-max-bytes:536870912}") long diskMaxBytes) throws IOException {
+        this.directory = directory;
+        this.memoryMaxBytes = memoryMaxBytes;
+        this.diskMaxBytes = diskMaxBytes;
+        Files.createDirectories(directory);
+        loadDiskIndex();
+
+        this.renderTimer = pdfTimer(meterRegistry, "render");
+        this.memoryHitTimer = pdfTimer(meterRegistry, "memory");
+        this.diskHitTimer = pdfTimer(meterRegistry, "disk");
+        Gauge.builder("concept.pdf.cache.size", this, c -> c.memoryBytes()).tag("tier", "memory")
+                .baseUnit("bytes").register(meterRegistry);
+        Gauge.builder("concept.pdf.cache.size", this, c -> c.diskBytes()).tag("tier", "disk")
+                .baseUnit("bytes").register(meterRegistry);
+    }
+
+    private static Timer pdfTimer(MeterRegistry meterRegistry, String source) {
+        return Timer.builder("concept.pdf.download")
+                .description("Time to obtain a concept PDF, by where it came from")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the PDF for the given concept version, rendering it with {@code renderer} only when
+     * neither tier holds that version. Older cached versions are evicted on the way; a request for
+     * an older version than the cached one (a reader racing a writer) renders without caching.
+     */
+    public Resource get(UUID conceptId, int version, Supplier<Resource> renderer) {
+        Optional<Resource> cached = find(conceptId, version);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        long start = System.nanoTime();
+        Resource rendered = renderer.get();
+        byte[] content = contentOf(rendered);
+        // Fallback output of a failed render is not a PDF; render again next time
+        if (isPdf(content)) {
+            storeInMemory(conceptId, new MemoryEntry(version, content));
+            storeOnDisk(conceptId, version, content);
+        }
+        renderTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return new ByteArrayResource(content);
+    }
+
+    /**
+     * Returns the cached PDF for exactly this version, if either tier holds it.
+     */
+    public Optional<Resource> find(UUID conceptId, int version) {
+        long start = System.nanoTime();
+
+        byte[] cached = memoryLookup(conceptId, version);
+        if (cached != null) {
+            memoryHitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.of(new ByteArrayResource(cached));
+        }
+
+        DiskHit hit = diskLookup(conceptId, version);
+        if (hit != null) {
+            diskHitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return Optional.of(new OpenedFileResource(conceptId, hit));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Writes the PDF for the given concept version to {@code out}. Cached versions are copied
+     * from memory or disk; otherwise {@code renderer} writes to {@code out} while the same bytes
+     * are spooled to a file that becomes the disk-tier entry, so no heap copy of the document is
+     * kept. If rendering fails the spool file is discarded and the exception propagates.
+     */
+    public void stream(UUID conceptId, int version, OutputStream out, Consumer<OutputStream> renderer)
+            throws IOException {
+        long start = System.nanoTime();
+
+        byte[] cached = memoryLookup(conceptId, version);
+        if (cached != null) {
+            out.write(cached);
+            memoryHitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return;
+        }
+
+        DiskHit hit = diskLookup(conceptId, version);
+        if (hit != null) {
+            try (FileChannel channel = hit.channel()) {
+                transfer(channel, 0, hit.size(), out);
+            }
+            diskHitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return;
+        }
+
+        Path spool = Files.createTempFile(directory, conceptId.toString(), ".tmp");
+        long size;
+        try (OutputStream spoolOut = Files.newOutputStream(spool)) {
+            TeeOutputStream tee = new TeeOutputStream(out, spoolOut);
+            renderer.accept(tee);
+            tee.flush();
+            size = tee.count;
+        } catch (IOException | RuntimeException e) {
+            deleteQuietly(spool);
+            throw e;
+        }
+        storeFile(conceptId, version, spool, size);
+        renderTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Closes the file a disk hit from {@link #get} or {@link #find} holds open; other resources
+     * need no release. Safe to call more than once.
+     */
+    static void release(Resource resource) {
+        if (resource instanceof OpenedFileResource opened) {
+            opened.close();
+        }
+    }
+
+    /**
+     * Releases the resource once the current request completes, after the response was written,
+     * the client went away or the handler failed.
+     */
+    static void releaseAfterRequest(Resource resource) {
+        if (resource instanceof OpenedFileResource opened) {
+            RequestContextHolder.currentRequestAttributes().registerDestructionCallback(
+                    PdfCache.class.getName() + "@" + System.identityHashCode(opened), opened::close,
+                    RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    /**
+     * Drops every cached version of the concept, e.g. after it was deleted.
+     */
+    public void evict(UUID conceptId) {
+        synchronized (memory) {
+            MemoryEntry removed = memory.remove(conceptId);
+            if (removed != null) {
+                memoryBytes -= removed.content().length;
+            }
+        }
+        synchronized (disk) {
+            DiskEntry removed = disk.remove(conceptId);
+            if (removed != null) {
+                diskBytes -= removed.size();
+                deleteQuietly(removed.file());
+            }
+        }
+    }
+
+    /**
+     * Whether exactly this version is held by either tier.
+     */
+    public boolean contains(UUID conceptId, int version) {
+        synchronized (memory) {
+            MemoryEntry entry = memory.get(conceptId);
+            if (entry != null && entry.version() == version) {
+                return true;
+            }
+        }
+        synchronized (disk) {
+            DiskEntry entry = disk.get(conceptId);
+            return entry != null && entry.version() == version && Files.exists(entry.file());
+        }
+    }
+
+    long memoryBytes() {
+        synchronized (memory) {
+            return memoryBytes;
+        }
+    }
+
+    long diskBytes() {
+        synchronized (disk) {
+            return diskBytes;
+        }
+    }
+
+    private byte[] memoryLookup(UUID conceptId, int version) {
+        synchronized (memory) {
+            MemoryEntry entry = memory.get(conceptId);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.version() > version) {
+                return null;
+            }
+            if (entry.version() < version) {
+                memory.remove(conceptId);
+                memoryBytes -= entry.content().length;
+                return null;
+            }
+            return entry.content();
+        }
+    }
+
+    private DiskHit diskLookup(UUID conceptId, int version) {
+        synchronized (disk) {
+            DiskEntry entry = disk.get(conceptId);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.version() > version) {
+                return null;
+            }
+            if (entry.version() == version) {
+                try {
+                    return new DiskHit(FileChannel.open(entry.file()), entry.size());
+                } catch (IOException e) {
+                    // Deleted behind our back; drop the entry below
+                }
+            }
+            disk.remove(conceptId);
+            diskBytes -= entry.size();
+            deleteQuietly(entry.file());
+            return null;
+        }
+    }
+
+    private void storeInMemory(UUID conceptId, MemoryEntry entry) {
+        if (entry.content().length > memoryMaxBytes) {
+            return;
+        }
+        synchronized (memory) {
+            MemoryEntry current = memory.get(conceptId);
+            if (current != null && current.version() > entry.version()) {
+                return;
+            }
+            MemoryEntry previous = memory.put(conceptId, entry);
+            if (previous != null) {
+                memoryBytes -= previous.content().length;
+            }
+            memoryBytes += entry.content().length;
+            Iterator<MemoryEntry> eldest = memory.values().iterator();
+            while (memoryBytes > memoryMaxBytes && eldest.hasNext()) {
+                memoryBytes -= eldest.next().content().length;
+                eldest.remove();
+            }
+        }
+    }
+
+    private void storeOnDisk(UUID conceptId, int version, byte[] content) {
+        if (content.length > diskMaxBytes) {
+            return;
+        }
+        synchronized (disk) {
+            DiskEntry current = disk.get(conceptId);
+            if (current != null && current.version() > version) {
+                return;
+            }
+        }
+        try {
+            Path tmp = Files.createTempFile(directory, conceptId.toString(), ".tmp");
+            Files.write(tmp, content);
+            storeFile(conceptId, version, tmp, content.length);
+        } catch (IOException e) {
+            log.warn("Could not write PDF cache file for concept {}", conceptId, e);
+        }
+    }
+
+    /**
+     * Moves a completely written file into place as the disk-tier entry of the concept.
+     */
+    private void storeFile(UUID conceptId, int version, Path written, long size) {
+        if (size > diskMaxBytes) {
+            deleteQuietly(written);
+            return;
+        }
+        Path target = directory.resolve(fileName(conceptId, version));
+        try {
+            Files.move(written, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not store PDF cache file for concept {}", conceptId, e);
+            deleteQuietly(written);
+            return;
+        }
+
+        synchronized (disk) {
+            DiskEntry current = disk.get(conceptId);
+            if (current != null && current.version() > version) {
+                // A newer version was stored while this one was being written
+                deleteQuietly(target);
+                return;
+            }
+            DiskEntry previous = disk.put(conceptId, new DiskEntry(version, target, size));
+            if (previous != null) {
+                diskBytes -= previous.size();
+                if (!previous.file().equals(target)) {
+                    deleteQuietly(previous.file());
+                }
+            }
+            diskBytes += size;
+            Iterator<DiskEntry> eldest = disk.values().iterator();
+            while (diskBytes > diskMaxBytes && eldest.hasNext()) {
+                DiskEntry evicted = eldest.next();
+                eldest.remove();
+                diskBytes -= evicted.size();
+                deleteQuietly(evicted.file());
+            }
+        }
+    }
+
+    /**
+     * Re-indexes files left by a previous run, keeping only the newest version of each concept.
+     */
+    private void loadDiskIndex() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                int separator = name.lastIndexOf("-v");
+                if (!name.endsWith(".pdf") || separator < 0) {
+                    deleteQuietly(file);
+                    return;
+                }
+                try {
+                    UUID conceptId = UUID.fromString(name.substring(0, separator));
+                    int version = Integer.parseInt(name.substring(separator + 2, name.length() - 4));
+                    DiskEntry entry = new DiskEntry(version, file, Files.size(file));
+                    DiskEntry existing = disk.get(conceptId);
+                    if (existing == null || existing.version() < version) {
+                        disk.put(conceptId, entry);
+                        diskBytes += entry.size();
+                        if (existing != null) {
+                            diskBytes -= existing.size();
+                            deleteQuietly(existing.file());
+                        }
+                    } else {
+                        deleteQuietly(file);
+                    }
+                } catch (IllegalArgumentException | IOException e) {
+                    deleteQuietly(file);
+                }
+            });
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete PDF cache file {}", file, e);
+        }
+    }
+
+    private static String fileName(UUID conceptId, int version) {
+        return conceptId + "-v" + version + ".pdf";
+    }
+
+    private static byte[] contentOf(Resource resource) {
+        try {
+            return resource.getContentAsByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static boolean isPdf(byte[] content) {
+        return content.length >= PDF_MAGIC.length
+                && Arrays.equals(content, 0, PDF_MAGIC.length, PDF_MAGIC, 0, PDF_MAGIC.length);
+    }
+
+    /**
+     * Writes {@code count} bytes of the file from {@code position} on. Into a socket-backed channel
+     * this is the kernel's zero-copy transfer; the servlet response only offers an OutputStream, which
+     * still keeps the document off the heap.
+     */
+    private static void transfer(FileChannel channel, long position, long count, OutputStream out)
+            throws IOException {
+        WritableByteChannel target = Channels.newChannel(out);
+        long done = 0;
+        while (done < count) {
+            long written = channel.transferTo(position + done, count - done, target);
+            if (written <= 0) {
+                throw new EOFException("Cached PDF ended after " + (position + done) + " bytes");
+            }
+            done += written;
+        }
+    }
+
+    /**
+     * A disk-tier file opened while it was indexed. Every {@link #getInputStream} reads the open
+     * file from the start, so multi-range responses can read it once per range; closing a stream
+     * leaves the file open for the next one until {@link PdfCache#release}.
+     */
+    private static final class OpenedFileResource extends AbstractResource {
+
+        private final UUID conceptId;
+        private final DiskHit hit;
+
+        OpenedFileResource(UUID conceptId, DiskHit hit) {
+            this.conceptId = conceptId;
+            this.hit = hit;
+        }
+
+        @Override
+        public InputStream getInputStream() throws IOException {
+            if (!hit.channel().isOpen()) {
+                throw new IOException("Cached PDF of concept " + conceptId + " was already released");
+            }
+            return new FileRangeInputStream(hit.channel(), hit.size());
+        }
+
+        @Override
+        public boolean exists() {
+            // The file stays readable through the open channel even after it was unlinked
+            return true;
+        }
+
+        @Override
+        public long contentLength() {
+            return hit.size();
+        }
+
+        @Override
+        public String getDescription() {
+            return "cached PDF of concept " + conceptId;
+        }
+
+        void close() {
+            try {
+                hit.channel().close();
+            } catch (IOException e) {
+                log.warn("Could not close cached PDF of concept {}", conceptId, e);
+            }
+        }
+    }
+
+    /**
+     * Reads a file with positional reads, so several streams can share one channel, and sends the
+     * rest of it with {@link #transfer} when the converter copies the whole stream.
+     */
+    private static final class FileRangeInputStream extends InputStream {
+
+        private final FileChannel channel;
+        private final long size;
+        private long position;
+
+        FileRangeInputStream(FileChannel channel, long size) {
+            this.channel = channel;
+            this.size = size;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] single = new byte[1];
+            return read(single, 0, 1) < 0 ? -1 : single[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (length == 0) {
+                return 0;
+            }
+            if (position >= size) {
+                return -1;
+            }
+            int read = channel.read(ByteBuffer.wrap(buffer, offset, (int) Math.min(length, size - position)), position);
+            if (read < 0) {
+                return -1;
+            }
+            position += read;
+            return read;
+        }
+
+        @Override
+        public long skip(long n) {
+            long skipped = Math.max(0, Math.min(n, size - position));
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return (int) Math.min(Integer.MAX_VALUE, size - position);
+        }
+
+        @Override
+        public long transferTo(OutputStream out) throws IOException {
+            long count = size - position;
+            transfer(channel, position, count, out);
+            position = size;
+            return count;
+        }
+    }
+
+    /**
+     * Forwards writes to the response and the spool file, counting bytes.
+     */
+    private static final class TeeOutputStream extends FilterOutputStream {
+
+        private final OutputStream copy;
+        private long count;
+
+        TeeOutputStream(OutputStream out, OutputStream copy) {
+            super(out);
+            this.copy = copy;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            copy.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            copy.write(b, off, len);
+            count += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+            copy.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            // The response stream belongs to the container
+            flush();
+        }
+    }
+}
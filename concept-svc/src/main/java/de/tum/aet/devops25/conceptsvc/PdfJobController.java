@@ -0,0 +1,103 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.bind.annotation.RestController;
+
+import de.tum.aet.devops25.api.generated.controller.PdfJobsApi;
+import de.tum.aet.devops25.api.generated.model.PdfJob;
+
+@RestController
+public class PdfJobController implements PdfJobsApi {
+
+    static final String RETRY_AFTER_SECONDS = "5";
+
+    private final ConceptRepository conceptRepository;
+    private final PdfJobService pdfJobService;
+    private final PdfCache pdfCache;
+
+    public PdfJobController(ConceptRepository conceptRepository, PdfJobService pdfJobService, PdfCache pdfCache) {
+        this.conceptRepository = conceptRepository;
+        this.pdfJobService = pdfJobService;
+        this.pdfCache = pdfCache;
+    }
+
+    private UUID getCurrentUserId() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        return UUID.fromString((String) auth.getPrincipal());
+    }
+
+    @Override
+    public ResponseEntity<PdfJob> submitPdfJob(UUID conceptId) {
+        UUID userId = getCurrentUserId();
+        
+        Optional<ConceptEntity> conceptOpt = conceptRepository.findByIdAndUserId(conceptId, userId);
+        if (conceptOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        try {
+            PdfJobService.Job job = pdfJobService.submit(conceptOpt.get(), userId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(toDto(job));
+        } catch (RejectedExecutionException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header("Retry-After", RETRY_AFTER_SECONDS)
+                    .build();
+        }
+    }
+
+    @Override
+    public ResponseEntity<PdfJob> getPdfJob(UUID jobId, Integer waitSeconds) {
+        UUID userId = getCurrentUserId();
+        Duration wait = Duration.ofSeconds(waitSeconds != null ? waitSeconds : 0);
+        
+        return pdfJobService.await(jobId, userId, wait)
+                .map(job -> ResponseEntity.ok(toDto(job)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @Override
+    public ResponseEntity<Resource> downloadPdfJobResult(UUID jobId) {
+        UUID userId = getCurrentUserId();
+        
+        Optional<PdfJobService.Job> jobOpt = pdfJobService.find(jobId, userId);
+        if (jobOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        
+        PdfJobService.Job job = jobOpt.get();
+        if (job.status != PdfJob.StatusEnum.COMPLETED) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+        
+        // The artifact may have been evicted since the job finished. Rendering the concept as it is
+        // now would hand out a different version than the job reports, so the client resubmits.
+        return pdfCache.find(job.conceptId, job.version)
+                .map(pdfResource -> {
+                    PdfCache.releaseAfterRequest(pdfResource);
+                    return ResponseEntity.ok()
+                            .header("Content-Disposition", "attachment; filename=concept-" + job.conceptId + ".pdf")
+                            .<Resource>body(pdfResource);
+                })
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.GONE).build());
+    }
+
+    private static PdfJob toDto(PdfJobService.Job job) {
+        return new PdfJob()
+                .id(job.id)
+                .conceptId(job.conceptId)
+                .version(job.version)
+                .status(job.status)
+                .error(job.error)
+                .submittedAt(job.submittedAt)
+                .completedAt(job.completedAt);
+    }
+}
@@ -0,0 +1,238 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+
+import de.tum.aet.devops25.api.generated.model.PdfJob;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Renders concept PDFs on a bounded worker pool, away from request threads. Jobs are
+ * deduplicated by (conceptId, version): while a job for a version is queued, running or
+ * completed, submitting that version again returns the existing job, unless its output has
+ * since been evicted from the {@link PdfCache}. Finished jobs are kept for {@link #RETENTION}
+ * and purged once a minute.
+ */
+@Service
+public class PdfJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(PdfJobService.class);
+
+    static final Duration RETENTION = Duration.ofMinutes(15);
+    // Workers absorb load the interactive downloads shed, so they wait for a render slot much longer
+    static final Duration SLOT_TIMEOUT = Duration.ofMinutes(10);
+
+    record JobKey(UUID conceptId, int version) {
+    }
+
+    static final class Job {
+        final UUID id = UUID.randomUUID();
+        final UUID conceptId;
+        final UUID userId;
+        final int version;
+        final OffsetDateTime submittedAt = OffsetDateTime.now();
+        final long submittedNanos = System.nanoTime();
+        final CompletableFuture<Void> done = new CompletableFuture<>();
+        volatile PdfJob.StatusEnum status = PdfJob.StatusEnum.QUEUED;
+        volatile String error;
+        volatile OffsetDateTime completedAt;
+
+        Job(UUID conceptId, UUID userId, int version) {
+            this.conceptId = conceptId;
+            this.userId = userId;
+            this.version = version;
+        }
+
+        JobKey key() {
+            return new JobKey(conceptId, version);
+        }
+    }
+
+    private final PdfService pdfService;
+    private final PdfCache pdfCache;
+    private final PdfRenderExecutor pdfRenderExecutor;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService purger =
+            Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("pdf-job-purge-"));
+
+    private final Map<UUID, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<JobKey, Job> jobsByKey = new ConcurrentHashMap<>();
+
+    private final Counter queued;
+    private final Counter deduplicated;
+    private final Counter rejected;
+    private final Timer queueWait;
+    private final Timer completedRenders;
+    private final Timer failedRenders;
+
+    public PdfJobService(PdfService pdfService, PdfCache pdfCache, PdfRenderExecutor pdfRenderExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${concept.pdf-jobs.workers:2}") int workers,
+            @Value("${concept.pdf-jobs.queue-capacity:100}") int queueCapacity) {
+        this.pdfService = pdfService;
+        this.pdfCache = pdfCache;
+        this.pdfRenderExecutor = pdfRenderExecutor;
+        this.executor = new ThreadPoolExecutor(workers, workers, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("pdf-job-"),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.queued = Counter.builder("concept.pdf.jobs.submitted").tag("outcome", "queued").register(meterRegistry);
+        this.deduplicated = Counter.builder("concept.pdf.jobs.submitted").tag("outcome", "deduplicated").register(meterRegistry);
+        this.rejected = Counter.builder("concept.pdf.jobs.submitted").tag("outcome", "rejected").register(meterRegistry);
+        this.queueWait = Timer.builder("concept.pdf.jobs.wait")
+                .description("Time jobs spend queued before a worker picks them up")
+                .register(meterRegistry);
+        this.completedRenders = Timer.builder("concept.pdf.jobs.render").tag("status", "completed").register(meterRegistry);
+        this.failedRenders = Timer.builder("concept.pdf.jobs.render").tag("status", "failed").register(meterRegistry);
+        Gauge.builder("concept.pdf.jobs.queued", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("concept.pdf.jobs.running", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    /**
+     * Queues a render of the concept's current version or returns the job already covering it.
+     *
+     * @throws RejectedExecutionException if the queue is full
+     */
+    public Job submit(ConceptEntity concept, UUID userId) {
+        Job candidate = new Job(concept.getId(), userId, concept.getVersion());
+        Job job = jobsByKey.compute(candidate.key(), (key, existing) -> isReusable(existing) ? existing : candidate);
+        if (job != candidate) {
+            deduplicated.increment();
+            return job;
+        }
+
+        // The worker runs after the request's persistence context is gone
+        Hibernate.initialize(concept.getAgenda());
+        Hibernate.initialize(concept.getSpeakers());
+        Hibernate.initialize(concept.getTags());
+        if (concept.getEventDetails() != null) {
+            Hibernate.initialize(concept.getEventDetails().getObjectives());
+        }
+
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> render(job, concept));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            jobsByKey.remove(job.key(), job);
+            rejected.increment();
+            throw e;
+        }
+        queued.increment();
+        return job;
+    }
+
+    private boolean isReusable(Job existing) {
+        if (existing == null || existing.status == PdfJob.StatusEnum.FAILED) {
+            return false;
+        }
+        return existing.status != PdfJob.StatusEnum.COMPLETED || pdfCache.contains(existing.conceptId, existing.version);
+    }
+
+    public Optional<Job> find(UUID jobId, UUID userId) {
+        Job job = jobs.get(jobId);
+        if (job == null || !job.userId.equals(userId)) {
+            return Optional.empty();
+        }
+        return Optional.of(job);
+    }
+
+    /**
+     * Like {@link #find} but first waits up to {@code wait} for the job to finish.
+     */
+    public Optional<Job> await(UUID jobId, UUID userId, Duration wait) {
+        Optional<Job> job = find(jobId, userId);
+        if (job.isPresent() && !wait.isZero()) {
+            try {
+                job.get().done.get(wait.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException | ExecutionException e) {
+                // Report the current state
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return job;
+    }
+
+    private void render(Job job, ConceptEntity concept) {
+        queueWait.record(System.nanoTime() - job.submittedNanos, TimeUnit.NANOSECONDS);
+        job.status = PdfJob.StatusEnum.RUNNING;
+        long start = System.nanoTime();
+        try {
+            // Workers share the render slots with interactive downloads, but not their wait queue and timeout
+            // Only the cache entry is needed; a disk hit would otherwise keep its file open
+            PdfCache.release(pdfCache.get(job.conceptId, job.version,
+                    () -> pdfRenderExecutor.execute(() -> pdfService.generateConceptPdf(concept), SLOT_TIMEOUT)));
+            if (pdfCache.contains(job.conceptId, job.version)) {
+                job.status = PdfJob.StatusEnum.COMPLETED;
+            } else {
+                // generateConceptPdf fell back to plain text, which is never cached
+                fail(job, "PDF rendering failed");
+            }
+        } catch (RuntimeException e) {
+            log.warn("PDF job {} for concept {} failed", job.id, job.conceptId, e);
+            fail(job, e.getMessage());
+        } finally {
+            job.completedAt = OffsetDateTime.now();
+            Timer timer = job.status == PdfJob.StatusEnum.COMPLETED ? completedRenders : failedRenders;
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            job.done.complete(null);
+        }
+    }
+
+    private void fail(Job job, String error) {
+        job.error = error;
+        job.status = PdfJob.StatusEnum.FAILED;
+        // Let the next submit for this version retry
+        jobsByKey.remove(job.key(), job);
+    }
+
+    @PostConstruct
+    void startPurge() {
+        purger.scheduleAtFixedRate(this::purgeExpired, 1, 1, TimeUnit.MINUTES);
+    }
+
+    void purgeExpired() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(RETENTION);
+        jobs.values().removeIf(job -> {
+            OffsetDateTime completedAt = job.completedAt;
+            boolean expired = completedAt != null && completedAt.isBefore(cutoff);
+            if (expired) {
+                jobsByKey.remove(job.key(), job);
+            }
+            return expired;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        purger.shutdownNow();
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+}
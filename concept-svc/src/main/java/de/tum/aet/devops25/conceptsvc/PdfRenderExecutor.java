@@ -0,0 +1,144 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Bounds how many iText renders run at once so a burst of PDF downloads cannot occupy every
+ * core. At most {@code maxConcurrency} renders run; up to {@code queueSize} more wait for a
+ * slot for at most {@code queueTimeout}. Anything beyond that is rejected immediately with a
+ * {@link PdfRenderRejectedException} that carries a Retry-After hint. Callers that are bounded
+ * themselves and have no client waiting, like PDF job workers, bypass the wait queue and wait
+ * longer with {@link #execute(Supplier, Duration)}.
+ *
+ * <p>Renders run on the calling thread: every caller (request, streaming or batch thread) has
+ * to wait for the document anyway, so handing it to another pool would only add a hop.
+ */
+@Component
+public class PdfRenderExecutor {
+
+    private final int maxConcurrency;
+    private final int queueSize;
+    private final Duration queueTimeout;
+    private final Semaphore slots;
+    private final AtomicInteger admitted = new AtomicInteger();
+
+    private final Timer queueWait;
+    private final Counter rejectedQueueFull;
+    private final Counter rejectedTimeout;
+
+    public PdfRenderExecutor(MeterRegistry meterRegistry,
+            @Value("${concept.pdf-render.max-concurrency:0}") int maxConcurrency,
+            @Value("${concept.pdf-render.queue-size:-1}") int queueSize,
+            @Value("${concept.pdf-render.queue-timeout:500ms}") Duration queueTimeout) {
+        // Default to half the cores so JSON endpoints keep CPU headroom during PDF bursts
+        this.maxConcurrency = maxConcurrency > 0
+                ? maxConcurrency
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.queueSize = queueSize >= 0 ? queueSize : 2 * this.maxConcurrency;
+        this.queueTimeout = queueTimeout;
+        this.slots = new Semaphore(this.maxConcurrency, true);
+
+        this.queueWait = Timer.builder("concept.pdf.render.queue.wait")
+                .description("Time renders wait for a free render slot")
+                .register(meterRegistry);
+        this.rejectedQueueFull = Counter.builder("concept.pdf.render.rejected").tag("reason", "queue_full")
+                .register(meterRegistry);
+        this.rejectedTimeout = Counter.builder("concept.pdf.render.rejected").tag("reason", "timeout")
+                .register(meterRegistry);
+        Gauge.builder("concept.pdf.render.active", this, PdfRenderExecutor::active).register(meterRegistry);
+        Gauge.builder("concept.pdf.render.waiting", this, PdfRenderExecutor::waiting).register(meterRegistry);
+        Gauge.builder("concept.pdf.render.limit", this, e -> e.maxConcurrency).register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code render} once a slot is free.
+     *
+     * @throws PdfRenderRejectedException if the wait queue is full or no slot frees up in time
+     */
+    public <T> T execute(Supplier<T> render) {
+        if (admitted.incrementAndGet() > maxConcurrency + queueSize) {
+            admitted.decrementAndGet();
+            rejectedQueueFull.increment();
+            throw new PdfRenderRejectedException("PDF rendering is at capacity", retryAfterSeconds());
+        }
+        try {
+            long start = System.nanoTime();
+            acquire(queueTimeout);
+            queueWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            try {
+                return render.get();
+            } finally {
+                slots.release();
+            }
+        } finally {
+            admitted.decrementAndGet();
+        }
+    }
+
+    /**
+     * Runs {@code render} once a slot is free, waiting up to {@code timeout} outside the bounded wait
+     * queue. Its wait is not part of {@code concept.pdf.render.queue.wait}, which the Retry-After hint
+     * for interactive requests is derived from.
+     *
+     * @throws PdfRenderRejectedException if no slot frees up in time
+     */
+    public <T> T execute(Supplier<T> render, Duration timeout) {
+        acquire(timeout);
+        try {
+            return render.get();
+        } finally {
+            slots.release();
+        }
+    }
+
+    public void run(Runnable render) {
+        execute(() -> {
+            render.run();
+            return null;
+        });
+    }
+
+    private void acquire(Duration timeout) {
+        boolean acquired;
+        try {
+            acquired = slots.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PdfRenderRejectedException("Interrupted while waiting for a render slot", retryAfterSeconds());
+        }
+        if (!acquired) {
+            rejectedTimeout.increment();
+            throw new PdfRenderRejectedException("Timed out waiting for a render slot", retryAfterSeconds());
+        }
+    }
+
+    int active() {
+        return maxConcurrency - slots.availablePermits();
+    }
+
+    int waiting() {
+        return Math.max(0, admitted.get() - active());
+    }
+
+    int maxConcurrency() {
+        return maxConcurrency;
+    }
+
+    private long retryAfterSeconds() {
+        // One average queue drain is a reasonable back-off; never suggest less than a second
+        double meanWaitSeconds = queueWait.mean(TimeUnit.SECONDS);
+        return Math.max(1, Math.round(Math.ceil(meanWaitSeconds)));
+    }
+}
@@ -0,0 +1,18 @@
+package de.tum.aet.devops25.conceptsvc;
+
+/**
+ * Thrown when {@link PdfRenderExecutor} is saturated and a render cannot be admitted.
+ */
+public class PdfRenderRejectedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PdfRenderRejectedException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,18 +1,30 @@
 package de.tum.aet.devops25.conceptsvc;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.time.OffsetDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.stereotype.Service;
 
+import com.itextpdf.io.font.FontProgram;
+import com.itextpdf.io.font.FontProgramFactory;
+import com.itextpdf.io.font.PdfEncodings;
+import com.itextpdf.io.font.constants.StandardFonts;
 import com.itextpdf.kernel.colors.Color;
 import com.itextpdf.kernel.colors.DeviceRgb;
+import com.itextpdf.kernel.font.PdfFontFactory;
 import com.itextpdf.kernel.pdf.PdfDocument;
 import com.itextpdf.kernel.pdf.PdfWriter;
+import com.itextpdf.kernel.pdf.WriterProperties;
 import com.itextpdf.layout.Document;
+import com.itextpdf.layout.Style;
 import com.itextpdf.layout.element.AreaBreak;
 import com.itextpdf.layout.element.Cell;
 import com.itextpdf.layout.element.List;
@@ -24,41 +36,103 @@ import com.itextpdf.layout.properties.AreaBreakType;
 import com.itextpdf.layout.properties.TextAlignment;
 import com.itextpdf.layout.properties.UnitValue;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 @Service
 public class PdfService {
     
+    /**
+     * STANDARD writes a classic PDF 1.7 file with an uncompressed cross-reference table and
+     * auto-sized tables. COMPACT packs objects into compressed object streams, lays tables out
+     * from their precomputed column widths instead of measuring every cell, and flushes the
+     * agenda table row block by row block.
+     */
+    public enum Profile {
+        STANDARD, COMPACT
+    }
+    
     // Colors for professional styling
     private static final Color PRIMARY_COLOR = new DeviceRgb(41, 128, 185);    // Professional blue
     private static final Color ACCENT_COLOR = new DeviceRgb(52, 73, 94);      // Dark gray-blue
     private static final Color TEXT_COLOR = new DeviceRgb(44, 62, 80);        // Dark gray
     private static final Color LIGHT_GRAY = new DeviceRgb(236, 240, 241);     // Light background
     
+    // Styles hold no document-bound objects, so one instance serves every render
+    private static final Style TITLE = new Style().setFontSize(24).setBold().setFontColor(PRIMARY_COLOR)
+            .setTextAlignment(TextAlignment.CENTER).setMarginBottom(10);
+    private static final Style SUBTITLE = new Style().setFontSize(14).setFontColor(ACCENT_COLOR)
+            .setTextAlignment(TextAlignment.CENTER).setMarginBottom(30);
+    private static final Style SECTION_HEADER = new Style().setFontSize(16).setBold().setFontColor(PRIMARY_COLOR)
+            .setMarginTop(15).setMarginBottom(10);
+    private static final Style BODY_TEXT = new Style().setFontSize(11).setTextAlignment(TextAlignment.JUSTIFIED)
+            .setMarginBottom(15);
+    private static final Style TAGS = new Style().setFontSize(10).setFontColor(ACCENT_COLOR).setItalic();
+    private static final Style SPEAKER_NAME = new Style().setBold().setFontSize(12);
+    private static final Style SPEAKER_EXPERTISE = new Style().setFontColor(ACCENT_COLOR);
+    private static final Style SPEAKER_BIO = new Style().setFontSize(10).setMarginLeft(10).setMarginBottom(5);
+    private static final Style SPEAKER_TOPIC = new Style().setFontSize(10).setFontColor(ACCENT_COLOR)
+            .setMarginLeft(10).setMarginBottom(15);
+    private static final Style FOOTER_TEXT = new Style().setFontSize(8);
+    private static final Style HEADER_CELL = new Style().setBackgroundColor(PRIMARY_COLOR)
+            .setTextAlignment(TextAlignment.CENTER).setPadding(8);
+    private static final Style HEADER_CELL_TEXT = new Style().setBold().setFontColor(DeviceRgb.WHITE);
+    private static final Style DATA_CELL = new Style().setPadding(5).setBackgroundColor(LIGHT_GRAY);
+    private static final Style DATA_CELL_TEXT = new Style().setFontSize(10);
+    private static final Style LABEL_CELL = new Style().setPadding(5).setBorderRight(null);
+    private static final Style LABEL_CELL_TEXT = new Style().setBold().setFontSize(11);
+    private static final Style VALUE_CELL = new Style().setPadding(5).setBorderLeft(null);
+    private static final Style VALUE_CELL_TEXT = new Style().setFontSize(11);
+    private static final Style INFO_CELL = new Style().setBorder(null).setPadding(5);
+    private static final Style INFO_CELL_TEXT = new Style().setFontSize(10).setFontColor(ACCENT_COLOR);
+    
+    // Column layouts are fixed, so their widths are computed once; Table copies them
+    private static final UnitValue[] TWO_EQUAL_COLUMNS = UnitValue.createPercentArray(new float[]{1, 1});
+    private static final UnitValue[] LABEL_VALUE_COLUMNS = UnitValue.createPercentArray(new float[]{1, 2});
+    private static final UnitValue[] AGENDA_COLUMNS = UnitValue.createPercentArray(new float[]{1, 3, 1.5f, 1.5f});
+    
+    // Rows laid out and written per agenda table flush in the COMPACT profile
+    private static final int AGENDA_FLUSH_ROWS = 50;
+    
+    // Parsed once per JVM; a PdfFont wrapping it is still needed per document
+    private static final FontProgram HELVETICA = loadFont(StandardFonts.HELVETICA);
+    
+    private final Profile profile;
+    private final Timer layoutTimer;
+    private final Timer writeTimer;
+    private final Timer copyTimer;
+    
+    public PdfService(MeterRegistry meterRegistry, @Value("${concept.pdf.profile:compact}") Profile profile) {
+        this.profile = profile;
+        this.layoutTimer = stageTimer(meterRegistry, "layout");
+        this.writeTimer = stageTimer(meterRegistry, "write");
+        this.copyTimer = stageTimer(meterRegistry, "copy");
+    }
+    
+    private static FontProgram loadFont(String name) {
+        try {
+            return FontProgramFactory.createFont(name);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Standard font " + name + " is not available", e);
+        }
+    }
+    
+    private static Timer stageTimer(MeterRegistry meterRegistry, String stage) {
+        return Timer.builder("concept.pdf.render.stage")
+                .description("PDF render time per stage: layout (incl. flushing finished pages), "
+                        + "write (closing the document), copy (buffered downloads only)")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+    
     public Resource generateConceptPdf(ConceptEntity concept) {
         try {
             ByteArrayOutputStream baos = new ByteArrayOutputStream();
-            PdfWriter writer = new PdfWriter(baos);
-            PdfDocument pdfDocument = new PdfDocument(writer);
-            Document document = new Document(pdfDocument);
-            
-            // Set document margins
-            document.setMargins(50, 50, 50, 50);
-            
-            // Add content
-            addEventOverviewPage(document, concept);
-            
-            if (hasAgendaOrSpeakers(concept)) {
-                document.add(new AreaBreak(AreaBreakType.NEXT_PAGE));
-                addAgendaAndSpeakersPage(document, concept);
-            }
-            
-            if (hasPricingOrNotes(concept)) {
-                document.add(new AreaBreak(AreaBreakType.NEXT_PAGE));
-                addPricingAndNotesPage(document, concept);
-            }
-            
-            document.close();
+            writeConceptPdf(concept, baos);
             
+            long copyStart = System.nanoTime();
             byte[] pdfBytes = baos.toByteArray();
+            copyTimer.record(System.nanoTime() - copyStart, TimeUnit.NANOSECONDS);
             return new ByteArrayResource(pdfBytes);
             
         } catch (Exception e) {
@@ -67,27 +141,70 @@ public class PdfService {
         }
     }
     
+    /**
+     * Renders the concept straight into {@code out} as pages are completed, without buffering the
+     * whole document. The stream is flushed but left open. There is no fallback here: once bytes
+     * have been written a failure can only be reported by propagating the exception.
+     */
+    public void writeConceptPdf(ConceptEntity concept, OutputStream out) {
+        try (Span span = Span.startChild("PdfService.writeConceptPdf")) {
+            span.setAttribute("concept.id", String.valueOf(concept.getId()))
+                    .setAttribute("pdf.profile", profile.name());
+            try {
+                render(concept, out);
+            } catch (RuntimeException e) {
+                span.recordError(e);
+                throw e;
+            }
+        }
+    }
+
+    private void render(ConceptEntity concept, OutputStream out) {
+        long start = System.nanoTime();
+        WriterProperties writerProperties = new WriterProperties();
+        if (profile == Profile.COMPACT) {
+            // Object and cross-reference streams (PDF 1.5+) instead of plain-text objects
+            writerProperties.setFullCompressionMode(true);
+        }
+        PdfWriter writer = new PdfWriter(out, writerProperties);
+        writer.setCloseStream(false);
+        PdfDocument pdfDocument = new PdfDocument(writer);
+        Document document = new Document(pdfDocument);
+        document.setFont(PdfFontFactory.createFont(HELVETICA, PdfEncodings.WINANSI));
+        
+        // Set document margins
+        document.setMargins(50, 50, 50, 50);
+        
+        // Add content
+        addEventOverviewPage(document, concept);
+        
+        if (hasAgendaOrSpeakers(concept)) {
+            document.add(new AreaBreak(AreaBreakType.NEXT_PAGE));
+            addAgendaAndSpeakersPage(document, concept);
+        }
+        
+        if (hasPricingOrNotes(concept)) {
+            document.add(new AreaBreak(AreaBreakType.NEXT_PAGE));
+            addPricingAndNotesPage(document, concept);
+        }
+        long laidOut = System.nanoTime();
+        layoutTimer.record(laidOut - start, TimeUnit.NANOSECONDS);
+        
+        document.close();
+        writeTimer.record(System.nanoTime() - laidOut, TimeUnit.NANOSECONDS);
+    }
+    
     private void addEventOverviewPage(Document document, ConceptEntity concept) {
         // Title
-        Paragraph title = new Paragraph(concept.getTitle())
-                .setFontSize(24)
-                .setBold()
-                .setFontColor(PRIMARY_COLOR)
-                .setTextAlignment(TextAlignment.CENTER)
-                .setMarginBottom(10);
+        Paragraph title = new Paragraph(concept.getTitle()).addStyle(TITLE);
         document.add(title);
         
         // Subtitle
-        Paragraph subtitle = new Paragraph("Event Concept Document")
-                .setFontSize(14)
-                .setFontColor(ACCENT_COLOR)
-                .setTextAlignment(TextAlignment.CENTER)
-                .setMarginBottom(30);
+        Paragraph subtitle = new Paragraph("Event Concept Document").addStyle(SUBTITLE);
         document.add(subtitle);
         
         // Status and dates info table
-        Table headerTable = new Table(UnitValue.createPercentArray(new float[]{1, 1}))
-                .setWidth(UnitValue.createPercentValue(100));
+        Table headerTable = createTable(TWO_EQUAL_COLUMNS, false);
         
         headerTable.addCell(createInfoCell("Status: " + concept.getStatus().toString()));
         headerTable.addCell(createInfoCell("Created: " + formatDate(concept.getCreatedAt())));
@@ -100,8 +217,7 @@ public class PdfService {
             document.add(createSectionHeader("Event Details"));
             
             EventDetailsEntity details = concept.getEventDetails();
-            Table detailsTable = new Table(UnitValue.createPercentArray(new float[]{1, 2}))
-                    .setWidth(UnitValue.createPercentValue(100));
+            Table detailsTable = createTable(LABEL_VALUE_COLUMNS, false);
             
             if (details.getTheme() != null) {
                 detailsTable.addCell(createLabelCell("Theme:"));
@@ -156,10 +272,7 @@ public class PdfService {
         // Description
         if (concept.getDescription() != null && !concept.getDescription().trim().isEmpty()) {
             document.add(createSectionHeader("Description"));
-            Paragraph description = new Paragraph(concept.getDescription())
-                    .setFontSize(11)
-                    .setTextAlignment(TextAlignment.JUSTIFIED)
-                    .setMarginBottom(15);
+            Paragraph description = new Paragraph(concept.getDescription()).addStyle(BODY_TEXT);
             document.add(description);
         }
         
@@ -167,10 +280,7 @@ public class PdfService {
         if (concept.getTags() != null && !concept.getTags().isEmpty()) {
             document.add(createSectionHeader("Tags"));
             String tagsText = String.join(", ", concept.getTags());
-            Paragraph tags = new Paragraph(tagsText)
-                    .setFontSize(10)
-                    .setFontColor(ACCENT_COLOR)
-                    .setItalic();
+            Paragraph tags = new Paragraph(tagsText).addStyle(TAGS);
             document.add(tags);
         }
     }
@@ -180,16 +290,21 @@ public class PdfService {
         if (concept.getAgenda() != null && !concept.getAgenda().isEmpty()) {
             document.add(createSectionHeader("Event Agenda"));
             
-            Table agendaTable = new Table(UnitValue.createPercentArray(new float[]{1, 3, 1.5f, 1.5f}))
-                    .setWidth(UnitValue.createPercentValue(100));
+            // Huge agendas are laid out and written in row blocks instead of as one table
+            boolean largeTable = profile == Profile.COMPACT;
+            Table agendaTable = createTable(AGENDA_COLUMNS, largeTable);
             
             // Header row
             agendaTable.addHeaderCell(createHeaderCell("Time"));
             agendaTable.addHeaderCell(createHeaderCell("Session Title"));
             agendaTable.addHeaderCell(createHeaderCell("Type"));
             agendaTable.addHeaderCell(createHeaderCell("Speaker"));
+            if (largeTable) {
+                document.add(agendaTable);
+            }
             
             // Data rows
+            int rows = 0;
             for (AgendaItemEntity item : concept.getAgenda()) {
                 agendaTable.addCell(createDataCell(item.getTime() != null ? item.getTime() : "TBD"));
                 
@@ -202,9 +317,16 @@ public class PdfService {
                 
                 agendaTable.addCell(createDataCell(item.getType() != null ? item.getType().toString() : ""));
                 agendaTable.addCell(createDataCell(item.getSpeaker() != null ? item.getSpeaker() : "TBD"));
+                if (largeTable && ++rows % AGENDA_FLUSH_ROWS == 0) {
+                    agendaTable.flush();
+                }
             }
             
-            document.add(agendaTable);
+            if (largeTable) {
+                agendaTable.complete();
+            } else {
+                document.add(agendaTable);
+            }
             document.add(new Paragraph("\n"));
         }
         
@@ -215,30 +337,24 @@ public class PdfService {
             for (SpeakerEntity speaker : concept.getSpeakers()) {
                 // Speaker name and expertise
                 Paragraph speakerName = new Paragraph()
-                        .add(new Text(speaker.getName()).setBold().setFontSize(12))
+                        .add(new Text(speaker.getName()).addStyle(SPEAKER_NAME))
                         .setMarginBottom(5);
                 
                 if (speaker.getExpertise() != null) {
-                    speakerName.add(new Text(" - " + speaker.getExpertise()).setFontColor(ACCENT_COLOR));
+                    speakerName.add(new Text(" - " + speaker.getExpertise()).addStyle(SPEAKER_EXPERTISE));
                 }
                 document.add(speakerName);
                 
                 // Bio
                 if (speaker.getBio() != null && !speaker.getBio().trim().isEmpty()) {
-                    Paragraph bio = new Paragraph(speaker.getBio())
-                            .setFontSize(10)
-                            .setMarginLeft(10)
-                            .setMarginBottom(5);
+                    Paragraph bio = new Paragraph(speaker.getBio()).addStyle(SPEAKER_BIO);
                     document.add(bio);
                 }
                 
                 // Suggested topic
                 if (speaker.getSuggestedTopic() != null) {
                     Paragraph topic = new Paragraph("Suggested Topic: " + speaker.getSuggestedTopic())
-                            .setFontSize(10)
-                            .setFontColor(ACCENT_COLOR)
-                            .setMarginLeft(10)
-                            .setMarginBottom(15);
+                            .addStyle(SPEAKER_TOPIC);
                     document.add(topic);
                 }
             }
@@ -253,8 +369,7 @@ public class PdfService {
             PricingEntity pricing = concept.getPricing();
             String currency = pricing.getCurrency() != null ? pricing.getCurrency() : "EUR";
             
-            Table pricingTable = new Table(UnitValue.createPercentArray(new float[]{1, 1}))
-                    .setWidth(UnitValue.createPercentValue(100));
+            Table pricingTable = createTable(TWO_EQUAL_COLUMNS, false);
             
             if (pricing.getEarlyBird() != null) {
                 pricingTable.addCell(createLabelCell("Early Bird:"));
@@ -288,67 +403,62 @@ public class PdfService {
         // Notes Section
         if (concept.getNotes() != null && !concept.getNotes().trim().isEmpty()) {
             document.add(createSectionHeader("Additional Notes"));
-            Paragraph notes = new Paragraph(concept.getNotes())
-                    .setFontSize(11)
-                    .setTextAlignment(TextAlignment.JUSTIFIED)
-                    .setMarginBottom(15);
+            Paragraph notes = new Paragraph(concept.getNotes()).addStyle(BODY_TEXT);
             document.add(notes);
         }
         
         // Footer with generation info
         document.add(new Paragraph("\n\n"));
         Paragraph footer = new Paragraph()
-                .add(new Text("Document generated: " + formatDate(OffsetDateTime.now())).setFontSize(8))
-                .add(new Text("  |  Version: " + (concept.getVersion() != null ? concept.getVersion() : "1")).setFontSize(8))
+                .add(new Text("Document generated: " + formatDate(OffsetDateTime.now())).addStyle(FOOTER_TEXT))
+                .add(new Text("  |  Version: " + (concept.getVersion() != null ? concept.getVersion() : "1")).addStyle(FOOTER_TEXT))
                 .setFontColor(ACCENT_COLOR)
                 .setTextAlignment(TextAlignment.CENTER);
         document.add(footer);
     }
     
     // Helper methods for styling
+    private Table createTable(UnitValue[] columns, boolean largeTable) {
+        Table table = new Table(columns, largeTable).useAllAvailableWidth();
+        if (profile == Profile.COMPACT) {
+            // Column widths are known up front; skip measuring every cell's min/max width
+            table.setFixedLayout();
+        }
+        return table;
+    }
+    
     private Paragraph createSectionHeader(String title) {
-        return new Paragraph(title)
-                .setFontSize(16)
-                .setBold()
-                .setFontColor(PRIMARY_COLOR)
-                .setMarginTop(15)
-                .setMarginBottom(10);
+        return new Paragraph(title).addStyle(SECTION_HEADER);
     }
     
     private Cell createHeaderCell(String text) {
         return new Cell()
-                .add(new Paragraph(text).setBold().setFontColor(DeviceRgb.WHITE))
-                .setBackgroundColor(PRIMARY_COLOR)
-                .setTextAlignment(TextAlignment.CENTER)
-                .setPadding(8);
+                .add(new Paragraph(text).addStyle(HEADER_CELL_TEXT))
+                .addStyle(HEADER_CELL);
     }
     
     private Cell createDataCell(String text) {
         return new Cell()
-                .add(new Paragraph(text != null ? text : "").setFontSize(10))
-                .setPadding(5)
-                .setBackgroundColor(LIGHT_GRAY);
+                .add(new Paragraph(text != null ? text : "").addStyle(DATA_CELL_TEXT))
+                .addStyle(DATA_CELL);
     }
     
     private Cell createLabelCell(String text) {
         return new Cell()
-                .add(new Paragraph(text).setBold().setFontSize(11))
-                .setPadding(5)
-                .setBorderRight(null);
+                .add(new Paragraph(text).addStyle(LABEL_CELL_TEXT))
+                .addStyle(LABEL_CELL);
     }
     
     private Cell createValueCell(String text) {
         return new Cell()
-                .add(new Paragraph(text != null ? text : "").setFontSize(11))
-                .setPadding(5)
-                .setBorderLeft(null);
+                .add(new Paragraph(text != null ? text : "").addStyle(VALUE_CELL_TEXT))
+                .addStyle(VALUE_CELL);
     }
     
     private Cell createInfoCell(String text) {
         return new Cell()
-                .add(new Paragraph(text).setFontSize(10).setFontColor(ACCENT_COLOR))
-                .setBorder(null)
-                .setPadding(5);
+                .add(new Paragraph(text).addStyle(INFO_CELL_TEXT))
+                .addStyle(INFO_CELL);
     }
     
     // Utility methods
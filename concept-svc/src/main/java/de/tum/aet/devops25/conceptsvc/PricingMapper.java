@@ -20,6 +20,16 @@ public class PricingMapper {
         return entity;
     }
 
+    // DTO → existing Entity, in place: only changed columns become dirty
+    public static void updateEntity(PricingEntity entity, Pricing dto) {
+        entity.setCurrency(dto.getCurrency());
+        entity.setEarlyBird(dto.getEarlyBird());
+        entity.setRegular(dto.getRegular());
+        entity.setVip(dto.getVip());
+        entity.setStudent(dto.getStudent());
+        entity.setGroup(dto.getGroup());
+    }
+
     // Entity → DTO
     public static Pricing toDto(PricingEntity entity) {
         if (entity == null) {
@@ -0,0 +1,25 @@
+package de.tum.aet.devops25.conceptsvc;
+
+/**
+ * Thrown by {@link SqlRequestMetricsFilter} when budgets are enforced and a request executed
+ * more JDBC statements than its handler's {@link QueryBudget}.
+ */
+public class QueryBudgetExceededException extends RuntimeException {
+
+    private final int budget;
+    private final int statements;
+
+    public QueryBudgetExceededException(String endpoint, int budget, int statements) {
+        super(endpoint + " executed " + statements + " SQL statements, its query budget is " + budget);
+        this.budget = budget;
+        this.statements = statements;
+    }
+
+    public int getBudget() {
+        return budget;
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+}
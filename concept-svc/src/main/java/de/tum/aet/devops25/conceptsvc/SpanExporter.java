@@ -0,0 +1,14 @@
+package de.tum.aet.devops25.conceptsvc;
+
+/**
+ * Receives every sampled span once it ended. Called on the request thread, so implementations
+ * must not block.
+ */
+public interface SpanExporter {
+
+    /** Drops all spans, for {@code concept.tracing.exporter=none}. */
+    SpanExporter NONE = span -> {
+    };
+
+    void export(Span span);
+}
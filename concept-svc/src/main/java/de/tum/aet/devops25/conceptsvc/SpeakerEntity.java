@@ -2,6 +2,8 @@ package de.tum.aet.devops25.conceptsvc;
 
 import java.util.UUID;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -15,6 +17,7 @@ import jakarta.validation.constraints.NotBlank;
 
 @Entity
 @Table(name = "speakers")
+@DynamicUpdate
 public class SpeakerEntity {
 
     @Id
@@ -28,6 +28,15 @@ public class SpeakerMapper {
         return entity;
     }
 
+    // DTO → existing Entity, in place: the row keeps its id and is only updated if a value changed
+    public static void updateEntity(SpeakerEntity entity, Speaker dto) {
+        entity.setName(dto.getName());
+        entity.setExpertise(dto.getExpertise());
+        entity.setSuggestedTopic(dto.getSuggestedTopic());
+        entity.setBio(dto.getBio());
+        entity.setConfirmed(Boolean.TRUE.equals(dto.getConfirmed()));
+    }
+
     // Entity → DTO
     public static Speaker toDto(SpeakerEntity entity) {
         if (entity == null) {
@@ -0,0 +1,164 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records every JDBC statement execution (see {@link InstrumentedDataSource}): a per-statement
+ * timer by statement kind, a slow statement counter and a sampled slow-query log. Statements run
+ * on a thread inside {@link #begin}/{@link #end} are also summed per request, and the totals are
+ * published by endpoint. A JDBC batch counts as one statement, it is one round trip.
+ */
+public class SqlStatementRecorder {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementRecorder.class);
+
+    // Longest SQL text written to the slow-query log
+    private static final int MAX_LOGGED_SQL = 2000;
+
+    // JDBC time per request is mostly a few milliseconds; a percentile histogram would add about 70
+    // series per endpoint
+    private static final Duration[] REQUEST_TIME_BUCKETS = {Duration.ofMillis(1), Duration.ofMillis(5),
+            Duration.ofMillis(10), Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100),
+            Duration.ofMillis(250), Duration.ofSeconds(1)};
+
+    /**
+     * Statements of the request running on the current thread.
+     */
+    public static final class RequestQueries {
+
+        private final String description;
+        private int statements;
+        private long nanos;
+
+        RequestQueries(String description) {
+            this.description = description;
+        }
+
+        public int getStatements() {
+            return statements;
+        }
+
+        public Duration getTime() {
+            return Duration.ofNanos(nanos);
+        }
+    }
+
+    private static final ThreadLocal<RequestQueries> CURRENT = new ThreadLocal<>();
+
+    private static final List<String> KINDS = List.of("select", "insert", "update", "delete", "merge", "batch", "other");
+
+    private final MeterRegistry meterRegistry;
+    private final Duration slowThreshold;
+    private final double slowLogSampleRate;
+    // Statements are recorded on the hot path: meters per kind are built once
+    private final Map<String, Timer> statementTimers = new HashMap<>();
+    private final Map<String, Counter> slowCounters = new HashMap<>();
+
+    public SqlStatementRecorder(MeterRegistry meterRegistry, Duration slowThreshold, double slowLogSampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.slowThreshold = slowThreshold;
+        this.slowLogSampleRate = slowLogSampleRate;
+        for (String kind : KINDS) {
+            statementTimers.put(kind, Timer.builder("sql.statement.duration")
+                    .description("Execution time of JDBC statements")
+                    .tag("kind", kind)
+                    .register(meterRegistry));
+            slowCounters.put(kind, Counter.builder("sql.statement.slow")
+                    .description("JDBC statements slower than the slow-query threshold")
+                    .tag("kind", kind)
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Starts counting the statements of a request on the current thread.
+     *
+     * @param description request shown in the slow-query log, e.g. {@code GET /api/concepts}
+     */
+    public RequestQueries begin(String description) {
+        RequestQueries queries = new RequestQueries(description);
+        CURRENT.set(queries);
+        return queries;
+    }
+
+    /**
+     * Stops counting and publishes the request's totals under its endpoint.
+     */
+    public void end(RequestQueries queries, String method, String uri) {
+        CURRENT.remove();
+        DistributionSummary.builder("sql.request.statements")
+                .description("JDBC statements executed per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .serviceLevelObjectives(1, 2, 3, 5, 10, 20, 50, 100)
+                .register(meterRegistry)
+                .record(queries.statements);
+        Timer.builder("sql.request.time")
+                .description("Time spent in JDBC statements per request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .serviceLevelObjectives(REQUEST_TIME_BUCKETS)
+                .register(meterRegistry)
+                .record(queries.nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records one executed statement; {@code sql} may be null for batches of plain statements.
+     */
+    void record(String sql, long nanos) {
+        String kind = kind(sql);
+        statementTimers.get(kind).record(nanos, TimeUnit.NANOSECONDS);
+
+        RequestQueries queries = CURRENT.get();
+        if (queries != null) {
+            queries.statements++;
+            queries.nanos += nanos;
+        }
+
+        if (nanos >= slowThreshold.toNanos()) {
+            slowCounters.get(kind).increment();
+            // Sampled so a slow database cannot flood the log; the counter above sees every one
+            if (slowLogSampleRate > 0 && ThreadLocalRandom.current().nextDouble() < slowLogSampleRate) {
+                log.warn("Slow SQL ({} ms{}): {}", TimeUnit.NANOSECONDS.toMillis(nanos),
+                        queries != null ? ", " + queries.description : "", abbreviate(sql));
+            }
+        }
+    }
+
+    private static String kind(String sql) {
+        if (sql == null) {
+            return "batch";
+        }
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        String keyword = trimmed.substring(0, end).toLowerCase(Locale.ROOT);
+        return switch (keyword) {
+            case "select", "insert", "update", "delete", "merge" -> keyword;
+            default -> "other";
+        };
+    }
+
+    private static String abbreviate(String sql) {
+        if (sql == null) {
+            return "<batch>";
+        }
+        return sql.length() <= MAX_LOGGED_SQL ? sql : sql.substring(0, MAX_LOGGED_SQL) + "...";
+    }
+}
@@ -0,0 +1,84 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Wires request tracing: {@link TracingFilter} opens a server span per request, every Spring Data
+ * repository call gets a child span, and sampled spans go to the exporter selected by
+ * {@code concept.tracing.exporter}: {@code none}, {@code memory} (tests) or {@code file} (OTLP
+ * JSON Lines for local analysis).
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public SpanExporter spanExporter(@Value("${concept.tracing.exporter:none}") String exporter,
+            @Value("${concept.tracing.file:${java.io.tmpdir}/concept-traces/spans.jsonl}") Path file,
+            @Value("${concept.tracing.flush-interval:1s}") Duration flushInterval,
+            @Value("${concept.tracing.queue-capacity:10000}") int queueCapacity,
+            @Value("${spring.application.name}") String serviceName, MeterRegistry meterRegistry) {
+        return switch (exporter) {
+            case "none" -> SpanExporter.NONE;
+            case "memory" -> new InMemorySpanExporter();
+            case "file" -> new OtlpJsonFileSpanExporter(file, serviceName, flushInterval, queueCapacity,
+                    meterRegistry);
+            default -> throw new IllegalArgumentException("Unknown concept.tracing.exporter: " + exporter);
+        };
+    }
+
+    @Bean
+    public Tracer tracer(SpanExporter spanExporter,
+            @Value("${concept.tracing.sampling-probability:0.1}") double samplingProbability) {
+        return new Tracer(spanExporter, samplingProbability);
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(Tracer tracer) {
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(new TracingFilter(tracer));
+        // Outside the security chain, so JWT verification is part of the trace
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    // Static: post-processors are created before regular beans; the repositories are created later
+    @Bean
+    public static BeanPostProcessor repositoryTracingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxy, repository) -> proxy.addAdvice(0, repositorySpan(
+                                    repository.getRepositoryInterface().getSimpleName()))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    // First advice, so the span includes the repository's transaction and its commit
+    private static MethodInterceptor repositorySpan(String repository) {
+        return invocation -> {
+            try (Span span = Span.startChild(repository + "." + invocation.getMethod().getName())) {
+                try {
+                    return invocation.proceed();
+                } catch (Throwable e) {
+                    span.recordError(e);
+                    throw e;
+                }
+            }
+        };
+    }
+}
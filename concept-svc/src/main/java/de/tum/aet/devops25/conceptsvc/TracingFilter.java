@@ -0,0 +1,53 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import java.io.IOException;
+
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Opens a server span around each request, continuing the trace of the {@code traceparent} header
+ * the gateway sends. The span is named after the route pattern like {@code http.server.requests};
+ * work done on other threads, e.g. by streaming response bodies, is not part of it.
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    static final String TRACEPARENT = "traceparent";
+
+    private final Tracer tracer;
+
+    public TracingFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        Span span = tracer.startServerSpan(request.getMethod(), request.getHeader(TRACEPARENT));
+        span.setAttribute("http.request.method", request.getMethod())
+                .setAttribute("url.path", request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } catch (IOException | ServletException | RuntimeException e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (pattern != null) {
+                span.updateName(request.getMethod() + " " + pattern);
+                span.setAttribute("http.route", pattern.toString());
+            }
+            span.setAttribute("http.response.status_code", response.getStatus());
+            if (response.getStatus() >= 500 && span.getError() == null) {
+                span.setError("HTTP " + response.getStatus());
+            }
+            span.close();
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class AllocationMetricsFilterTest {
+
+    private static final int ALLOCATION = 4 * 1024 * 1024;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AllocationProfiler profiler = new AllocationProfiler(meterRegistry, false);
+    private final AllocationMetricsFilter filter = new AllocationMetricsFilter(profiler);
+
+    // Keeps the allocation from being optimized away
+    private byte[] retained;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(profiler.isSupported(), "JVM does not account allocations per thread");
+    }
+
+    @Test
+    void testAllocationsArePublishedPerEndpointWhileEnabled() throws Exception {
+        // Given
+        new AllocationProfilingEndpoint(profiler).configure(true);
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/concepts/42"), new MockHttpServletResponse(),
+                allocatingChain("/api/concepts/{conceptId}"));
+
+        // Then
+        DistributionSummary allocated = meterRegistry.get("http.server.requests.allocated")
+                .tag("method", "GET").tag("uri", "/api/concepts/{conceptId}").summary();
+        assertThat(allocated.count()).isEqualTo(1);
+        assertThat(allocated.max()).isGreaterThanOrEqualTo(ALLOCATION);
+        assertThat(allocated.takeSnapshot().histogramCounts()).hasSize(7);
+    }
+
+    @Test
+    void testNothingIsMeasuredWhileDisabled() throws Exception {
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/concepts/42"), new MockHttpServletResponse(),
+                allocatingChain("/api/concepts/{conceptId}"));
+
+        // Then
+        assertThat(meterRegistry.find("http.server.requests.allocated").summary()).isNull();
+    }
+
+    @Test
+    void testEndpointSwitchesProfilingAtRuntime() {
+        // Given
+        AllocationProfilingEndpoint endpoint = new AllocationProfilingEndpoint(profiler);
+
+        // When / Then
+        assertThat(endpoint.status()).isEqualTo(Map.of("enabled", false, "supported", true));
+        assertThat(endpoint.configure(true)).containsEntry("enabled", true);
+        assertThat(profiler.isEnabled()).isTrue();
+        assertThat(endpoint.configure(false)).containsEntry("enabled", false);
+        assertThat(profiler.isEnabled()).isFalse();
+    }
+
+    private MockFilterChain allocatingChain(String pattern) {
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+                retained = new byte[ALLOCATION];
+            }
+        });
+    }
+}
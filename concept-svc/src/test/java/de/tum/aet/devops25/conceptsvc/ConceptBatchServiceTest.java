@@ -0,0 +1,106 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import de.tum.aet.devops25.api.generated.model.BatchItemResult;
+import de.tum.aet.devops25.api.generated.model.BatchOperationResponse;
+import de.tum.aet.devops25.api.generated.model.CreateConceptRequest;
+
+@DataJpaTest
+@Import({ConceptBatchService.class, ConceptOutbox.class, JpaConfig.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@ActiveProfiles("test")
+class ConceptBatchServiceTest {
+
+    @Autowired
+    private ConceptBatchService conceptBatchService;
+
+    @Autowired
+    private ConceptRepository conceptRepository;
+
+    @Test
+    void testCreateConcepts_ReportsInvalidItemsWithoutAbortingBatch() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        CreateConceptRequest valid = new CreateConceptRequest();
+        valid.setTitle("Valid Concept");
+        valid.setDescription("Valid description");
+        valid.setTags(List.of("tech"));
+        CreateConceptRequest invalid = new CreateConceptRequest();
+        invalid.setTitle("");
+        invalid.setDescription("Missing title");
+
+        // When
+        BatchOperationResponse response = conceptBatchService.createConcepts(List.of(valid, invalid), userId);
+
+        // Then
+        assertThat(response.getSucceeded()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults().get(0).getResult()).isEqualTo(BatchItemResult.ResultEnum.CREATED);
+        assertThat(response.getResults().get(0).getConcept().getTitle()).isEqualTo("Valid Concept");
+        assertThat(response.getResults().get(1).getResult()).isEqualTo(BatchItemResult.ResultEnum.FAILED);
+        assertThat(response.getResults().get(1).getError()).contains("title");
+        assertThat(conceptRepository.findByUserIdOrderByUpdatedAtDesc(userId)).hasSize(1);
+    }
+
+    @Test
+    void testChangeStatus_OnlyTouchesOwnedConcepts() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        ConceptEntity own = conceptRepository.saveAndFlush(createTestConcept("Own", userId));
+        ConceptEntity foreign = conceptRepository.saveAndFlush(createTestConcept("Foreign", UUID.randomUUID()));
+
+        // When
+        BatchOperationResponse response = conceptBatchService.changeStatus(
+            List.of(own.getId(), foreign.getId()), ConceptStatus.COMPLETED, userId);
+
+        // Then
+        assertThat(response.getResults()).extracting(BatchItemResult::getResult)
+            .containsExactly(BatchItemResult.ResultEnum.UPDATED, BatchItemResult.ResultEnum.NOT_FOUND);
+        assertThat(conceptRepository.findById(own.getId()).orElseThrow().getStatus()).isEqualTo(ConceptStatus.COMPLETED);
+        assertThat(conceptRepository.findById(foreign.getId()).orElseThrow().getStatus()).isEqualTo(ConceptStatus.DRAFT);
+    }
+
+    @Test
+    void testDeleteConcepts_ArchiveAndPermanent() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        ConceptEntity archived = conceptRepository.saveAndFlush(createTestConcept("Archive me", userId));
+        ConceptEntity removed = createTestConcept("Remove me", userId);
+        removed.getTags().add("obsolete");
+        removed = conceptRepository.saveAndFlush(removed);
+
+        // When
+        BatchOperationResponse archiveResponse = conceptBatchService.deleteConcepts(List.of(archived.getId()), false, userId);
+        BatchOperationResponse deleteResponse = conceptBatchService.deleteConcepts(
+            List.of(removed.getId(), UUID.randomUUID()), true, userId);
+
+        // Then
+        assertThat(archiveResponse.getSucceeded()).isEqualTo(1);
+        assertThat(conceptRepository.findById(archived.getId()).orElseThrow().getStatus()).isEqualTo(ConceptStatus.ARCHIVED);
+        assertThat(deleteResponse.getSucceeded()).isEqualTo(1);
+        assertThat(deleteResponse.getFailed()).isEqualTo(1);
+        assertThat(conceptRepository.findById(removed.getId())).isEmpty();
+    }
+
+    private ConceptEntity createTestConcept(String title, UUID userId) {
+        ConceptEntity concept = new ConceptEntity();
+        concept.setTitle(title);
+        concept.setDescription("Test description");
+        concept.setStatus(ConceptStatus.DRAFT);
+        concept.setUserId(userId);
+        concept.setLastModifiedBy(userId);
+        return concept;
+    }
+}
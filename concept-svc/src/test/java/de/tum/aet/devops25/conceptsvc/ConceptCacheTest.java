@@ -0,0 +1,228 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import de.tum.aet.devops25.api.generated.model.Concept;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class ConceptCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConceptCache conceptCache;
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        conceptCache = new ConceptCache(meterRegistry, 2);
+    }
+
+    @Test
+    void testMissThenHit() {
+        // Given
+        UUID conceptId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        conceptCache.get(conceptId, userId, () -> {
+            loads.incrementAndGet();
+            return Optional.of(concept(conceptId, 1, "First"));
+        });
+        Optional<Concept> second = conceptCache.get(conceptId, userId, () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        // Then
+        assertThat(second).map(Concept::getTitle).contains("First");
+        assertThat(loads).hasValue(1);
+        assertThat(counter("concept.cache.requests", "result", "hit")).isEqualTo(1);
+        assertThat(counter("concept.cache.requests", "result", "miss")).isEqualTo(1);
+        assertThat(meterRegistry.get("concept.cache.hit.ratio").gauge().value()).isEqualTo(0.5);
+    }
+
+    @Test
+    void testAbsentConceptIsNotCached() {
+        // Given
+        UUID conceptId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        conceptCache.get(conceptId, userId, () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+        conceptCache.get(conceptId, userId, () -> {
+            loads.incrementAndGet();
+            return Optional.empty();
+        });
+
+        // Then
+        assertThat(loads).hasValue(2);
+        assertThat(conceptCache.size()).isZero();
+    }
+
+    @Test
+    void testKeyIncludesUser() {
+        // Given
+        UUID conceptId = UUID.randomUUID();
+        conceptCache.get(conceptId, userId, () -> Optional.of(concept(conceptId, 1, "Mine")));
+
+        // When
+        Optional<Concept> other = conceptCache.get(conceptId, UUID.randomUUID(), Optional::empty);
+
+        // Then
+        assertThat(other).isEmpty();
+    }
+
+    @Test
+    void testConcurrentMissesAreCoalesced() throws Exception {
+        // Given
+        UUID conceptId = UUID.randomUUID();
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // When
+            Future<Optional<Concept>> leader = executor.submit(() -> conceptCache.get(conceptId, userId, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return Optional.of(concept(conceptId, 1, "Loaded once"));
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<Optional<Concept>>> followers = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                followers.add(executor.submit(() -> conceptCache.get(conceptId, userId, () -> {
+                    loads.incrementAndGet();
+                    return Optional.empty();
+                })));
+            }
+            // Give followers time to attach to the in-flight load before it completes
+            Thread.sleep(100);
+            release.countDown();
+
+            // Then
+            assertThat(leader.get(5, TimeUnit.SECONDS)).map(Concept::getTitle).contains("Loaded once");
+            for (Future<Optional<Concept>> follower : followers) {
+                assertThat(follower.get(5, TimeUnit.SECONDS)).map(Concept::getTitle).contains("Loaded once");
+            }
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailedLoadIsPropagatedAndNotCached() {
+        // Given
+        UUID conceptId = UUID.randomUUID();
+
+        // When & Then
+        assertThatThrownBy(() -> conceptCache.get(conceptId, userId, () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(conceptCache.get(conceptId, userId, () -> Optional.of(concept(conceptId, 1, "Recovered"))))
+                .map(Concept::getTitle).contains("Recovered");
+    }
+
+    @Test
+    void testPutIgnoresOlderVersion() {
+        // Given
+        UUID conceptId = UUID.randomUUID();
+        conceptCache.put(conceptId, userId, concept(conceptId, 3, "Newer"));
+
+        // When
+        conceptCache.put(conceptId, userId, concept(conceptId, 2, "Older"));
+
+        // Then
+        assertThat(conceptCache.get(conceptId, userId, Optional::empty)).map(Concept::getTitle).contains("Newer");
+    }
+
+    @Test
+    void testInvalidationDuringLoadDiscardsStaleResult() {
+        // Given
+        UUID conceptId = UUID.randomUUID();
+
+        // When - a writer invalidates the key while the read is still loading
+        conceptCache.get(conceptId, userId, () -> {
+            conceptCache.invalidate(conceptId, userId);
+            return Optional.of(concept(conceptId, 1, "Stale"));
+        });
+
+        // Then
+        assertThat(conceptCache.size()).isZero();
+    }
+
+    @Test
+    void testInvalidateRemovesEntry() {
+        // Given
+        UUID conceptId = UUID.randomUUID();
+        conceptCache.put(conceptId, userId, concept(conceptId, 1, "Cached"));
+
+        // When
+        conceptCache.invalidate(conceptId, userId);
+
+        // Then
+        assertThat(conceptCache.get(conceptId, userId, Optional::empty)).isEmpty();
+        assertThat(counter("concept.cache.evictions", "cause", "invalidation")).isEqualTo(1);
+    }
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        // Given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        UUID third = UUID.randomUUID();
+        conceptCache.put(first, userId, concept(first, 1, "First"));
+        conceptCache.put(second, userId, concept(second, 1, "Second"));
+        conceptCache.get(first, userId, Optional::empty);
+
+        // When
+        conceptCache.put(third, userId, concept(third, 1, "Third"));
+
+        // Then
+        assertThat(conceptCache.size()).isEqualTo(2);
+        assertThat(conceptCache.get(second, userId, Optional::empty)).isEmpty();
+        assertThat(conceptCache.get(first, userId, Optional::empty)).isPresent();
+        assertThat(counter("concept.cache.evictions", "cause", "size")).isEqualTo(1);
+    }
+
+    private double counter(String name, String tag, String value) {
+        return meterRegistry.get(name).tag(tag, value).counter().count();
+    }
+
+    private static Concept concept(UUID id, int version, String title) {
+        Concept concept = new Concept();
+        concept.setId(id);
+        concept.setVersion(version);
+        concept.setTitle(title);
+        return concept;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
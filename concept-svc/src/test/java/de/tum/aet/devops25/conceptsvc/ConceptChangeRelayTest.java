@@ -0,0 +1,111 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.tum.aet.devops25.api.generated.model.ConceptChangeEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@Import(JpaConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+class ConceptChangeRelayTest {
+
+    @Autowired
+    private ConceptChangeRepository conceptChangeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final InMemoryConceptChangeSink sink = new InMemoryConceptChangeSink(1000);
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        conceptChangeRepository.deleteAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        conceptChangeRepository.deleteAll();
+    }
+
+    @Test
+    void testDrainPublishesAllBatchesInOrderAndRemovesThem() throws Exception {
+        // Given
+        List<UUID> conceptIds = record(7);
+        ConceptChangeRelay relay = relay(sink, 3);
+
+        // When
+        int published = relay.drain();
+
+        // Then
+        assertThat(published).isEqualTo(7);
+        assertThat(sink.events()).extracting(ConceptChangeEvent::getConceptId).containsExactlyElementsOf(conceptIds);
+        assertThat(sink.events()).extracting(ConceptChangeEvent::getId).isSorted();
+        assertThat(sink.events().get(0).getChangedFields()).containsExactly("title", "agenda");
+        assertThat(conceptChangeRepository.count()).isZero();
+        assertThat(meterRegistry.get("concept.outbox.published").counter().count()).isEqualTo(7);
+        relay.shutdown();
+    }
+
+    @Test
+    void testRejectedBatchStaysInOutboxAndIsRetried() throws Exception {
+        // Given
+        record(2);
+        boolean[] failing = {true};
+        ConceptChangeRelay relay = relay(batch -> {
+            if (failing[0]) {
+                throw new IllegalStateException("consumer down");
+            }
+            sink.publish(batch);
+        }, 10);
+
+        // When
+        int firstAttempt = relay.drain();
+        failing[0] = false;
+        int secondAttempt = relay.drain();
+
+        // Then
+        assertThat(firstAttempt).isZero();
+        assertThat(secondAttempt).isEqualTo(2);
+        assertThat(sink.events()).hasSize(2);
+        assertThat(meterRegistry.get("concept.outbox.publish.failures").counter().count()).isEqualTo(1);
+        relay.shutdown();
+    }
+
+    private ConceptChangeRelay relay(ConceptChangeSink target, int batchSize) {
+        return new ConceptChangeRelay(conceptChangeRepository, transactionManager, Optional.of(target), meterRegistry,
+                batchSize, Duration.ofHours(1));
+    }
+
+    private List<UUID> record(int count) {
+        List<UUID> conceptIds = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            UUID conceptId = UUID.randomUUID();
+            conceptChangeRepository.save(new ConceptChangeEntity(conceptId, userId, ConceptChangeType.UPDATED, i + 1,
+                    List.of("title", "agenda"), OffsetDateTime.now()));
+            conceptIds.add(conceptId);
+        }
+        return conceptIds;
+    }
+}
@@ -0,0 +1,98 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(ConceptContextController.class)
+@Import(TestSecurityConfig.class)
+@ActiveProfiles("test")
+class ConceptContextControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ConceptContextService conceptContextService;
+
+    private final UUID testUserId = UUID.fromString(TestSecurityConfig.TEST_USER_ID);
+    private final UUID conceptId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        TestingAuthenticationToken authentication = new TestingAuthenticationToken(testUserId.toString(), "password");
+        authentication.setAuthenticated(true);
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+    }
+
+    @Test
+    void testContextReturnsSnapshotWithVersionEtag() throws Exception {
+        // Given
+        given(conceptContextService.getSnapshot(conceptId, testUserId)).willReturn(Optional.of(snapshot(3)));
+
+        // When / Then
+        mockMvc.perform(get("/api/concepts/{conceptId}/context", conceptId))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", "\"v3\""))
+                .andExpect(content().json("{\"title\":\"Tech Summit\"}", true));
+    }
+
+    @Test
+    void testContextMatchingEtagReturnsNotModified() throws Exception {
+        // Given
+        given(conceptContextService.getSnapshot(conceptId, testUserId)).willReturn(Optional.of(snapshot(3)));
+
+        // When / Then
+        mockMvc.perform(get("/api/concepts/{conceptId}/context", conceptId).header("If-None-Match", "\"v3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @Test
+    void testContextStaleEtagReturnsNewSnapshot() throws Exception {
+        // Given
+        given(conceptContextService.getSnapshot(conceptId, testUserId)).willReturn(Optional.of(snapshot(4)));
+
+        // When / Then
+        mockMvc.perform(get("/api/concepts/{conceptId}/context", conceptId).header("If-None-Match", "\"v3\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v4\""));
+    }
+
+    @Test
+    void testContextUnknownConceptReturnsNotFound() throws Exception {
+        // Given
+        given(conceptContextService.getSnapshot(conceptId, testUserId)).willReturn(Optional.empty());
+
+        // When / Then
+        mockMvc.perform(get("/api/concepts/{conceptId}/context", conceptId))
+                .andExpect(status().isNotFound());
+    }
+
+    private static ConceptContextService.Snapshot snapshot(int version) {
+        return new ConceptContextService.Snapshot(version,
+                "{\"title\":\"Tech Summit\"}".getBytes(StandardCharsets.UTF_8));
+    }
+}
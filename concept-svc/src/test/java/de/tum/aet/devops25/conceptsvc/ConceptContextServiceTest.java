@@ -0,0 +1,128 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DataJpaTest
+@Import(JpaConfig.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@ActiveProfiles("test")
+class ConceptContextServiceTest {
+
+    @Autowired
+    private ConceptRepository conceptRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UUID userId = UUID.randomUUID();
+    private ConceptContextService contextService;
+
+    @BeforeEach
+    void setUp() {
+        contextService = new ConceptContextService(conceptRepository, objectMapper, meterRegistry, 2);
+    }
+
+    @Test
+    void testSnapshotOmitsEmptyAndAuditFields() throws Exception {
+        // Given
+        ConceptEntity concept = concept("Tech Summit");
+        AgendaItemEntity item = new AgendaItemEntity();
+        item.setTime("09:00");
+        item.setTitle("Keynote");
+        concept.addAgendaItem(item);
+        PricingEntity pricing = new PricingEntity();
+        pricing.setCurrency("EUR");
+        pricing.setRegular(new BigDecimal("299.00"));
+        concept.setPricing(pricing);
+        concept = conceptRepository.saveAndFlush(concept);
+
+        // When
+        ConceptContextService.Snapshot snapshot = contextService.getSnapshot(concept.getId(), userId).orElseThrow();
+
+        // Then
+        JsonNode json = objectMapper.readTree(snapshot.json());
+        assertThat(json.get("title").asText()).isEqualTo("Tech Summit");
+        assertThat(json.get("agenda").get(0).get("title").asText()).isEqualTo("Keynote");
+        assertThat(json.get("agenda").get(0).has("id")).isFalse();
+        assertThat(json.get("agenda").get(0).has("description")).isFalse();
+        assertThat(json.get("pricing").get("regular").decimalValue()).isEqualByComparingTo("299.00");
+        assertThat(json.has("userId")).isFalse();
+        assertThat(json.has("createdAt")).isFalse();
+        assertThat(json.has("speakers")).isFalse();
+        assertThat(json.has("tags")).isFalse();
+    }
+
+    @Test
+    void testSnapshotIsReusedUntilVersionChanges() {
+        // Given
+        ConceptEntity concept = conceptRepository.saveAndFlush(concept("Original"));
+        UUID conceptId = concept.getId();
+        ConceptContextService.Snapshot first = contextService.getSnapshot(conceptId, userId).orElseThrow();
+
+        // When
+        ConceptContextService.Snapshot cached = contextService.getSnapshot(conceptId, userId).orElseThrow();
+        concept.setTitle("Renamed");
+        conceptRepository.saveAndFlush(concept);
+        ConceptContextService.Snapshot updated = contextService.getSnapshot(conceptId, userId).orElseThrow();
+
+        // Then
+        assertThat(cached).isSameAs(first);
+        assertThat(updated.version()).isGreaterThan(first.version());
+        assertThat(new String(updated.json())).contains("Renamed");
+        assertThat(meterRegistry.get("concept.context.cache.requests").tag("result", "hit").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("concept.context.cache.requests").tag("result", "miss").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void testForeignConceptIsNotServedFromCache() {
+        // Given
+        ConceptEntity concept = conceptRepository.saveAndFlush(concept("Private"));
+        contextService.getSnapshot(concept.getId(), userId).orElseThrow();
+
+        // When / Then
+        assertThat(contextService.getSnapshot(concept.getId(), UUID.randomUUID())).isEmpty();
+        assertThat(contextService.getSnapshot(UUID.randomUUID(), userId)).isEmpty();
+    }
+
+    @Test
+    void testCacheIsBoundedBySize() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            ConceptEntity concept = conceptRepository.saveAndFlush(concept("Concept " + i));
+            contextService.getSnapshot(concept.getId(), userId);
+        }
+
+        // Then
+        assertThat(contextService.size()).isEqualTo(2);
+    }
+
+    private ConceptEntity concept(String title) {
+        ConceptEntity concept = new ConceptEntity();
+        concept.setTitle(title);
+        concept.setDescription("Context test");
+        concept.setStatus(ConceptStatus.DRAFT);
+        concept.setUserId(userId);
+        concept.setLastModifiedBy(userId);
+        return concept;
+    }
+}
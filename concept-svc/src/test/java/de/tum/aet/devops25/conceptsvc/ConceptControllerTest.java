@@ -1,10 +1,14 @@
 package de.tum.aet.devops25.conceptsvc;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.CoreMatchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
-import static org.mockito.BDDMockito.willDoNothing;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -14,13 +18,16 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.io.ByteArrayResource;
 import org.springframework.data.domain.Page;
@@ -32,20 +39,40 @@ import org.springframework.security.authentication.TestingAuthenticationToken;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import de.tum.aet.devops25.api.generated.model.BatchCreateConceptsRequest;
+import de.tum.aet.devops25.api.generated.model.BatchDeleteConceptsRequest;
+import de.tum.aet.devops25.api.generated.model.BatchItemResult;
+import de.tum.aet.devops25.api.generated.model.BatchOperationResponse;
+import de.tum.aet.devops25.api.generated.model.BatchStatusChangeRequest;
 import de.tum.aet.devops25.api.generated.model.CreateConceptRequest;
 import de.tum.aet.devops25.api.generated.model.UpdateConceptRequest;
 import de.tum.aet.devops25.api.generated.model.ApplyConceptSuggestionRequest;
 import de.tum.aet.devops25.api.generated.model.ApplyConceptSuggestionRequestSuggestion;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 @WebMvcTest(ConceptController.class)
-@Import(TestSecurityConfig.class)
+@Import({TestSecurityConfig.class, ConceptCache.class, ConceptPdfSource.class, PdfCache.class, PdfRenderExecutor.class})
 @ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "concept.pdf-render.max-concurrency=1",
+        "concept.pdf-render.queue-size=0"
+})
 class ConceptControllerTest {
 
+    @TestConfiguration
+    static class MetricsConfig {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -55,9 +82,18 @@ class ConceptControllerTest {
     @MockBean
     private PdfService pdfService;
 
+    @MockBean
+    private ConceptBatchService conceptBatchService;
+
+    @MockBean
+    private ConceptOutbox conceptOutbox;
+
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private PdfRenderExecutor pdfRenderExecutor;
+
     private ConceptEntity testConcept;
     private UUID testUserId;
     private UUID testConceptId;
@@ -179,6 +215,78 @@ class ConceptControllerTest {
                 .andExpect(jsonPath("$.description", is(testConcept.getDescription())));
     }
 
+    @Test
+    @DisplayName("Should serve repeated reads from the concept cache")
+    void testGetConceptById_Cached() throws Exception {
+        // Given
+        given(conceptRepository.findByIdAndUserId(eq(testConceptId), any(UUID.class)))
+                .willReturn(Optional.of(testConcept));
+
+        // When
+        mockMvc.perform(get("/api/concepts/{conceptId}", testConceptId))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/concepts/{conceptId}", testConceptId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is(testConcept.getTitle())));
+
+        // Then
+        verify(conceptRepository, times(1)).findByIdAndUserId(testConceptId, testUserId);
+    }
+
+    @Test
+    @DisplayName("Should serve the updated concept after an update")
+    void testGetConceptById_AfterUpdate() throws Exception {
+        // Given
+        given(conceptRepository.findByIdAndUserId(eq(testConceptId), any(UUID.class)))
+                .willReturn(Optional.of(testConcept));
+        mockMvc.perform(get("/api/concepts/{conceptId}", testConceptId))
+                .andExpect(status().isOk());
+
+        ConceptEntity updatedConcept = new ConceptEntity();
+        updatedConcept.setId(testConceptId);
+        updatedConcept.setTitle("Updated Title");
+        updatedConcept.setStatus(ConceptStatus.DRAFT);
+        updatedConcept.setUserId(testUserId);
+        updatedConcept.setVersion(2);
+        given(conceptRepository.save(any(ConceptEntity.class))).willReturn(updatedConcept);
+
+        UpdateConceptRequest request = new UpdateConceptRequest();
+        request.setTitle("Updated Title");
+
+        // When
+        mockMvc.perform(put("/api/concepts/{conceptId}", testConceptId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/api/concepts/{conceptId}", testConceptId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Updated Title")))
+                .andExpect(jsonPath("$.version", is(2)));
+    }
+
+    @Test
+    @DisplayName("Should not serve a deleted concept from the cache")
+    void testGetConceptById_AfterDelete() throws Exception {
+        // Given
+        given(conceptRepository.findByIdAndUserId(eq(testConceptId), any(UUID.class)))
+                .willReturn(Optional.of(testConcept));
+        mockMvc.perform(get("/api/concepts/{conceptId}", testConceptId))
+                .andExpect(status().isOk());
+        given(conceptRepository.deleteCascadingByIdAndUserId(testConceptId, testUserId)).willReturn(1);
+
+        // When
+        mockMvc.perform(delete("/api/concepts/{conceptId}", testConceptId).param("permanent", "true"))
+                .andExpect(status().isNoContent());
+        given(conceptRepository.findByIdAndUserId(eq(testConceptId), any(UUID.class)))
+                .willReturn(Optional.empty());
+
+        // Then
+        mockMvc.perform(get("/api/concepts/{conceptId}", testConceptId))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Should return 404 when concept not found")
     void testGetConceptById_NotFound() throws Exception {
@@ -221,6 +329,37 @@ class ConceptControllerTest {
                 .andExpect(jsonPath("$.description", is("Updated Description")));
     }
 
+    @Test
+    @DisplayName("Should record the changed fields of an update in the outbox")
+    void testUpdateConcept_RecordsChange() throws Exception {
+        // Given
+        UpdateConceptRequest request = new UpdateConceptRequest();
+        request.setTitle("Updated Title");
+        request.setStatus(UpdateConceptRequest.StatusEnum.DRAFT);
+
+        ConceptEntity updatedConcept = new ConceptEntity();
+        updatedConcept.setId(testConceptId);
+        updatedConcept.setTitle("Updated Title");
+        updatedConcept.setDescription("Test description");
+        updatedConcept.setStatus(ConceptStatus.DRAFT);
+        updatedConcept.setUserId(testUserId);
+        updatedConcept.setVersion(2);
+
+        given(conceptRepository.findByIdAndUserId(eq(testConceptId), any(UUID.class)))
+                .willReturn(Optional.of(testConcept));
+        given(conceptRepository.save(any(ConceptEntity.class))).willReturn(updatedConcept);
+
+        // When
+        mockMvc.perform(put("/api/concepts/{conceptId}", testConceptId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        // Then: the unchanged status is not reported
+        verify(conceptOutbox).append(ConceptChangeType.UPDATED, testConceptId, testUserId, 2, ConceptStatus.DRAFT,
+                List.of("title"));
+    }
+
     @Test
     @DisplayName("Should return 404 when updating non-existent concept")
     void testUpdateConcept_NotFound() throws Exception {
@@ -240,41 +379,151 @@ class ConceptControllerTest {
     }
 
     @Test
-    @DisplayName("Should delete concept (soft delete) successfully")
-    void testDeleteConcept_SoftDelete() throws Exception {
+    @DisplayName("Should apply a merge patch to the members it names only")
+    void testPatchConcept_Success() throws Exception {
         // Given
         given(conceptRepository.findByIdAndUserId(eq(testConceptId), any(UUID.class)))
                 .willReturn(Optional.of(testConcept));
-        given(conceptRepository.save(any(ConceptEntity.class))).willReturn(testConcept);
+
+        // When & Then
+        mockMvc.perform(patch("/api/concepts/{conceptId}", testConceptId)
+                .contentType("application/merge-patch+json")
+                .header("If-Match", "\"v1\"")
+                .content("{\"title\":\"Patched Title\",\"description\":null}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v1\""))
+                .andExpect(jsonPath("$.title", is("Patched Title")))
+                .andExpect(jsonPath("$.description").doesNotExist())
+                .andExpect(jsonPath("$.status", is("DRAFT")));
+
+        verify(conceptRepository, never()).save(any(ConceptEntity.class));
+        verify(conceptOutbox).append(ConceptChangeType.UPDATED, testConceptId, testUserId, 1, ConceptStatus.DRAFT,
+                List.of("title", "description"));
+    }
+
+    @Test
+    @DisplayName("Should touch the concept when a merge patch only edits an agenda item in place")
+    void testPatchConcept_ChildEditedInPlace() throws Exception {
+        // Given
+        UUID keynoteId = UUID.randomUUID();
+        AgendaItemEntity keynote = new AgendaItemEntity();
+        keynote.setId(keynoteId);
+        keynote.setTime("09:00");
+        keynote.setTitle("Keynote");
+        testConcept.addAgendaItem(keynote);
+        OffsetDateTime updatedAt = testConcept.getUpdatedAt().minusMinutes(1);
+        testConcept.setUpdatedAt(updatedAt);
+        given(conceptRepository.findByIdAndUserId(eq(testConceptId), any(UUID.class)))
+                .willReturn(Optional.of(testConcept));
+        // Hibernate increments the version of a dirty concept when it flushes
+        willAnswer(invocation -> {
+            testConcept.setVersion(testConcept.getVersion() + 1);
+            return null;
+        }).given(conceptRepository).flush();
+
+        // When & Then: the response and the change record carry the new version
+        mockMvc.perform(patch("/api/concepts/{conceptId}", testConceptId)
+                .contentType("application/merge-patch+json")
+                .header("If-Match", "\"v1\"")
+                .content("{\"agenda\":[{\"id\":\"" + keynoteId + "\",\"time\":\"10:00\",\"title\":\"Keynote\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"v2\""))
+                .andExpect(jsonPath("$.agenda[0].time", is("10:00")));
+
+        assertThat(testConcept.getUpdatedAt()).isAfter(updatedAt);
+        verify(conceptOutbox).append(ConceptChangeType.UPDATED, testConceptId, testUserId, 2, ConceptStatus.DRAFT,
+                List.of("agenda"));
+    }
+
+    @Test
+    @DisplayName("Should answer 204 without a body when the client prefers return=minimal")
+    void testPatchConcept_ReturnMinimal() throws Exception {
+        // Given
+        given(conceptRepository.findByIdAndUserId(eq(testConceptId), any(UUID.class)))
+                .willReturn(Optional.of(testConcept));
+
+        // When & Then
+        mockMvc.perform(patch("/api/concepts/{conceptId}", testConceptId)
+                .contentType("application/merge-patch+json")
+                .header("Prefer", "return=minimal")
+                .content("{\"notes\":\"Call the venue\"}"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("ETag", "\"v1\""))
+                .andExpect(header().string("Preference-Applied", "return=minimal"))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Should reject a merge patch against a stale version with 412")
+    void testPatchConcept_StaleVersion() throws Exception {
+        // Given
+        testConcept.setVersion(3);
+        given(conceptRepository.findByIdAndUserId(eq(testConceptId), any(UUID.class)))
+                .willReturn(Optional.of(testConcept));
+
+        // When & Then
+        mockMvc.perform(patch("/api/concepts/{conceptId}", testConceptId)
+                .contentType("application/merge-patch+json")
+                .header("If-Match", "\"v2\"")
+                .content("{\"title\":\"Patched Title\"}"))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(header().string("ETag", "\"v3\""));
+
+        verify(conceptOutbox, never()).append(any(), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should reject a merge patch with an invalid member with 400")
+    void testPatchConcept_InvalidMember() throws Exception {
+        // Given
+        given(conceptRepository.findByIdAndUserId(eq(testConceptId), any(UUID.class)))
+                .willReturn(Optional.of(testConcept));
+
+        // When & Then
+        mockMvc.perform(patch("/api/concepts/{conceptId}", testConceptId)
+                .contentType("application/merge-patch+json")
+                .content("{\"title\":null}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should delete concept (soft delete) successfully")
+    void testDeleteConcept_SoftDelete() throws Exception {
+        // Given
+        given(conceptRepository.archiveByIdAndUserId(eq(testConceptId), any(UUID.class)))
+                .willReturn(1);
 
         // When & Then
         mockMvc.perform(delete("/api/concepts/{conceptId}", testConceptId)
                 .param("permanent", "false"))
                 .andDo(print())
                 .andExpect(status().isNoContent());
+
+        verify(conceptRepository, never()).findByIdAndUserId(any(UUID.class), any(UUID.class));
     }
 
     @Test
     @DisplayName("Should delete concept (hard delete) successfully")
     void testDeleteConcept_HardDelete() throws Exception {
         // Given
-        given(conceptRepository.findByIdAndUserId(eq(testConceptId), any(UUID.class)))
-                .willReturn(Optional.of(testConcept));
-        willDoNothing().given(conceptRepository).delete(testConcept);
+        given(conceptRepository.deleteCascadingByIdAndUserId(eq(testConceptId), any(UUID.class)))
+                .willReturn(1);
 
         // When & Then
         mockMvc.perform(delete("/api/concepts/{conceptId}", testConceptId)
                 .param("permanent", "true"))
                 .andDo(print())
                 .andExpect(status().isNoContent());
+
+        verify(conceptRepository, never()).findByIdAndUserId(any(UUID.class), any(UUID.class));
     }
 
     @Test
     @DisplayName("Should return 404 when deleting non-existent concept")
     void testDeleteConcept_NotFound() throws Exception {
         // Given
-        given(conceptRepository.findByIdAndUserId(eq(testConceptId), any(UUID.class)))
-                .willReturn(Optional.empty());
+        given(conceptRepository.archiveByIdAndUserId(eq(testConceptId), any(UUID.class)))
+                .willReturn(0);
 
         // When & Then
         mockMvc.perform(delete("/api/concepts/{conceptId}", testConceptId))
@@ -282,6 +531,20 @@ class ConceptControllerTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    @DisplayName("Should return 404 when permanently deleting non-existent concept")
+    void testDeleteConcept_HardDeleteNotFound() throws Exception {
+        // Given
+        given(conceptRepository.deleteCascadingByIdAndUserId(eq(testConceptId), any(UUID.class)))
+                .willReturn(0);
+
+        // When & Then
+        mockMvc.perform(delete("/api/concepts/{conceptId}", testConceptId)
+                .param("permanent", "true"))
+                .andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Should download concept PDF successfully")
     void testDownloadConceptPdf_Success() throws Exception {
@@ -298,6 +561,26 @@ class ConceptControllerTest {
                 .andExpect(header().exists("Content-Disposition"));
     }
 
+    @Test
+    @DisplayName("Should render a concept version's PDF only once")
+    void testDownloadConceptPdf_Cached() throws Exception {
+        // Given
+        given(conceptRepository.findByIdAndUserId(eq(testConceptId), any(UUID.class)))
+                .willReturn(Optional.of(testConcept));
+        given(pdfService.generateConceptPdf(eq(testConcept)))
+                .willReturn(new ByteArrayResource("%PDF-1.7 cached".getBytes()));
+
+        // When
+        mockMvc.perform(get("/api/concepts/{conceptId}/pdf", testConceptId))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/concepts/{conceptId}/pdf", testConceptId))
+                .andExpect(status().isOk())
+                .andExpect(content().string("%PDF-1.7 cached"));
+
+        // Then
+        verify(pdfService, times(1)).generateConceptPdf(testConcept);
+    }
+
     @Test
     @DisplayName("Should return 404 when downloading PDF for non-existent concept")
     void testDownloadConceptPdf_NotFound() throws Exception {
@@ -326,6 +609,37 @@ class ConceptControllerTest {
                 .andExpect(status().isInternalServerError());
     }
 
+    @Test
+    @DisplayName("Should return 503 with Retry-After when all render slots are busy")
+    void testDownloadConceptPdf_RenderRejected() throws Exception {
+        // Given
+        given(conceptRepository.findByIdAndUserId(eq(testConceptId), any(UUID.class)))
+                .willReturn(Optional.of(testConcept));
+        CountDownLatch release = new CountDownLatch(1);
+        Thread busyRender = new Thread(() -> pdfRenderExecutor.run(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        busyRender.start();
+        while (pdfRenderExecutor.active() == 0) {
+            Thread.onSpinWait();
+        }
+
+        try {
+            // When & Then
+            mockMvc.perform(get("/api/concepts/{conceptId}/pdf", testConceptId))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().exists("Retry-After"));
+            verify(pdfService, never()).generateConceptPdf(any());
+        } finally {
+            release.countDown();
+            busyRender.join();
+        }
+    }
+
     @Test
     @DisplayName("Should apply concept suggestion successfully")
     void testApplyConceptSuggestion_Success() throws Exception {
@@ -402,4 +716,100 @@ class ConceptControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isArray());
     }
-} 
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should create concepts in bulk")
+    void testBatchCreateConcepts_Success() throws Exception {
+        // Given
+        CreateConceptRequest first = new CreateConceptRequest();
+        first.setTitle("First");
+        first.setDescription("First description");
+        CreateConceptRequest second = new CreateConceptRequest();
+        second.setTitle("Second");
+        second.setDescription("Second description");
+        BatchCreateConceptsRequest request = new BatchCreateConceptsRequest();
+        request.setConcepts(List.of(first, second));
+
+        BatchOperationResponse response = new BatchOperationResponse()
+                .results(List.of(
+                        new BatchItemResult().index(0).conceptId(UUID.randomUUID()).result(BatchItemResult.ResultEnum.CREATED),
+                        new BatchItemResult().index(1).conceptId(UUID.randomUUID()).result(BatchItemResult.ResultEnum.CREATED)))
+                .succeeded(2)
+                .failed(0);
+        given(conceptBatchService.createConcepts(any(), eq(testUserId))).willReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/concepts/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(2)))
+                .andExpect(jsonPath("$.results.length()", is(2)))
+                .andExpect(jsonPath("$.results[1].result", is("CREATED")));
+    }
+
+    @Test
+    @DisplayName("Should reject empty batch")
+    void testBatchCreateConcepts_Empty() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/concepts/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"concepts\": []}"))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should change status of many concepts")
+    void testBatchUpdateConceptStatus_Success() throws Exception {
+        // Given
+        UUID missingId = UUID.randomUUID();
+        BatchStatusChangeRequest request = new BatchStatusChangeRequest();
+        request.setConceptIds(List.of(testConceptId, missingId));
+        request.setStatus(BatchStatusChangeRequest.StatusEnum.COMPLETED);
+
+        BatchOperationResponse response = new BatchOperationResponse()
+                .results(List.of(
+                        new BatchItemResult().index(0).conceptId(testConceptId).result(BatchItemResult.ResultEnum.UPDATED),
+                        new BatchItemResult().index(1).conceptId(missingId).result(BatchItemResult.ResultEnum.NOT_FOUND)))
+                .succeeded(1)
+                .failed(1);
+        given(conceptBatchService.changeStatus(eq(List.of(testConceptId, missingId)), eq(ConceptStatus.COMPLETED), eq(testUserId)))
+                .willReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/concepts/batch/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.succeeded", is(1)))
+                .andExpect(jsonPath("$.failed", is(1)))
+                .andExpect(jsonPath("$.results[1].result", is("NOT_FOUND")));
+    }
+
+    @Test
+    @DisplayName("Should delete many concepts")
+    void testBatchDeleteConcepts_Success() throws Exception {
+        // Given
+        BatchDeleteConceptsRequest request = new BatchDeleteConceptsRequest();
+        request.setConceptIds(List.of(testConceptId));
+        request.setPermanent(true);
+
+        BatchOperationResponse response = new BatchOperationResponse()
+                .results(List.of(new BatchItemResult().index(0).conceptId(testConceptId).result(BatchItemResult.ResultEnum.DELETED)))
+                .succeeded(1)
+                .failed(0);
+        given(conceptBatchService.deleteConcepts(eq(List.of(testConceptId)), eq(true), eq(testUserId)))
+                .willReturn(response);
+
+        // When & Then
+        mockMvc.perform(post("/api/concepts/batch/delete")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].result", is("DELETED")));
+    }
+}
@@ -0,0 +1,123 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@WebMvcTest(ConceptEventController.class)
+@Import({TestSecurityConfig.class, ConceptEventBroadcaster.class, ConceptEventControllerTest.Metrics.class})
+@TestPropertySource(properties = {
+        "concept.events.max-connections-per-user=2",
+        "concept.events.heartbeat-interval=100ms"
+})
+@ActiveProfiles("test")
+class ConceptEventControllerTest {
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConceptEventBroadcaster conceptEventBroadcaster;
+
+    // Streams stay open for the whole test class, so every test gets its own user
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        TestingAuthenticationToken authentication = new TestingAuthenticationToken(userId.toString(), "password");
+        authentication.setAuthenticated(true);
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+    }
+
+    @Test
+    void testCommittedChangeIsPushedToTheOwnersStreamOnly() throws Exception {
+        // Given
+        MockHttpServletResponse stream = openStream();
+        UUID conceptId = UUID.randomUUID();
+        UUID otherConceptId = UUID.randomUUID();
+
+        // When
+        conceptEventBroadcaster.onConceptChange(new ConceptOutbox.Change(ConceptChangeType.UPDATED, otherConceptId,
+                UUID.randomUUID(), 4, ConceptStatus.DRAFT));
+        conceptEventBroadcaster.onConceptChange(new ConceptOutbox.Change(ConceptChangeType.UPDATED, conceptId,
+                userId, 3, ConceptStatus.COMPLETED));
+
+        // Then
+        String events = awaitContent(stream, "event:concept-change\ndata:{\"id\":\"" + conceptId
+                + "\",\"type\":\"UPDATED\",\"version\":3,\"status\":\"COMPLETED\"}\n\n");
+        assertThat(events).startsWith("retry:5000\n:connected\n\n");
+        assertThat(events).doesNotContain(otherConceptId.toString());
+    }
+
+    @Test
+    void testIdleStreamReceivesHeartbeats() throws Exception {
+        // Given
+        MockHttpServletResponse stream = openStream();
+
+        // When / Then
+        assertThat(awaitContent(stream, "\n\n:\n\n")).doesNotContain("event:");
+    }
+
+    @Test
+    void testStreamsBeyondTheUserLimitAreRejected() throws Exception {
+        // Given
+        openStream();
+        openStream();
+
+        // When / Then
+        mockMvc.perform(get("/api/concepts/events"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "5"));
+    }
+
+    private MockHttpServletResponse openStream() throws Exception {
+        return mockMvc.perform(get("/api/concepts/events"))
+                .andExpect(request().asyncStarted())
+                .andExpect(header().string("X-Accel-Buffering", "no"))
+                .andReturn()
+                .getResponse();
+    }
+
+    private static String awaitContent(MockHttpServletResponse stream, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+        String content = stream.getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = stream.getContentAsString();
+        }
+        assertThat(content).contains(expected);
+        return content;
+    }
+}
@@ -0,0 +1,235 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@WebMvcTest(ConceptExportController.class)
+@Import({TestSecurityConfig.class, ConceptPdfSource.class})
+@ActiveProfiles("test")
+class ConceptExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ConceptExportService conceptExportService;
+
+    @MockBean
+    private ConceptRepository conceptRepository;
+
+    @MockBean
+    private PdfService pdfService;
+
+    @MockBean
+    private PdfCache pdfCache;
+
+    @MockBean
+    private PdfRenderExecutor pdfRenderExecutor;
+
+    @MockBean
+    private ConceptPdfArchiveService conceptPdfArchiveService;
+
+    private final UUID testUserId = UUID.fromString(TestSecurityConfig.TEST_USER_ID);
+
+    @BeforeEach
+    void setUp() {
+        TestingAuthenticationToken authentication = new TestingAuthenticationToken(testUserId.toString(), "password");
+        authentication.setAuthenticated(true);
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+    }
+
+    @Test
+    void testExportStreamsNdjson() throws Exception {
+        // Given
+        given(conceptExportService.exportUserConcepts(eq(testUserId), any(OutputStream.class))).willAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("{\"title\":\"First\"}\n{\"title\":\"Second\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/concepts/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(header().string("X-Accel-Buffering", "no"))
+                .andExpect(content().string("{\"title\":\"First\"}\n{\"title\":\"Second\"}\n"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStreamConceptPdf() throws Exception {
+        // Given
+        ConceptEntity concept = concept();
+        given(conceptRepository.findByIdAndUserId(concept.getId(), testUserId)).willReturn(Optional.of(concept));
+        willAnswer(invocation -> {
+            Consumer<OutputStream> renderer = invocation.getArgument(3);
+            renderer.accept(invocation.getArgument(2));
+            return null;
+        }).given(pdfCache).stream(eq(concept.getId()), eq(3), any(OutputStream.class), any(Consumer.class));
+        willAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).given(pdfRenderExecutor).run(any(Runnable.class));
+        willAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(1);
+            out.write("%PDF-1.7 streamed".getBytes(StandardCharsets.US_ASCII));
+            return null;
+        }).given(pdfService).writeConceptPdf(eq(concept), any(OutputStream.class));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/concepts/{conceptId}/pdf/stream", concept.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/pdf"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=concept-" + concept.getId() + ".pdf"))
+                .andExpect(content().string("%PDF-1.7 streamed"));
+    }
+
+    @Test
+    void testStreamConceptPdfNotFound() throws Exception {
+        // Given
+        UUID conceptId = UUID.randomUUID();
+        given(conceptRepository.findByIdAndUserId(conceptId, testUserId)).willReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/concepts/{conceptId}/pdf/stream", conceptId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStreamConceptPdfRenderFailureBeforeFirstByte() throws Exception {
+        // Given
+        ConceptEntity concept = concept();
+        given(conceptRepository.findByIdAndUserId(concept.getId(), testUserId)).willReturn(Optional.of(concept));
+        willThrow(new RuntimeException("layout failed"))
+                .given(pdfCache).stream(eq(concept.getId()), eq(3), any(OutputStream.class), any(Consumer.class));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/concepts/{conceptId}/pdf/stream", concept.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testStreamConceptPdfRenderRejected() throws Exception {
+        // Given
+        ConceptEntity concept = concept();
+        given(conceptRepository.findByIdAndUserId(concept.getId(), testUserId)).willReturn(Optional.of(concept));
+        willThrow(new PdfRenderRejectedException("PDF rendering is at capacity", 3))
+                .given(pdfCache).stream(eq(concept.getId()), eq(3), any(OutputStream.class), any(Consumer.class));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/concepts/{conceptId}/pdf/stream", concept.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "3"));
+    }
+
+    @Test
+    void testExportConceptPdfsStreamsZip() throws Exception {
+        // Given
+        UUID conceptId = UUID.randomUUID();
+        given(conceptPdfArchiveService.writeArchive(eq(testUserId), eq(List.of(conceptId)), eq(ConceptStatus.COMPLETED),
+                any(OutputStream.class))).willAnswer(invocation -> {
+                    OutputStream out = invocation.getArgument(3);
+                    out.write("PK zip".getBytes(StandardCharsets.US_ASCII));
+                    return 1;
+                });
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/concepts/export/pdf")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"conceptIds\":[\"" + conceptId + "\"],\"status\":\"COMPLETED\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/zip"))
+                .andExpect(header().string("Content-Disposition", "attachment; filename=concepts-pdf.zip"))
+                .andExpect(content().string("PK zip"));
+    }
+
+    @Test
+    void testExportConceptPdfsRequiresSelection() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/concepts/export/pdf")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isBadRequest());
+        verify(conceptPdfArchiveService, never()).writeArchive(any(), any(), any(), any());
+    }
+
+    @Test
+    void testExportConceptPdfsRejectsEmptyIdList() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/api/concepts/export/pdf")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"conceptIds\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ConceptEntity concept() {
+        ConceptEntity concept = new ConceptEntity();
+        concept.setId(UUID.randomUUID());
+        concept.setTitle("Streamed");
+        concept.setUserId(testUserId);
+        concept.setVersion(3);
+        return concept;
+    }
+}
@@ -0,0 +1,71 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Date;
+import java.util.UUID;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Runs the export through the real security chain: the JWT filter authorizes the initial
+ * dispatch, and the async dispatch that writes the streamed body must be let through.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConceptExportSecurityTest {
+
+    private static final String JWT_SECRET = "my-super-long-and-secure-secret-key-1234567890!@#$";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConceptRepository conceptRepository;
+
+    @Test
+    void testExportStreamsWithRealSecurityChain() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        ConceptEntity concept = new ConceptEntity();
+        concept.setTitle("Secured export");
+        concept.setDescription("Streamed after the async dispatch");
+        concept.setStatus(ConceptStatus.DRAFT);
+        concept.setUserId(userId);
+        concept.setLastModifiedBy(userId);
+        conceptRepository.save(concept);
+
+        // When
+        MvcResult result = mockMvc.perform(get("/api/concepts/export").header("Authorization", "Bearer " + token(userId)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(Matchers.containsString("\"title\":\"Secured export\"")));
+    }
+
+    private static String token(UUID userId) {
+        return Jwts.builder()
+                .setSubject(userId.toString())
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET.getBytes()))
+                .compact();
+    }
+}
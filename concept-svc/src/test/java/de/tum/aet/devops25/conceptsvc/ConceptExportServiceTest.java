@@ -0,0 +1,151 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@DataJpaTest
+@Import({ConceptExportService.class, JpaConfig.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@ActiveProfiles("test")
+class ConceptExportServiceTest {
+
+    @Autowired
+    private ConceptExportService conceptExportService;
+
+    @Autowired
+    private ConceptRepository conceptRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void testExportWritesOneConceptPerLine() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        ConceptEntity first = createTestConcept("First", userId);
+        first.getTags().add("tech");
+        AgendaItemEntity item = new AgendaItemEntity();
+        item.setTime("09:00");
+        item.setTitle("Keynote");
+        first.addAgendaItem(item);
+        conceptRepository.save(first);
+        conceptRepository.save(createTestConcept("Second", userId));
+        conceptRepository.saveAndFlush(createTestConcept("Foreign", UUID.randomUUID()));
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = conceptExportService.exportUserConcepts(userId, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        List<String> titles = new ArrayList<>();
+        for (String line : lines) {
+            JsonNode node = objectMapper.readTree(line);
+            titles.add(node.get("title").asText());
+            if ("First".equals(node.get("title").asText())) {
+                assertThat(node.get("tags").get(0).asText()).isEqualTo("tech");
+                assertThat(node.get("agenda").get(0).get("title").asText()).isEqualTo("Keynote");
+            }
+        }
+        assertThat(titles).containsExactlyInAnyOrder("First", "Second");
+    }
+
+    @Test
+    void testExportOfUserWithoutConceptsIsEmpty() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = conceptExportService.exportUserConcepts(UUID.randomUUID(), out);
+
+        assertThat(count).isZero();
+        assertThat(out.size()).isZero();
+    }
+
+    // Runs via the largeTest task with a 256m heap; buffering the result would not fit.
+    @Test
+    @Tag("large")
+    void testExportOf100kConceptsStreamsWithinSmallHeap() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        int total = 100_000;
+        insertConcepts(userId, total);
+
+        // When
+        CountingOutputStream out = new CountingOutputStream();
+        long count = conceptExportService.exportUserConcepts(userId, out);
+
+        // Then
+        assertThat(count).isEqualTo(total);
+        assertThat(out.lines).isEqualTo(total);
+    }
+
+    private void insertConcepts(UUID userId, int total) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        String description = "Exported concept description ".repeat(20);
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(1000);
+        for (int i = 0; i < total; i++) {
+            rows.add(new Object[] {UUID.randomUUID(), "Concept " + i, description, "DRAFT", userId, userId, now, now});
+            if (rows.size() == 1000 || i == total - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO concepts (id, title, description, status, user_id, last_modified_by, "
+                        + "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    private ConceptEntity createTestConcept(String title, UUID userId) {
+        ConceptEntity concept = new ConceptEntity();
+        concept.setTitle(title);
+        concept.setDescription("Test description");
+        concept.setStatus(ConceptStatus.DRAFT);
+        concept.setUserId(userId);
+        concept.setLastModifiedBy(userId);
+        return concept;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        long lines;
+
+        @Override
+        public void write(int b) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = off; i < off + len; i++) {
+                write(b[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Compares NDJSON bulk import with the same concepts created through sequential
+ * createConcept calls (each with JWT verification, its own transaction and insert
+ * statements) against the H2 test database. Each concept carries event details, an agenda and
+ * speakers, so both paths also insert the child rows.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Tag("large")
+class ConceptImportBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(ConceptImportBenchmarkTest.class);
+
+    private static final String JWT_SECRET = "my-super-long-and-secure-secret-key-1234567890!@#$";
+    private static final int CONCEPTS = 2_000;
+    private static final int WARMUP_IMPORTS = 8;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConceptRepository conceptRepository;
+
+    @Test
+    void testBulkImportIsAtLeastTenTimesFasterThanSequentialCreate() throws Exception {
+        // Warm up both paths so JIT and connection pool state are comparable. The measured import is
+        // too short to absorb compilation itself; its flush and insert paths need several full runs.
+        // Warm-up data is removed again, so every measured run sees the same database size
+        UUID warmupUser = UUID.randomUUID();
+        createSequentially(token(warmupUser), 200);
+        deleteConcepts(warmupUser);
+        for (int i = 0; i < WARMUP_IMPORTS; i++) {
+            warmupUser = UUID.randomUUID();
+            importBulk(token(warmupUser), CONCEPTS);
+            deleteConcepts(warmupUser);
+        }
+
+        UUID sequentialUser = UUID.randomUUID();
+        long sequentialNanos = createSequentially(token(sequentialUser), CONCEPTS);
+        assertThat(conceptRepository.findByUserIdOrderByUpdatedAtDesc(sequentialUser)).hasSize(CONCEPTS);
+        deleteConcepts(sequentialUser);
+
+        // One import is short enough for a single young collection to skew it; take the median of three
+        long[] bulkRuns = new long[3];
+        for (int i = 0; i < bulkRuns.length; i++) {
+            UUID bulkUser = UUID.randomUUID();
+            bulkRuns[i] = importBulk(token(bulkUser), CONCEPTS);
+            assertThat(conceptRepository.findByUserIdOrderByUpdatedAtDesc(bulkUser)).hasSize(CONCEPTS);
+            deleteConcepts(bulkUser);
+        }
+        Arrays.sort(bulkRuns);
+        long bulkNanos = bulkRuns[1];
+
+        double speedup = (double) sequentialNanos / bulkNanos;
+        String result = "createConcept x%d: %d ms (%.0f concepts/s); import (median of 3): %d ms (%.0f concepts/s); speedup %.1fx"
+                .formatted(CONCEPTS, sequentialNanos / 1_000_000, CONCEPTS / (sequentialNanos / 1e9),
+                        bulkNanos / 1_000_000, CONCEPTS / (bulkNanos / 1e9), speedup);
+        log.info(result);
+
+        assertThat(speedup).as(result).isGreaterThanOrEqualTo(10.0);
+    }
+
+    private long createSequentially(String token, int count) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            mockMvc.perform(post("/api/concepts")
+                    .header("Authorization", "Bearer " + token)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(conceptJson(i)))
+                    .andExpect(status().isCreated());
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long importBulk(String token, int count) throws Exception {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            ndjson.append(conceptJson(i)).append('\n');
+        }
+
+        long start = System.nanoTime();
+        MvcResult result = mockMvc.perform(post("/api/concepts/import")
+                .header("Authorization", "Bearer " + token)
+                .contentType("application/x-ndjson")
+                .content(ndjson.toString()))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        return System.nanoTime() - start;
+    }
+
+    private void deleteConcepts(UUID userId) {
+        List<UUID> ids = conceptRepository.findByUserIdOrderByUpdatedAtDesc(userId).stream()
+                .map(ConceptEntity::getId)
+                .toList();
+        conceptRepository.deleteCascadingByIdsAndUserId(ids, userId);
+    }
+
+    private static String conceptJson(int i) {
+        return """
+                {"title":"Migrated concept %d","description":"Imported from the previous planning tool",\
+                "tags":["migrated","tech"],\
+                "eventDetails":{"theme":"Tech","format":"HYBRID","capacity":200,\
+                "objectives":["Share migration lessons","Grow the community"]},\
+                "agenda":[{"time":"09:00","title":"Welcome","type":"KEYNOTE","duration":30},\
+                {"time":"09:30","title":"Migration stories","type":"PANEL","duration":60},\
+                {"time":"10:30","title":"Coffee","type":"BREAK","duration":15}],\
+                "speakers":[{"name":"Dr. Jane Smith","expertise":"Data migration"},\
+                {"name":"Alex Chen","expertise":"Event platforms"}]}""".formatted(i);
+    }
+
+    private static String token(UUID userId) {
+        return Jwts.builder()
+                .setSubject(userId.toString())
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET.getBytes()))
+                .compact();
+    }
+}
@@ -0,0 +1,83 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.InputStream;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import de.tum.aet.devops25.api.generated.model.ConceptImportEvent;
+
+@WebMvcTest(ConceptImportController.class)
+@Import(TestSecurityConfig.class)
+@ActiveProfiles("test")
+class ConceptImportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ConceptImportService conceptImportService;
+
+    private final UUID testUserId = UUID.fromString(TestSecurityConfig.TEST_USER_ID);
+
+    @BeforeEach
+    void setUp() {
+        TestingAuthenticationToken authentication = new TestingAuthenticationToken(testUserId.toString(), "password");
+        authentication.setAuthenticated(true);
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testImportStreamsEventsAndSummary() throws Exception {
+        // Given
+        given(conceptImportService.importConcepts(eq(testUserId), any(InputStream.class), any(Consumer.class)))
+                .willAnswer(invocation -> {
+                    Consumer<ConceptImportEvent> events = invocation.getArgument(2);
+                    events.accept(new ConceptImportEvent().type(ConceptImportEvent.TypeEnum.ERROR).line(2).error("Malformed JSON"));
+                    return new ConceptImportEvent().type(ConceptImportEvent.TypeEnum.SUMMARY).processed(2).imported(1).failed(1);
+                });
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/concepts/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"title\":\"First\"}\n{ broken\n"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/x-ndjson"))
+                .andExpect(content().string(allOf(
+                        containsString("\"type\":\"ERROR\""),
+                        containsString("\"type\":\"SUMMARY\""),
+                        containsString("\"imported\":1"))));
+    }
+}
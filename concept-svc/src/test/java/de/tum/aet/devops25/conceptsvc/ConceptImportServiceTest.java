@@ -0,0 +1,114 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import de.tum.aet.devops25.api.generated.model.ConceptImportEvent;
+
+@DataJpaTest
+@Import({ConceptImportService.class, ConceptOutbox.class, JpaConfig.class})
+@ImportAutoConfiguration({JacksonAutoConfiguration.class, ValidationAutoConfiguration.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+class ConceptImportServiceTest {
+
+    @Autowired
+    private ConceptImportService conceptImportService;
+
+    @Autowired
+    private ConceptRepository conceptRepository;
+
+    @Test
+    void testImportPersistsConceptsWithChildren() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        String ndjson = """
+            {"id":"%s","title":"Imported","description":"From old tool","status":"IN_PROGRESS","tags":["ai"],\
+            "eventDetails":{"theme":"AI","objectives":["Learn"]},\
+            "agenda":[{"time":"09:00","title":"Keynote","type":"KEYNOTE"}],\
+            "speakers":[{"name":"Dr. Jane Smith"}]}
+
+            {"title":"Second","description":"Plain"}
+            """.formatted(UUID.randomUUID());
+        List<ConceptImportEvent> events = new ArrayList<>();
+
+        // When
+        ConceptImportEvent summary = conceptImportService.importConcepts(userId, stream(ndjson), events::add);
+
+        // Then
+        assertThat(summary.getProcessed()).isEqualTo(2);
+        assertThat(summary.getImported()).isEqualTo(2);
+        assertThat(summary.getFailed()).isZero();
+        assertThat(events).extracting(ConceptImportEvent::getType).containsExactly(ConceptImportEvent.TypeEnum.PROGRESS);
+
+        List<ConceptEntity> imported = conceptRepository.findByUserIdOrderByUpdatedAtDesc(userId);
+        assertThat(imported).extracting(ConceptEntity::getTitle).containsExactlyInAnyOrder("Imported", "Second");
+        assertThat(imported).allSatisfy(c -> assertThat(c.getLastModifiedBy()).isEqualTo(userId));
+        assertThat(conceptRepository.findByUserIdAndStatus(userId, ConceptStatus.IN_PROGRESS)).hasSize(1);
+    }
+
+    @Test
+    void testImportReportsBadLinesWithoutAborting() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        String ndjson = """
+            {"title":"Good one","description":"ok"}
+            { not json
+            {"title":"","description":"blank title"}
+            {"title":"Bad status","status":"UNKNOWN"}
+            {"title":"Good two","description":"ok"}
+            """;
+        List<ConceptImportEvent> events = new ArrayList<>();
+
+        // When
+        ConceptImportEvent summary = conceptImportService.importConcepts(userId, stream(ndjson), events::add);
+
+        // Then
+        assertThat(summary.getProcessed()).isEqualTo(5);
+        assertThat(summary.getImported()).isEqualTo(2);
+        assertThat(summary.getFailed()).isEqualTo(3);
+        assertThat(events).filteredOn(e -> e.getType() == ConceptImportEvent.TypeEnum.ERROR)
+            .extracting(ConceptImportEvent::getLine)
+            .containsExactly(2, 3, 4);
+        assertThat(conceptRepository.findByUserIdOrderByUpdatedAtDesc(userId)).hasSize(2);
+    }
+
+    @Test
+    void testImportReportsProgressPerChunk() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < ConceptImportService.CHUNK_SIZE + 1; i++) {
+            ndjson.append("{\"title\":\"Concept ").append(i).append("\"}\n");
+        }
+        List<ConceptImportEvent> events = new ArrayList<>();
+
+        // When
+        ConceptImportEvent summary = conceptImportService.importConcepts(userId, stream(ndjson.toString()), events::add);
+
+        // Then
+        assertThat(summary.getImported()).isEqualTo(ConceptImportService.CHUNK_SIZE + 1);
+        assertThat(events).extracting(ConceptImportEvent::getImported)
+            .containsExactly(ConceptImportService.CHUNK_SIZE, ConceptImportService.CHUNK_SIZE + 1);
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,114 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import de.tum.aet.devops25.api.generated.model.AgendaItem;
+import de.tum.aet.devops25.api.generated.model.Concept;
+
+@DataJpaTest
+@Import({ConceptOutbox.class, ConceptBatchService.class, JpaConfig.class})
+@ImportAutoConfiguration(ValidationAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = "concept.outbox.sink=memory")
+@ActiveProfiles("test")
+class ConceptOutboxTest {
+
+    @Autowired
+    private ConceptOutbox conceptOutbox;
+
+    @Autowired
+    private ConceptBatchService conceptBatchService;
+
+    @Autowired
+    private ConceptRepository conceptRepository;
+
+    @Autowired
+    private ConceptChangeRepository conceptChangeRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void testChangeIsRecordedInTheSameTransaction() {
+        // Given
+        ConceptEntity concept = conceptRepository.save(concept("Outbox"));
+        conceptChangeRepository.deleteAll();
+
+        // When
+        conceptBatchService.changeStatus(List.of(concept.getId()), ConceptStatus.COMPLETED, userId);
+
+        // Then
+        List<ConceptChangeEntity> changes = conceptChangeRepository.findAll();
+        assertThat(changes).hasSize(1);
+        assertThat(changes.get(0).getConceptId()).isEqualTo(concept.getId());
+        assertThat(changes.get(0).getType()).isEqualTo(ConceptChangeType.UPDATED);
+        assertThat(changes.get(0).getChangedFields()).containsExactly("status");
+    }
+
+    @Test
+    void testRolledBackChangeLeavesNoRecord() {
+        // Given
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        conceptChangeRepository.deleteAll();
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            conceptOutbox.append(ConceptChangeType.UPDATED, UUID.randomUUID(), userId, 1, ConceptStatus.DRAFT,
+                    List.of("title"));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(conceptChangeRepository.count()).isZero();
+    }
+
+    @Test
+    void testAppendOutsideTransactionIsRejected() {
+        assertThatThrownBy(() -> conceptOutbox.append(ConceptChangeType.UPDATED, UUID.randomUUID(), userId, 1, null,
+                List.of("title")))
+                .isInstanceOf(IllegalTransactionStateException.class);
+    }
+
+    @Test
+    void testChangedFieldsIgnoresRegeneratedChildIds() {
+        // Given
+        Concept before = new Concept().title("Summit").status(Concept.StatusEnum.DRAFT)
+                .agenda(List.of(new AgendaItem().id(UUID.randomUUID()).time("09:00").title("Keynote")));
+        Concept after = new Concept().title("Summit").status(Concept.StatusEnum.IN_PROGRESS)
+                .agenda(List.of(new AgendaItem().id(UUID.randomUUID()).time("09:00").title("Keynote")))
+                .tags(List.of("ai"));
+
+        // When / Then
+        assertThat(ConceptOutbox.changedFields(before, after)).containsExactly("status", "tags");
+        assertThat(ConceptOutbox.changedFields(null, after)).containsExactly("title", "status", "agenda", "tags");
+    }
+
+    private ConceptEntity concept(String title) {
+        ConceptEntity concept = new ConceptEntity();
+        concept.setTitle(title);
+        concept.setStatus(ConceptStatus.DRAFT);
+        concept.setUserId(userId);
+        concept.setLastModifiedBy(userId);
+        return concept;
+    }
+}
@@ -0,0 +1,268 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+
+@DataJpaTest
+@Import(JpaConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@ActiveProfiles("test")
+class ConceptPdfArchiveServiceTest {
+
+    @TempDir
+    Path directory;
+
+    @Autowired
+    private ConceptRepository conceptRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PdfService pdfService = mock(PdfService.class);
+    private final UUID userId = UUID.randomUUID();
+    private ConceptPdfArchiveService archiveService;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        willAnswer(invocation -> {
+            ConceptEntity concept = invocation.getArgument(0);
+            invocation.<OutputStream>getArgument(1).write(pdf(concept.getTitle()));
+            return null;
+        }).given(pdfService).writeConceptPdf(any(ConceptEntity.class), any(OutputStream.class));
+        archiveService = archiveService(pdfService, new PdfCache(meterRegistry, directory, 1 << 20, 1 << 20));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        archiveService.shutdown();
+    }
+
+    @Test
+    void testArchiveFollowsRequestedOrderAndReportsMissingIds() throws Exception {
+        // Given
+        ConceptEntity first = conceptRepository.save(concept("First", userId, ConceptStatus.DRAFT));
+        ConceptEntity second = conceptRepository.save(concept("Second", userId, ConceptStatus.COMPLETED));
+        ConceptEntity foreign = conceptRepository.save(concept("Foreign", UUID.randomUUID(), ConceptStatus.DRAFT));
+        UUID unknown = UUID.randomUUID();
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int written = archiveService.writeArchive(userId,
+                List.of(second.getId(), unknown, first.getId(), foreign.getId(), second.getId()), null, out);
+
+        // Then
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertThat(written).isEqualTo(2);
+        assertThat(entries.keySet()).containsExactly(
+                "concept-" + second.getId() + ".pdf",
+                "concept-" + first.getId() + ".pdf",
+                ConceptPdfArchiveService.ERRORS_ENTRY);
+        assertThat(entries.get("concept-" + second.getId() + ".pdf")).isEqualTo("%PDF-1.7 Second");
+        assertThat(entries.get(ConceptPdfArchiveService.ERRORS_ENTRY))
+                .contains(unknown + ": concept not found")
+                .contains(foreign.getId() + ": concept not found");
+        assertThat(meterRegistry.get("concept.pdf.archive.entries").tag("result", "written").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void testStatusFilterPagesThroughAllMatchingConcepts() throws Exception {
+        // Given
+        int total = ConceptPdfArchiveService.CHUNK_SIZE * 2 + 7;
+        insertConcepts(userId, total, "COMPLETED", 0);
+        conceptRepository.save(concept("Draft", userId, ConceptStatus.DRAFT));
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int written = archiveService.writeArchive(userId, null, ConceptStatus.COMPLETED, out);
+
+        // Then
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertThat(written).isEqualTo(total);
+        assertThat(entries).hasSize(total);
+        assertThat(entries.values()).doesNotContain("%PDF-1.7 Draft");
+    }
+
+    @Test
+    void testIdsAndStatusAreCombined() throws Exception {
+        // Given
+        ConceptEntity draft = conceptRepository.save(concept("Draft", userId, ConceptStatus.DRAFT));
+        ConceptEntity completed = conceptRepository.save(concept("Completed", userId, ConceptStatus.COMPLETED));
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        archiveService.writeArchive(userId, List.of(draft.getId(), completed.getId()), ConceptStatus.COMPLETED, out);
+
+        // Then
+        assertThat(unzip(out.toByteArray()).keySet()).containsExactly("concept-" + completed.getId() + ".pdf");
+    }
+
+    @Test
+    void testFailedRenderIsListedAndDoesNotAbortArchive() throws Exception {
+        // Given
+        ConceptEntity broken = conceptRepository.save(concept("Broken", userId, ConceptStatus.DRAFT));
+        ConceptEntity fine = conceptRepository.save(concept("Fine", userId, ConceptStatus.DRAFT));
+        willThrow(new IllegalStateException("layout failed"))
+                .given(pdfService).writeConceptPdf(argThat(c -> c != null && "Broken".equals(c.getTitle())), any(OutputStream.class));
+
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int written = archiveService.writeArchive(userId, List.of(broken.getId(), fine.getId()), null, out);
+
+        // Then
+        Map<String, String> entries = unzip(out.toByteArray());
+        assertThat(written).isEqualTo(1);
+        assertThat(entries).containsKey("concept-" + fine.getId() + ".pdf");
+        assertThat(entries.get(ConceptPdfArchiveService.ERRORS_ENTRY)).isEqualTo(broken.getId() + ": layout failed\n");
+    }
+
+    @Test
+    void testSelectionIsRequired() {
+        assertThatThrownBy(() -> archiveService.writeArchive(userId, null, null, new ByteArrayOutputStream()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Runs via the largeTest task with a 256m heap; holding every PDF at once would not fit.
+    @Test
+    @Tag("large")
+    void testArchiveOf2000LargePdfsStreamsWithinSmallHeap() throws Exception {
+        // Given
+        int total = 2_000;
+        byte[] page = new byte[256 * 1024];
+        Arrays.fill(page, (byte) 'x');
+        // A mock would keep every invocation's output buffer reachable
+        PdfService largePdfs = new PdfService(meterRegistry, PdfService.Profile.COMPACT) {
+            @Override
+            public void writeConceptPdf(ConceptEntity concept, OutputStream out) {
+                try {
+                    out.write(pdf(""));
+                    out.write(page);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        };
+        archiveService.shutdown();
+        // No caching: every entry is rendered and then dropped
+        archiveService = archiveService(largePdfs, new PdfCache(meterRegistry, directory, 0, 0));
+        insertConcepts(userId, total, "IN_PROGRESS", 3 * 1024);
+
+        // When
+        CountingOutputStream out = new CountingOutputStream();
+        int written = archiveService.writeArchive(userId, null, ConceptStatus.IN_PROGRESS, out);
+
+        // Then
+        assertThat(written).isEqualTo(total);
+        assertThat(out.bytes).isPositive();
+    }
+
+    private ConceptPdfArchiveService archiveService(PdfService pdfService, PdfCache pdfCache) {
+        PdfRenderExecutor renderExecutor = new PdfRenderExecutor(meterRegistry, 4, 8, Duration.ofSeconds(30));
+        return new ConceptPdfArchiveService(conceptRepository, entityManager, transactionManager, pdfService,
+                pdfCache, renderExecutor, meterRegistry, 4);
+    }
+
+    private void insertConcepts(UUID userId, int total, String status, int descriptionLength) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        String description = "d".repeat(descriptionLength);
+        Timestamp now = Timestamp.from(Instant.now());
+        List<Object[]> rows = new ArrayList<>(500);
+        for (int i = 0; i < total; i++) {
+            rows.add(new Object[] {UUID.randomUUID(), "Concept " + i, description, status, userId, userId, now, now});
+            if (rows.size() == 500 || i == total - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO concepts (id, title, description, status, user_id, last_modified_by, "
+                        + "created_at, updated_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, 0)", rows);
+                rows.clear();
+            }
+        }
+    }
+
+    private static ConceptEntity concept(String title, UUID userId, ConceptStatus status) {
+        ConceptEntity concept = new ConceptEntity();
+        concept.setTitle(title);
+        concept.setDescription("Archived concept");
+        concept.setStatus(status);
+        concept.setUserId(userId);
+        concept.setLastModifiedBy(userId);
+        return concept;
+    }
+
+    private static byte[] pdf(String title) {
+        return ("%PDF-1.7 " + title).trim().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static Map<String, String> unzip(byte[] archive) throws IOException {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                entries.put(entry.getName(), new String(zip.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
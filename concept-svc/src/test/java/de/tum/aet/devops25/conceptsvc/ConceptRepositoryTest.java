@@ -3,6 +3,7 @@ package de.tum.aet.devops25.conceptsvc;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
 @DataJpaTest
 @ActiveProfiles("test")
 class ConceptRepositoryTest {
@@ -153,6 +157,155 @@ class ConceptRepositoryTest {
         assertThat(concepts).isEmpty();
     }
 
+    @Test
+    void testUpdateStatusByIdAndUserId() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        ConceptEntity saved = conceptRepository.saveAndFlush(createTestConcept("Status Concept", userId));
+        Integer versionBefore = saved.getVersion();
+
+        // When
+        int affected = conceptRepository.updateStatusByIdAndUserId(
+            saved.getId(), userId, ConceptStatus.IN_PROGRESS, OffsetDateTime.now());
+        int foreign = conceptRepository.updateStatusByIdAndUserId(
+            saved.getId(), UUID.randomUUID(), ConceptStatus.COMPLETED, OffsetDateTime.now());
+
+        // Then
+        assertThat(affected).isEqualTo(1);
+        assertThat(foreign).isZero();
+        ConceptEntity reloaded = conceptRepository.findById(saved.getId()).orElseThrow();
+        assertThat(reloaded.getStatus()).isEqualTo(ConceptStatus.IN_PROGRESS);
+        assertThat(reloaded.getVersion()).isEqualTo(versionBefore + 1);
+    }
+
+    @Test
+    void testArchiveByIdAndUserId() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        ConceptEntity saved = conceptRepository.saveAndFlush(createTestConcept("Archive Concept", userId));
+
+        // When
+        int affected = conceptRepository.archiveByIdAndUserId(saved.getId(), userId);
+        int missing = conceptRepository.archiveByIdAndUserId(UUID.randomUUID(), userId);
+
+        // Then
+        assertThat(affected).isEqualTo(1);
+        assertThat(missing).isZero();
+        assertThat(conceptRepository.findById(saved.getId()).orElseThrow().getStatus())
+            .isEqualTo(ConceptStatus.ARCHIVED);
+    }
+
+    @Test
+    void testDeleteCascadingByIdAndUserId() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        ConceptEntity concept = createTestConcept("Cascade Concept", userId);
+        concept.getTags().add("tech");
+        EventDetailsEntity details = new EventDetailsEntity();
+        details.getObjectives().add("Network");
+        concept.setEventDetails(details);
+        AgendaItemEntity item = new AgendaItemEntity();
+        item.setTime("09:00");
+        item.setTitle("Keynote");
+        concept.addAgendaItem(item);
+        SpeakerEntity speaker = new SpeakerEntity();
+        speaker.setName("Dr. Jane Smith");
+        concept.addSpeaker(speaker);
+        ConceptEntity saved = conceptRepository.saveAndFlush(concept);
+
+        // When
+        int foreign = conceptRepository.deleteCascadingByIdAndUserId(saved.getId(), UUID.randomUUID());
+        int affected = conceptRepository.deleteCascadingByIdAndUserId(saved.getId(), userId);
+
+        // Then
+        assertThat(foreign).isZero();
+        assertThat(affected).isEqualTo(1);
+        assertThat(conceptRepository.findById(saved.getId())).isEmpty();
+    }
+
+    @Test
+    void testMergePatchUpdatesKeptChildrenInPlace() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        ConceptEntity concept = createTestConcept("Patch Concept", userId);
+        AgendaItemEntity keynote = new AgendaItemEntity();
+        keynote.setTime("09:00");
+        keynote.setTitle("Keynote");
+        concept.addAgendaItem(keynote);
+        AgendaItemEntity lunch = new AgendaItemEntity();
+        lunch.setTime("12:00");
+        lunch.setTitle("Lunch");
+        concept.addAgendaItem(lunch);
+        ConceptEntity saved = conceptRepository.saveAndFlush(concept);
+        UUID keynoteId = saved.getAgenda().get(0).getId();
+        Integer version = saved.getVersion();
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode patch = objectMapper.createObjectNode();
+        patch.putArray("agenda")
+                .add(objectMapper.createObjectNode().put("id", keynoteId.toString()).put("time", "09:30")
+                        .put("title", "Keynote"))
+                .add(objectMapper.createObjectNode().put("time", "17:00").put("title", "Drinks"));
+
+        // When
+        List<String> changedFields = ConceptMergePatch.apply(saved, patch, objectMapper);
+        conceptRepository.flush();
+
+        // Then: the kept item keeps its row, the dropped one is gone
+        ConceptEntity found = conceptRepository.findById(saved.getId()).orElseThrow();
+        assertThat(changedFields).containsExactly("agenda");
+        assertThat(found.getTitle()).isEqualTo("Patch Concept");
+        assertThat(found.getAgenda()).extracting(AgendaItemEntity::getTitle).containsExactly("Keynote", "Drinks");
+        assertThat(found.getAgenda().get(0).getId()).isEqualTo(keynoteId);
+        assertThat(found.getAgenda().get(0).getTime()).isEqualTo("09:30");
+        assertThat(found.getVersion()).isGreaterThan(version);
+    }
+
+    @Test
+    void testMergePatchEditingOnlyAKeptChildIncrementsTheVersion() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        ConceptEntity concept = createTestConcept("Patch Concept", userId);
+        AgendaItemEntity keynote = new AgendaItemEntity();
+        keynote.setTime("09:00");
+        keynote.setTitle("Keynote");
+        concept.addAgendaItem(keynote);
+        ConceptEntity saved = conceptRepository.saveAndFlush(concept);
+        UUID keynoteId = saved.getAgenda().get(0).getId();
+        Integer version = saved.getVersion();
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode patch = objectMapper.createObjectNode();
+        patch.putArray("agenda")
+                .add(objectMapper.createObjectNode().put("id", keynoteId.toString()).put("time", "10:00")
+                        .put("title", "Keynote"));
+
+        // When: the agenda keeps its members, only the item's row changes
+        ConceptMergePatch.apply(saved, patch, objectMapper);
+        conceptRepository.flush();
+
+        // Then
+        ConceptEntity found = conceptRepository.findById(saved.getId()).orElseThrow();
+        assertThat(found.getAgenda().get(0).getTime()).isEqualTo("10:00");
+        assertThat(found.getVersion()).isGreaterThan(version);
+    }
+
+    @Test
+    void testMergePatchWithoutChangesKeepsTheVersion() {
+        // Given
+        UUID userId = UUID.randomUUID();
+        ConceptEntity saved = conceptRepository.saveAndFlush(createTestConcept("Patch Concept", userId));
+        Integer version = saved.getVersion();
+        ObjectMapper objectMapper = new ObjectMapper();
+        ObjectNode patch = objectMapper.createObjectNode().put("title", "Patch Concept");
+
+        // When
+        List<String> changedFields = ConceptMergePatch.apply(saved, patch, objectMapper);
+        conceptRepository.flush();
+
+        // Then
+        assertThat(changedFields).isEmpty();
+        assertThat(conceptRepository.findById(saved.getId()).orElseThrow().getVersion()).isEqualTo(version);
+    }
+
     private ConceptEntity createTestConcept(String title, UUID userId) {
         ConceptEntity concept = new ConceptEntity();
         concept.setTitle(title);
@@ -0,0 +1,251 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+
+class ConcurrencyLimitFilterTest {
+
+    private static final List<String> PRIORITY_PATHS = List.of("/health", "/actuator/health/**");
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private final ExecutorService clients = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() throws Exception {
+        clients.shutdownNow();
+        assertThat(clients.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testRequestsBeyondLimitAreShedButPriorityPathsGetThrough() throws Exception {
+        // Given: a fixed limit of two, both taken by requests that wait for the latch
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 2, 2);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limit, PRIORITY_PATHS, objectMapper, meterRegistry);
+        CountDownLatch entered = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain blocking = (request, response) -> {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        for (int i = 0; i < 2; i++) {
+            clients.submit(() -> {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/concepts"), new MockHttpServletResponse(),
+                        blocking);
+                return null;
+            });
+        }
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/concepts"), shed, (request, response) -> { });
+        MockHttpServletResponse health = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health/readiness"), health,
+                (request, response) -> { });
+        release.countDown();
+
+        // Then
+        assertThat(shed.getStatus()).isEqualTo(503);
+        assertThat(shed.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(shed.getContentAsString()).contains("\"error\":\"SERVICE_UNAVAILABLE\"");
+        assertThat(health.getStatus()).isEqualTo(200);
+        assertThat(meterRegistry.get("concept.concurrency.rejected").tag("priority", "false").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("concept.concurrency.limit").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    void testStreamedResponseHoldsItsSlotUntilTheAsyncRequestCompletes() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 2, 2);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limit, PRIORITY_PATHS, objectMapper, meterRegistry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/concepts/export/pdf");
+        request.setAsyncSupported(true);
+
+        // When: the servlet thread returns while the body is still being written
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        // Then
+        assertThat(limit.getInFlight()).isEqualTo(1);
+        request.getAsyncContext().complete();
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    void testEventStreamReleasesItsSlotRightAway() throws Exception {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 2, 2);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limit, PRIORITY_PATHS, objectMapper, meterRegistry);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/concepts/events");
+        request.setAsyncSupported(true);
+
+        // When
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            res.setContentType("text/event-stream");
+            req.startAsync();
+        });
+
+        // Then: bounded by concept.events.max-connections instead
+        assertThat(limit.getInFlight()).isZero();
+        request.getAsyncContext().complete();
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    void testLimitGrowsWhileLatencyStaysLowAndShrinksWhenRequestsQueue() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 100);
+        long noLoad = Duration.ofMillis(10).toNanos();
+        limit.onSample("GET /api/concepts", noLoad, 20);
+
+        // When: fully used and as fast as without load
+        for (int i = 0; i < 10; i++) {
+            limit.onSample("GET /api/concepts", noLoad, limit.getLimit());
+        }
+
+        // Then
+        int grown = limit.getLimit();
+        assertThat(grown).isGreaterThan(20);
+
+        // When: the database slows down and requests wait five times as long
+        for (int i = 0; i < 200; i++) {
+            limit.onSample("GET /api/concepts", 5 * noLoad, limit.getLimit());
+        }
+
+        // Then: down to where only a few requests wait
+        assertThat(limit.getLimit()).isLessThan(10);
+    }
+
+    @Test
+    void testIdleCapacityDoesNotRaiseLimit() {
+        // Given
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 100);
+        limit.onSample("GET /api/concepts", Duration.ofMillis(10).toNanos(), 1);
+
+        // When: fast, but only one request in flight at a time
+        for (int i = 0; i < 10; i++) {
+            limit.onSample("GET /api/concepts", Duration.ofMillis(10).toNanos(), 1);
+        }
+
+        // Then
+        assertThat(limit.getLimit()).isEqualTo(20);
+    }
+
+    @Test
+    void testSheddingKeepsPoolWaitBoundedWhenRepositorySlowsDown() throws Exception {
+        // Given: 100 clients against a repository behind a pool of 10 connections, healthy at first
+        SlowRepository repository = new SlowRepository(10, 5);
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(20, 5, 200);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(limit, PRIORITY_PATHS, objectMapper, meterRegistry);
+        AtomicInteger admitted = new AtomicInteger();
+        AtomicInteger shed = new AtomicInteger();
+        long deadline = System.nanoTime() + Duration.ofMillis(2500).toNanos();
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            running.add(clients.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    MockHttpServletResponse response = new MockHttpServletResponse();
+                    filter.doFilter(new MockHttpServletRequest("GET", "/api/concepts"), response, repository);
+                    if (response.getStatus() == 503) {
+                        shed.incrementAndGet();
+                        // Retry-After, scaled down
+                        Thread.sleep(5);
+                    } else {
+                        admitted.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        // When: queries take five times as long, as with a struggling Postgres
+        Thread.sleep(1000);
+        repository.slowDown(25);
+        for (Future<?> client : running) {
+            client.get(10, TimeUnit.SECONDS);
+        }
+
+        // Then: without a limit 100 clients would wait ~9 queries (~225ms) for a connection
+        assertThat(shed.get()).isPositive();
+        assertThat(admitted.get()).isPositive();
+        assertThat(limit.getLimit()).isLessThan(50);
+        assertThat(repository.medianWaitMillis()).isLessThan(100);
+        assertThat(meterRegistry.get("concept.concurrency.rejected").tag("priority", "false").counter().count())
+                .isEqualTo(shed.get());
+    }
+
+    /**
+     * Stands in for a repository behind a Hikari pool: a query holds one of the connections for the
+     * query latency; the time spent waiting for a connection is recorded once the repository slowed down.
+     */
+    private static final class SlowRepository implements FilterChain {
+
+        private final Semaphore connections;
+        private final Queue<Long> waits = new ConcurrentLinkedQueue<>();
+        private volatile long latencyMillis;
+        private volatile boolean slowedDown;
+
+        SlowRepository(int poolSize, long latencyMillis) {
+            this.connections = new Semaphore(poolSize, true);
+            this.latencyMillis = latencyMillis;
+        }
+
+        void slowDown(long latencyMillis) {
+            this.latencyMillis = latencyMillis;
+            this.slowedDown = true;
+        }
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response) {
+            long start = System.nanoTime();
+            try {
+                connections.acquire();
+                try {
+                    if (slowedDown) {
+                        waits.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                    }
+                    Thread.sleep(latencyMillis);
+                } finally {
+                    connections.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        long medianWaitMillis() {
+            List<Long> sorted = waits.stream().sorted().toList();
+            return sorted.get(sorted.size() / 2);
+        }
+    }
+}
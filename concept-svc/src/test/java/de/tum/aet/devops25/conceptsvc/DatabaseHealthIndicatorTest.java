@@ -0,0 +1,82 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+class DatabaseHealthIndicatorTest {
+
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+
+    @Test
+    void testProbesReadTheCachedResultWithoutTouchingTheDatabase() throws Exception {
+        // Given
+        given(dataSource.getConnection()).willReturn(connection);
+        given(connection.isValid(anyInt())).willReturn(true);
+        DatabaseHealthIndicator indicator = indicator(Duration.ofMinutes(1));
+        indicator.check();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertThat(indicator.health().getStatus()).isEqualTo(Status.UP);
+        }
+
+        // Then: one validation for the check, none for the probes; the connection went back to the pool
+        verify(connection).isValid(2);
+        verify(connection).close();
+    }
+
+    @Test
+    void testOutOfServiceBeforeTheFirstCheck() {
+        // Given
+        DatabaseHealthIndicator indicator = indicator(Duration.ofMinutes(1));
+
+        // When / Then
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+        verifyNoInteractions(dataSource);
+    }
+
+    @Test
+    void testFailedValidationAndConnectionErrorsAreDown() throws Exception {
+        // Given: the pool refuses once, then hands out a connection that fails validation once
+        given(dataSource.getConnection()).willThrow(new SQLException("Connection refused")).willReturn(connection);
+        given(connection.isValid(anyInt())).willReturn(false, true);
+        DatabaseHealthIndicator indicator = indicator(Duration.ofMinutes(1));
+
+        // When / Then
+        assertThat(indicator.check()).isEqualTo(Status.DOWN);
+        assertThat(indicator.health().getDetails()).containsKey("error");
+        assertThat(indicator.check()).isEqualTo(Status.DOWN);
+        assertThat(indicator.check()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    void testStaleResultIsReportedDown() throws Exception {
+        // Given: the last successful check is older than the allowed age
+        given(dataSource.getConnection()).willReturn(connection);
+        given(connection.isValid(anyInt())).willReturn(true);
+        DatabaseHealthIndicator indicator = indicator(Duration.ofMillis(1));
+        indicator.check();
+        Thread.sleep(10);
+
+        // When / Then
+        assertThat(indicator.health().getStatus()).isEqualTo(Status.DOWN);
+    }
+
+    private DatabaseHealthIndicator indicator(Duration maxAge) {
+        return new DatabaseHealthIndicator(dataSource, Duration.ofSeconds(10), Duration.ofSeconds(2), maxAge);
+    }
+}
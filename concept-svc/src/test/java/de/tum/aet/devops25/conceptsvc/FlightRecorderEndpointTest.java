@@ -0,0 +1,77 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FlightRecorderEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private TestingAuthenticationToken user;
+
+    @BeforeEach
+    void setUp() {
+        user = new TestingAuthenticationToken(UUID.randomUUID().toString(), "password");
+        user.setAuthenticated(true);
+    }
+
+    @Test
+    void testRecordingIsStartedListedDownloadedAndDeleted() throws Exception {
+        // When
+        String started = mockMvc.perform(post("/actuator/jfr").with(authentication(user))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"profile\": \"default\", \"duration\": \"30s\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.duration").value("PT30S"))
+                .andReturn().getResponse().getContentAsString();
+        Integer id = JsonPath.read(started, "$.id");
+
+        // Then
+        mockMvc.perform(get("/actuator/jfr").with(authentication(user)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.id == " + id + ")].profile").value("default"));
+        byte[] file = mockMvc.perform(get("/actuator/jfr/{id}", id).with(authentication(user)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_OCTET_STREAM))
+                .andReturn().getResponse().getContentAsByteArray();
+        assertThat(new String(file, 0, 4)).isEqualTo("FLR\0");
+        mockMvc.perform(delete("/actuator/jfr/{id}", id).with(authentication(user)))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/actuator/jfr/{id}", id).with(authentication(user)))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void testRecordingBeyondMaxDurationIsRejected() throws Exception {
+        mockMvc.perform(post("/actuator/jfr").with(authentication(user))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"duration\": \"1h\"}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("INVALID_RECORDING"));
+    }
+}
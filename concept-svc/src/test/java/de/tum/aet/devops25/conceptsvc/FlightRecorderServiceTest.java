@@ -0,0 +1,124 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import jdk.jfr.consumer.RecordingFile;
+
+class FlightRecorderServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private FlightRecorderService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new FlightRecorderService(directory, Duration.ofMinutes(1), 1, 5, true, Duration.ofMinutes(5),
+                DataSize.ofMegabytes(16));
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void testBoundedRecordingIsWrittenWhenItEnds() throws Exception {
+        // When
+        FlightRecorderService.RecordingInfo recording = service.start("profile", Duration.ofMillis(500));
+
+        // Then
+        assertThat(recording.state()).isEqualTo("RUNNING");
+        assertThat(recording.profile()).isEqualTo("profile");
+        // STOPPED while JFR still writes the file, CLOSED once it is complete
+        for (int i = 0; i < 100 && !isClosed(recording.id()); i++) {
+            Thread.sleep(50);
+        }
+        Path file = service.file(recording.id()).orElseThrow();
+        assertThat(file).isEqualTo(directory.resolve("recording-" + recording.id() + ".jfr"));
+        assertThat(RecordingFile.readAllEvents(file)).isNotEmpty();
+    }
+
+    @Test
+    void testRecordingLeavesOutEnvironmentAndSystemProperties() throws Exception {
+        // Given
+        FlightRecorderService.RecordingInfo recording = service.start(null, Duration.ofMillis(500));
+        for (int i = 0; i < 100 && !isClosed(recording.id()); i++) {
+            Thread.sleep(50);
+        }
+
+        // When
+        Path file = service.file(recording.id()).orElseThrow();
+
+        // Then: these carry secrets such as the JWT key and database password
+        assertThat(RecordingFile.readAllEvents(file))
+                .isNotEmpty()
+                .extracting(event -> event.getEventType().getName())
+                .doesNotContainAnyElementsOf(FlightRecorderService.SECRET_EVENTS);
+    }
+
+    @Test
+    void testConcurrencyLimitAndBoundsAreEnforced() {
+        // Given
+        service.start(null, Duration.ofSeconds(30));
+
+        // When / Then: the continuous recording does not count against the limit
+        assertThatThrownBy(() -> service.start(null, Duration.ofSeconds(30)))
+                .isInstanceOf(FlightRecordingRejectedException.class)
+                .hasMessage("1 recording(s) already running, the limit is 1")
+                .extracting(e -> ((FlightRecordingRejectedException) e).isLimitReached()).isEqualTo(true);
+        assertThatThrownBy(() -> service.start(null, Duration.ofMinutes(2)))
+                .isInstanceOf(FlightRecordingRejectedException.class)
+                .hasMessage("Duration must be positive and at most PT1M");
+        assertThatThrownBy(() -> service.start("verbose", Duration.ofSeconds(30)))
+                .isInstanceOf(FlightRecordingRejectedException.class)
+                .hasMessageStartingWith("Unknown profile 'verbose'");
+    }
+
+    @Test
+    void testContinuousRecordingCanBeDumpedButNotDeleted() throws Exception {
+        // Given
+        long continuous = service.list().stream()
+                .filter(recording -> recording.name().equals(FlightRecorderService.CONTINUOUS))
+                .findFirst().orElseThrow().id();
+
+        // When
+        Path dump = service.file(continuous).orElseThrow();
+
+        // Then
+        assertThat(Files.size(dump)).isPositive();
+        assertThat(service.delete(continuous)).isFalse();
+    }
+
+    @Test
+    void testDeleteStopsRecordingAndRemovesFiles() {
+        // Given
+        FlightRecorderService.RecordingInfo recording = service.start(null, Duration.ofSeconds(30));
+        Path snapshot = service.file(recording.id()).orElseThrow();
+
+        // When
+        boolean deleted = service.delete(recording.id());
+
+        // Then
+        assertThat(deleted).isTrue();
+        assertThat(snapshot).doesNotExist();
+        assertThat(service.file(recording.id())).isEmpty();
+        assertThat(service.list()).extracting(FlightRecorderService.RecordingInfo::id).doesNotContain(recording.id());
+    }
+
+    private boolean isClosed(long id) {
+        return service.list().stream().anyMatch(recording -> recording.id() == id && recording.state().equals("CLOSED"));
+    }
+}
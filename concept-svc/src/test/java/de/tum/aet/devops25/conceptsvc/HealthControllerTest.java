@@ -1,11 +1,13 @@
 package de.tum.aet.devops25.conceptsvc;
 
+import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -24,14 +26,26 @@ class HealthControllerTest {
     private MockMvc mockMvc;
 
     @MockBean
-    private ConceptRepository conceptRepository;
+    private DatabaseHealthIndicator databaseHealthIndicator;
 
     @Test
     void testHealthEndpoint() throws Exception {
+        given(databaseHealthIndicator.health()).willReturn(Health.up().build());
+
         mockMvc.perform(get("/health"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("UP"))
                 .andExpect(jsonPath("$.service").value("concept-service"))
                 .andExpect(jsonPath("$.timestamp").exists());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void testHealthEndpointReportsCachedDatabaseOutage() throws Exception {
+        given(databaseHealthIndicator.health()).willReturn(Health.down().build());
+
+        mockMvc.perform(get("/health"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("DOWN"))
+                .andExpect(jsonPath("$.service").value("concept-service"));
+    }
+}
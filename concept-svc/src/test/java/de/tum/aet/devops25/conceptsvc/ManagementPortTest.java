@@ -0,0 +1,71 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.TestSocketUtils;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Recordings and allocation profiles are served on the management port only, which neither the
+ * gateway nor the ingress routes to; the API port must not serve them, not even to a signed-in user.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ManagementPortTest {
+
+    private static final String JWT_SECRET = "my-super-long-and-secure-secret-key-1234567890!@#$";
+    private static final int MANAGEMENT_PORT = TestSocketUtils.findAvailableTcpPort();
+
+    @DynamicPropertySource
+    static void managementPort(DynamicPropertyRegistry registry) {
+        registry.add("management.server.port", () -> MANAGEMENT_PORT);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Test
+    void testActuatorIsServedOnManagementPortOnly() {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(token(UUID.randomUUID()));
+
+        // When
+        ResponseEntity<String> api = restTemplate.exchange("http://localhost:" + port + "/actuator/jfr",
+                HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        ResponseEntity<String> management = restTemplate.getForEntity(
+                "http://localhost:" + MANAGEMENT_PORT + "/actuator/jfr", String.class);
+
+        // Then
+        assertThat(api.getStatusCode().value()).isEqualTo(404);
+        assertThat(management.getStatusCode().value()).isEqualTo(200);
+    }
+
+    private static String token(UUID userId) {
+        return Jwts.builder()
+                .setSubject(userId.toString())
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET.getBytes()))
+                .compact();
+    }
+}
@@ -0,0 +1,105 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MetricsCardinalityTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CardinalityLimitFilter limitFilter = new CardinalityLimitFilter(3);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry.config()
+                .meterFilter(limitFilter)
+                .meterFilter(new SloMeterFilter(Set.of("http.server.requests"), "100ms,1s,500ms",
+                        "/api/concepts/{conceptId}/pdf=1s,10s"));
+    }
+
+    @Test
+    void testUuidPathSegmentsAreNormalized() {
+        // When
+        Counter.builder("gateway.requests").tag("path", "/api/concepts/" + UUID.randomUUID() + "/pdf")
+                .register(meterRegistry).increment();
+        Counter.builder("gateway.requests").tag("path", "/api/concepts/" + UUID.randomUUID() + "/pdf")
+                .register(meterRegistry).increment();
+
+        // Then
+        assertThat(meterRegistry.get("gateway.requests").counters()).hasSize(1);
+        assertThat(meterRegistry.get("gateway.requests").tag("path", "/api/concepts/{id}/pdf").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void testDistinctTagValuesAreCappedPerMeter() {
+        // When
+        for (int i = 0; i < 5; i++) {
+            Counter.builder("sql.request.budget.exceeded").tag("uri", "/api/items/" + i).tag("method", "GET")
+                    .register(meterRegistry).increment();
+        }
+
+        // Then: three values, the rest folded into OTHER; the method tag is unaffected
+        assertThat(meterRegistry.get("sql.request.budget.exceeded").counters()).hasSize(4);
+        assertThat(meterRegistry.get("sql.request.budget.exceeded").tag("uri", CardinalityLimitFilter.OTHER)
+                .counter().count()).isEqualTo(2);
+        assertThat(limitFilter.capped()).containsExactly(
+                new CardinalityLimitFilter.TagKey("sql.request.budget.exceeded", "uri"));
+    }
+
+    @Test
+    void testRequestTimersGetSloBucketsInsteadOfHistogram() {
+        // When
+        Timer list = Timer.builder("http.server.requests").tag("uri", "/api/concepts").publishPercentileHistogram()
+                .register(meterRegistry);
+        Timer pdf = Timer.builder("http.server.requests").tag("uri", "/api/concepts/{conceptId}/pdf")
+                .register(meterRegistry);
+        list.record(200, TimeUnit.MILLISECONDS);
+        pdf.record(3, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(buckets(list)).containsExactly(0.1, 0.5, 1.0);
+        assertThat(buckets(pdf)).containsExactly(1.0, 10.0);
+        assertThat(list.takeSnapshot().histogramCounts()[1].count()).isEqualTo(1);
+    }
+
+    @Test
+    void testReportListsSeriesPerMeterLargestFirst() {
+        // Given
+        Timer.builder("sql.request.time").tag("uri", "/api/concepts").register(meterRegistry);
+        Timer.builder("sql.request.time").tag("uri", "/api/concepts/{conceptId}").register(meterRegistry);
+        Counter.builder("concept.events.sent").register(meterRegistry);
+
+        // When
+        CardinalityEndpoint.Report report = new CardinalityEndpoint(meterRegistry, limitFilter).report();
+
+        // Then: count, sum and max per timer
+        assertThat(report.meters()).extracting(CardinalityEndpoint.MeterSeries::name)
+                .containsExactly("sql.request.time", "concept.events.sent");
+        CardinalityEndpoint.MeterSeries requests = report.meters().get(0);
+        assertThat(requests.meters()).isEqualTo(2);
+        assertThat(requests.series()).isEqualTo(2 * 3);
+        assertThat(requests.tagValues()).containsEntry("uri", 2);
+        assertThat(report.totalSeries()).isEqualTo(requests.series() + 1);
+        assertThat(report.maxTagValues()).isEqualTo(3);
+    }
+
+    private static double[] buckets(Timer timer) {
+        CountAtBucket[] counts = timer.takeSnapshot().histogramCounts();
+        double[] buckets = new double[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            buckets[i] = counts[i].bucket(TimeUnit.SECONDS);
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,283 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.ResourceRegion;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.ResourceRegionHttpMessageConverter;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PdfCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private SimpleMeterRegistry meterRegistry;
+    private PdfCache pdfCache;
+    private final AtomicInteger renders = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        meterRegistry = new SimpleMeterRegistry();
+        pdfCache = new PdfCache(meterRegistry, directory, 1024, 4096);
+    }
+
+    @Test
+    void testRendersOnceAndServesFromMemory() throws Exception {
+        // Given
+        UUID conceptId = UUID.randomUUID();
+
+        // When
+        pdfCache.get(conceptId, 1, () -> render("v1"));
+        Resource second = pdfCache.get(conceptId, 1, () -> render("v1"));
+
+        // Then
+        assertThat(renders).hasValue(1);
+        assertThat(second.getContentAsString(StandardCharsets.US_ASCII)).isEqualTo("%PDF v1");
+        assertThat(timerCount("render")).isEqualTo(1);
+        assertThat(timerCount("memory")).isEqualTo(1);
+    }
+
+    @Test
+    void testServesFromDiskAfterMemoryEviction() throws Exception {
+        // Given - the memory tier only fits one document of this size
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        pdfCache.get(first, 1, () -> render("x".repeat(600)));
+        pdfCache.get(second, 1, () -> render("y".repeat(600)));
+
+        // When
+        Resource resource = pdfCache.get(first, 1, () -> render("unused"));
+
+        // Then
+        assertThat(resource).isNotInstanceOf(ByteArrayResource.class);
+        assertThat(resource.contentLength()).isEqualTo(605);
+        assertThat(resource.getContentAsString(StandardCharsets.US_ASCII)).isEqualTo("%PDF " + "x".repeat(600));
+        assertThat(renders).hasValue(2);
+        assertThat(timerCount("disk")).isEqualTo(1);
+    }
+
+    @Test
+    void testNewVersionEvictsStaleArtifacts() throws Exception {
+        // Given
+        UUID conceptId = UUID.randomUUID();
+        pdfCache.get(conceptId, 1, () -> render("v1"));
+
+        // When
+        Resource resource = pdfCache.get(conceptId, 2, () -> render("v2"));
+
+        // Then
+        assertThat(resource.getContentAsString(StandardCharsets.US_ASCII)).isEqualTo("%PDF v2");
+        assertThat(renders).hasValue(2);
+        assertThat(directory.resolve(conceptId + "-v1.pdf")).doesNotExist();
+        assertThat(directory.resolve(conceptId + "-v2.pdf")).exists();
+    }
+
+    @Test
+    void testOlderVersionDoesNotReplaceNewer() throws Exception {
+        // Given
+        UUID conceptId = UUID.randomUUID();
+        pdfCache.get(conceptId, 2, () -> render("v2"));
+
+        // When
+        Resource stale = pdfCache.get(conceptId, 1, () -> render("v1"));
+        Resource current = pdfCache.get(conceptId, 2, () -> render("unused"));
+
+        // Then
+        assertThat(stale.getContentAsString(StandardCharsets.US_ASCII)).isEqualTo("%PDF v1");
+        assertThat(current.getContentAsString(StandardCharsets.US_ASCII)).isEqualTo("%PDF v2");
+        assertThat(renders).hasValue(2);
+    }
+
+    @Test
+    void testFallbackOutputIsNotCached() {
+        // Given
+        UUID conceptId = UUID.randomUUID();
+
+        // When
+        pdfCache.get(conceptId, 1, () -> countedRender("=== CONCEPT PDF REPORT ==="));
+        pdfCache.get(conceptId, 1, () -> countedRender("=== CONCEPT PDF REPORT ==="));
+
+        // Then
+        assertThat(renders).hasValue(2);
+        assertThat(pdfCache.memoryBytes()).isZero();
+        assertThat(pdfCache.diskBytes()).isZero();
+    }
+
+    @Test
+    void testDiskHitStaysReadableWhenEvictedBeforeItIsSent() throws Exception {
+        // Given - served from disk, as the memory tier only fits one document of this size
+        UUID first = UUID.randomUUID();
+        pdfCache.get(first, 1, () -> render("x".repeat(600)));
+        pdfCache.get(UUID.randomUUID(), 1, () -> render("y".repeat(600)));
+        Resource resource = pdfCache.find(first, 1).orElseThrow();
+
+        // When - the concept is deleted before the message converter reads the file
+        pdfCache.evict(first);
+
+        // Then
+        assertThat(directory.resolve(first + "-v1.pdf")).doesNotExist();
+        assertThat(resource.getContentAsString(StandardCharsets.US_ASCII)).isEqualTo("%PDF " + "x".repeat(600));
+    }
+
+    @Test
+    void testDiskHitServesEveryRangeOfAMultiRangeRequest() throws Exception {
+        // Given
+        UUID first = UUID.randomUUID();
+        pdfCache.get(first, 1, () -> render("x".repeat(300) + "y".repeat(300)));
+        pdfCache.get(UUID.randomUUID(), 1, () -> render("z".repeat(600)));
+        Resource resource = pdfCache.find(first, 1).orElseThrow();
+        List<ResourceRegion> regions = HttpRange.toResourceRegions(HttpRange.parseRanges("bytes=0-4,300-309"), resource);
+
+        // When - the converter reads the resource once per range
+        MockHttpOutputMessage message = new MockHttpOutputMessage();
+        new ResourceRegionHttpMessageConverter().write(regions, MediaType.APPLICATION_PDF, message);
+
+        // Then
+        assertThat(message.getBodyAsString(StandardCharsets.US_ASCII))
+                .contains("%PDF ")
+                .contains("x".repeat(5) + "y".repeat(5));
+        assertThat(resource.getContentAsString(StandardCharsets.US_ASCII))
+                .isEqualTo("%PDF " + "x".repeat(300) + "y".repeat(300));
+        PdfCache.release(resource);
+    }
+
+    @Test
+    void testDiskHitIsClosedWhenTheRequestCompletes() throws Exception {
+        // Given
+        UUID first = UUID.randomUUID();
+        pdfCache.get(first, 1, () -> render("x".repeat(600)));
+        pdfCache.get(UUID.randomUUID(), 1, () -> render("y".repeat(600)));
+        ServletRequestAttributes request = new ServletRequestAttributes(new MockHttpServletRequest());
+        RequestContextHolder.setRequestAttributes(request);
+        Resource resource;
+        try {
+            resource = pdfCache.find(first, 1).orElseThrow();
+            PdfCache.releaseAfterRequest(resource);
+            assertThat(resource.getContentAsString(StandardCharsets.US_ASCII)).isEqualTo("%PDF " + "x".repeat(600));
+
+            // When - e.g. the handler failed before the body was read
+            request.requestCompleted();
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        // Then
+        assertThatThrownBy(resource::getInputStream).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void testEvictRemovesBothTiers() {
+        // Given
+        UUID conceptId = UUID.randomUUID();
+        pdfCache.get(conceptId, 1, () -> render("v1"));
+
+        // When
+        pdfCache.evict(conceptId);
+
+        // Then
+        assertThat(pdfCache.memoryBytes()).isZero();
+        assertThat(pdfCache.diskBytes()).isZero();
+        assertThat(directory.resolve(conceptId + "-v1.pdf")).doesNotExist();
+    }
+
+    @Test
+    void testDiskIndexSurvivesRestartKeepingNewestVersion() throws Exception {
+        // Given
+        UUID conceptId = UUID.randomUUID();
+        Files.writeString(directory.resolve(conceptId + "-v1.pdf"), "%PDF old");
+        Files.writeString(directory.resolve(conceptId + "-v3.pdf"), "%PDF new");
+        Files.writeString(directory.resolve("garbage.tmp"), "partial");
+
+        // When
+        PdfCache restarted = new PdfCache(new SimpleMeterRegistry(), directory, 1024, 4096);
+        Resource resource = restarted.get(conceptId, 3, () -> render("unused"));
+
+        // Then
+        assertThat(resource.getContentAsString(StandardCharsets.US_ASCII)).isEqualTo("%PDF new");
+        assertThat(renders).hasValue(0);
+        try (var files = Files.list(directory)) {
+            assertThat(files).containsExactly(directory.resolve(conceptId + "-v3.pdf"));
+        }
+    }
+
+    @Test
+    void testStreamSpoolsMissToDiskAndServesHitsFromFile() throws Exception {
+        // Given
+        UUID conceptId = UUID.randomUUID();
+        ByteArrayOutputStream first = new ByteArrayOutputStream();
+        ByteArrayOutputStream second = new ByteArrayOutputStream();
+
+        // When
+        pdfCache.stream(conceptId, 1, first, out -> streamedRender(out, "%PDF streamed"));
+        pdfCache.stream(conceptId, 1, second, out -> streamedRender(out, "unused"));
+
+        // Then
+        assertThat(first.toString(StandardCharsets.US_ASCII)).isEqualTo("%PDF streamed");
+        assertThat(second.toString(StandardCharsets.US_ASCII)).isEqualTo("%PDF streamed");
+        assertThat(renders).hasValue(1);
+        assertThat(pdfCache.memoryBytes()).isZero();
+        assertThat(pdfCache.diskBytes()).isEqualTo("%PDF streamed".length());
+        assertThat(timerCount("disk")).isEqualTo(1);
+    }
+
+    @Test
+    void testStreamFailureLeavesNoCacheFile() throws Exception {
+        // Given
+        UUID conceptId = UUID.randomUUID();
+
+        // When & Then
+        assertThatThrownBy(() -> pdfCache.stream(conceptId, 1, new ByteArrayOutputStream(), out -> {
+            throw new IllegalStateException("layout failed");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(pdfCache.diskBytes()).isZero();
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    private Resource render(String body) {
+        return countedRender("%PDF " + body);
+    }
+
+    private Resource countedRender(String content) {
+        renders.incrementAndGet();
+        return new ByteArrayResource(content.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private long timerCount(String source) {
+        return meterRegistry.get("concept.pdf.download").tag("source", source).timer().count();
+    }
+
+    private void streamedRender(OutputStream out, String content) {
+        renders.incrementAndGet();
+        try {
+            out.write(content.getBytes(StandardCharsets.US_ASCII));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
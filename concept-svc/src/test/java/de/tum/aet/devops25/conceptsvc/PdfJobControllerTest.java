@@ -0,0 +1,176 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import de.tum.aet.devops25.api.generated.model.PdfJob;
+
+@WebMvcTest(PdfJobController.class)
+@Import(TestSecurityConfig.class)
+@ActiveProfiles("test")
+class PdfJobControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ConceptRepository conceptRepository;
+
+    @MockBean
+    private PdfJobService pdfJobService;
+
+    @MockBean
+    private PdfCache pdfCache;
+
+    private final UUID testUserId = UUID.fromString(TestSecurityConfig.TEST_USER_ID);
+    private ConceptEntity testConcept;
+
+    @BeforeEach
+    void setUp() {
+        TestingAuthenticationToken authentication = new TestingAuthenticationToken(testUserId.toString(), "password");
+        authentication.setAuthenticated(true);
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+
+        testConcept = new ConceptEntity();
+        testConcept.setId(UUID.randomUUID());
+        testConcept.setTitle("Async");
+        testConcept.setUserId(testUserId);
+        testConcept.setVersion(4);
+    }
+
+    @Test
+    @DisplayName("Should accept a PDF job")
+    void testSubmitPdfJob_Accepted() throws Exception {
+        // Given
+        PdfJobService.Job job = new PdfJobService.Job(testConcept.getId(), testUserId, 4);
+        given(conceptRepository.findByIdAndUserId(testConcept.getId(), testUserId)).willReturn(Optional.of(testConcept));
+        given(pdfJobService.submit(testConcept, testUserId)).willReturn(job);
+
+        // When & Then
+        mockMvc.perform(post("/api/concepts/{conceptId}/pdf/jobs", testConcept.getId()))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.id", is(job.id.toString())))
+                .andExpect(jsonPath("$.version", is(4)))
+                .andExpect(jsonPath("$.status", is("QUEUED")));
+    }
+
+    @Test
+    @DisplayName("Should return 404 when submitting a job for a non-existent concept")
+    void testSubmitPdfJob_NotFound() throws Exception {
+        // Given
+        given(conceptRepository.findByIdAndUserId(testConcept.getId(), testUserId)).willReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(post("/api/concepts/{conceptId}/pdf/jobs", testConcept.getId()))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return 503 with Retry-After when the job queue is full")
+    void testSubmitPdfJob_QueueFull() throws Exception {
+        // Given
+        given(conceptRepository.findByIdAndUserId(testConcept.getId(), testUserId)).willReturn(Optional.of(testConcept));
+        given(pdfJobService.submit(testConcept, testUserId)).willThrow(new RejectedExecutionException("full"));
+
+        // When & Then
+        mockMvc.perform(post("/api/concepts/{conceptId}/pdf/jobs", testConcept.getId()))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", PdfJobController.RETRY_AFTER_SECONDS));
+    }
+
+    @Test
+    @DisplayName("Should wait for a job when waitSeconds is given")
+    void testGetPdfJob_Wait() throws Exception {
+        // Given
+        PdfJobService.Job job = new PdfJobService.Job(testConcept.getId(), testUserId, 4);
+        job.status = PdfJob.StatusEnum.COMPLETED;
+        given(pdfJobService.await(job.id, testUserId, Duration.ofSeconds(10))).willReturn(Optional.of(job));
+
+        // When & Then
+        mockMvc.perform(get("/api/concepts/pdf-jobs/{jobId}", job.id).param("waitSeconds", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status", is("COMPLETED")));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for unknown jobs")
+    void testGetPdfJob_NotFound() throws Exception {
+        // Given
+        UUID jobId = UUID.randomUUID();
+        given(pdfJobService.await(jobId, testUserId, Duration.ZERO)).willReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/concepts/pdf-jobs/{jobId}", jobId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Should return 409 when downloading an unfinished job")
+    void testDownloadPdfJobResult_NotReady() throws Exception {
+        // Given
+        PdfJobService.Job job = new PdfJobService.Job(testConcept.getId(), testUserId, 4);
+        given(pdfJobService.find(job.id, testUserId)).willReturn(Optional.of(job));
+
+        // When & Then
+        mockMvc.perform(get("/api/concepts/pdf-jobs/{jobId}/pdf", job.id))
+                .andExpect(status().isConflict());
+    }
+
+    @Test
+    @DisplayName("Should download the PDF of a completed job")
+    void testDownloadPdfJobResult_Success() throws Exception {
+        // Given
+        PdfJobService.Job job = new PdfJobService.Job(testConcept.getId(), testUserId, 4);
+        job.status = PdfJob.StatusEnum.COMPLETED;
+        given(pdfJobService.find(job.id, testUserId)).willReturn(Optional.of(job));
+        given(pdfCache.find(testConcept.getId(), 4))
+                .willReturn(Optional.of(new ByteArrayResource("%PDF-1.7 job".getBytes())));
+
+        // When & Then
+        mockMvc.perform(get("/api/concepts/pdf-jobs/{jobId}/pdf", job.id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=concept-" + testConcept.getId() + ".pdf"))
+                .andExpect(content().string("%PDF-1.7 job"));
+    }
+
+    @Test
+    @DisplayName("Should return 410 when the job's PDF was evicted")
+    void testDownloadPdfJobResult_Evicted() throws Exception {
+        // Given
+        PdfJobService.Job job = new PdfJobService.Job(testConcept.getId(), testUserId, 3);
+        job.status = PdfJob.StatusEnum.COMPLETED;
+        given(pdfJobService.find(job.id, testUserId)).willReturn(Optional.of(job));
+        given(pdfCache.find(testConcept.getId(), 3)).willReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/api/concepts/pdf-jobs/{jobId}/pdf", job.id))
+                .andExpect(status().isGone());
+    }
+}
@@ -0,0 +1,261 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ByteArrayResource;
+
+import de.tum.aet.devops25.api.generated.model.PdfJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PdfJobServiceTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    @TempDir
+    Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final PdfService pdfService = mock(PdfService.class);
+    private final PdfRenderExecutor pdfRenderExecutor = new PdfRenderExecutor(meterRegistry, 2, 4, WAIT);
+    private final UUID userId = UUID.randomUUID();
+    private PdfJobService pdfJobService;
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (pdfJobService != null) {
+            pdfJobService.shutdown();
+        }
+    }
+
+    @Test
+    void testJobCompletesAndCachesPdf() throws Exception {
+        // Given
+        PdfCache pdfCache = pdfCache();
+        pdfJobService = new PdfJobService(pdfService, pdfCache, pdfRenderExecutor, meterRegistry, 2, 10);
+        ConceptEntity concept = concept(1);
+        given(pdfService.generateConceptPdf(concept)).willReturn(pdf());
+
+        // When
+        PdfJobService.Job job = pdfJobService.submit(concept, userId);
+        PdfJobService.Job finished = pdfJobService.await(job.id, userId, WAIT).orElseThrow();
+
+        // Then
+        assertThat(finished.status).isEqualTo(PdfJob.StatusEnum.COMPLETED);
+        assertThat(finished.completedAt).isNotNull();
+        assertThat(pdfCache.contains(concept.getId(), 1)).isTrue();
+        assertThat(meterRegistry.get("concept.pdf.jobs.render").tag("status", "completed").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("concept.pdf.jobs.wait").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testJobWaitsForARenderSlotBeyondTheInteractiveTimeout() throws Exception {
+        // Given: a single render slot held by a download for longer than downloads may wait
+        PdfRenderExecutor renderExecutor = new PdfRenderExecutor(meterRegistry, 1, 0, Duration.ofMillis(100));
+        PdfCache pdfCache = pdfCache();
+        pdfJobService = new PdfJobService(pdfService, pdfCache, renderExecutor, meterRegistry, 1, 10);
+        ConceptEntity concept = concept(1);
+        given(pdfService.generateConceptPdf(concept)).willReturn(pdf());
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread download = new Thread(() -> renderExecutor.run(() -> {
+            holding.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        download.start();
+        assertThat(holding.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // When
+        PdfJobService.Job job = pdfJobService.submit(concept, userId);
+        Thread.sleep(300);
+        PdfJob.StatusEnum whileHeld = job.status;
+        release.countDown();
+        download.join();
+        PdfJobService.Job finished = pdfJobService.await(job.id, userId, WAIT).orElseThrow();
+
+        // Then: a download would have been shed after 100ms, the job waited for the slot
+        assertThat(whileHeld).isEqualTo(PdfJob.StatusEnum.RUNNING);
+        assertThat(finished.status).isEqualTo(PdfJob.StatusEnum.COMPLETED);
+        assertThat(pdfCache.contains(concept.getId(), 1)).isTrue();
+        assertThat(meterRegistry.get("concept.pdf.render.rejected").tag("reason", "timeout").counter().count())
+                .isZero();
+    }
+
+    @Test
+    void testIdenticalVersionIsDeduplicated() throws Exception {
+        // Given
+        pdfJobService = new PdfJobService(pdfService, pdfCache(), pdfRenderExecutor, meterRegistry, 2, 10);
+        ConceptEntity concept = concept(1);
+        given(pdfService.generateConceptPdf(concept)).willReturn(pdf());
+
+        // When
+        PdfJobService.Job first = pdfJobService.submit(concept, userId);
+        PdfJobService.Job second = pdfJobService.submit(concept, userId);
+        pdfJobService.await(first.id, userId, WAIT);
+        PdfJobService.Job third = pdfJobService.submit(concept, userId);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(third).isSameAs(first);
+        verify(pdfService, times(1)).generateConceptPdf(concept);
+        assertThat(meterRegistry.get("concept.pdf.jobs.submitted").tag("outcome", "deduplicated").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    void testEvictedArtifactGetsNewJob() throws Exception {
+        // Given
+        PdfCache pdfCache = pdfCache();
+        pdfJobService = new PdfJobService(pdfService, pdfCache, pdfRenderExecutor, meterRegistry, 2, 10);
+        ConceptEntity concept = concept(1);
+        given(pdfService.generateConceptPdf(concept)).willReturn(pdf());
+        PdfJobService.Job first = pdfJobService.submit(concept, userId);
+        pdfJobService.await(first.id, userId, WAIT);
+
+        // When
+        pdfCache.evict(concept.getId());
+        PdfJobService.Job second = pdfJobService.submit(concept, userId);
+        pdfJobService.await(second.id, userId, WAIT);
+
+        // Then
+        assertThat(second.id).isNotEqualTo(first.id);
+        assertThat(pdfCache.contains(concept.getId(), 1)).isTrue();
+    }
+
+    @Test
+    void testPurgeKeepsJobsWithinRetention() throws Exception {
+        // Given
+        pdfJobService = new PdfJobService(pdfService, pdfCache(), pdfRenderExecutor, meterRegistry, 2, 10);
+        given(pdfService.generateConceptPdf(any(ConceptEntity.class))).willReturn(pdf());
+        PdfJobService.Job recent = pdfJobService.submit(concept(1), userId);
+        PdfJobService.Job old = pdfJobService.submit(concept(1), userId);
+        pdfJobService.await(recent.id, userId, WAIT);
+        pdfJobService.await(old.id, userId, WAIT);
+        old.completedAt = old.completedAt.minus(PdfJobService.RETENTION).minusSeconds(1);
+
+        // When
+        pdfJobService.purgeExpired();
+
+        // Then
+        assertThat(pdfJobService.find(recent.id, userId)).isPresent();
+        assertThat(pdfJobService.find(old.id, userId)).isEmpty();
+    }
+
+    @Test
+    void testNewVersionGetsNewJob() {
+        // Given
+        pdfJobService = new PdfJobService(pdfService, pdfCache(), pdfRenderExecutor, meterRegistry, 2, 10);
+        ConceptEntity concept = concept(1);
+        given(pdfService.generateConceptPdf(any(ConceptEntity.class))).willReturn(pdf());
+        PdfJobService.Job first = pdfJobService.submit(concept, userId);
+
+        // When
+        concept.setVersion(2);
+        PdfJobService.Job second = pdfJobService.submit(concept, userId);
+
+        // Then
+        assertThat(second.id).isNotEqualTo(first.id);
+        assertThat(second.version).isEqualTo(2);
+    }
+
+    @Test
+    void testFallbackRenderFailsJobAndAllowsRetry() {
+        // Given
+        pdfJobService = new PdfJobService(pdfService, pdfCache(), pdfRenderExecutor, meterRegistry, 2, 10);
+        ConceptEntity concept = concept(1);
+        given(pdfService.generateConceptPdf(concept))
+                .willReturn(new ByteArrayResource("=== CONCEPT PDF REPORT ===".getBytes(StandardCharsets.US_ASCII)));
+
+        // When
+        PdfJobService.Job job = pdfJobService.submit(concept, userId);
+        PdfJobService.Job finished = pdfJobService.await(job.id, userId, WAIT).orElseThrow();
+        PdfJobService.Job retry = pdfJobService.submit(concept, userId);
+
+        // Then
+        assertThat(finished.status).isEqualTo(PdfJob.StatusEnum.FAILED);
+        assertThat(finished.error).isEqualTo("PDF rendering failed");
+        assertThat(retry.id).isNotEqualTo(job.id);
+    }
+
+    @Test
+    void testFullQueueRejectsSubmission() throws Exception {
+        // Given - one worker blocked on the first job and room for one queued job
+        pdfJobService = new PdfJobService(pdfService, pdfCache(), pdfRenderExecutor, meterRegistry, 1, 1);
+        CountDownLatch rendering = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(pdfService.generateConceptPdf(any(ConceptEntity.class))).willAnswer(invocation -> {
+            rendering.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return pdf();
+        });
+        PdfJobService.Job running = pdfJobService.submit(concept(1), userId);
+        assertThat(rendering.await(5, TimeUnit.SECONDS)).isTrue();
+        PdfJobService.Job waiting = pdfJobService.submit(concept(1), userId);
+
+        // When & Then
+        ConceptEntity third = concept(1);
+        assertThatThrownBy(() -> pdfJobService.submit(third, userId)).isInstanceOf(RejectedExecutionException.class);
+        assertThat(meterRegistry.get("concept.pdf.jobs.queued").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("concept.pdf.jobs.submitted").tag("outcome", "rejected").counter().count())
+                .isEqualTo(1);
+        release.countDown();
+        pdfJobService.await(running.id, userId, WAIT);
+        pdfJobService.await(waiting.id, userId, WAIT);
+
+        // A rejected submission leaves no job behind, so it can be retried
+        assertThat(pdfJobService.submit(third, userId).version).isEqualTo(1);
+    }
+
+    @Test
+    void testJobsAreVisibleToTheirOwnerOnly() {
+        // Given
+        pdfJobService = new PdfJobService(pdfService, pdfCache(), pdfRenderExecutor, meterRegistry, 1, 10);
+        given(pdfService.generateConceptPdf(any(ConceptEntity.class))).willReturn(pdf());
+        PdfJobService.Job job = pdfJobService.submit(concept(1), userId);
+
+        // When & Then
+        assertThat(pdfJobService.find(job.id, userId)).isPresent();
+        assertThat(pdfJobService.find(job.id, UUID.randomUUID())).isEmpty();
+    }
+
+    private PdfCache pdfCache() {
+        try {
+            return new PdfCache(meterRegistry, directory, 1024 * 1024, 1024 * 1024);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ByteArrayResource pdf() {
+        return new ByteArrayResource("%PDF-1.7 job".getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private ConceptEntity concept(int version) {
+        ConceptEntity concept = new ConceptEntity();
+        concept.setId(UUID.randomUUID());
+        concept.setTitle("Async");
+        concept.setUserId(userId);
+        concept.setVersion(version);
+        return concept;
+    }
+}
@@ -0,0 +1,162 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Compares the STANDARD and COMPACT PDF profiles for a small, a medium and a huge concept:
+ * mean render time, heap allocated per render and output size, after a warm-up. Run with
+ * {@code ./gradlew largeTest}.
+ */
+@Tag("large")
+class PdfRenderBenchmarkTest {
+
+    private record Result(double millis, long allocatedBytes, long outputBytes) {
+    }
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void testCompactProfileIsSmallerAndCheaper() {
+        Map<String, ConceptEntity> concepts = Map.of(
+                "small", smallConcept(),
+                "medium", mediumConcept(),
+                "huge", PdfStreamingMemoryTest.hugeConcept());
+
+        for (String size : List.of("small", "medium", "huge")) {
+            ConceptEntity concept = concepts.get(size);
+            int iterations = "huge".equals(size) ? 3 : 30;
+            Map<PdfService.Profile, Result> results = new EnumMap<>(PdfService.Profile.class);
+            for (PdfService.Profile profile : PdfService.Profile.values()) {
+                results.put(profile, measure(new PdfService(new SimpleMeterRegistry(), profile), concept, iterations));
+            }
+
+            Result standard = results.get(PdfService.Profile.STANDARD);
+            Result compact = results.get(PdfService.Profile.COMPACT);
+            System.out.printf("%-6s standard: %8.1f ms %9d KB alloc %6d KB | compact: %8.1f ms %9d KB alloc %6d KB%n",
+                    size, standard.millis(), standard.allocatedBytes() / 1024, standard.outputBytes() / 1024,
+                    compact.millis(), compact.allocatedBytes() / 1024, compact.outputBytes() / 1024);
+
+            assertThat(compact.outputBytes()).isLessThan(standard.outputBytes());
+            if ("huge".equals(size)) {
+                // Fixed layout and row-block flushing avoid measuring and holding the whole agenda table
+                assertThat(compact.allocatedBytes()).isLessThan(standard.allocatedBytes());
+            }
+        }
+    }
+
+    private Result measure(PdfService pdfService, ConceptEntity concept, int iterations) {
+        CountingOutputStream out = new CountingOutputStream();
+        // Warm up so JIT compilation and font loading are not measured
+        for (int i = 0; i < Math.max(2, iterations / 3); i++) {
+            pdfService.writeConceptPdf(concept, OutputStream.nullOutputStream());
+        }
+
+        long allocatedBefore = allocated();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            out.bytes = 0;
+            pdfService.writeConceptPdf(concept, out);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocatedBytes = allocated() - allocatedBefore;
+        return new Result(elapsed / 1e6 / iterations, allocatedBytes / iterations, out.bytes);
+    }
+
+    private long allocated() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static ConceptEntity smallConcept() {
+        ConceptEntity concept = new ConceptEntity();
+        concept.setId(UUID.randomUUID());
+        concept.setTitle("Team Offsite");
+        concept.setDescription("A one-day planning offsite for the platform team.");
+        concept.setStatus(ConceptStatus.DRAFT);
+        concept.setUserId(UUID.randomUUID());
+        concept.setCreatedAt(OffsetDateTime.now());
+        concept.setUpdatedAt(OffsetDateTime.now());
+        concept.setVersion(1);
+        return concept;
+    }
+
+    private static ConceptEntity mediumConcept() {
+        ConceptEntity concept = smallConcept();
+        concept.setTitle("Munich Tech Conference");
+        concept.setDescription("Two days of talks and workshops on cloud-native engineering. ".repeat(10));
+        concept.setNotes("Catering for 400, live streaming for all keynotes.");
+
+        EventDetailsEntity details = new EventDetailsEntity();
+        details.setTheme("Cloud-native engineering");
+        details.setFormat(EventFormat.HYBRID);
+        details.setCapacity(400);
+        details.setDuration("2 days");
+        details.setStartDate(LocalDate.of(2025, 10, 1));
+        details.setEndDate(LocalDate.of(2025, 10, 2));
+        details.setLocation("Munich");
+        details.setTargetAudience("Software engineers");
+        details.setObjectives(List.of("Share practices", "Grow the community", "Recruit speakers"));
+        concept.setEventDetails(details);
+
+        List<AgendaItemEntity> agenda = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            AgendaItemEntity item = new AgendaItemEntity();
+            item.setTime(String.format("%02d:00", 9 + i % 9));
+            item.setTitle("Session " + i);
+            item.setDescription("Talk about topic " + i);
+            item.setType(AgendaItemType.values()[i % AgendaItemType.values().length]);
+            item.setSpeaker("Speaker " + i % 10);
+            agenda.add(item);
+        }
+        concept.setAgenda(agenda);
+
+        List<SpeakerEntity> speakers = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            SpeakerEntity speaker = new SpeakerEntity();
+            speaker.setName("Speaker " + i);
+            speaker.setExpertise("Platform engineering");
+            speaker.setBio("Builds developer platforms for a living.");
+            speaker.setSuggestedTopic("Topic " + i);
+            speakers.add(speaker);
+        }
+        concept.setSpeakers(speakers);
+
+        PricingEntity pricing = new PricingEntity();
+        pricing.setCurrency("EUR");
+        pricing.setEarlyBird(new BigDecimal("199.00"));
+        pricing.setRegular(new BigDecimal("299.00"));
+        pricing.setStudent(new BigDecimal("99.00"));
+        concept.setPricing(pricing);
+        return concept;
+    }
+
+    private static class CountingOutputStream extends OutputStream {
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
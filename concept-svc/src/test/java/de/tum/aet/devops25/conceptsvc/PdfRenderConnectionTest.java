@@ -0,0 +1,90 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * A download that waits for a render slot must not keep a pooled connection: the concept is
+ * loaded in its own transaction and the endpoint runs without open-in-view.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PdfRenderConnectionTest {
+
+    private static final String JWT_SECRET = "my-super-long-and-secure-secret-key-1234567890!@#$";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ConceptRepository conceptRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockBean
+    private PdfService pdfService;
+
+    @Test
+    void testConnectionIsReturnedBeforeRendering() throws Exception {
+        // Given
+        UUID userId = UUID.randomUUID();
+        ConceptEntity concept = new ConceptEntity();
+        concept.setTitle("Pooled");
+        concept.setDescription("Rendered without a connection");
+        concept.setStatus(ConceptStatus.DRAFT);
+        concept.setUserId(userId);
+        concept.setLastModifiedBy(userId);
+        concept.getTags().add("lazy");
+        ConceptEntity saved = conceptRepository.save(concept);
+        HikariDataSource pool = dataSource.unwrap(HikariDataSource.class);
+        AtomicInteger activeWhileRendering = new AtomicInteger(-1);
+        AtomicInteger tagsWhileRendering = new AtomicInteger(-1);
+        given(pdfService.generateConceptPdf(any(ConceptEntity.class))).willAnswer(invocation -> {
+            activeWhileRendering.set(pool.getHikariPoolMXBean().getActiveConnections());
+            tagsWhileRendering.set(invocation.<ConceptEntity>getArgument(0).getTags().size());
+            return new ByteArrayResource("%PDF-1.7 pooled".getBytes());
+        });
+
+        // When
+        mockMvc.perform(get("/api/concepts/{conceptId}/pdf", saved.getId())
+                        .header("Authorization", "Bearer " + token(userId)))
+                .andExpect(status().isOk());
+
+        // Then
+        assertThat(activeWhileRendering.get()).isZero();
+        assertThat(tagsWhileRendering.get()).isEqualTo(1);
+    }
+
+    private static String token(UUID userId) {
+        return Jwts.builder()
+                .setSubject(userId.toString())
+                .setExpiration(new Date(System.currentTimeMillis() + 3_600_000))
+                .signWith(Keys.hmacShaKeyFor(JWT_SECRET.getBytes()))
+                .compact();
+    }
+}
@@ -0,0 +1,145 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PdfRenderExecutorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() throws Exception {
+        release.countDown();
+        callers.shutdown();
+        assertThat(callers.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @Test
+    void testConcurrentRendersAreBoundedByLimit() throws Exception {
+        // Given
+        PdfRenderExecutor executor = new PdfRenderExecutor(meterRegistry, 2, 10, Duration.ofSeconds(5));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        List<Future<?>> renders = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            renders.add(callers.submit(() -> executor.run(() -> {
+                peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    start.await();
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+            })));
+        }
+        start.countDown();
+        for (Future<?> render : renders) {
+            render.get(5, TimeUnit.SECONDS);
+        }
+
+        // Then
+        assertThat(peak.get()).isEqualTo(2);
+        assertThat(executor.active()).isZero();
+        assertThat(meterRegistry.get("concept.pdf.render.queue.wait").timer().count()).isEqualTo(8);
+    }
+
+    @Test
+    void testRejectsImmediatelyWhenQueueIsFull() throws Exception {
+        // Given
+        PdfRenderExecutor executor = new PdfRenderExecutor(meterRegistry, 1, 1, Duration.ofSeconds(5));
+        occupy(executor);
+        callers.submit(() -> executor.execute(() -> "queued"));
+        awaitWaiting(executor, 1);
+
+        // When & Then
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> executor.execute(() -> "rejected"))
+                .isInstanceOf(PdfRenderRejectedException.class)
+                .satisfies(e -> assertThat(((PdfRenderRejectedException) e).getRetryAfterSeconds()).isGreaterThanOrEqualTo(1));
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+        assertThat(meterRegistry.get("concept.pdf.render.rejected").tag("reason", "queue_full").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void testRejectsWhenNoSlotFreesUpInTime() throws Exception {
+        // Given
+        PdfRenderExecutor executor = new PdfRenderExecutor(meterRegistry, 1, 1, Duration.ofMillis(50));
+        occupy(executor);
+
+        // When & Then
+        assertThatThrownBy(() -> executor.execute(() -> "late"))
+                .isInstanceOf(PdfRenderRejectedException.class);
+        assertThat(meterRegistry.get("concept.pdf.render.rejected").tag("reason", "timeout").counter().count())
+                .isEqualTo(1);
+        assertThat(executor.waiting()).isZero();
+    }
+
+    @Test
+    void testSlotIsReleasedWhenRenderFails() {
+        // Given
+        PdfRenderExecutor executor = new PdfRenderExecutor(meterRegistry, 1, 0, Duration.ofMillis(50));
+
+        // When
+        assertThatThrownBy(() -> executor.execute(() -> {
+            throw new IllegalStateException("layout failed");
+        })).isInstanceOf(IllegalStateException.class);
+
+        // Then
+        assertThat(executor.execute(() -> "next")).isEqualTo("next");
+        assertThat(executor.active()).isZero();
+    }
+
+    @Test
+    void testDefaultsDeriveFromAvailableProcessors() {
+        // When
+        PdfRenderExecutor executor = new PdfRenderExecutor(meterRegistry, 0, -1, Duration.ofSeconds(1));
+
+        // Then
+        int expected = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        assertThat(executor.maxConcurrency()).isEqualTo(expected);
+        assertThat(meterRegistry.get("concept.pdf.render.limit").gauge().value()).isEqualTo(expected);
+    }
+
+    private void occupy(PdfRenderExecutor executor) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        callers.submit(() -> executor.run(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static void awaitWaiting(PdfRenderExecutor executor, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.waiting() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(executor.waiting()).isEqualTo(expected);
+    }
+}
@@ -1,32 +1,42 @@
 package de.tum.aet.devops25.conceptsvc;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ByteArrayResource;
 import org.springframework.core.io.Resource;
 import org.springframework.test.context.ActiveProfiles;
 
 import com.itextpdf.kernel.pdf.PdfDocument;
+import com.itextpdf.kernel.pdf.PdfName;
 import com.itextpdf.kernel.pdf.PdfReader;
 import com.itextpdf.kernel.pdf.canvas.parser.PdfTextExtractor;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 @ActiveProfiles("test")
 class PdfServiceTest {
 
+    private SimpleMeterRegistry meterRegistry;
     private PdfService pdfService;
     private ConceptEntity testConcept;
 
     @BeforeEach
     void setUp() {
-        pdfService = new PdfService();
+        meterRegistry = new SimpleMeterRegistry();
+        pdfService = new PdfService(meterRegistry, PdfService.Profile.COMPACT);
         
         testConcept = new ConceptEntity();
         testConcept.setId(UUID.randomUUID());
@@ -58,6 +68,17 @@ class PdfServiceTest {
         assertThat(pdfText).contains("A comprehensive test event concept for PDF generation");
     }
 
+    @Test
+    void testGenerateConceptPdf_RecordsStageTimings() {
+        // When
+        pdfService.generateConceptPdf(testConcept);
+
+        // Then
+        assertThat(meterRegistry.get("concept.pdf.render.stage").tag("stage", "layout").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("concept.pdf.render.stage").tag("stage", "write").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("concept.pdf.render.stage").tag("stage", "copy").timer().count()).isEqualTo(1);
+    }
+
     @Test
     void testGenerateConceptPdf_WithEventDetails() throws Exception {
         // Given
@@ -311,6 +332,63 @@ class PdfServiceTest {
         }
     }
 
+    @Test
+    void testWriteConceptPdf_StreamsSameDocumentWithoutClosingStream() throws Exception {
+        // Given
+        setupCompleteTestConcept();
+        AtomicBoolean closed = new AtomicBoolean();
+        ByteArrayOutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+        };
+
+        // When
+        pdfService.writeConceptPdf(testConcept, out);
+
+        // Then
+        assertThat(closed).isFalse();
+        String streamedText = extractTextFromPdf(new ByteArrayResource(out.toByteArray()));
+        assertThat(streamedText).isEqualTo(extractTextFromPdf(pdfService.generateConceptPdf(testConcept)));
+        assertThat(streamedText).contains("Complete Tech Conference");
+    }
+
+    @Test
+    void testCompactProfile_SameTextInSmallerFile() throws Exception {
+        // Given
+        setupCompleteTestConcept();
+        PdfService standardService = new PdfService(new SimpleMeterRegistry(), PdfService.Profile.STANDARD);
+
+        // When
+        Resource standard = standardService.generateConceptPdf(testConcept);
+        Resource compact = pdfService.generateConceptPdf(testConcept);
+
+        // Then
+        assertThat(extractTextFromPdf(compact)).isEqualTo(extractTextFromPdf(standard));
+        assertThat(compact.contentLength()).isLessThan(standard.contentLength());
+        try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(compact.getInputStream()))) {
+            // Full compression writes a cross-reference stream instead of a plain xref table
+            assertThat(pdfDoc.getReader().hasRebuiltXref()).isFalse();
+            assertThat(pdfDoc.getTrailer().get(PdfName.Type)).isEqualTo(PdfName.XRef);
+        }
+    }
+
+    @Test
+    void testWriteConceptPdf_PropagatesFailures() {
+        // Given
+        OutputStream failing = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("client went away");
+            }
+        };
+
+        // When & Then
+        assertThatThrownBy(() -> pdfService.writeConceptPdf(testConcept, failing))
+                .isInstanceOf(RuntimeException.class);
+    }
+
     private String extractTextFromPdf(Resource pdfResource) throws Exception {
         StringBuilder text = new StringBuilder();
         try (PdfDocument pdfDoc = new PdfDocument(new PdfReader(pdfResource.getInputStream()))) {
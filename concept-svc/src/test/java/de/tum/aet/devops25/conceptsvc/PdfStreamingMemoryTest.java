@@ -0,0 +1,132 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Compares the heap allocated per download by the buffered and the streaming PDF path for a
+ * concept with a long agenda and many speakers. Run with {@code ./gradlew largeTest}.
+ */
+@Tag("large")
+class PdfStreamingMemoryTest {
+
+    private static final int ROUNDS = 5;
+
+    private final PdfService pdfService = new PdfService(new SimpleMeterRegistry(), PdfService.Profile.COMPACT);
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void testStreamingAllocatesLessThanBuffering() throws Exception {
+        ConceptEntity concept = hugeConcept();
+
+        // Warm up both paths
+        buffered(concept);
+        streamed(concept);
+
+        long bufferedBytes = Long.MAX_VALUE;
+        long streamedBytes = Long.MAX_VALUE;
+        long documentSize = 0;
+        for (int i = 0; i < ROUNDS; i++) {
+            long before = allocated();
+            documentSize = buffered(concept);
+            bufferedBytes = Math.min(bufferedBytes, allocated() - before);
+
+            before = allocated();
+            streamed(concept);
+            streamedBytes = Math.min(streamedBytes, allocated() - before);
+        }
+
+        System.out.printf("document: %d KB; allocated per download - buffered: %d KB, streamed: %d KB (saved %d KB)%n",
+                documentSize / 1024, bufferedBytes / 1024, streamedBytes / 1024, (bufferedBytes - streamedBytes) / 1024);
+
+        long[] firstWrite = new long[1];
+        OutputStream recording = new OutputStream() {
+            @Override
+            public void write(int b) {
+                record();
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                record();
+            }
+
+            private void record() {
+                if (firstWrite[0] == 0) {
+                    firstWrite[0] = System.nanoTime();
+                }
+            }
+        };
+        long start = System.nanoTime();
+        pdfService.writeConceptPdf(concept, recording);
+        long total = System.nanoTime() - start;
+        System.out.printf("streamed render: first byte after %d ms, complete after %d ms%n",
+                (firstWrite[0] - start) / 1_000_000, total / 1_000_000);
+
+        // Buffering grows a ByteArrayOutputStream to the document size and copies it once more
+        assertThat(bufferedBytes - streamedBytes).isGreaterThan(documentSize);
+    }
+
+    private long buffered(ConceptEntity concept) throws IOException {
+        Resource resource = pdfService.generateConceptPdf(concept);
+        return resource.contentLength();
+    }
+
+    private void streamed(ConceptEntity concept) {
+        pdfService.writeConceptPdf(concept, OutputStream.nullOutputStream());
+    }
+
+    private long allocated() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    static ConceptEntity hugeConcept() {
+        ConceptEntity concept = new ConceptEntity();
+        concept.setId(UUID.randomUUID());
+        concept.setTitle("Annual Developer Summit");
+        concept.setDescription("Three tracks, two days, hundreds of sessions.");
+        concept.setStatus(ConceptStatus.IN_PROGRESS);
+        concept.setUserId(UUID.randomUUID());
+        concept.setCreatedAt(OffsetDateTime.now());
+        concept.setUpdatedAt(OffsetDateTime.now());
+        concept.setVersion(1);
+
+        List<AgendaItemEntity> agenda = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            AgendaItemEntity item = new AgendaItemEntity();
+            item.setTime(String.format("%02d:%02d", 8 + (i / 60) % 12, i % 60));
+            item.setTitle("Session " + i + ": scaling event platforms");
+            item.setDescription("Deep dive into capacity planning, caching and streaming for session " + i);
+            item.setType(AgendaItemType.values()[i % AgendaItemType.values().length]);
+            item.setSpeaker("Speaker " + (i % 200));
+            agenda.add(item);
+        }
+        concept.setAgenda(agenda);
+
+        List<SpeakerEntity> speakers = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            SpeakerEntity speaker = new SpeakerEntity();
+            speaker.setName("Speaker " + i);
+            speaker.setExpertise("Distributed systems");
+            speaker.setBio("Engineer with many years of experience building large-scale platforms. ".repeat(4));
+            speaker.setSuggestedTopic("Lessons learned from production incidents");
+            speakers.add(speaker);
+        }
+        concept.setSpeakers(speakers);
+        return concept;
+    }
+}
@@ -0,0 +1,108 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlInstrumentationTest {
+
+    private static final String CONCEPT = """
+            {"title": "Tech Summit", "description": "Two days of talks", "tags": ["tech", "ai"]}""";
+
+    private static final String PROGRAM = """
+            {"agenda": [{"time": "09:00", "title": "Keynote", "type": "KEYNOTE"}],
+             "speakers": [{"name": "Dr. Jane Smith"}]}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TestingAuthenticationToken user;
+
+    @BeforeEach
+    void setUp() {
+        user = new TestingAuthenticationToken(UUID.randomUUID().toString(), "password");
+        user.setAuthenticated(true);
+    }
+
+    @Test
+    void testStatementsArePublishedPerEndpoint() throws Exception {
+        // When
+        createConcept();
+
+        // Then
+        DistributionSummary statements = meterRegistry.get("sql.request.statements")
+                .tag("method", "POST").tag("uri", "/api/concepts").summary();
+        assertThat(statements.count()).isPositive();
+        assertThat(statements.max()).isPositive();
+        Timer requestTime = meterRegistry.get("sql.request.time").tag("uri", "/api/concepts").timer();
+        assertThat(requestTime.count()).isPositive();
+        assertThat(requestTime.takeSnapshot().histogramCounts()).hasSize(8);
+        assertThat(meterRegistry.get("sql.statement.duration").tag("kind", "insert").timer().count()).isPositive();
+    }
+
+    @Test
+    void testListingDoesNotIssueAQueryPerConcept() throws Exception {
+        // Given
+        createConcept();
+        int forOne = statementsOfListing();
+        for (int i = 0; i < 5; i++) {
+            createConcept();
+        }
+
+        // When
+        int forSix = statementsOfListing();
+
+        // Then: child collections are batch fetched, whatever the page size
+        assertThat(forSix).isEqualTo(forOne);
+    }
+
+    private void createConcept() throws Exception {
+        String created = mockMvc.perform(post("/api/concepts").with(authentication(user))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(CONCEPT))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String conceptId = JsonPath.read(created, "$.id");
+        mockMvc.perform(patch("/api/concepts/{conceptId}", conceptId).with(authentication(user))
+                .contentType("application/merge-patch+json")
+                .content(PROGRAM))
+                .andExpect(status().isOk());
+    }
+
+    private int statementsOfListing() throws Exception {
+        DistributionSummary summary = meterRegistry.find("sql.request.statements")
+                .tag("method", "GET").tag("uri", "/api/concepts").summary();
+        double before = summary != null ? summary.totalAmount() : 0;
+        mockMvc.perform(get("/api/concepts").with(authentication(user)))
+                .andExpect(status().isOk());
+        summary = meterRegistry.get("sql.request.statements").tag("method", "GET").tag("uri", "/api/concepts").summary();
+        return (int) (summary.totalAmount() - before);
+    }
+}
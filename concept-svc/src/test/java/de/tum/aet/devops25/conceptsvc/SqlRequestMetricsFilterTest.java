@@ -0,0 +1,105 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+class SqlRequestMetricsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlStatementRecorder recorder = new SqlStatementRecorder(meterRegistry, Duration.ofMillis(100), 1.0);
+
+    static class Handlers {
+
+        @QueryBudget(2)
+        public void budgeted() {
+        }
+    }
+
+    @Test
+    void testStatementsAreCountedPerRequestAndEndpoint() throws Exception {
+        // Given
+        SqlRequestMetricsFilter filter = new SqlRequestMetricsFilter(recorder, meterRegistry, true);
+
+        // When
+        filter.doFilter(request(), new MockHttpServletResponse(), chain(2, "/api/concepts/{conceptId}"));
+        filter.doFilter(request(), new MockHttpServletResponse(), chain(1, "/api/concepts/{conceptId}"));
+        recorder.record("select 1", 1_000);
+
+        // Then: the statement outside a request is timed but belongs to no endpoint
+        var statements = meterRegistry.get("sql.request.statements")
+                .tag("method", "GET").tag("uri", "/api/concepts/{conceptId}").summary();
+        assertThat(statements.count()).isEqualTo(2);
+        assertThat(statements.totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get("sql.statement.duration").tag("kind", "select").timer().count()).isEqualTo(4);
+    }
+
+    @Test
+    void testSlowStatementsAreCountedByKind() {
+        // When
+        recorder.record("UPDATE concepts SET title = ? WHERE id = ?", Duration.ofMillis(150).toNanos());
+        recorder.record("select * from concepts", Duration.ofMillis(5).toNanos());
+
+        // Then
+        assertThat(meterRegistry.get("sql.statement.slow").tag("kind", "update").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("sql.statement.slow").tag("kind", "select").counter().count()).isZero();
+    }
+
+    @Test
+    void testEnforcedBudgetFailsTheRequest() {
+        // Given
+        SqlRequestMetricsFilter filter = new SqlRequestMetricsFilter(recorder, meterRegistry, true);
+
+        // When / Then
+        assertThatThrownBy(() -> filter.doFilter(request(), new MockHttpServletResponse(),
+                chain(3, "/api/concepts/{conceptId}")))
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessage("GET /api/concepts/{conceptId} executed 3 SQL statements, its query budget is 2");
+        assertThat(meterRegistry.get("sql.request.budget.exceeded").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testBudgetIsOnlyReportedWhenNotEnforced() throws Exception {
+        // Given
+        SqlRequestMetricsFilter filter = new SqlRequestMetricsFilter(recorder, meterRegistry, false);
+
+        // When
+        filter.doFilter(request(), new MockHttpServletResponse(), chain(3, "/api/concepts/{conceptId}"));
+
+        // Then
+        assertThat(meterRegistry.get("sql.request.budget.exceeded").counter().count()).isEqualTo(1);
+    }
+
+    private static MockHttpServletRequest request() {
+        return new MockHttpServletRequest("GET", "/api/concepts/" + UUID.randomUUID());
+    }
+
+    // Plays the dispatcher: maps the request to the budgeted handler and runs the given number of statements
+    private MockFilterChain chain(int statements, String pattern) throws NoSuchMethodException {
+        HandlerMethod handler = new HandlerMethod(new Handlers(), Handlers.class.getMethod("budgeted"));
+        return new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+                request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+                for (int i = 0; i < statements; i++) {
+                    recorder.record("select * from concepts where id = ?", 1_000);
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,96 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TracerTest {
+
+    @TempDir
+    Path directory;
+
+    private final InMemorySpanExporter exporter = new InMemorySpanExporter();
+
+    @Test
+    void testNewTraceIsStartedForMissingOrInvalidTraceparent() {
+        // Given
+        Tracer tracer = new Tracer(exporter, 1.0);
+
+        // When
+        try (Span span = tracer.startServerSpan("GET", "00-00000000000000000000000000000000-00f067aa0ba902b7-01")) {
+            try (Span child = Span.startChild("child")) {
+                child.setAttribute("answer", 42);
+            }
+        }
+
+        // Then
+        List<Span> spans = exporter.getSpans();
+        assertThat(spans).extracting(Span::getName).containsExactly("child", "GET");
+        assertThat(spans.get(1).getParentSpanId()).isNull();
+        assertThat(spans.get(1).getTraceId()).matches("[0-9a-f]{32}");
+        assertThat(spans.get(0).getParentSpanId()).isEqualTo(spans.get(1).getSpanId());
+        assertThat(spans.get(1).traceparent()).isEqualTo("00-" + spans.get(1).getTraceId() + "-"
+                + spans.get(1).getSpanId() + "-01");
+        assertThat(Span.current()).isNull();
+    }
+
+    @Test
+    void testSamplingProbabilityZeroRecordsNothing() {
+        // Given
+        Tracer tracer = new Tracer(exporter, 0.0);
+
+        // When
+        try (Span span = tracer.startServerSpan("GET", null)) {
+            try (Span child = Span.startChild("child")) {
+                child.setAttribute("answer", 42);
+            }
+            assertThat(span.isSampled()).isFalse();
+        }
+
+        // Then
+        assertThat(exporter.getSpans()).isEmpty();
+        assertThat(Span.current()).isNull();
+    }
+
+    @Test
+    void testSpansAreWrittenAsOtlpJsonLines() throws Exception {
+        // Given
+        Path file = directory.resolve("traces/spans.jsonl");
+        OtlpJsonFileSpanExporter fileExporter = new OtlpJsonFileSpanExporter(file, "concept-svc",
+                Duration.ofMinutes(1), 100, new SimpleMeterRegistry());
+        fileExporter.start();
+        Tracer tracer = new Tracer(fileExporter, 1.0);
+
+        // When
+        try (Span span = tracer.startServerSpan("GET /api/concepts", "00-4bf92f3577b34da6a3ce929d0e0e4736-00f067aa0ba902b7-01")) {
+            span.setAttribute("http.response.status_code", 500);
+            span.setError("HTTP 500");
+        }
+        fileExporter.stop();
+
+        // Then
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(1);
+        JsonNode request = new ObjectMapper().readTree(lines.get(0)).get("resourceSpans").get(0);
+        assertThat(request.at("/resource/attributes/0/value/stringValue").asText()).isEqualTo("concept-svc");
+        JsonNode span = request.at("/scopeSpans/0/spans/0");
+        assertThat(span.get("traceId").asText()).isEqualTo("4bf92f3577b34da6a3ce929d0e0e4736");
+        assertThat(span.get("parentSpanId").asText()).isEqualTo("00f067aa0ba902b7");
+        assertThat(span.get("kind").asInt()).isEqualTo(2);
+        assertThat(Long.parseLong(span.get("endTimeUnixNano").asText()))
+                .isGreaterThanOrEqualTo(Long.parseLong(span.get("startTimeUnixNano").asText()));
+        assertThat(span.at("/attributes/0/value/intValue").asText()).isEqualTo("500");
+        assertThat(span.at("/status/code").asInt()).isEqualTo(2);
+    }
+}
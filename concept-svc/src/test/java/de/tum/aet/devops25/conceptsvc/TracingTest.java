@@ -0,0 +1,85 @@
+package de.tum.aet.devops25.conceptsvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TracingTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String GATEWAY_SPAN_ID = "00f067aa0ba902b7";
+
+    private static final String CONCEPT = """
+            {"title": "Tech Summit", "description": "Two days of talks", "tags": ["tech", "ai"]}""";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemorySpanExporter exporter;
+
+    private TestingAuthenticationToken user;
+
+    @BeforeEach
+    void setUp() {
+        user = new TestingAuthenticationToken(UUID.randomUUID().toString(), "password");
+        user.setAuthenticated(true);
+        exporter.reset();
+    }
+
+    @Test
+    void testRequestContinuesTheGatewaysTrace() throws Exception {
+        // When
+        mockMvc.perform(post("/api/concepts").with(authentication(user))
+                .header("traceparent", "00-" + TRACE_ID + "-" + GATEWAY_SPAN_ID + "-01")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer not-a-jwt")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(CONCEPT))
+                .andExpect(status().isCreated());
+
+        // Then: one trace, the server span a child of the gateway's span, everything else below it
+        List<Span> spans = exporter.getSpans();
+        assertThat(spans).allSatisfy(span -> assertThat(span.getTraceId()).isEqualTo(TRACE_ID));
+        Span server = spans.stream().filter(span -> span.getName().equals("POST /api/concepts")).findFirst().orElseThrow();
+        assertThat(server.getParentSpanId()).isEqualTo(GATEWAY_SPAN_ID);
+        assertThat(server.getAttributes()).containsEntry("http.response.status_code", 201);
+        assertThat(spans).filteredOn(span -> span != server)
+                .extracting(Span::getParentSpanId)
+                .containsOnly(server.getSpanId());
+        assertThat(spans).extracting(Span::getName)
+                .contains("jwt.verify", "ConceptMapper.fromCreateRequest", "ConceptRepository.save", "ConceptMapper.toDto");
+        Span jwt = spans.stream().filter(span -> span.getName().equals("jwt.verify")).findFirst().orElseThrow();
+        assertThat(jwt.getAttributes()).containsEntry("jwt.valid", false);
+    }
+
+    @Test
+    void testUnsampledTraceRecordsNothing() throws Exception {
+        // When
+        mockMvc.perform(post("/api/concepts").with(authentication(user))
+                .header("traceparent", "00-" + TRACE_ID + "-" + GATEWAY_SPAN_ID + "-00")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(CONCEPT))
+                .andExpect(status().isCreated());
+
+        // Then
+        assertThat(exporter.getSpans()).isEmpty();
+    }
+}
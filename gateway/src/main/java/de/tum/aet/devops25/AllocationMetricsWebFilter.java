@@ -0,0 +1,55 @@
+package de.tum.aet.devops25;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Publishes the bytes each request allocates while allocation profiling is on (see
+ * {@link AllocationProfiler}), tagged with the gateway route id, or the handler's path pattern for
+ * the gateway's own endpoints.
+ */
+@Component
+public class AllocationMetricsWebFilter implements WebFilter, Ordered {
+
+    private final AllocationProfiler profiler;
+
+    public AllocationMetricsWebFilter(AllocationProfiler profiler) {
+        this.profiler = profiler;
+    }
+
+    @Override
+    public int getOrder() {
+        // Outermost, so security and routing are part of the request's allocations
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!profiler.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        AllocationProfiler.RequestAllocation allocation = new AllocationProfiler.RequestAllocation();
+        String method = exchange.getRequest().getMethod().name();
+        return profiler.measure(Mono.defer(() -> chain.filter(exchange)), allocation)
+                .doFinally(signal -> profiler.record(method, route(exchange), profiler.allocatedBytes(allocation)))
+                .contextWrite(context -> AllocationProfiler.withAllocation(context, allocation));
+    }
+
+    private static String route(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route != null) {
+            return route.getId();
+        }
+        PathPattern pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.getPatternString() : "UNKNOWN";
+    }
+}
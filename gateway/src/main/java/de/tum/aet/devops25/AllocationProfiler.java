@@ -0,0 +1,244 @@
+package de.tum.aet.devops25;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.reactivestreams.Subscription;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import reactor.core.CoreSubscriber;
+import reactor.core.Scannable;
+import reactor.core.publisher.Hooks;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoOperator;
+import reactor.core.publisher.Operators;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+/**
+ * Measures the heap bytes a request allocates with
+ * {@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}, which only sees the
+ * current thread. A reactive request runs in slices on event loop and scheduler threads, so while
+ * profiling is on two Reactor hooks attribute each slice to its request:
+ * <ul>
+ * <li>every operator's subscriber is wrapped, and its signals are measured for the request found
+ * in the subscriber context;</li>
+ * <li>tasks handed to a Reactor scheduler are measured for the request that scheduled them.</li>
+ * </ul>
+ * Only the outermost measured slice on a thread counts, so nested signals are not added twice.
+ * Work outside Reactor, e.g. Netty's own decoding, is not attributed to a request.
+ * Off by default and switched at runtime through the {@code allocation} actuator endpoint.
+ */
+@Component
+public class AllocationProfiler {
+
+    private static final String HOOK_KEY = AllocationProfiler.class.getName();
+    private static final double KIB = 1024;
+    private static final double MIB = 1024 * KIB;
+    // A proxied request allocates a few KiB to a few MiB for large bodies; a full percentile
+    // histogram would add about 70 series per route
+    private static final double[] BUCKETS = {16 * KIB, 64 * KIB, 256 * KIB, MIB, 4 * MIB, 16 * MIB};
+
+    /**
+     * Bytes allocated for one request so far, over all threads it ran on.
+     */
+    static final class RequestAllocation {
+
+        private final LongAdder bytes = new LongAdder();
+    }
+
+    // The outermost measured slice on a thread: how deeply signals are nested, where it began, and for whom
+    private static final class Slice {
+
+        private int depth;
+        private long start;
+        private RequestAllocation allocation;
+    }
+
+    private final ThreadLocal<Slice> slices = ThreadLocal.withInitial(Slice::new);
+    private final com.sun.management.ThreadMXBean threadBean;
+    private final MeterRegistry meterRegistry;
+    private volatile boolean enabled;
+
+    public AllocationProfiler(MeterRegistry meterRegistry,
+            @Value("${gateway.allocation-profiling.enabled:false}") boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.threadBean = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() ? bean : null;
+        setEnabled(enabled);
+    }
+
+    public boolean isSupported() {
+        return threadBean != null;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Switches measuring on or off by installing or removing the Reactor hooks; has no effect when
+     * the JVM cannot measure allocations. Requests already in flight keep their current mode.
+     *
+     * @return whether requests are measured from now on
+     */
+    public synchronized boolean setEnabled(boolean enabled) {
+        boolean measure = enabled && isSupported();
+        if (measure && !this.enabled) {
+            threadBean.setThreadAllocatedMemoryEnabled(true);
+            Hooks.onEachOperator(HOOK_KEY, Operators.lift(this::track));
+            Schedulers.onScheduleHook(HOOK_KEY, this::track);
+        } else if (!measure && this.enabled) {
+            Hooks.resetOnEachOperator(HOOK_KEY);
+            Schedulers.resetOnScheduleHook(HOOK_KEY);
+        }
+        this.enabled = measure;
+        return measure;
+    }
+
+    @PreDestroy
+    void stop() {
+        setEnabled(false);
+    }
+
+    /**
+     * Measures {@code request} for {@code allocation}: its subscription on the calling thread and,
+     * through the hooks, every later slice wherever it runs. The allocation must be in the
+     * subscriber context.
+     */
+    <T> Mono<T> measure(Mono<T> request, RequestAllocation allocation) {
+        return new MonoOperator<T, T>(request) {
+            @Override
+            public void subscribe(CoreSubscriber<? super T> actual) {
+                enter(allocation);
+                try {
+                    source.subscribe(new MeasuredSubscriber<>(actual, allocation));
+                } finally {
+                    exit();
+                }
+            }
+        };
+    }
+
+    static Context withAllocation(Context context, RequestAllocation allocation) {
+        return context.put(RequestAllocation.class, allocation);
+    }
+
+    /**
+     * Bytes allocated for the request so far, including the slice the current thread is in.
+     */
+    long allocatedBytes(RequestAllocation allocation) {
+        Slice slice = slices.get();
+        long running = slice.depth > 0 && slice.allocation == allocation
+                ? threadBean.getCurrentThreadAllocatedBytes() - slice.start
+                : 0;
+        return allocation.bytes.sum() + running;
+    }
+
+    void record(String method, String route, long bytes) {
+        DistributionSummary.builder("http.server.requests.allocated")
+                .description("Heap bytes allocated while handling a request")
+                .baseUnit("bytes")
+                .tag("method", method)
+                .tag("route", route)
+                .serviceLevelObjectives(BUCKETS)
+                .register(meterRegistry)
+                .record(bytes);
+    }
+
+    private CoreSubscriber<? super Object> track(Scannable operator, CoreSubscriber<? super Object> actual) {
+        RequestAllocation allocation = actual.currentContext().getOrDefault(RequestAllocation.class, null);
+        return allocation != null ? new MeasuredSubscriber<>(actual, allocation) : actual;
+    }
+
+    private Runnable track(Runnable task) {
+        RequestAllocation allocation = slices.get().allocation;
+        if (allocation == null) {
+            return task;
+        }
+        return () -> {
+            enter(allocation);
+            try {
+                task.run();
+            } finally {
+                exit();
+            }
+        };
+    }
+
+    private void enter(RequestAllocation allocation) {
+        Slice slice = slices.get();
+        if (slice.depth++ == 0) {
+            slice.start = threadBean.getCurrentThreadAllocatedBytes();
+            slice.allocation = allocation;
+        }
+    }
+
+    private void exit() {
+        Slice slice = slices.get();
+        if (--slice.depth == 0) {
+            slice.allocation.bytes.add(threadBean.getCurrentThreadAllocatedBytes() - slice.start);
+            slice.allocation = null;
+        }
+    }
+
+    private final class MeasuredSubscriber<T> implements CoreSubscriber<T> {
+
+        private final CoreSubscriber<? super T> actual;
+        private final RequestAllocation allocation;
+
+        MeasuredSubscriber(CoreSubscriber<? super T> actual, RequestAllocation allocation) {
+            this.actual = actual;
+            this.allocation = allocation;
+        }
+
+        @Override
+        public Context currentContext() {
+            return actual.currentContext();
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            enter(allocation);
+            try {
+                actual.onSubscribe(subscription);
+            } finally {
+                exit();
+            }
+        }
+
+        @Override
+        public void onNext(T value) {
+            enter(allocation);
+            try {
+                actual.onNext(value);
+            } finally {
+                exit();
+            }
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            enter(allocation);
+            try {
+                actual.onError(error);
+            } finally {
+                exit();
+            }
+        }
+
+        @Override
+        public void onComplete() {
+            enter(allocation);
+            try {
+                actual.onComplete();
+            } finally {
+                exit();
+            }
+        }
+    }
+}
@@ -3,6 +3,8 @@ package de.tum.aet.devops25;
 import de.tum.aet.devops25.api.generated.controller.AuthenticationApi;
 import de.tum.aet.devops25.api.generated.model.*;
 import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.*;
@@ -20,6 +22,8 @@ import java.util.UUID;
 @RestController
 public class AuthenticationController implements AuthenticationApi {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthenticationController.class);
+
     private final WebClient webClient;
     private final String userServiceUrl;
     private final JwtUtil jwtUtil;
@@ -106,7 +110,7 @@ public class AuthenticationController implements AuthenticationApi {
                                         return ResponseEntity.ok(authResponse);
                                     })
                                     .onErrorResume(e -> {
-                                        System.out.println("Error fetching user profile: " + e.getMessage());
+                                        log.warn("Error fetching user profile: {}", e.getMessage());
 
                                         // Create a minimal user object with just the ID
                                         User minimalUser = new User().id(UUID.fromString(userId));
@@ -124,12 +128,12 @@ public class AuthenticationController implements AuthenticationApi {
                                         return Mono.just(ResponseEntity.ok(authResponse));
                                     });
                         } catch (Exception e) {
-                            System.out.println("Error parsing token: " + e.getMessage());
+                            log.warn("Error parsing token: {}", e.getMessage());
                             return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).<AuthResponse>build());
                         }
                     })
                     .onErrorResume(e -> {
-                        System.out.println("Login error: " + e.getMessage());
+                        log.warn("Login error: {}", e.getMessage());
                         return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).<AuthResponse>build());
                     });
         });
@@ -158,7 +162,7 @@ public class AuthenticationController implements AuthenticationApi {
             UserLogout200Response logoutResponse = new UserLogout200Response().message("Logout successful");
             return Mono.just(ResponseEntity.ok(logoutResponse));
         } catch (Exception e) {
-            System.out.println("Logout error: " + e.getMessage());
+            log.warn("Logout error: {}", e.getMessage());
             return Mono.just(ResponseEntity.status(HttpStatus.UNAUTHORIZED).<UserLogout200Response>build());
         }
     }
@@ -219,17 +223,17 @@ public class AuthenticationController implements AuthenticationApi {
                             // Try to parse the error response
                             try {
                                 String errorBody = wcre.getResponseBodyAsString();
-                                System.out.println("Registration error: " + errorBody);
+                                log.warn("Registration error: {}", errorBody);
 
                                 // Return appropriate status code from the error
                                 return Mono.just(ResponseEntity
                                     .status(wcre.getStatusCode())
                                     .<AuthResponse>build());
                             } catch (Exception ex) {
-                                System.out.println("Error parsing error response: " + ex.getMessage());
+                                log.warn("Error parsing error response: {}", ex.getMessage());
                             }
                         } else {
-                            System.out.println("Registration error: " + e.getMessage());
+                            log.warn("Registration error: {}", e.getMessage());
                         }
 
                         return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).<AuthResponse>build());
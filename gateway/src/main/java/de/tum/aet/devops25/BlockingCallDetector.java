@@ -0,0 +1,167 @@
+package de.tum.aet.devops25;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Catches console writes ({@code System.out}, {@code System.err}) on non-blocking threads, i.e.
+ * Netty event loops and Reactor's parallel scheduler: they block the whole loop on a slow or full
+ * stdout. Without a bytecode agent such as BlockHound only these calls can be intercepted; stalls
+ * by any other blocking call are caught by {@link EventLoopMonitor}. Writes through the logging
+ * framework are not counted, its appenders are configured separately.
+ * <p>
+ * {@code gateway.eventloop.blocking-calls}:
+ * <ul>
+ * <li>{@code off} (default): leaves the console streams alone</li>
+ * <li>{@code record}: counts {@code gateway.eventloop.blocking.calls} and logs the stack of each new
+ * call site once; every console write walks the stack, so only for chasing a stall</li>
+ * <li>{@code fail}: additionally throws {@link BlockingCallException} from the write, as BlockHound
+ * would; the tests run in this mode</li>
+ * </ul>
+ */
+@Component
+public class BlockingCallDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(BlockingCallDetector.class);
+
+    // Call sites whose stack has been logged; bounded so a loop of distinct sites cannot grow it
+    private static final int MAX_REPORTED_SITES = 100;
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    public enum Mode {
+        OFF, RECORD, FAIL
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final Mode mode;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private PrintStream originalOut;
+    private PrintStream originalErr;
+    private PrintStream guardedOut;
+    private PrintStream guardedErr;
+
+    public BlockingCallDetector(MeterRegistry meterRegistry,
+            @Value("${gateway.eventloop.blocking-calls:off}") Mode mode) {
+        this.meterRegistry = meterRegistry;
+        this.mode = mode;
+    }
+
+    @PostConstruct
+    void install() {
+        if (mode == Mode.OFF) {
+            return;
+        }
+        originalOut = System.out;
+        originalErr = System.err;
+        guardedOut = new GuardedPrintStream(unguarded(originalOut), "System.out");
+        guardedErr = new GuardedPrintStream(unguarded(originalErr), "System.err");
+        System.setOut(guardedOut);
+        System.setErr(guardedErr);
+    }
+
+    @PreDestroy
+    void uninstall() {
+        // Unless another detector (another application context) has taken over since
+        if (guardedOut != null && System.out == guardedOut) {
+            System.setOut(originalOut);
+            System.setErr(originalErr);
+        }
+    }
+
+    // Replaces rather than stacks on a detector that is already installed
+    private static PrintStream unguarded(PrintStream stream) {
+        return stream instanceof GuardedPrintStream guarded ? guarded.target : stream;
+    }
+
+    private final class GuardedPrintStream extends PrintStream {
+
+        private final PrintStream target;
+
+        GuardedPrintStream(PrintStream target, String call) {
+            super(new CheckingOutputStream(target, call), true);
+            this.target = target;
+        }
+    }
+
+    private final class CheckingOutputStream extends OutputStream {
+
+        private final PrintStream target;
+        private final String call;
+        private final Counter calls;
+
+        CheckingOutputStream(PrintStream target, String call) {
+            this.target = target;
+            this.call = call;
+            this.calls = Counter.builder("gateway.eventloop.blocking.calls")
+                    .description("Console writes on non-blocking threads")
+                    .tag("call", call)
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public void write(int b) {
+            check(call, calls);
+            target.write(b);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            check(call, calls);
+            target.write(bytes, offset, length);
+        }
+
+        @Override
+        public void flush() {
+            target.flush();
+        }
+    }
+
+    private void check(String call, Counter calls) {
+        // Stops at the first logging frame; appenders write to the console on purpose
+        if (!Schedulers.isInNonBlockingThread()
+                || WALKER.walk(frames -> frames.anyMatch(frame -> isLogging(frame.getClassName())))) {
+            return;
+        }
+        calls.increment();
+        String thread = Thread.currentThread().getName();
+        if (reportedSites.size() < MAX_REPORTED_SITES) {
+            String site = WALKER.walk(frames -> frames
+                    .filter(frame -> !isPlatform(frame.getClassName()))
+                    .findFirst()
+                    .map(frame -> frame.toStackTraceElement().toString())
+                    .orElse("unknown"));
+            if (reportedSites.add(site)) {
+                log.warn("Blocking {} write on non-blocking thread {} at {}", call, thread, site,
+                        new BlockingCallException(call, thread));
+            }
+        }
+        if (mode == Mode.FAIL) {
+            throw new BlockingCallException(call, thread);
+        }
+    }
+
+    private static boolean isLogging(String className) {
+        return className.startsWith("ch.qos.logback.") || className.startsWith("org.apache.logging.")
+                || className.startsWith("org.slf4j.");
+    }
+
+    // The console stream itself and this detector; the first frame after them is the caller
+    private static boolean isPlatform(String className) {
+        return className.startsWith("java.") || className.startsWith("jdk.") || className.startsWith("sun.")
+                || className.startsWith(BlockingCallDetector.class.getName());
+    }
+}
@@ -0,0 +1,12 @@
+package de.tum.aet.devops25;
+
+/**
+ * Thrown by {@link BlockingCallDetector} in {@code fail} mode when a non-blocking thread writes to
+ * the console; also logged as the stack of a new offending call site.
+ */
+public class BlockingCallException extends RuntimeException {
+
+    public BlockingCallException(String call, String thread) {
+        super("Blocking " + call + " write on non-blocking thread " + thread);
+    }
+}
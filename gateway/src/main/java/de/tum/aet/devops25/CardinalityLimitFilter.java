@@ -0,0 +1,98 @@
+package de.tum.aet.devops25;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.config.MeterFilter;
+
+/**
+ * Bounds the number of series each meter can create. UUIDs in path tags ({@code uri}, {@code path})
+ * become {@code {id}}, and once a tag of a meter has {@code gateway.metrics.max-tag-values}
+ * distinct values, further values are reported as {@value #OTHER}. Capped tags are logged once and
+ * listed by the {@code cardinality} actuator endpoint.
+ */
+public class CardinalityLimitFilter implements MeterFilter {
+
+    static final String OTHER = "OTHER";
+
+    private static final Logger log = LoggerFactory.getLogger(CardinalityLimitFilter.class);
+
+    private static final Set<String> PATH_TAGS = Set.of("uri", "path");
+    private static final Pattern UUID_SEGMENT = Pattern.compile(
+            "(?<=/)[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}(?=/|$)");
+
+    private final int maxTagValues;
+    // Distinct values seen per "meter name" + tag key, at most maxTagValues each
+    private final Map<TagKey, Set<String>> values = new ConcurrentHashMap<>();
+    private final Set<TagKey> capped = ConcurrentHashMap.newKeySet();
+
+    public CardinalityLimitFilter(int maxTagValues) {
+        if (maxTagValues < 1) {
+            throw new IllegalArgumentException("max-tag-values must be positive: " + maxTagValues);
+        }
+        this.maxTagValues = maxTagValues;
+    }
+
+    @Override
+    public Meter.Id map(Meter.Id id) {
+        List<Tag> tags = id.getTags();
+        List<Tag> mapped = null;
+        for (int i = 0; i < tags.size(); i++) {
+            Tag tag = tags.get(i);
+            String value = limit(id.getName(), tag.getKey(), normalize(tag));
+            if (!value.equals(tag.getValue())) {
+                if (mapped == null) {
+                    mapped = new ArrayList<>(tags);
+                }
+                mapped.set(i, Tag.of(tag.getKey(), value));
+            }
+        }
+        return mapped != null ? id.replaceTags(mapped) : id;
+    }
+
+    /**
+     * The tags that reached the limit, as meter name and tag key.
+     */
+    Set<TagKey> capped() {
+        return Set.copyOf(capped);
+    }
+
+    int getMaxTagValues() {
+        return maxTagValues;
+    }
+
+    private static String normalize(Tag tag) {
+        return PATH_TAGS.contains(tag.getKey()) ? UUID_SEGMENT.matcher(tag.getValue()).replaceAll("{id}") : tag.getValue();
+    }
+
+    private String limit(String meter, String key, String value) {
+        TagKey tagKey = new TagKey(meter, key);
+        Set<String> seen = values.computeIfAbsent(tagKey, k -> ConcurrentHashMap.newKeySet());
+        if (seen.contains(value)) {
+            return value;
+        }
+        synchronized (seen) {
+            if (seen.size() < maxTagValues) {
+                seen.add(value);
+                return value;
+            }
+        }
+        if (capped.add(tagKey)) {
+            log.warn("Meter {} has {} distinct values of tag {}; further values are reported as {}",
+                    meter, maxTagValues, key, OTHER);
+        }
+        return OTHER;
+    }
+
+    record TagKey(String meter, String tag) {
+    }
+}
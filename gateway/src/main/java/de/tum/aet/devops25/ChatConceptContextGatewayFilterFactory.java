@@ -0,0 +1,104 @@
+package de.tum.aet.devops25;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.filter.factory.rewrite.ModifyRequestBodyGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Route filter for AI chat requests: when the body names a {@code conceptId} but carries no
+ * {@code concept}, the concept's context snapshot is fetched from concept-svc with the
+ * caller's token and inserted as {@code concept} before the request is forwarded. Clients no
+ * longer upload the whole concept with every message, and concept-svc serves the snapshot
+ * from its per-version cache. Bodies that already contain a concept pass through unchanged.
+ */
+@Component
+public class ChatConceptContextGatewayFilterFactory extends AbstractGatewayFilterFactory<Object> {
+
+    private final ModifyRequestBodyGatewayFilterFactory modifyRequestBody;
+    private final WebClient conceptClient;
+    private final ObjectMapper objectMapper;
+    private final Duration timeout;
+
+    public ChatConceptContextGatewayFilterFactory(ModifyRequestBodyGatewayFilterFactory modifyRequestBody,
+            WebClient.Builder webClientBuilder, ObjectMapper objectMapper,
+            @Value("${concept-svc.url}") String conceptServiceUrl,
+            @Value("${gateway.chat-context.timeout:5s}") Duration timeout) {
+        this.modifyRequestBody = modifyRequestBody;
+        this.conceptClient = webClientBuilder.baseUrl(conceptServiceUrl).build();
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public GatewayFilter apply(Object config) {
+        return modifyRequestBody.apply(new ModifyRequestBodyGatewayFilterFactory.Config()
+                .setRewriteFunction(String.class, String.class, this::injectContext));
+    }
+
+    Mono<String> injectContext(ServerWebExchange exchange, String body) {
+        JsonNode request;
+        try {
+            request = objectMapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            // Not ours to reject; genai-svc answers malformed bodies itself
+            return Mono.just(body);
+        }
+        if (!(request instanceof ObjectNode chatRequest)
+                || chatRequest.hasNonNull("concept")
+                || !chatRequest.hasNonNull("conceptId")) {
+            return Mono.just(body);
+        }
+
+        UUID conceptId;
+        try {
+            conceptId = UUID.fromString(chatRequest.get("conceptId").asText());
+        } catch (IllegalArgumentException e) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "conceptId must be a UUID"));
+        }
+
+        String authorization = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        return conceptClient.get()
+                .uri("/api/concepts/{conceptId}/context", conceptId)
+                .headers(headers -> {
+                    if (authorization != null) {
+                        headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                    }
+                })
+                .retrieve()
+                // 401/404 mean the same to the caller as they do to concept-svc
+                .onStatus(HttpStatusCode::is4xxClientError, response -> Mono.error(
+                        new ResponseStatusException(response.statusCode(), "Could not load concept " + conceptId)))
+                .onStatus(HttpStatusCode::is5xxServerError, response -> Mono.error(
+                        new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Concept service unavailable")))
+                .bodyToMono(byte[].class)
+                .timeout(timeout, Mono.error(() ->
+                        new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Concept service timed out")))
+                .map(context -> {
+                    try {
+                        chatRequest.set("concept", objectMapper.readTree(context));
+                        return objectMapper.writeValueAsString(chatRequest);
+                    } catch (IOException e) {
+                        throw new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Invalid concept context", e);
+                    }
+                });
+    }
+}
@@ -1,5 +1,7 @@
 package de.tum.aet.devops25;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.core.Ordered;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -13,6 +15,8 @@ import reactor.core.publisher.Mono;
 @Component
 public class CorsPreFlightFilter implements WebFilter, Ordered {
 
+    private static final Logger log = LoggerFactory.getLogger(CorsPreFlightFilter.class);
+
     @Override
     public int getOrder() {
         return Ordered.HIGHEST_PRECEDENCE; // Run before security filters
@@ -21,8 +25,7 @@ public class CorsPreFlightFilter implements WebFilter, Ordered {
     @Override
     public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
         if (HttpMethod.OPTIONS.equals(exchange.getRequest().getMethod())) {
-            System.out.println("[CORS_DEBUG] Handling OPTIONS preflight request for: " + 
-                             exchange.getRequest().getURI().getPath());
+            log.debug("Handling OPTIONS preflight request for: {}", exchange.getRequest().getURI().getPath());
             
             // Add CORS headers for preflight response (matching CorsConfig.java)
             String origin = exchange.getRequest().getHeaders().getFirst("Origin");
@@ -0,0 +1,224 @@
+package de.tum.aet.devops25;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.embedded.netty.NettyServerCustomizer;
+import org.springframework.http.client.ReactorResourceFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.netty.http.HttpResources;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Health of the Reactor Netty event loops the server and the upstream clients share. Per loop
+ * (tag {@code eventloop}, its index):
+ * <ul>
+ * <li>{@code gateway.eventloop.pending.tasks}: tasks queued on the loop</li>
+ * <li>{@code gateway.eventloop.lag}: delay until a probe submitted every
+ * {@code gateway.eventloop.probe-interval} runs, i.e. how long any task waits for the loop</li>
+ * <li>{@code gateway.eventloop.task.duration}: time the loop spends handling one inbound read of
+ * a server connection, the filters and handlers that run synchronously included</li>
+ * <li>{@code gateway.eventloop.blocked}: probes still waiting after
+ * {@code gateway.eventloop.blocked-threshold}. The loop's stack is logged once per stall, so the
+ * blocking call shows up in the log</li>
+ * </ul>
+ */
+@Component
+public class EventLoopMonitor implements NettyServerCustomizer {
+
+    private static final Logger log = LoggerFactory.getLogger(EventLoopMonitor.class);
+
+    // Frames of a stalled loop's stack written to the log
+    private static final int LOGGED_FRAMES = 25;
+
+    // A few buckets instead of percentile histograms (about 70 series per loop); lag around the
+    // default blocked threshold, reads from well below a millisecond
+    private static final Duration[] LAG_BUCKETS = {Duration.ofMillis(1), Duration.ofMillis(5),
+            Duration.ofMillis(20), Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(200),
+            Duration.ofMillis(500), Duration.ofSeconds(1)};
+    private static final Duration[] READ_BUCKETS = {Duration.ofNanos(100_000), Duration.ofMillis(1),
+            Duration.ofMillis(5), Duration.ofMillis(20), Duration.ofMillis(50), Duration.ofMillis(200)};
+
+    private final MeterRegistry meterRegistry;
+    private final EventLoopGroup eventLoops;
+    private final Duration probeInterval;
+    private final Duration blockedThreshold;
+    private final List<LoopProbe> probes = new ArrayList<>();
+    private final Map<EventExecutor, LoopProbe> probesByLoop = new IdentityHashMap<>();
+    private final ScheduledExecutorService scheduler;
+    private final ChannelHandler readTimer = new ReadTimer();
+
+    @Autowired
+    public EventLoopMonitor(MeterRegistry meterRegistry, ObjectProvider<ReactorResourceFactory> resourceFactory,
+            @Value("${gateway.eventloop.probe-interval:100ms}") Duration probeInterval,
+            @Value("${gateway.eventloop.blocked-threshold:200ms}") Duration blockedThreshold) {
+        this(meterRegistry, serverLoops(resourceFactory), probeInterval, blockedThreshold);
+    }
+
+    EventLoopMonitor(MeterRegistry meterRegistry, EventLoopGroup eventLoops, Duration probeInterval,
+            Duration blockedThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.eventLoops = eventLoops;
+        this.probeInterval = probeInterval;
+        this.blockedThreshold = blockedThreshold;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("eventloop-monitor-"));
+        int index = 0;
+        for (EventExecutor loop : eventLoops) {
+            LoopProbe probe = new LoopProbe(loop, String.valueOf(index++));
+            probes.add(probe);
+            probesByLoop.put(loop, probe);
+        }
+    }
+
+    // The loops Spring Boot's Netty server runs on; Reactor Netty's clients share them
+    private static EventLoopGroup serverLoops(ObjectProvider<ReactorResourceFactory> resourceFactory) {
+        ReactorResourceFactory factory = resourceFactory.getIfAvailable();
+        LoopResources loopResources = factory != null ? factory.getLoopResources() : HttpResources.get();
+        return loopResources.onServer(LoopResources.DEFAULT_NATIVE);
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler.scheduleAtFixedRate(this::probe, probeInterval.toMillis(), probeInterval.toMillis(),
+                TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public HttpServer apply(HttpServer httpServer) {
+        return httpServer.doOnConnection(connection -> connection.addHandlerFirst("eventLoopReadTimer", readTimer));
+    }
+
+    void probe() {
+        long now = System.nanoTime();
+        for (LoopProbe probe : probes) {
+            probe.tick(now);
+        }
+    }
+
+    private final class LoopProbe {
+
+        private final EventExecutor loop;
+        private final String name;
+        private final Timer lag;
+        private final Timer reads;
+        private final Counter blocked;
+        // Submission time of the probe in flight, 0 when none is
+        private volatile long submittedAt;
+        private volatile Thread thread;
+        private boolean reported;
+
+        LoopProbe(EventExecutor loop, String name) {
+            this.loop = loop;
+            this.name = name;
+            if (loop instanceof SingleThreadEventExecutor executor) {
+                Gauge.builder("gateway.eventloop.pending.tasks", executor, SingleThreadEventExecutor::pendingTasks)
+                        .description("Tasks queued on the event loop")
+                        .tag("eventloop", name)
+                        .register(meterRegistry);
+            }
+            this.lag = Timer.builder("gateway.eventloop.lag")
+                    .description("Delay until a task submitted to the event loop starts")
+                    .tag("eventloop", name)
+                    .serviceLevelObjectives(LAG_BUCKETS)
+                    .register(meterRegistry);
+            this.reads = Timer.builder("gateway.eventloop.task.duration")
+                    .description("Time the event loop spends handling one inbound read")
+                    .tag("eventloop", name)
+                    .serviceLevelObjectives(READ_BUCKETS)
+                    .register(meterRegistry);
+            this.blocked = Counter.builder("gateway.eventloop.blocked")
+                    .description("Probes that waited longer than the blocked threshold for the event loop")
+                    .tag("eventloop", name)
+                    .register(meterRegistry);
+        }
+
+        // Runs on the monitor thread only
+        void tick(long now) {
+            long submitted = submittedAt;
+            if (submitted != 0) {
+                if (!reported && now - submitted > blockedThreshold.toNanos()) {
+                    reported = true;
+                    blocked.increment();
+                    logStall(Duration.ofNanos(now - submitted));
+                }
+                return;
+            }
+            reported = false;
+            submittedAt = now;
+            try {
+                loop.execute(() -> {
+                    thread = Thread.currentThread();
+                    lag.record(System.nanoTime() - now, TimeUnit.NANOSECONDS);
+                    submittedAt = 0;
+                });
+            } catch (RejectedExecutionException e) {
+                // The loop is shutting down
+                submittedAt = 0;
+            }
+        }
+
+        private void logStall(Duration waited) {
+            Thread loopThread = thread;
+            if (loopThread == null) {
+                log.warn("Event loop {} has not run a task for {} ms", name, waited.toMillis());
+                return;
+            }
+            StringBuilder stack = new StringBuilder();
+            StackTraceElement[] frames = loopThread.getStackTrace();
+            for (int i = 0; i < Math.min(frames.length, LOGGED_FRAMES); i++) {
+                stack.append("\n\tat ").append(frames[i]);
+            }
+            log.warn("Event loop {} ({}) has not run a task for {} ms, it is busy in:{}", name, loopThread.getName(),
+                    waited.toMillis(), stack);
+        }
+    }
+
+    @ChannelHandler.Sharable
+    private final class ReadTimer extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            long started = System.nanoTime();
+            try {
+                ctx.fireChannelRead(msg);
+            } finally {
+                LoopProbe probe = probesByLoop.get(ctx.executor());
+                if (probe != null) {
+                    probe.reads.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+            }
+        }
+    }
+}
@@ -12,11 +12,19 @@ import java.time.OffsetDateTime;
 @RestController
 public class GatewayHealthController implements HealthApi {
 
+    private final UpstreamHealthIndicator upstreamHealthIndicator;
+
+    public GatewayHealthController(UpstreamHealthIndicator upstreamHealthIndicator) {
+        this.upstreamHealthIndicator = upstreamHealthIndicator;
+    }
+
     @Override
     public Mono<ResponseEntity<GetGatewayHealth200Response>> getGatewayHealth(ServerWebExchange exchange) {
         GetGatewayHealth200Response response = new GetGatewayHealth200Response();
-        response.setStatus("UP");
+        // Upstream status from the last background poll; this request never calls the upstreams
+        response.setStatus(upstreamHealthIndicator.status());
         response.setTimestamp(OffsetDateTime.now());
+        response.setUpstreams(upstreamHealthIndicator.upstreams());
         return Mono.just(ResponseEntity.ok(response));
     }
 }
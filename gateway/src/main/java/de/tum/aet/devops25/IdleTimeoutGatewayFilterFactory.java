@@ -0,0 +1,78 @@
+package de.tum.aet.devops25;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Route filter for long-lived streaming responses (Server-Sent Events): the response is aborted
+ * when the upstream sends nothing for the configured time, so a stream whose upstream died
+ * silently does not hold the client and the upstream connection forever. Set it above the
+ * upstream's heartbeat interval; the route itself should disable the response timeout. Chunks
+ * are forwarded as they arrive and only requested when the client connection can take them.
+ */
+@Component
+public class IdleTimeoutGatewayFilterFactory extends AbstractGatewayFilterFactory<IdleTimeoutGatewayFilterFactory.Config> {
+
+    public IdleTimeoutGatewayFilterFactory() {
+        super(Config.class);
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("timeout");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // Must wrap the response before NettyWriteResponseFilter writes the upstream body to it
+        return new OrderedGatewayFilter((exchange, chain) -> chain.filter(exchange.mutate()
+                .response(new IdleTimeoutResponse(exchange.getResponse(), config.getTimeout()))
+                .build()), NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    static class IdleTimeoutResponse extends ServerHttpResponseDecorator {
+
+        private final Duration timeout;
+
+        IdleTimeoutResponse(ServerHttpResponse delegate, Duration timeout) {
+            super(delegate);
+            this.timeout = timeout;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).timeout(timeout));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(Flux.from(body).timeout(timeout));
+        }
+    }
+
+    public static class Config {
+
+        private Duration timeout = Duration.ofSeconds(90);
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+}
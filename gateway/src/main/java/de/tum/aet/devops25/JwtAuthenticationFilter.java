@@ -1,5 +1,7 @@
 package de.tum.aet.devops25;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.ReactiveSecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -13,6 +15,8 @@ import reactor.core.publisher.Mono;
 @Component
 public class JwtAuthenticationFilter implements WebFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+
     private final JwtUtil jwtUtil;
 
     public JwtAuthenticationFilter(JwtUtil jwtUtil) {
@@ -26,7 +30,9 @@ public class JwtAuthenticationFilter implements WebFilter {
         String method = exchange.getRequest().getMethod().toString();
 
         // Skip authentication for endpoints that don't require it
-        if (path.startsWith("/actuator/") ||
+        // Other actuator endpoints are only served on the management port (see SecurityConfig)
+        if (path.startsWith("/actuator/health") ||
+            path.equals("/actuator/prometheus") ||
             path.equals("/health") ||
             path.equals("/api/health") ||
             path.equals("/auth/register") ||
@@ -47,11 +53,10 @@ public class JwtAuthenticationFilter implements WebFilter {
             String token = authHeader.substring(7);
             // Removed debug logging for token length
             try {
-                Claims claims = jwtUtil.validateToken(token);
+                Claims claims = verify(token, exchange.getAttribute(TracingWebFilter.SPAN_ATTRIBUTE));
                 if (claims != null) {
                     String userId = claims.getSubject();
-                    // Keep logging for successful authentication but without DEBUG prefix
-                    System.out.println("Authentication successful for user: " + userId);
+                    log.debug("Authentication successful for user: {}", userId);
                     UsernamePasswordAuthenticationToken authentication = 
                         new UsernamePasswordAuthenticationToken(userId, null, null);
 
@@ -59,21 +64,37 @@ public class JwtAuthenticationFilter implements WebFilter {
                         .contextWrite(ReactiveSecurityContextHolder.withAuthentication(authentication));
                 } else {
                     // Keep logging for null claims as it indicates a potential issue
-                    System.out.println("Token validation returned null claims");
+                    log.warn("Token validation returned null claims");
                 }
             } catch (Exception e) {
                 // Keep logging for authentication failures as they are important for security
-                System.out.println("Token validation failed: " + e.getMessage());
-                e.printStackTrace(); // Print stack trace for more detailed error information
+                log.warn("Token validation failed: {}", e.getMessage());
+                log.debug("Token validation failure", e);
                 // Token validation failed, continue without authentication
             }
         } else if (authHeader != null) {
             // Keep logging for malformed headers as they indicate potential security issues
-            System.out.println("Authorization header present but not in Bearer format");
+            log.warn("Authorization header present but not in Bearer format");
         } else {
             // Removed detailed logging for missing auth headers as this is common for public resources
         }
 
         return chain.filter(exchange);
     }
+
+    private Claims verify(String token, Span request) {
+        if (request == null) {
+            return jwtUtil.validateToken(token);
+        }
+        try (Span span = request.child("jwt.verify")) {
+            try {
+                Claims claims = jwtUtil.validateToken(token);
+                span.setAttribute("jwt.valid", true);
+                return claims;
+            } catch (RuntimeException e) {
+                span.setAttribute("jwt.valid", false);
+                throw e;
+            }
+        }
+    }
 }
@@ -0,0 +1,76 @@
+package de.tum.aet.devops25;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Phase timestamps of one proxied request, filled in by {@link RouteTimingFilter}, the routing
+ * mark and the upstream HTTP client callbacks of {@link RouteTimingConfig}:
+ * <ul>
+ * <li>{@code gateway}: received until routing to the upstream starts (security, route filters)</li>
+ * <li>{@code connect}: until the request is written to an upstream connection (pool acquisition,
+ * connect, TLS)</li>
+ * <li>{@code upstream}: until the upstream's response headers arrive (time to first byte)</li>
+ * <li>{@code transfer}: until the response body has been passed on to the client</li>
+ * </ul>
+ * Phases that did not happen, e.g. upstream when the connection failed, are left out.
+ */
+final class RouteTiming {
+
+    private final long received;
+    private volatile long routed;
+    private volatile long requestSent;
+    private volatile long responseReceived;
+
+    RouteTiming(long received) {
+        this.received = received;
+    }
+
+    void routed(long nanos) {
+        routed = nanos;
+    }
+
+    void requestSent(long nanos) {
+        requestSent = nanos;
+    }
+
+    void responseReceived(long nanos) {
+        responseReceived = nanos;
+    }
+
+    boolean isRouted() {
+        return routed != 0;
+    }
+
+    /**
+     * Durations in nanoseconds of the phases passed up to {@code now}, in order.
+     */
+    Map<String, Long> phases(long now) {
+        Map<String, Long> phases = new LinkedHashMap<>();
+        if (routed == 0) {
+            return phases;
+        }
+        phases.put("gateway", routed - received);
+        phases.put("connect", (requestSent != 0 ? requestSent : now) - routed);
+        if (requestSent != 0) {
+            phases.put("upstream", (responseReceived != 0 ? responseReceived : now) - requestSent);
+        }
+        if (responseReceived != 0) {
+            phases.put("transfer", now - responseReceived);
+        }
+        return phases;
+    }
+
+    /**
+     * The phases as a {@code Server-Timing} header value, e.g.
+     * {@code gateway;dur=1.2, connect;dur=0.3, upstream;dur=48.9}, durations in milliseconds.
+     */
+    String serverTiming(long now) {
+        return phases(now).entrySet().stream()
+                .filter(phase -> !phase.getKey().equals("transfer"))
+                .map(phase -> String.format(Locale.ROOT, "%s;dur=%.1f", phase.getKey(), phase.getValue() / 1_000_000.0))
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,65 @@
+package de.tum.aet.devops25;
+
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClientInfos;
+
+/**
+ * Marks the phase boundaries of {@link RouteTiming} that only Spring Cloud Gateway and its
+ * Reactor Netty client see: routing starts, the request goes out, the response headers come in.
+ */
+@Configuration
+public class RouteTimingConfig {
+
+    @Bean
+    public GlobalFilter routeTimingRoutingMark() {
+        return new RoutingMark();
+    }
+
+    @Bean
+    public HttpClientCustomizer routeTimingHttpClientCustomizer() {
+        return httpClient -> httpClient
+                .doOnRequest((request, connection) -> mark(request, true))
+                .doOnResponse((response, connection) -> mark(response, false));
+    }
+
+    /**
+     * Runs right before the upstream call; forwarded routes never get here.
+     */
+    static class RoutingMark implements GlobalFilter, Ordered {
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            RouteTiming timing = exchange.getAttribute(RouteTimingFilter.TIMING_ATTRIBUTE);
+            if (timing != null) {
+                timing.routed(System.nanoTime());
+            }
+            return chain.filter(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return NettyRoutingFilter.ORDER - 1;
+        }
+    }
+
+    private static void mark(HttpClientInfos exchange, boolean requestSent) {
+        RouteTiming timing = exchange.currentContextView().getOrDefault(RouteTiming.class, null);
+        if (timing == null) {
+            return;
+        }
+        if (requestSent) {
+            timing.requestSent(System.nanoTime());
+        } else {
+            timing.responseReceived(System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package de.tum.aet.devops25;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Mono;
+
+/**
+ * Breaks the latency of proxied requests down into the phases of {@link RouteTiming} and publishes
+ * them as {@code gateway.route.phase}, tagged with the route id, the upstream host and the phase.
+ * With {@code gateway.server-timing.enabled} the phases up to the upstream's response headers are
+ * also sent to the client as a {@code Server-Timing} header, shown by the browser's dev tools.
+ * The timer has a fixed set of SLO buckets; {@code gateway.metrics.slo} can replace them per route.
+ */
+@Component
+public class RouteTimingFilter implements WebFilter, Ordered {
+
+    static final String TIMING_ATTRIBUTE = RouteTiming.class.getName();
+
+    // From the gateway's own sub-millisecond phase up to slow upstream responses
+    private static final Duration[] BUCKETS = {Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofMillis(10),
+            Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+            Duration.ofMillis(500), Duration.ofSeconds(1), Duration.ofMillis(2500), Duration.ofSeconds(5),
+            Duration.ofSeconds(10)};
+
+    private final MeterRegistry meterRegistry;
+    private final boolean serverTiming;
+
+    public RouteTimingFilter(MeterRegistry meterRegistry,
+            @Value("${gateway.server-timing.enabled:false}") boolean serverTiming) {
+        this.meterRegistry = meterRegistry;
+        this.serverTiming = serverTiming;
+    }
+
+    @Override
+    public int getOrder() {
+        // Right after the outermost filters, so the gateway phase covers security and routing
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        RouteTiming timing = new RouteTiming(System.nanoTime());
+        exchange.getAttributes().put(TIMING_ATTRIBUTE, timing);
+        if (serverTiming) {
+            exchange.getResponse().beforeCommit(() -> {
+                if (timing.isRouted()) {
+                    HttpHeaders headers = exchange.getResponse().getHeaders();
+                    headers.add("Server-Timing", timing.serverTiming(System.nanoTime()));
+                    // Lets the frontend, served from another origin, read the header
+                    String origin = exchange.getRequest().getHeaders().getOrigin();
+                    if (origin != null) {
+                        headers.set("Timing-Allow-Origin", origin);
+                    }
+                }
+                return Mono.empty();
+            });
+        }
+        return chain.filter(exchange)
+                .doFinally(signal -> record(exchange, timing))
+                // The upstream HTTP client callbacks find the timing here
+                .contextWrite(context -> context.put(RouteTiming.class, timing));
+    }
+
+    private void record(ServerWebExchange exchange, RouteTiming timing) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route == null || !timing.isRouted()) {
+            return;
+        }
+        String upstream = upstream(route.getUri());
+        for (Map.Entry<String, Long> phase : timing.phases(System.nanoTime()).entrySet()) {
+            Timer.builder("gateway.route.phase")
+                    .description("Latency of proxied requests by phase")
+                    .tag("route", route.getId())
+                    .tag("upstream", upstream)
+                    .tag("phase", phase.getKey())
+                    .serviceLevelObjectives(BUCKETS)
+                    .register(meterRegistry)
+                    .record(phase.getValue(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String upstream(URI uri) {
+        return uri.getHost() != null ? uri.getHost() : uri.getScheme();
+    }
+}
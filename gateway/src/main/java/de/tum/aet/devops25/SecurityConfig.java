@@ -1,5 +1,10 @@
 package de.tum.aet.devops25;
 
+import java.net.InetSocketAddress;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -8,16 +13,28 @@ import org.springframework.security.config.annotation.web.reactive.EnableWebFlux
 import org.springframework.security.config.web.server.ServerHttpSecurity;
 import org.springframework.security.web.server.SecurityWebFilterChain;
 import org.springframework.security.web.server.context.NoOpServerSecurityContextRepository;
+import org.springframework.security.web.server.util.matcher.ServerWebExchangeMatcher.MatchResult;
+import org.springframework.web.server.ServerWebExchange;
 import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
 
+import reactor.core.publisher.Mono;
+
 @Configuration
 @EnableWebFluxSecurity
 public class SecurityConfig {
 
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfig.class);
+
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final int managementPort;
+    private final int serverPort;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter,
+            @Value("${management.server.port:-1}") int managementPort,
+            @Value("${server.port:8080}") int serverPort) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.managementPort = managementPort;
+        this.serverPort = serverPort;
     }
 
     @Bean
@@ -32,9 +49,11 @@ public class SecurityConfig {
 
                     authorizeExchange
                         .pathMatchers(HttpMethod.OPTIONS, "/**").permitAll() // Allow preflight requests
+                        // Actuator port, reachable only from inside the cluster; the API port does not serve actuator endpoints
+                        .matchers(this::onManagementPort).permitAll()
                         .pathMatchers("/", "/health", "/api/health", "/api/users/health", "/api/concepts/health", "/api/genai/health", 
                                      "/api/auth/login", "/api/auth/register", "/api/auth/refresh", "/api/auth/logout",
-                                     "/actuator/prometheus").permitAll()
+                                     "/actuator/health/**", "/actuator/prometheus").permitAll()
                         .anyExchange().authenticated();
 
                     // Removed debug logging for authorization rules completion
@@ -45,8 +64,8 @@ public class SecurityConfig {
 
                     exceptionHandling
                         .authenticationEntryPoint((exchange, ex) -> {
-                            // Keep logging for authentication failures but without DEBUG prefix
-                            System.out.println("Authentication failed: " + ex.getMessage());
+                            // Every anonymous call to a protected route ends here; debug only
+                            log.debug("Authentication failed: {}", ex.getMessage());
                             exchange.getResponse().setStatusCode(HttpStatus.UNAUTHORIZED);
                             return exchange.getResponse().setComplete();
                         });
@@ -55,4 +74,11 @@ public class SecurityConfig {
                 })
                 .build();
     }
+
+    private Mono<MatchResult> onManagementPort(ServerWebExchange exchange) {
+        InetSocketAddress local = exchange.getRequest().getLocalAddress();
+        boolean management = managementPort > 0 && managementPort != serverPort
+                && local != null && local.getPort() == managementPort;
+        return management ? MatchResult.match() : MatchResult.notMatch();
+    }
 }
@@ -0,0 +1,151 @@
+package de.tum.aet.devops25;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One timed operation of a trace, identified like a W3C Trace Context span. Requests hop between
+ * threads, so spans are passed explicitly: {@link TracingWebFilter} keeps the server span in the
+ * exchange attributes and the Reactor context, and instrumented code opens children of it. Spans of
+ * an unsampled trace carry the ids that are propagated downstream but record and export nothing.
+ */
+public final class Span implements AutoCloseable {
+
+    enum Kind {
+        INTERNAL(1), SERVER(2), CLIENT(3);
+
+        /** The OTLP {@code SpanKind} number. */
+        final int code;
+
+        Kind(int code) {
+            this.code = code;
+        }
+    }
+
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final Kind kind;
+    private final boolean sampled;
+    private final SpanExporter exporter;
+    private final long startEpochNanos;
+    private final long startNanos;
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+    private volatile String name;
+    private volatile String error;
+    private volatile long durationNanos = -1;
+
+    Span(String traceId, String spanId, String parentSpanId, String name, Kind kind, boolean sampled,
+            SpanExporter exporter) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.sampled = sampled;
+        this.exporter = exporter;
+        Instant now = Instant.now();
+        this.startEpochNanos = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Opens a child span; close it when the operation is done.
+     */
+    public Span child(String name) {
+        return child(name, Kind.INTERNAL);
+    }
+
+    Span child(String name, Kind kind) {
+        return new Span(traceId, Tracer.newSpanId(), spanId, name, kind, sampled, exporter);
+    }
+
+    public Span setAttribute(String key, Object value) {
+        if (sampled && value != null) {
+            synchronized (attributes) {
+                attributes.put(key, value);
+            }
+        }
+        return this;
+    }
+
+    public void recordError(Throwable error) {
+        if (sampled) {
+            this.error = error.getClass().getSimpleName() + (error.getMessage() != null ? ": " + error.getMessage() : "");
+        }
+    }
+
+    void setError(String message) {
+        this.error = message;
+    }
+
+    void updateName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Ends the span and exports it when sampled. Later calls do nothing.
+     */
+    @Override
+    public void close() {
+        if (durationNanos >= 0) {
+            return;
+        }
+        durationNanos = System.nanoTime() - startNanos;
+        if (sampled) {
+            exporter.export(this);
+        }
+    }
+
+    /**
+     * The {@code traceparent} header value that makes a callee's spans children of this one.
+     */
+    public String traceparent() {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public Map<String, Object> getAttributes() {
+        synchronized (attributes) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+        }
+    }
+
+    long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    long getEndEpochNanos() {
+        return startEpochNanos + Math.max(durationNanos, 0);
+    }
+}
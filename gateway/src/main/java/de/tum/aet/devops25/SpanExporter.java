@@ -0,0 +1,14 @@
+package de.tum.aet.devops25;
+
+/**
+ * Receives every sampled span once it ended. Called on event loop threads, so implementations
+ * must not block.
+ */
+public interface SpanExporter {
+
+    /** Drops all spans, for {@code gateway.tracing.exporter=none}. */
+    SpanExporter NONE = span -> {
+    };
+
+    void export(Span span);
+}
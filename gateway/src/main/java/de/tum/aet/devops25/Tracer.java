@@ -0,0 +1,54 @@
+package de.tum.aet.devops25;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Opens the server span of incoming requests. A valid W3C {@code traceparent} header continues the
+ * caller's trace, otherwise a new trace is started. Either way the request is sampled with
+ * {@code gateway.tracing.sampling-probability}: callers are clients on the internet, and honouring
+ * their sampled flag would let any of them have every request recorded and exported. The decision
+ * travels downstream with the trace.
+ */
+public class Tracer {
+
+    // version-traceid-parentid-flags; unknown future versions are read the same way
+    private static final Pattern TRACEPARENT = Pattern.compile(
+            "(?!ff)[0-9a-f]{2}-(?!0{32})([0-9a-f]{32})-(?!0{16})([0-9a-f]{16})-[0-9a-f]{2}(-.*)?");
+
+    private final SpanExporter exporter;
+    private final double samplingProbability;
+
+    public Tracer(SpanExporter exporter, double samplingProbability) {
+        if (samplingProbability < 0 || samplingProbability > 1) {
+            throw new IllegalArgumentException("Sampling probability must be between 0 and 1: " + samplingProbability);
+        }
+        this.exporter = exporter;
+        this.samplingProbability = samplingProbability;
+    }
+
+    /**
+     * Opens a server span; close it when the request is done.
+     *
+     * @param traceparent the request's {@code traceparent} header, may be {@code null}
+     */
+    public Span startServerSpan(String name, String traceparent) {
+        boolean sampled = ThreadLocalRandom.current().nextDouble() < samplingProbability;
+        Matcher caller = traceparent != null ? TRACEPARENT.matcher(traceparent) : null;
+        if (caller != null && caller.matches()) {
+            return new Span(caller.group(1), newSpanId(), caller.group(2), name, Span.Kind.SERVER, sampled, exporter);
+        }
+        return new Span(newTraceId(), newSpanId(), null, name, Span.Kind.SERVER, sampled, exporter);
+    }
+
+    static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return HexFormat.of().toHexDigits(random.nextLong()) + HexFormat.of().toHexDigits(random.nextLong() | 1);
+    }
+
+    static String newSpanId() {
+        return HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextLong() | 1);
+    }
+}
@@ -0,0 +1,123 @@
+package de.tum.aet.devops25;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyRoutingFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Wires request tracing: the tracer and the exporter selected by {@code gateway.tracing.exporter}
+ * ({@code none}, {@code memory} for tests or {@code file} for OTLP JSON Lines), and client spans
+ * for both ways the gateway calls upstreams. Proxied route requests and {@code WebClient} calls made
+ * while handling a request get a client span and send its {@code traceparent}, so the services'
+ * spans continue the gateway's trace.
+ */
+@Configuration
+public class TracingConfig {
+
+    @Bean
+    public SpanExporter spanExporter(@Value("${gateway.tracing.exporter:none}") String exporter,
+            @Value("${gateway.tracing.file:${java.io.tmpdir}/gateway-traces/spans.jsonl}") Path file,
+            @Value("${gateway.tracing.flush-interval:1s}") Duration flushInterval,
+            @Value("${gateway.tracing.queue-capacity:10000}") int queueCapacity,
+            @Value("${spring.application.name}") String serviceName, MeterRegistry meterRegistry) {
+        return switch (exporter) {
+            case "none" -> SpanExporter.NONE;
+            case "memory" -> new InMemorySpanExporter();
+            case "file" -> new OtlpJsonFileSpanExporter(file, serviceName, flushInterval, queueCapacity,
+                    meterRegistry);
+            default -> throw new IllegalArgumentException("Unknown gateway.tracing.exporter: " + exporter);
+        };
+    }
+
+    @Bean
+    public Tracer tracer(SpanExporter spanExporter,
+            @Value("${gateway.tracing.sampling-probability:0.1}") double samplingProbability) {
+        return new Tracer(spanExporter, samplingProbability);
+    }
+
+    @Bean
+    public GlobalFilter upstreamSpanFilter() {
+        return new UpstreamSpanFilter();
+    }
+
+    @Bean
+    public WebClientCustomizer tracingWebClientCustomizer() {
+        return builder -> builder.filter(TracingConfig::traceExchange);
+    }
+
+    /**
+     * Runs right before the upstream call of proxied routes; forwarded routes never get here.
+     */
+    static class UpstreamSpanFilter implements GlobalFilter, Ordered {
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+            Span parent = exchange.getAttribute(TracingWebFilter.SPAN_ATTRIBUTE);
+            URI url = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR);
+            if (parent == null || url == null) {
+                return chain.filter(exchange);
+            }
+            String method = exchange.getRequest().getMethod().name();
+            Span span = parent.child(method + " " + url.getHost(), Span.Kind.CLIENT)
+                    .setAttribute("http.request.method", method)
+                    .setAttribute("server.address", url.getHost())
+                    .setAttribute("url.path", url.getPath());
+            ServerWebExchange traced = exchange.mutate()
+                    .request(request -> request.headers(headers -> headers.set(TracingWebFilter.TRACEPARENT,
+                            span.traceparent())))
+                    .build();
+            return chain.filter(traced)
+                    .doOnError(span::recordError)
+                    .doFinally(signal -> {
+                        if (traced.getResponse().getStatusCode() != null) {
+                            span.setAttribute("http.response.status_code",
+                                    traced.getResponse().getStatusCode().value());
+                        }
+                        span.close();
+                    });
+        }
+
+        @Override
+        public int getOrder() {
+            return NettyRoutingFilter.ORDER - 1;
+        }
+    }
+
+    static Mono<ClientResponse> traceExchange(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            Span parent = context.getOrDefault(Span.class, null);
+            if (parent == null) {
+                // Not part of a request, e.g. the background upstream health poll
+                return next.exchange(request);
+            }
+            Span span = parent.child(request.method().name() + " " + request.url().getHost(), Span.Kind.CLIENT)
+                    .setAttribute("http.request.method", request.method().name())
+                    .setAttribute("server.address", request.url().getHost())
+                    .setAttribute("url.path", request.url().getPath());
+            ClientRequest traced = ClientRequest.from(request)
+                    .headers(headers -> headers.set(TracingWebFilter.TRACEPARENT, span.traceparent()))
+                    .build();
+            return next.exchange(traced)
+                    .doOnNext(response -> span.setAttribute("http.response.status_code", response.statusCode().value()))
+                    .doOnError(span::recordError)
+                    .doFinally(signal -> span.close());
+        });
+    }
+}
@@ -0,0 +1,65 @@
+package de.tum.aet.devops25;
+
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Opens a server span around each request and makes it available to the code that handles it: as
+ * exchange attribute {@link #SPAN_ATTRIBUTE} for filters such as JWT verification, and in the
+ * Reactor context for the upstream calls of {@link TracingConfig}.
+ */
+@Component
+public class TracingWebFilter implements WebFilter, Ordered {
+
+    static final String TRACEPARENT = "traceparent";
+    static final String SPAN_ATTRIBUTE = Span.class.getName();
+
+    private final Tracer tracer;
+
+    public TracingWebFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public int getOrder() {
+        // Before the security chain, so JWT verification is part of the trace
+        return Ordered.HIGHEST_PRECEDENCE + 2;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String method = exchange.getRequest().getMethod().name();
+        Span span = tracer.startServerSpan(method, exchange.getRequest().getHeaders().getFirst(TRACEPARENT));
+        span.setAttribute("http.request.method", method)
+                .setAttribute("url.path", exchange.getRequest().getPath().value());
+        exchange.getAttributes().put(SPAN_ATTRIBUTE, span);
+        return chain.filter(exchange)
+                .doOnError(span::recordError)
+                .doFinally(signal -> end(exchange, span))
+                .contextWrite(context -> context.put(Span.class, span));
+    }
+
+    private static void end(ServerWebExchange exchange, Span span) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        if (route != null) {
+            span.updateName(span.getName() + " " + route.getId());
+            span.setAttribute("gateway.route", route.getId());
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        if (status != null) {
+            span.setAttribute("http.response.status_code", status.value());
+            if (status.is5xxServerError() && span.getError() == null) {
+                span.setError("HTTP " + status.value());
+            }
+        }
+        span.close();
+    }
+}
@@ -0,0 +1,232 @@
+package de.tum.aet.devops25;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.ReactiveHealthIndicator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import de.tum.aet.devops25.api.generated.model.UpstreamHealth;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Health of the services behind the gateway, polled in the background and served from memory.
+ * Every {@code gateway.upstream-health.interval} each upstream's health path (on the management
+ * port for user-svc and concept-svc) is requested in parallel with
+ * {@code gateway.upstream-health.timeout}; a 2xx answer counts as up. An upstream is
+ * reported down after {@code failure-threshold} failed polls in a row, so one slow answer does not
+ * flap readiness, and when its last poll is older than {@code max-age}. Feeds {@code /health} and
+ * the actuator readiness group: while a required upstream is down the gateway is not ready.
+ * Neither ever calls an upstream.
+ */
+@Component
+public class UpstreamHealthIndicator implements ReactiveHealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(UpstreamHealthIndicator.class);
+
+    public static final String UP = "UP";
+    public static final String DEGRADED = "DEGRADED";
+    public static final String DOWN = "DOWN";
+
+    record Upstream(String name, String healthUrl, boolean required) {
+    }
+
+    // Result of the polls so far; immutable, replaced after every poll
+    record State(boolean up, int consecutiveFailures, long latencyMs, Instant checkedAt, String error) {
+    }
+
+    private final List<Upstream> upstreams;
+    private final WebClient webClient;
+    private final Duration interval;
+    private final Duration timeout;
+    private final int failureThreshold;
+    private final Duration maxAge;
+    private final Map<String, State> states = new ConcurrentHashMap<>();
+    private Disposable polling;
+
+    @Autowired
+    public UpstreamHealthIndicator(WebClient.Builder webClientBuilder, MeterRegistry meterRegistry,
+            @Value("${user-svc.management-url:${user-svc.url}}") String userServiceManagementUrl,
+            @Value("${user-svc.health-path:/actuator/health/readiness}") String userServiceHealthPath,
+            @Value("${concept-svc.management-url:${concept-svc.url}}") String conceptServiceManagementUrl,
+            @Value("${concept-svc.health-path:/actuator/health/readiness}") String conceptServiceHealthPath,
+            @Value("${genai-svc.url}") String genaiServiceUrl,
+            @Value("${genai-svc.health-path:/health}") String genaiServiceHealthPath,
+            @Value("${gateway.upstream-health.required:user-svc,concept-svc}") Set<String> required,
+            @Value("${gateway.upstream-health.interval:10s}") Duration interval,
+            @Value("${gateway.upstream-health.timeout:2s}") Duration timeout,
+            @Value("${gateway.upstream-health.failure-threshold:3}") int failureThreshold,
+            @Value("${gateway.upstream-health.max-age:60s}") Duration maxAge) {
+        this(webClientBuilder, meterRegistry, List.of(
+                new Upstream("user-svc", userServiceManagementUrl + userServiceHealthPath, required.contains("user-svc")),
+                new Upstream("concept-svc", conceptServiceManagementUrl + conceptServiceHealthPath,
+                        required.contains("concept-svc")),
+                new Upstream("genai-svc", genaiServiceUrl + genaiServiceHealthPath, required.contains("genai-svc"))),
+                interval, timeout, failureThreshold, maxAge);
+    }
+
+    UpstreamHealthIndicator(WebClient.Builder webClientBuilder, MeterRegistry meterRegistry, List<Upstream> upstreams,
+            Duration interval, Duration timeout, int failureThreshold, Duration maxAge) {
+        this.upstreams = upstreams;
+        this.webClient = webClientBuilder.build();
+        this.interval = interval;
+        this.timeout = timeout;
+        this.failureThreshold = failureThreshold;
+        this.maxAge = maxAge;
+
+        for (Upstream upstream : upstreams) {
+            Gauge.builder("gateway.upstream.up", this, indicator -> indicator.isUp(upstream.name()) ? 1 : 0)
+                    .description("Whether the upstream answered its last health polls")
+                    .tag("upstream", upstream.name())
+                    .register(meterRegistry);
+            Gauge.builder("gateway.upstream.health.latency", this, indicator -> indicator.latencyMs(upstream.name()))
+                    .description("Response time of the last health poll")
+                    .tag("upstream", upstream.name())
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    @PostConstruct
+    void start() {
+        // A poll still running when the next tick fires is not overlapped; that tick is dropped
+        polling = Flux.interval(Duration.ZERO, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> poll(), 1)
+                .subscribe();
+    }
+
+    @PreDestroy
+    void stop() {
+        if (polling != null) {
+            polling.dispose();
+        }
+    }
+
+    /**
+     * Polls all upstreams once, in parallel, and records the results.
+     */
+    Mono<Void> poll() {
+        return Flux.fromIterable(upstreams).flatMap(this::poll).then();
+    }
+
+    private Mono<Void> poll(Upstream upstream) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return webClient.get()
+                    .uri(upstream.healthUrl())
+                    .retrieve()
+                    .toBodilessEntity()
+                    .timeout(timeout)
+                    .then(Mono.fromRunnable(() -> record(upstream, null, started)))
+                    .onErrorResume(e -> Mono.fromRunnable(() -> record(upstream, describe(e), started)));
+        }).then();
+    }
+
+    private void record(Upstream upstream, String error, long started) {
+        long latencyMs = Duration.ofNanos(System.nanoTime() - started).toMillis();
+        State previous = states.get(upstream.name());
+        boolean wasUp = previous != null && isUp(previous);
+        int failures = error == null ? 0 : (previous != null ? previous.consecutiveFailures() : 0) + 1;
+        // An upstream that was up stays up for failureThreshold - 1 failed polls; one never seen up is down
+        boolean up = error == null || (wasUp && failures < failureThreshold);
+        State state = new State(up, failures, latencyMs, Instant.now(), error);
+        states.put(upstream.name(), state);
+        if (wasUp != isUp(state)) {
+            log.info("Upstream {} is now {}{}", upstream.name(), isUp(state) ? UP : DOWN,
+                    error != null ? " (" + error + ")" : "");
+        }
+    }
+
+    private boolean isUp(State state) {
+        return state.up() && !state.checkedAt().plus(maxAge).isBefore(Instant.now());
+    }
+
+    private boolean isUp(String name) {
+        State state = states.get(name);
+        return state != null && isUp(state);
+    }
+
+    private long latencyMs(String name) {
+        State state = states.get(name);
+        return state != null ? state.latencyMs() : 0;
+    }
+
+    // /health is public: report what failed without internal host names or addresses
+    private String describe(Throwable e) {
+        if (e instanceof WebClientResponseException response) {
+            return "HTTP " + response.getStatusCode().value();
+        }
+        if (e instanceof TimeoutException) {
+            return "No answer within " + timeout;
+        }
+        return e.getClass().getSimpleName();
+    }
+
+    /**
+     * Status of each upstream as last polled, in configuration order.
+     */
+    public Map<String, UpstreamHealth> upstreams() {
+        Map<String, UpstreamHealth> result = new LinkedHashMap<>();
+        for (Upstream upstream : upstreams) {
+            UpstreamHealth health = new UpstreamHealth().required(upstream.required());
+            State state = states.get(upstream.name());
+            if (state == null) {
+                health.setStatus(UpstreamHealth.StatusEnum.UNKNOWN);
+            } else {
+                health.setStatus(isUp(state) ? UpstreamHealth.StatusEnum.UP : UpstreamHealth.StatusEnum.DOWN);
+                health.setLatencyMs(state.latencyMs());
+                health.setCheckedAt(OffsetDateTime.ofInstant(state.checkedAt(), ZoneOffset.UTC));
+                health.setConsecutiveFailures(state.consecutiveFailures());
+                health.setError(state.error());
+            }
+            result.put(upstream.name(), health);
+        }
+        return result;
+    }
+
+    /**
+     * {@link #UP} when all upstreams are up, {@link #DEGRADED} when only optional ones are down or
+     * not polled yet, {@link #DOWN} when a required one is.
+     */
+    public String status() {
+        String status = UP;
+        for (Upstream upstream : upstreams) {
+            if (!isUp(upstream.name())) {
+                if (upstream.required()) {
+                    return DOWN;
+                }
+                status = DEGRADED;
+            }
+        }
+        return status;
+    }
+
+    @Override
+    public Mono<Health> health() {
+        // Before the first poll completed a required upstream counts as down: not ready yet
+        Health.Builder builder = DOWN.equals(status()) ? Health.down() : Health.up();
+        return Mono.just(builder.withDetail("aggregate", status()).withDetails(upstreams()).build());
+    }
+}
@@ -0,0 +1,115 @@
+package de.tum.aet.devops25;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+class AllocationMetricsWebFilterTest {
+
+    private static final int ALLOCATION = 4 * 1024 * 1024;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AllocationProfiler profiler = new AllocationProfiler(meterRegistry, false);
+    private final AllocationMetricsWebFilter filter = new AllocationMetricsWebFilter(profiler);
+    private final MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/concepts/42").build());
+
+    // Keeps the allocations from being optimized away
+    private volatile byte[] retained;
+
+    @BeforeEach
+    void setUp() {
+        assumeTrue(profiler.isSupported(), "JVM does not account allocations per thread");
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("concept_service_route")
+                .uri("http://concept-svc:8082")
+                .predicate(e -> true)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        // The hooks are global
+        profiler.setEnabled(false);
+    }
+
+    @Test
+    void testAllocationsOnOtherThreadsAreAttributedToTheRequest() throws InterruptedException {
+        // Given: the request allocates only after hopping to a scheduler and again to another one
+        new AllocationProfilingEndpoint(profiler).configure(true);
+        WebFilterChain chain = exchange -> Mono.fromCallable(() -> retained = new byte[ALLOCATION])
+                .subscribeOn(Schedulers.boundedElastic())
+                .publishOn(Schedulers.parallel())
+                .map(bytes -> retained = new byte[ALLOCATION])
+                .then();
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        DistributionSummary allocated = awaitSummary();
+        assertEquals(1, allocated.count());
+        assertTrue(allocated.max() >= 2 * ALLOCATION, "allocated " + allocated.max());
+        assertEquals(6, allocated.takeSnapshot().histogramCounts().length);
+    }
+
+    @Test
+    void testNothingIsMeasuredWhileDisabled() {
+        // Given
+        WebFilterChain chain = exchange -> Mono.fromRunnable(() -> retained = new byte[ALLOCATION]);
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertNull(meterRegistry.find("http.server.requests.allocated").summary());
+    }
+
+    @Test
+    void testEndpointSwitchesProfilingAtRuntime() {
+        // Given
+        AllocationProfilingEndpoint endpoint = new AllocationProfilingEndpoint(profiler);
+
+        // When / Then
+        assertEquals(Map.of("enabled", false, "supported", true), endpoint.status());
+        assertEquals(true, endpoint.configure(true).get("enabled"));
+        assertTrue(profiler.isEnabled());
+        assertEquals(false, endpoint.configure(false).get("enabled"));
+        assertFalse(profiler.isEnabled());
+    }
+
+    // The request is recorded once it finished, right after the subscriber saw the completion
+    private DistributionSummary awaitSummary() throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            DistributionSummary summary = meterRegistry.find("http.server.requests.allocated")
+                    .tag("method", "GET").tag("route", "concept_service_route").summary();
+            if (summary != null) {
+                return summary;
+            }
+            Thread.sleep(20);
+        }
+        DistributionSummary summary = meterRegistry.find("http.server.requests.allocated").summary();
+        assertNotNull(summary, "no allocation recorded");
+        return summary;
+    }
+}
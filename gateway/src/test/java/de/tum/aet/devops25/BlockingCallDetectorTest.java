@@ -0,0 +1,76 @@
+package de.tum.aet.devops25;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+class BlockingCallDetectorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private BlockingCallDetector detector;
+
+    @AfterEach
+    void tearDown() {
+        detector.uninstall();
+    }
+
+    @Test
+    void testConsoleWriteOnNonBlockingThreadFailsInFailMode() {
+        // Given
+        install(BlockingCallDetector.Mode.FAIL);
+
+        // When / Then
+        StepVerifier.create(Mono.fromRunnable(() -> System.out.println("on the loop"))
+                .subscribeOn(Schedulers.parallel()))
+                .expectError(BlockingCallException.class)
+                .verify();
+        System.out.println("on a blocking thread");
+        assertEquals(1, calls("System.out"));
+    }
+
+    @Test
+    void testConsoleWriteIsOnlyCountedInRecordMode() {
+        // Given
+        install(BlockingCallDetector.Mode.RECORD);
+
+        // When
+        StepVerifier.create(Mono.fromRunnable(() -> System.err.println("on the loop"))
+                .subscribeOn(Schedulers.parallel()))
+                .verifyComplete();
+
+        // Then: println writes the text and the line separator
+        assertEquals(2, calls("System.err"));
+        assertEquals(0, calls("System.out"));
+    }
+
+    @Test
+    void testLoggingIsNotCounted() {
+        // Given
+        install(BlockingCallDetector.Mode.FAIL);
+
+        // When
+        StepVerifier.create(Mono.fromRunnable(() -> LoggerFactory.getLogger(BlockingCallDetectorTest.class)
+                .warn("logged on the loop"))
+                .subscribeOn(Schedulers.parallel()))
+                .verifyComplete();
+
+        // Then
+        assertEquals(0, calls("System.out"));
+    }
+
+    private void install(BlockingCallDetector.Mode mode) {
+        detector = new BlockingCallDetector(meterRegistry, mode);
+        detector.install();
+    }
+
+    private double calls(String call) {
+        return meterRegistry.get("gateway.eventloop.blocking.calls").tag("call", call).counter().count();
+    }
+}
@@ -0,0 +1,133 @@
+package de.tum.aet.devops25;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.factory.rewrite.ModifyRequestBodyGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import reactor.core.publisher.Mono;
+
+class ChatConceptContextGatewayFilterFactoryTest {
+
+    private static final String CONTEXT = "{\"title\":\"Tech Summit\",\"agenda\":[{\"title\":\"Keynote\"}]}";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<ClientRequest> conceptRequests = new ArrayList<>();
+    private final UUID conceptId = UUID.randomUUID();
+    private ServerWebExchange exchange;
+    private HttpStatus conceptStatus;
+
+    @BeforeEach
+    void setUp() {
+        exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/genai/chat")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer token")
+                .build());
+        conceptStatus = HttpStatus.OK;
+    }
+
+    @Test
+    void testConceptIdIsReplacedByContextSnapshot() throws Exception {
+        // Given
+        String body = "{\"message\":\"Ideas?\",\"conceptId\":\"" + conceptId + "\"}";
+
+        // When
+        String rewritten = filterFactory().injectContext(exchange, body).block();
+
+        // Then
+        JsonNode json = objectMapper.readTree(rewritten);
+        assertEquals("Ideas?", json.get("message").asText());
+        assertEquals("Tech Summit", json.get("concept").get("title").asText());
+        assertEquals(1, conceptRequests.size());
+        assertEquals("/api/concepts/" + conceptId + "/context", conceptRequests.get(0).url().getPath());
+        assertEquals("Bearer token", conceptRequests.get(0).headers().getFirst(HttpHeaders.AUTHORIZATION));
+    }
+
+    @Test
+    void testBodyWithConceptPassesThroughUnchanged() {
+        // Given
+        String body = "{\"message\":\"Ideas?\",\"conceptId\":\"" + conceptId + "\",\"concept\":{\"title\":\"Own\"}}";
+
+        // When
+        String rewritten = filterFactory().injectContext(exchange, body).block();
+
+        // Then
+        assertEquals(body, rewritten);
+        assertEquals(0, conceptRequests.size());
+    }
+
+    @Test
+    void testUnknownConceptFailsWithNotFound() {
+        // Given
+        conceptStatus = HttpStatus.NOT_FOUND;
+        String body = "{\"message\":\"Ideas?\",\"conceptId\":\"" + conceptId + "\"}";
+
+        // When
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+                () -> filterFactory().injectContext(exchange, body).block());
+
+        // Then
+        assertEquals(HttpStatus.NOT_FOUND, error.getStatusCode());
+    }
+
+    @Test
+    void testConceptServiceErrorFailsWithBadGateway() {
+        // Given
+        conceptStatus = HttpStatus.INTERNAL_SERVER_ERROR;
+        String body = "{\"message\":\"Ideas?\",\"conceptId\":\"" + conceptId + "\"}";
+
+        // When
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+                () -> filterFactory().injectContext(exchange, body).block());
+
+        // Then
+        assertEquals(HttpStatus.BAD_GATEWAY, error.getStatusCode());
+    }
+
+    @Test
+    void testInvalidConceptIdIsRejected() {
+        // Given
+        String body = "{\"message\":\"Ideas?\",\"conceptId\":\"not-a-uuid\"}";
+
+        // When
+        ResponseStatusException error = assertThrows(ResponseStatusException.class,
+                () -> filterFactory().injectContext(exchange, body).block());
+
+        // Then
+        assertEquals(HttpStatus.BAD_REQUEST, error.getStatusCode());
+        assertEquals(0, conceptRequests.size());
+    }
+
+    private ChatConceptContextGatewayFilterFactory filterFactory() {
+        WebClient.Builder webClient = WebClient.builder().exchangeFunction(request -> {
+            conceptRequests.add(request);
+            return Mono.just(ClientResponse.create(conceptStatus)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(conceptStatus.is2xxSuccessful() ? CONTEXT : "{}")
+                    .build());
+        });
+        return new ChatConceptContextGatewayFilterFactory(
+                new ModifyRequestBodyGatewayFilterFactory(ServerCodecConfigurer.create().getReaders()),
+                webClient, objectMapper, "http://concept-svc", Duration.ofSeconds(5));
+    }
+}
@@ -0,0 +1,86 @@
+package de.tum.aet.devops25;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.channel.nio.NioEventLoopGroup;
+
+class EventLoopMonitorTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private NioEventLoopGroup eventLoops;
+    private EventLoopMonitor monitor;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        eventLoops = new NioEventLoopGroup(1);
+        monitor = new EventLoopMonitor(meterRegistry, eventLoops, Duration.ofMillis(20), Duration.ofMillis(100));
+        // A first probe teaches the monitor the loop's thread
+        monitor.probe();
+        awaitProbes(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventLoops.shutdownGracefully(0, 0, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    void testProbesMeasureLoopLag() throws InterruptedException {
+        // When
+        monitor.probe();
+        awaitProbes(2);
+
+        // Then
+        Timer lag = meterRegistry.get("gateway.eventloop.lag").tag("eventloop", "0").timer();
+        assertTrue(lag.max(TimeUnit.SECONDS) < 1);
+        assertEquals(8, lag.takeSnapshot().histogramCounts().length);
+        assertEquals(0, meterRegistry.get("gateway.eventloop.pending.tasks").tag("eventloop", "0").gauge().value());
+    }
+
+    @Test
+    void testBlockedLoopIsCountedOncePerStall() throws InterruptedException {
+        // Given: a task blocks the loop, the next probe queues behind it
+        CountDownLatch release = new CountDownLatch(1);
+        eventLoops.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        monitor.probe();
+
+        // When
+        Thread.sleep(150);
+        monitor.probe();
+        monitor.probe();
+
+        // Then
+        assertEquals(1, meterRegistry.get("gateway.eventloop.pending.tasks").tag("eventloop", "0").gauge().value());
+        assertEquals(1, meterRegistry.get("gateway.eventloop.blocked").tag("eventloop", "0").counter().count());
+        release.countDown();
+        awaitProbes(2);
+        assertTrue(meterRegistry.get("gateway.eventloop.lag").tag("eventloop", "0").timer().max(TimeUnit.MILLISECONDS) >= 150);
+    }
+
+    private void awaitProbes(long count) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            if (meterRegistry.get("gateway.eventloop.lag").timer().count() >= count) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("probe did not run");
+    }
+}
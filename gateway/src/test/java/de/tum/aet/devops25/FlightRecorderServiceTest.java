@@ -0,0 +1,92 @@
+package de.tum.aet.devops25;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class FlightRecorderServiceTest {
+
+    @TempDir
+    Path directory;
+
+    private FlightRecorderService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new FlightRecorderService(directory, Duration.ofMinutes(1), 1, 5, true, Duration.ofMinutes(5),
+                DataSize.ofMegabytes(16));
+        service.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.stop();
+    }
+
+    @Test
+    void testConcurrencyLimitAndMaxDurationAreEnforced() {
+        // Given
+        FlightRecorderService.RecordingInfo recording = service.start(null, Duration.ofSeconds(30));
+
+        // When / Then: the continuous recording does not count against the limit
+        assertEquals("RUNNING", recording.state());
+        assertEquals("default", recording.profile());
+        FlightRecordingRejectedException busy = assertThrows(FlightRecordingRejectedException.class,
+                () -> service.start("profile", Duration.ofSeconds(30)));
+        assertTrue(busy.isLimitReached());
+        FlightRecordingRejectedException tooLong = assertThrows(FlightRecordingRejectedException.class,
+                () -> service.start(null, Duration.ofMinutes(2)));
+        assertFalse(tooLong.isLimitReached());
+    }
+
+    @Test
+    void testContinuousRecordingCanBeDumpedButNotDeleted() throws Exception {
+        // Given
+        long continuous = service.list().stream()
+                .filter(recording -> recording.name().equals(FlightRecorderService.CONTINUOUS))
+                .findFirst().orElseThrow().id();
+
+        // When
+        Path dump = service.file(continuous).orElseThrow();
+
+        // Then
+        assertTrue(Files.size(dump) > 0);
+        assertFalse(service.delete(continuous));
+    }
+
+    @Test
+    void testRecordingLeavesOutEnvironmentAndSystemProperties() throws Exception {
+        // Given
+        FlightRecorderService.RecordingInfo recording = service.start(null, Duration.ofMillis(500));
+        for (int i = 0; i < 100 && !isClosed(recording.id()); i++) {
+            Thread.sleep(50);
+        }
+
+        // When
+        List<RecordedEvent> events = RecordingFile.readAllEvents(service.file(recording.id()).orElseThrow());
+
+        // Then: these carry secrets such as the JWT key
+        assertFalse(events.isEmpty());
+        assertTrue(events.stream().map(event -> event.getEventType().getName())
+                .noneMatch(FlightRecorderService.SECRET_EVENTS::contains));
+    }
+
+    private boolean isClosed(long id) {
+        return service.list().stream().anyMatch(recording -> recording.id() == id && recording.state().equals("CLOSED"));
+    }
+}
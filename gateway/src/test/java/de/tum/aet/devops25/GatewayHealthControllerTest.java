@@ -1,18 +1,23 @@
 package de.tum.aet.devops25;
 
 import de.tum.aet.devops25.api.generated.model.GetGatewayHealth200Response;
+import de.tum.aet.devops25.api.generated.model.UpstreamHealth;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.ResponseEntity;
 import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
 import org.springframework.mock.web.server.MockServerWebExchange;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.mockito.Mockito.when;
 
 @SpringBootTest
 class GatewayHealthControllerTest {
@@ -20,6 +25,9 @@ class GatewayHealthControllerTest {
     @Autowired
     private GatewayHealthController gatewayHealthController;
 
+    @MockBean
+    private UpstreamHealthIndicator upstreamHealthIndicator;
+
     private ServerWebExchange exchange;
 
     @BeforeEach
@@ -36,6 +44,10 @@ class GatewayHealthControllerTest {
 
     @Test
     void testGetGatewayHealth() {
+        when(upstreamHealthIndicator.status()).thenReturn(UpstreamHealthIndicator.UP);
+        when(upstreamHealthIndicator.upstreams()).thenReturn(Map.of("user-svc",
+                new UpstreamHealth().status(UpstreamHealth.StatusEnum.UP).required(true).latencyMs(3L)));
+
         // Test the getGatewayHealth method of the GatewayHealthController
         Mono<ResponseEntity<GetGatewayHealth200Response>> responseMono = gatewayHealthController.getGatewayHealth(exchange);
         ResponseEntity<GetGatewayHealth200Response> response = responseMono.block();
@@ -49,5 +61,22 @@ class GatewayHealthControllerTest {
 
         // Verify that the timestamp is not null
         assertNotNull(response.getBody().getTimestamp());
+
+        // Verify that the upstream status is served from the indicator's cache
+        assertEquals(UpstreamHealth.StatusEnum.UP, response.getBody().getUpstreams().get("user-svc").getStatus());
+    }
+
+    @Test
+    void testGetGatewayHealthReportsRequiredUpstreamDown() {
+        when(upstreamHealthIndicator.status()).thenReturn(UpstreamHealthIndicator.DOWN);
+        when(upstreamHealthIndicator.upstreams()).thenReturn(Map.of("concept-svc",
+                new UpstreamHealth().status(UpstreamHealth.StatusEnum.DOWN).required(true).error("HTTP 503")));
+
+        ResponseEntity<GetGatewayHealth200Response> response = gatewayHealthController.getGatewayHealth(exchange).block();
+
+        assertNotNull(response);
+        assertEquals(200, response.getStatusCode().value());
+        assertEquals("DOWN", response.getBody().getStatus());
+        assertEquals("HTTP 503", response.getBody().getUpstreams().get("concept-svc").getError());
     }
 }
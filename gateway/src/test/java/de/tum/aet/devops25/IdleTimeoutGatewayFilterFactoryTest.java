@@ -0,0 +1,73 @@
+package de.tum.aet.devops25;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class IdleTimeoutGatewayFilterFactoryTest {
+
+    private final MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/concepts/events").build());
+
+    @Test
+    void testStreamWithRegularChunksIsForwarded() {
+        // Given
+        Flux<String> upstream = Flux.interval(Duration.ofMillis(20)).take(3).map(i -> ":\n\n");
+
+        // When / Then
+        StepVerifier.create(filter(Duration.ofMillis(500)).filter(exchange, streaming(upstream)))
+                .verifyComplete();
+        StepVerifier.create(exchange.getResponse().getBodyAsString())
+                .expectNext(":\n\n:\n\n:\n\n")
+                .verifyComplete();
+    }
+
+    @Test
+    void testSilentStreamIsAbortedAfterIdleTimeout() {
+        // Given: one event, then nothing
+        Flux<String> upstream = Flux.concat(Flux.just("event:concept-change\n\n"), Flux.never());
+
+        // When / Then
+        StepVerifier.create(filter(Duration.ofMillis(100)).filter(exchange, streaming(upstream)))
+                .expectError(TimeoutException.class)
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void testShortcutConfigBindsTimeout() {
+        // Given
+        IdleTimeoutGatewayFilterFactory factory = new IdleTimeoutGatewayFilterFactory();
+
+        // When / Then
+        assertEquals("timeout", factory.shortcutFieldOrder().get(0));
+        assertEquals(Duration.ofSeconds(90), factory.newConfig().getTimeout());
+    }
+
+    private static GatewayFilter filter(Duration timeout) {
+        IdleTimeoutGatewayFilterFactory.Config config = new IdleTimeoutGatewayFilterFactory.Config();
+        config.setTimeout(timeout);
+        return new IdleTimeoutGatewayFilterFactory().apply(config);
+    }
+
+    // Writes like NettyWriteResponseFilter does for text/event-stream: one flush per chunk
+    private static GatewayFilterChain streaming(Flux<String> chunks) {
+        return exchange -> exchange.getResponse().writeAndFlushWith(chunks.map(chunk -> Flux.just(buffer(chunk))));
+    }
+
+    private static DataBuffer buffer(String chunk) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(chunk.getBytes(StandardCharsets.UTF_8));
+    }
+}
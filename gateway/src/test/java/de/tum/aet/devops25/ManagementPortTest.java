@@ -0,0 +1,62 @@
+package de.tum.aet.devops25;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.TestSocketUtils;
+
+/**
+ * Recordings and allocation profiles are served on the management port only, which the ingress
+ * does not route to; the API port must not serve them, not even to an authenticated user.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class ManagementPortTest {
+
+    private static final int MANAGEMENT_PORT = TestSocketUtils.findAvailableTcpPort();
+
+    @DynamicPropertySource
+    static void managementPort(DynamicPropertyRegistry registry) {
+        registry.add("management.server.port", () -> MANAGEMENT_PORT);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Test
+    void testActuatorIsServedOnManagementPortOnly() {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(jwtUtil.generateAccessToken("test-user-id"));
+
+        // When
+        ResponseEntity<String> api = restTemplate.exchange("http://localhost:" + port + "/actuator/jfr",
+                HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        ResponseEntity<String> management = restTemplate.getForEntity(
+                "http://localhost:" + MANAGEMENT_PORT + "/actuator/jfr", String.class);
+        ResponseEntity<String> health = restTemplate.getForEntity(
+                "http://localhost:" + MANAGEMENT_PORT + "/actuator/health/liveness", String.class);
+
+        // Then
+        assertEquals(404, api.getStatusCode().value());
+        assertEquals(200, management.getStatusCode().value());
+        assertEquals(200, health.getStatusCode().value());
+    }
+}
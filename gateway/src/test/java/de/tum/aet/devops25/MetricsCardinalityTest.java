@@ -0,0 +1,89 @@
+package de.tum.aet.devops25;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class MetricsCardinalityTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final CardinalityLimitFilter limitFilter = new CardinalityLimitFilter(3);
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry.config()
+                .meterFilter(limitFilter)
+                .meterFilter(new SloMeterFilter(Set.of("gateway.route.phase"), "100ms,1s",
+                        "genai_chat_route=1s,10s,60s"));
+    }
+
+    @Test
+    void testUuidPathSegmentsAreNormalizedAndValuesCapped() {
+        // When
+        for (int i = 0; i < 5; i++) {
+            Counter.builder("gateway.requests").tag("path", "/api/concepts/" + UUID.randomUUID())
+                    .register(meterRegistry).increment();
+            Counter.builder("gateway.rejected").tag("path", "/api/items/" + i)
+                    .register(meterRegistry).increment();
+        }
+
+        // Then
+        assertEquals(5, meterRegistry.get("gateway.requests").tag("path", "/api/concepts/{id}").counter().count());
+        assertEquals(4, meterRegistry.get("gateway.rejected").counters().size());
+        assertEquals(2, meterRegistry.get("gateway.rejected").tag("path", CardinalityLimitFilter.OTHER).counter().count());
+        assertEquals(Set.of(new CardinalityLimitFilter.TagKey("gateway.rejected", "path")), limitFilter.capped());
+    }
+
+    @Test
+    void testRouteTimersGetSloBucketsOfTheirRoute() {
+        // When
+        Timer chat = Timer.builder("gateway.route.phase").tag("route", "genai_chat_route").tag("phase", "upstream")
+                .publishPercentileHistogram().register(meterRegistry);
+        Timer concepts = Timer.builder("gateway.route.phase").tag("route", "concept_service_route")
+                .tag("phase", "upstream").publishPercentileHistogram().register(meterRegistry);
+        chat.record(20, TimeUnit.SECONDS);
+
+        // Then
+        assertArrayEquals(new double[] { 1.0, 10.0, 60.0 }, buckets(chat));
+        assertArrayEquals(new double[] { 0.1, 1.0 }, buckets(concepts));
+        assertEquals(1, chat.takeSnapshot().histogramCounts()[2].count());
+    }
+
+    @Test
+    void testReportCountsSeriesPerMeter() {
+        // Given
+        Counter.builder("gateway.requests").tag("path", "/a").register(meterRegistry);
+        Counter.builder("gateway.requests").tag("path", "/b").register(meterRegistry);
+
+        // When
+        CardinalityEndpoint.Report report = new CardinalityEndpoint(meterRegistry, limitFilter).report();
+
+        // Then
+        CardinalityEndpoint.MeterSeries requests = report.meters().get(0);
+        assertEquals("gateway.requests", requests.name());
+        assertEquals(2, requests.series());
+        assertEquals(2, requests.tagValues().get("path"));
+        assertTrue(report.totalSeries() >= 2);
+    }
+
+    private static double[] buckets(Timer timer) {
+        CountAtBucket[] counts = timer.takeSnapshot().histogramCounts();
+        double[] buckets = new double[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            buckets[i] = counts[i].bucket(TimeUnit.SECONDS);
+        }
+        return buckets;
+    }
+}
@@ -0,0 +1,130 @@
+package de.tum.aet.devops25;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.WebFilterChain;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.test.StepVerifier;
+
+class RouteTimingFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RouteTimingConfig config = new RouteTimingConfig();
+    private final MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/concepts/42").header(HttpHeaders.ORIGIN, "http://localhost:3000").build());
+    private DisposableServer upstream;
+    private HttpClient httpClient;
+
+    @BeforeEach
+    void setUp() {
+        // An upstream that takes 100ms until its response headers
+        upstream = HttpServer.create()
+                .port(0)
+                .handle((request, response) -> Mono.delay(Duration.ofMillis(100))
+                        .then(response.sendString(Mono.just("{}")).then()))
+                .bindNow();
+        httpClient = config.routeTimingHttpClientCustomizer().customize(HttpClient.create());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("concept_service_route")
+                .uri("http://concept-svc:8082")
+                .predicate(e -> true)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        upstream.disposeNow();
+    }
+
+    @Test
+    void testPhasesOfProxiedRequestAreRecordedPerRoute() throws InterruptedException {
+        // Given
+        RouteTimingFilter filter = new RouteTimingFilter(meterRegistry, false);
+
+        // When
+        StepVerifier.create(filter.filter(exchange, proxy())).verifyComplete();
+
+        // Then
+        awaitRecorded();
+        assertEquals(1, phase("gateway").count());
+        assertEquals(1, phase("connect").count());
+        assertEquals(1, phase("transfer").count());
+        assertTrue(phase("upstream").totalTime(TimeUnit.MILLISECONDS) >= 100);
+        // SLO buckets instead of a percentile histogram, even without gateway.metrics.slo
+        assertEquals(12, phase("upstream").takeSnapshot().histogramCounts().length);
+        assertNull(exchange.getResponse().getHeaders().getFirst("Server-Timing"));
+    }
+
+    @Test
+    void testServerTimingHeaderListsPhasesUpToUpstream() {
+        // Given
+        RouteTimingFilter filter = new RouteTimingFilter(meterRegistry, true);
+
+        // When
+        StepVerifier.create(filter.filter(exchange, proxy())).verifyComplete();
+
+        // Then
+        String serverTiming = exchange.getResponse().getHeaders().getFirst("Server-Timing");
+        assertTrue(serverTiming.matches("gateway;dur=[\\d.]+, connect;dur=[\\d.]+, upstream;dur=[\\d.]+"), serverTiming);
+        assertEquals("http://localhost:3000", exchange.getResponse().getHeaders().getFirst("Timing-Allow-Origin"));
+    }
+
+    @Test
+    void testRequestsThatAreNotRoutedAreNotRecorded() {
+        // Given: the request is rejected before routing, e.g. unauthenticated
+        RouteTimingFilter filter = new RouteTimingFilter(meterRegistry, true);
+        WebFilterChain chain = exchange -> exchange.getResponse().setComplete();
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertNull(meterRegistry.find("gateway.route.phase").timer());
+        assertNull(exchange.getResponse().getHeaders().getFirst("Server-Timing"));
+    }
+
+    // Stands in for the routing filters: marks routing, calls the upstream, writes the response
+    private WebFilterChain proxy() {
+        return exchange -> config.routeTimingRoutingMark()
+                .filter(exchange, routed -> httpClient.get()
+                        .uri("http://localhost:" + upstream.port() + "/api/concepts/42")
+                        .responseContent()
+                        .aggregate()
+                        .asString()
+                        .then(routed.getResponse().setComplete()));
+    }
+
+    // The request is recorded once it finished, right after the subscriber saw the completion
+    private void awaitRecorded() throws InterruptedException {
+        for (int i = 0; i < 100 && meterRegistry.find("gateway.route.phase").tag("phase", "transfer").timer() == null; i++) {
+            Thread.sleep(20);
+        }
+    }
+
+    private Timer phase(String phase) {
+        return meterRegistry.get("gateway.route.phase")
+                .tag("route", "concept_service_route")
+                .tag("upstream", "concept-svc")
+                .tag("phase", phase)
+                .timer();
+    }
+}
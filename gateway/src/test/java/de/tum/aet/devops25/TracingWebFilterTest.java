@@ -0,0 +1,106 @@
+package de.tum.aet.devops25;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.WebFilterChain;
+
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class TracingWebFilterTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String CALLER_SPAN_ID = "00f067aa0ba902b7";
+
+    private final InMemorySpanExporter exporter = new InMemorySpanExporter();
+    private final TracingWebFilter filter = new TracingWebFilter(new Tracer(exporter, 1.0));
+    private final List<String> upstreamTraceparents = new ArrayList<>();
+    private final List<ClientRequest> webClientRequests = new ArrayList<>();
+    private final WebClient webClient = WebClient.builder()
+            .filter(TracingConfig::traceExchange)
+            .exchangeFunction(request -> {
+                webClientRequests.add(request);
+                return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+            })
+            .build();
+
+    @Test
+    void testRouteAndWebClientCallsContinueTheTrace() {
+        // Given: not sampled by the client, but by the gateway's sampler
+        MockServerWebExchange exchange = exchange("00-" + TRACE_ID + "-" + CALLER_SPAN_ID + "-00");
+
+        // When
+        StepVerifier.create(filter.filter(exchange, proxy())).verifyComplete();
+
+        // Then: server span below the caller, one client span per upstream call below it
+        List<Span> spans = exporter.getSpans();
+        assertEquals(3, spans.size());
+        assertTrue(spans.stream().allMatch(span -> span.getTraceId().equals(TRACE_ID)));
+        Span server = span("GET concept_service_route");
+        assertEquals(CALLER_SPAN_ID, server.getParentSpanId());
+        assertEquals(200, server.getAttributes().get("http.response.status_code"));
+        Span route = span("GET concept-svc");
+        Span chatContext = span("GET genai-svc");
+        assertEquals(server.getSpanId(), route.getParentSpanId());
+        assertEquals(server.getSpanId(), chatContext.getParentSpanId());
+        assertEquals(List.of(route.traceparent()), upstreamTraceparents);
+        assertEquals(chatContext.traceparent(), webClientRequests.get(0).headers().getFirst("traceparent"));
+    }
+
+    @Test
+    void testCallerCannotForceSamplingButTraceIsPropagated() {
+        // Given: sampled by the client, not by the gateway's sampler
+        TracingWebFilter unsampled = new TracingWebFilter(new Tracer(exporter, 0.0));
+        MockServerWebExchange exchange = exchange("00-" + TRACE_ID + "-" + CALLER_SPAN_ID + "-01");
+
+        // When
+        StepVerifier.create(unsampled.filter(exchange, proxy())).verifyComplete();
+
+        // Then
+        assertTrue(exporter.getSpans().isEmpty());
+        assertTrue(upstreamTraceparents.get(0).matches("00-" + TRACE_ID + "-[0-9a-f]{16}-00"),
+                upstreamTraceparents.get(0));
+        assertTrue(webClientRequests.get(0).headers().getFirst("traceparent").endsWith("-00"));
+    }
+
+    private MockServerWebExchange exchange(String traceparent) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/concepts/42").header("traceparent", traceparent).build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("concept_service_route")
+                .uri("http://concept-svc:8082")
+                .predicate(e -> true)
+                .build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_REQUEST_URL_ATTR,
+                URI.create("http://concept-svc:8082/api/concepts/42"));
+        return exchange;
+    }
+
+    // Stands in for the gateway's filters: a WebClient call, then the proxied upstream call
+    private WebFilterChain proxy() {
+        return exchange -> webClient.get().uri("http://genai-svc:8083/context").retrieve().toBodilessEntity()
+                .then(new TracingConfig.UpstreamSpanFilter().filter(exchange, routed -> {
+                    upstreamTraceparents.add(routed.getRequest().getHeaders().getFirst("traceparent"));
+                    routed.getResponse().setStatusCode(HttpStatus.OK);
+                    return routed.getResponse().setComplete();
+                }));
+    }
+
+    private Span span(String name) {
+        return exporter.getSpans().stream().filter(span -> span.getName().equals(name)).findFirst().orElseThrow();
+    }
+}
@@ -0,0 +1,124 @@
+package de.tum.aet.devops25;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import de.tum.aet.devops25.api.generated.model.UpstreamHealth;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class UpstreamHealthIndicatorTest {
+
+    // Answer per upstream host; a missing entry never answers
+    private final Map<String, HttpStatus> answers = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final UpstreamHealthIndicator indicator = new UpstreamHealthIndicator(
+            WebClient.builder().exchangeFunction(request -> {
+                requests.incrementAndGet();
+                HttpStatus status = answers.get(request.url().getHost());
+                return status == null ? Mono.never() : Mono.just(ClientResponse.create(status).build());
+            }),
+            meterRegistry,
+            List.of(new UpstreamHealthIndicator.Upstream("user-svc", "http://user-svc/actuator/health/readiness", true),
+                    new UpstreamHealthIndicator.Upstream("genai-svc", "http://genai-svc/health", false)),
+            Duration.ofSeconds(10), Duration.ofMillis(200), 2, Duration.ofMinutes(1));
+
+    @Test
+    void testAllUpstreamsUp() {
+        // Given
+        answers.put("user-svc", HttpStatus.OK);
+        answers.put("genai-svc", HttpStatus.OK);
+
+        // When
+        StepVerifier.create(indicator.poll()).verifyComplete();
+
+        // Then
+        assertEquals(UpstreamHealthIndicator.UP, indicator.status());
+        assertEquals(UpstreamHealth.StatusEnum.UP, indicator.upstreams().get("user-svc").getStatus());
+        assertNull(indicator.upstreams().get("user-svc").getError());
+        assertEquals(1.0, meterRegistry.get("gateway.upstream.up").tag("upstream", "genai-svc").gauge().value());
+    }
+
+    @Test
+    void testProbesAreServedFromMemory() {
+        // Given
+        answers.put("user-svc", HttpStatus.OK);
+        answers.put("genai-svc", HttpStatus.OK);
+        StepVerifier.create(indicator.poll()).verifyComplete();
+        int polled = requests.get();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            indicator.status();
+            indicator.upstreams();
+            indicator.health().block();
+        }
+
+        // Then
+        assertEquals(2, polled);
+        assertEquals(polled, requests.get());
+    }
+
+    @Test
+    void testOptionalUpstreamDownOnlyDegrades() {
+        // Given: genai-svc never answers
+        answers.put("user-svc", HttpStatus.OK);
+
+        // When
+        StepVerifier.create(indicator.poll()).verifyComplete();
+
+        // Then
+        assertEquals(UpstreamHealthIndicator.DEGRADED, indicator.status());
+        assertEquals(Status.UP, indicator.health().block().getStatus());
+        UpstreamHealth genai = indicator.upstreams().get("genai-svc");
+        assertEquals(UpstreamHealth.StatusEnum.DOWN, genai.getStatus());
+        assertEquals("No answer within PT0.2S", genai.getError());
+    }
+
+    @Test
+    void testRequiredUpstreamGoesDownAfterFailureThreshold() {
+        // Given
+        answers.put("user-svc", HttpStatus.OK);
+        answers.put("genai-svc", HttpStatus.OK);
+        StepVerifier.create(indicator.poll()).verifyComplete();
+        answers.put("user-svc", HttpStatus.SERVICE_UNAVAILABLE);
+
+        // When / Then: one failed poll is tolerated, the second takes the gateway out of readiness
+        StepVerifier.create(indicator.poll()).verifyComplete();
+        assertEquals(UpstreamHealthIndicator.UP, indicator.status());
+        assertEquals(1, indicator.upstreams().get("user-svc").getConsecutiveFailures());
+
+        StepVerifier.create(indicator.poll()).verifyComplete();
+        assertEquals(UpstreamHealthIndicator.DOWN, indicator.status());
+        assertEquals(Status.DOWN, indicator.health().block().getStatus());
+        assertEquals("HTTP 503", indicator.upstreams().get("user-svc").getError());
+
+        // And a single good answer brings it back
+        answers.put("user-svc", HttpStatus.OK);
+        StepVerifier.create(indicator.poll()).verifyComplete();
+        assertEquals(UpstreamHealthIndicator.UP, indicator.status());
+    }
+
+    @Test
+    void testNotReadyBeforeTheFirstPoll() {
+        // When / Then
+        assertEquals(UpstreamHealthIndicator.DOWN, indicator.status());
+        assertEquals(UpstreamHealth.StatusEnum.UNKNOWN, indicator.upstreams().get("user-svc").getStatus());
+        assertEquals(0, requests.get());
+    }
+}
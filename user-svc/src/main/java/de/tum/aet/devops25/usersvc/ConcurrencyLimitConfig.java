@@ -0,0 +1,43 @@
+package de.tum.aet.devops25.usersvc;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registers {@link ConcurrencyLimitFilter} in front of the security chain, so shed requests cost
+ * neither JWT verification nor a database connection.
+ */
+@Configuration
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimit adaptiveConcurrencyLimit(
+            @Value("${user.concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${user.concurrency-limit.min-limit:10}") int minLimit,
+            @Value("${user.concurrency-limit.max-limit:200}") int maxLimit) {
+        return new AdaptiveConcurrencyLimit(initialLimit, minLimit, maxLimit);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(AdaptiveConcurrencyLimit limit,
+            @Value("${user.concurrency-limit.enabled:true}") boolean enabled,
+            @Value("${user.concurrency-limit.priority-paths:/health,/api/users/login,/api/users/logout}")
+            List<String> priorityPaths,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new ConcurrencyLimitFilter(limit, priorityPaths, objectMapper, meterRegistry));
+        registration.setEnabled(enabled);
+        // Inside the tracing filter, so shed requests show up as 503 spans
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,108 @@
+package de.tum.aet.devops25.usersvc;
+
+import java.sql.Connection;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Database health for {@code /health} and the actuator readiness group, checked on a background
+ * schedule instead of per probe. Every {@code user.health.database.interval} one pooled
+ * connection is validated with {@link Connection#isValid(int)} (the driver's cheapest round trip,
+ * no table access) and the result is cached; probes only read the cache. A result older than
+ * {@code user.health.database.max-age} is reported as DOWN, so a hung check cannot keep the
+ * service ready. Replaces Spring Boot's {@code db} indicator, which queries on every call.
+ */
+@Component
+public class DatabaseHealthIndicator implements HealthIndicator {
+
+    private static final Logger log = LoggerFactory.getLogger(DatabaseHealthIndicator.class);
+
+    private final DataSource dataSource;
+    private final Duration interval;
+    private final Duration timeout;
+    private final Duration maxAge;
+    private final ScheduledExecutorService scheduler;
+
+    // Out of service until the first check completed, so readiness waits for the database
+    private volatile Health cached = Health.outOfService().withDetail("reason", "Not checked yet").build();
+    private volatile Instant checkedAt;
+
+    public DatabaseHealthIndicator(DataSource dataSource,
+            @Value("${user.health.database.interval:10s}") Duration interval,
+            @Value("${user.health.database.timeout:2s}") Duration timeout,
+            @Value("${user.health.database.max-age:60s}") Duration maxAge) {
+        this.dataSource = dataSource;
+        this.interval = interval;
+        this.timeout = timeout;
+        this.maxAge = maxAge;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("db-health-"));
+    }
+
+    @PostConstruct
+    void start() {
+        scheduler.scheduleWithFixedDelay(this::check, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public Health health() {
+        Instant last = checkedAt;
+        if (last != null && last.plus(maxAge).isBefore(Instant.now())) {
+            return Health.down()
+                    .withDetail("reason", "Last check is older than " + maxAge)
+                    .withDetail("checkedAt", last.toString())
+                    .build();
+        }
+        return cached;
+    }
+
+    /**
+     * Validates one connection and caches the result.
+     *
+     * @return the new cached status
+     */
+    Status check() {
+        long started = System.nanoTime();
+        Health.Builder result;
+        try (Connection connection = dataSource.getConnection()) {
+            // isValid takes whole seconds; 0 would mean no timeout
+            int seconds = (int) Math.max(1, timeout.toSeconds());
+            result = connection.isValid(seconds) ? Health.up()
+                    : Health.down().withDetail("reason", "Connection validation failed");
+        } catch (Exception e) {
+            result = Health.down(e);
+        }
+        Instant now = Instant.now();
+        Health health = result
+                .withDetail("checkedAt", now.toString())
+                .withDetail("durationMs", Duration.ofNanos(System.nanoTime() - started).toMillis())
+                .build();
+        if (!health.getStatus().equals(cached.getStatus())) {
+            log.info("Database health changed from {} to {}", cached.getStatus(), health.getStatus());
+        }
+        cached = health;
+        checkedAt = now;
+        return health.getStatus();
+    }
+}
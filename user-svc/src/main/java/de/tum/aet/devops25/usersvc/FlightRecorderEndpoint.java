@@ -0,0 +1,69 @@
+package de.tum.aet.devops25.usersvc;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/jfr}, backed by {@link FlightRecorderService}:
+ * <ul>
+ * <li>GET lists the recordings, the continuous one included</li>
+ * <li>POST {@code {"profile": "profile", "duration": "30s"}} starts a bounded recording</li>
+ * <li>GET {@code /actuator/jfr/{id}} downloads a recording as {@code .jfr}; running recordings
+ * are dumped as far as recorded</li>
+ * <li>DELETE {@code /actuator/jfr/{id}} stops a recording and deletes its file</li>
+ * </ul>
+ */
+@Component
+@Endpoint(id = "jfr")
+public class FlightRecorderEndpoint {
+
+    private final FlightRecorderService flightRecorderService;
+
+    public FlightRecorderEndpoint(FlightRecorderService flightRecorderService) {
+        this.flightRecorderService = flightRecorderService;
+    }
+
+    @ReadOperation
+    public List<FlightRecorderService.RecordingInfo> recordings() {
+        return flightRecorderService.list();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> start(@Nullable String profile, @Nullable Duration duration) {
+        try {
+            return new WebEndpointResponse<>(flightRecorderService.start(profile, duration),
+                    WebEndpointResponse.STATUS_OK);
+        } catch (FlightRecordingRejectedException e) {
+            return new WebEndpointResponse<>(
+                    Map.of("error", e.isLimitReached() ? "RECORDING_LIMIT_REACHED" : "INVALID_RECORDING",
+                            "message", e.getMessage()),
+                    e.isLimitReached() ? WebEndpointResponse.STATUS_TOO_MANY_REQUESTS
+                            : WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> recording(@Selector long id) {
+        return flightRecorderService.file(id)
+                .map(file -> new WebEndpointResponse<Resource>(new FileSystemResource(file)))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<Void> delete(@Selector long id) {
+        return new WebEndpointResponse<>(flightRecorderService.delete(id) ? WebEndpointResponse.STATUS_NO_CONTENT
+                : WebEndpointResponse.STATUS_NOT_FOUND);
+    }
+}
@@ -0,0 +1,30 @@
+package de.tum.aet.devops25.usersvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps ended spans in memory for tests ({@code user.tracing.exporter=memory}), at most
+ * {@value #MAX_SPANS}; later ones are dropped.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+
+    static final int MAX_SPANS = 10_000;
+
+    private final List<Span> spans = new ArrayList<>();
+
+    @Override
+    public synchronized void export(Span span) {
+        if (spans.size() < MAX_SPANS) {
+            spans.add(span);
+        }
+    }
+
+    public synchronized List<Span> getSpans() {
+        return List.copyOf(spans);
+    }
+
+    public synchronized void reset() {
+        spans.clear();
+    }
+}
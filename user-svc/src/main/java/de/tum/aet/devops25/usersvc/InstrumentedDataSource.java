@@ -0,0 +1,91 @@
+package de.tum.aet.devops25.usersvc;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+/**
+ * JDBC proxies that time statement executions for {@link SqlStatementRecorder}: the data source
+ * hands out wrapped connections, which hand out wrapped statements remembering their SQL. Sits
+ * on top of the connection pool, so everything that uses the {@link DataSource} bean (Hibernate,
+ * Spring Data, plain JDBC) is covered. Only executions are timed; fetching result rows is not.
+ */
+final class InstrumentedDataSource {
+
+    private static final Set<String> EXECUTE_METHODS = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private InstrumentedDataSource() {
+    }
+
+    static DataSource wrap(DataSource dataSource, SqlStatementRecorder recorder) {
+        return (DataSource) proxy(DataSource.class, dataSource, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Connection connection) {
+                return wrap(connection, recorder);
+            }
+            return result;
+        });
+    }
+
+    private static Connection wrap(Connection connection, SqlStatementRecorder recorder) {
+        return (Connection) proxy(Connection.class, connection, (target, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement) {
+                // prepareStatement/prepareCall name their SQL up front; createStatement passes it per execution
+                String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                return wrap(statement, method.getReturnType(), sql, recorder);
+            }
+            return result;
+        });
+    }
+
+    // type is what the connection method declares: Statement, PreparedStatement or CallableStatement
+    private static Object wrap(Statement statement, Class<?> type, String preparedSql, SqlStatementRecorder recorder) {
+        return proxy(type, statement, (target, method, args) -> {
+            if (!EXECUTE_METHODS.contains(method.getName())) {
+                return invoke(target, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            long started = System.nanoTime();
+            try {
+                return invoke(target, method, args);
+            } finally {
+                recorder.record(sql, System.nanoTime() - started);
+            }
+        });
+    }
+
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    private static Object proxy(Class<?> type, Object target, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class && method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            if (method.getDeclaringClass() == Object.class && method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            // Everything else, unwrap included, reaches the pooled object; pool metrics keep working
+            return handler.handle(target, method, args);
+        };
+        return Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(), new Class<?>[] {type},
+                invocationHandler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -33,12 +33,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         if (StringUtils.hasText(header) && header.startsWith("Bearer ")) {
             String token = header.substring(7);
             try {
-                SecretKey key = Keys.hmacShaKeyFor(JWT_SECRET.getBytes());
-                Claims claims = Jwts.parserBuilder()
-                        .setSigningKey(key)
-                        .build()
-                        .parseClaimsJws(token)
-                        .getBody();
+                Claims claims = verify(token);
 
                 // You can extract user info from claims if needed
                 String userId = claims.getSubject();
@@ -56,4 +51,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    private Claims verify(String token) {
+        try (Span span = Span.startChild("jwt.verify")) {
+            try {
+                SecretKey key = Keys.hmacShaKeyFor(JWT_SECRET.getBytes());
+                Claims claims = Jwts.parserBuilder()
+                        .setSigningKey(key)
+                        .build()
+                        .parseClaimsJws(token)
+                        .getBody();
+                span.setAttribute("jwt.valid", true);
+                return claims;
+            } catch (RuntimeException e) {
+                span.setAttribute("jwt.valid", false);
+                throw e;
+            }
+        }
+    }
 }
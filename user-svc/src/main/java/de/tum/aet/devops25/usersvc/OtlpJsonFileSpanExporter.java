@@ -0,0 +1,157 @@
+package de.tum.aet.devops25.usersvc;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Appends spans to a file in the OTLP JSON Lines format ({@code user.tracing.exporter=file}):
+ * one {@code ExportTraceServiceRequest} per line, as written by the OpenTelemetry Collector's file
+ * exporter, so the collector's {@code otlpjsonfile} receiver or a plain {@code jq} can read it.
+ * Spans are queued and written in batches by a background thread; when the queue is full, spans
+ * are dropped and counted in {@code user.tracing.spans.dropped}.
+ */
+public class OtlpJsonFileSpanExporter implements SpanExporter {
+
+    private static final Logger log = LoggerFactory.getLogger(OtlpJsonFileSpanExporter.class);
+
+    private static final int BATCH_SIZE = 512;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Path file;
+    private final String serviceName;
+    private final Duration flushInterval;
+    private final BlockingQueue<Span> queue;
+    private final Counter dropped;
+    private final ScheduledExecutorService writer;
+
+    public OtlpJsonFileSpanExporter(Path file, String serviceName, Duration flushInterval, int queueCapacity,
+            MeterRegistry meterRegistry) {
+        this.file = file;
+        this.serviceName = serviceName;
+        this.flushInterval = flushInterval;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.dropped = Counter.builder("user.tracing.spans.dropped")
+                .description("Spans dropped because the export queue was full")
+                .register(meterRegistry);
+        this.writer = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("user-tracing-"));
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        long millis = flushInterval.toMillis();
+        writer.scheduleWithFixedDelay(this::flushQuietly, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+        flushQuietly();
+    }
+
+    @Override
+    public void export(Span span) {
+        if (!queue.offer(span)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * Writes all queued spans, one line per batch.
+     */
+    synchronized void flush() throws IOException {
+        List<Span> batch = new ArrayList<>(BATCH_SIZE);
+        while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                out.write(objectMapper.writeValueAsString(toRequest(batch)));
+                out.write('\n');
+            }
+            batch.clear();
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (IOException | UncheckedIOException e) {
+            log.warn("Writing spans to {} failed: {}", file, e.getMessage());
+        }
+    }
+
+    private ObjectNode toRequest(List<Span> spans) {
+        ObjectNode request = objectMapper.createObjectNode();
+        ObjectNode resourceSpans = request.putArray("resourceSpans").addObject();
+        ArrayNode resourceAttributes = resourceSpans.putObject("resource").putArray("attributes");
+        addAttribute(resourceAttributes, "service.name", serviceName);
+        ObjectNode scopeSpans = resourceSpans.putArray("scopeSpans").addObject();
+        scopeSpans.putObject("scope").put("name", getClass().getPackageName());
+        ArrayNode out = scopeSpans.putArray("spans");
+        for (Span span : spans) {
+            ObjectNode json = out.addObject()
+                    .put("traceId", span.getTraceId())
+                    .put("spanId", span.getSpanId());
+            if (span.getParentSpanId() != null) {
+                json.put("parentSpanId", span.getParentSpanId());
+            }
+            json.put("name", span.getName())
+                    .put("kind", span.getKind().code)
+                    // 64-bit integers are strings in OTLP JSON
+                    .put("startTimeUnixNano", Long.toString(span.getStartEpochNanos()))
+                    .put("endTimeUnixNano", Long.toString(span.getEndEpochNanos()));
+            ArrayNode attributes = json.putArray("attributes");
+            for (Map.Entry<String, Object> attribute : span.getAttributes().entrySet()) {
+                addAttribute(attributes, attribute.getKey(), attribute.getValue());
+            }
+            if (span.getError() != null) {
+                // STATUS_CODE_ERROR
+                json.putObject("status").put("code", 2).put("message", span.getError());
+            }
+        }
+        return request;
+    }
+
+    private static void addAttribute(ArrayNode attributes, String key, Object value) {
+        ObjectNode attribute = attributes.addObject().put("key", key);
+        ObjectNode any = attribute.putObject("value");
+        if (value instanceof Boolean bool) {
+            any.put("boolValue", bool);
+        } else if (value instanceof Integer || value instanceof Long) {
+            any.put("intValue", value.toString());
+        } else if (value instanceof Number number) {
+            any.put("doubleValue", number.doubleValue());
+        } else {
+            any.put("stringValue", value.toString());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package de.tum.aet.devops25.usersvc;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of JDBC statements one request to the annotated handler method may execute.
+ * Checked by {@link SqlRequestMetricsFilter}: exceeding it is logged and counted, and fails the
+ * request when {@code user.sql.budget.enforce} is set (as in tests), so an N+1 regression
+ * breaks the build instead of production latency.
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface QueryBudget {
+
+    int value();
+}
@@ -1,6 +1,7 @@
 package de.tum.aet.devops25.usersvc;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -17,6 +18,12 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
+    @Value("${server.port:8080}")
+    private int serverPort;
+
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
         http
@@ -29,7 +36,10 @@ public class SecurityConfig {
                 .sessionManagement(session -> session
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS)) // Make it stateless
                 .authorizeHttpRequests(authz -> authz
-                .requestMatchers("/", "/api/users/register", "/api/users/login", "/health", "/actuator/prometheus").permitAll()
+                // Actuator port, reachable only from inside the cluster; the API port does not serve actuator endpoints
+                .requestMatchers(request -> managementPort > 0 && managementPort != serverPort
+                        && request.getLocalPort() == managementPort).permitAll()
+                .requestMatchers("/", "/api/users/register", "/api/users/login", "/health", "/actuator/health/**", "/actuator/prometheus").permitAll()
                 .anyRequest().authenticated()
                 )
                 // Use custom authentication entry point
@@ -0,0 +1,76 @@
+package de.tum.aet.devops25.usersvc;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.config.MeterFilter;
+
+/**
+ * Publishes the latency timers in {@code user.metrics.slo.meters} with a few SLO buckets instead
+ * of a full percentile histogram (about 70 buckets per series). The buckets come from
+ * {@code user.metrics.slo.endpoints} for the timer's {@code uri} (or {@code route}) tag, else from
+ * {@code user.metrics.slo.default}; Prometheus can still estimate percentiles from them with
+ * {@code histogram_quantile}.
+ */
+public class SloMeterFilter implements MeterFilter {
+
+    private final Set<String> meters;
+    private final double[] defaultBuckets;
+    private final Map<String, double[]> endpointBuckets;
+
+    /**
+     * @param defaultBuckets comma-separated durations, e.g. {@code 100ms,500ms,1s}
+     * @param endpointBuckets {@code <endpoint>=<durations>} entries separated by {@code ;}, may be empty
+     */
+    public SloMeterFilter(Set<String> meters, String defaultBuckets, String endpointBuckets) {
+        this.meters = Set.copyOf(meters);
+        this.defaultBuckets = parseBuckets(defaultBuckets);
+        this.endpointBuckets = new HashMap<>();
+        for (String entry : endpointBuckets.split(";")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.lastIndexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Expected <endpoint>=<durations>: " + entry);
+            }
+            this.endpointBuckets.put(entry.substring(0, separator).trim(), parseBuckets(entry.substring(separator + 1)));
+        }
+    }
+
+    @Override
+    public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+        if (id.getType() != Meter.Type.TIMER || !meters.contains(id.getName())) {
+            return config;
+        }
+        String endpoint = id.getTag("uri") != null ? id.getTag("uri") : id.getTag("route");
+        double[] buckets = endpoint != null ? endpointBuckets.getOrDefault(endpoint, defaultBuckets) : defaultBuckets;
+        return DistributionStatisticConfig.builder()
+                .percentilesHistogram(false)
+                .serviceLevelObjectives(buckets)
+                .build()
+                .merge(config);
+    }
+
+    // Timer buckets are in nanoseconds
+    private static double[] parseBuckets(String durations) {
+        double[] buckets = Arrays.stream(durations.split(","))
+                .map(String::trim)
+                .filter(duration -> !duration.isEmpty())
+                .map(DurationStyle::detectAndParse)
+                .mapToDouble(Duration::toNanos)
+                .sorted()
+                .toArray();
+        if (buckets.length == 0) {
+            throw new IllegalArgumentException("No SLO buckets in '" + durations + "'");
+        }
+        return buckets;
+    }
+}
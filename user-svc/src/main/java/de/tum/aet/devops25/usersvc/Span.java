@@ -0,0 +1,180 @@
+package de.tum.aet.devops25.usersvc;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One timed operation of a trace, identified like a W3C Trace Context span. {@link Tracer} opens
+ * the server span of each request as the thread's current span; code running inside the request
+ * opens child spans with {@link #startChild(String)} in a try-with-resources block. Outside a
+ * request, or when the request was not sampled, children are a shared no-op span, so instrumented
+ * code costs a thread-local lookup.
+ */
+public final class Span implements AutoCloseable {
+
+    enum Kind {
+        INTERNAL(1), SERVER(2), CLIENT(3);
+
+        /** The OTLP {@code SpanKind} number. */
+        final int code;
+
+        Kind(int code) {
+            this.code = code;
+        }
+    }
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private static final Span NOOP = new Span(null, null, null, "noop", Kind.INTERNAL, false, null, null);
+
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final Kind kind;
+    private final boolean sampled;
+    private final SpanExporter exporter;
+    private final Span previous;
+    private final long startEpochNanos;
+    private final long startNanos;
+    private final Map<String, Object> attributes = new LinkedHashMap<>();
+    private volatile String name;
+    private volatile String error;
+    private volatile long durationNanos = -1;
+
+    Span(String traceId, String spanId, String parentSpanId, String name, Kind kind, boolean sampled,
+            SpanExporter exporter, Span previous) {
+        this.traceId = traceId;
+        this.spanId = spanId;
+        this.parentSpanId = parentSpanId;
+        this.name = name;
+        this.kind = kind;
+        this.sampled = sampled;
+        this.exporter = exporter;
+        this.previous = previous;
+        Instant now = Instant.now();
+        this.startEpochNanos = TimeUnit.SECONDS.toNanos(now.getEpochSecond()) + now.getNano();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Opens a child of the thread's current span and makes it current until it is closed.
+     */
+    public static Span startChild(String name) {
+        Span parent = CURRENT.get();
+        if (parent == null || !parent.sampled) {
+            return NOOP;
+        }
+        Span span = new Span(parent.traceId, Tracer.newSpanId(), parent.spanId, name, Kind.INTERNAL, true,
+                parent.exporter, parent);
+        CURRENT.set(span);
+        return span;
+    }
+
+    static Span current() {
+        return CURRENT.get();
+    }
+
+    void makeCurrent() {
+        CURRENT.set(this);
+    }
+
+    public Span setAttribute(String key, Object value) {
+        if (sampled && value != null) {
+            synchronized (attributes) {
+                attributes.put(key, value);
+            }
+        }
+        return this;
+    }
+
+    public void recordError(Throwable error) {
+        if (sampled) {
+            this.error = error.getClass().getSimpleName() + (error.getMessage() != null ? ": " + error.getMessage() : "");
+        }
+    }
+
+    void setError(String message) {
+        this.error = message;
+    }
+
+    void updateName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Ends the span, exports it when sampled and makes the span it was opened in current again.
+     */
+    @Override
+    public void close() {
+        if (this == NOOP || durationNanos >= 0) {
+            return;
+        }
+        durationNanos = System.nanoTime() - startNanos;
+        if (CURRENT.get() == this) {
+            restore(previous);
+        }
+        if (sampled) {
+            exporter.export(this);
+        }
+    }
+
+    private static void restore(Span span) {
+        if (span == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(span);
+        }
+    }
+
+    /**
+     * The {@code traceparent} header value that makes a callee's spans children of this one.
+     */
+    public String traceparent() {
+        return "00-" + traceId + "-" + spanId + (sampled ? "-01" : "-00");
+    }
+
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    Kind getKind() {
+        return kind;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public Map<String, Object> getAttributes() {
+        synchronized (attributes) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(attributes));
+        }
+    }
+
+    long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    long getEndEpochNanos() {
+        return startEpochNanos + Math.max(durationNanos, 0);
+    }
+}
@@ -0,0 +1,54 @@
+package de.tum.aet.devops25.usersvc;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Wires the SQL statement instrumentation: the {@link DataSource} bean is wrapped by
+ * {@link InstrumentedDataSource} and every request passes through {@link SqlRequestMetricsFilter}.
+ * Replaces {@code spring.jpa.show-sql}: statements show up as metrics, and only slow ones in the log.
+ */
+@Configuration
+public class SqlInstrumentationConfig {
+
+    @Bean
+    public SqlStatementRecorder sqlStatementRecorder(MeterRegistry meterRegistry,
+            @Value("${user.sql.slow-threshold:200ms}") Duration slowThreshold,
+            @Value("${user.sql.slow-log.sample-rate:0.2}") double slowLogSampleRate) {
+        return new SqlStatementRecorder(meterRegistry, slowThreshold, slowLogSampleRate);
+    }
+
+    // Static and lazy: post-processors are created before regular beans such as the meter registry
+    @Bean
+    public static BeanPostProcessor instrumentedDataSourcePostProcessor(ObjectProvider<SqlStatementRecorder> recorder) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource
+                        ? InstrumentedDataSource.wrap(dataSource, recorder.getObject())
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<SqlRequestMetricsFilter> sqlRequestMetricsFilter(SqlStatementRecorder recorder,
+            MeterRegistry meterRegistry, @Value("${user.sql.budget.enforce:false}") boolean enforceBudgets) {
+        FilterRegistrationBean<SqlRequestMetricsFilter> registration = new FilterRegistrationBean<>(
+                new SqlRequestMetricsFilter(recorder, meterRegistry, enforceBudgets));
+        // Outside the security chain: statements of authentication count too
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
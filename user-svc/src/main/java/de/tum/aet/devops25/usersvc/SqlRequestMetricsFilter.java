@@ -0,0 +1,77 @@
+package de.tum.aet.devops25.usersvc;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Counts the JDBC statements and JDBC time of each request and publishes them by endpoint
+ * ({@code sql.request.statements}, {@code sql.request.time}, tagged with the route pattern like
+ * {@code http.server.requests}). Handlers annotated with {@link QueryBudget} are checked against
+ * their budget. Statements run on other threads, e.g. by streaming response bodies, are not
+ * attributed to the request.
+ */
+public class SqlRequestMetricsFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlRequestMetricsFilter.class);
+
+    private final SqlStatementRecorder recorder;
+    private final MeterRegistry meterRegistry;
+    private final boolean enforceBudgets;
+
+    public SqlRequestMetricsFilter(SqlStatementRecorder recorder, MeterRegistry meterRegistry, boolean enforceBudgets) {
+        this.recorder = recorder;
+        this.meterRegistry = meterRegistry;
+        this.enforceBudgets = enforceBudgets;
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        SqlStatementRecorder.RequestQueries queries =
+                recorder.begin(request.getMethod() + " " + request.getRequestURI());
+        String uri;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // Set by the handler mapping; absent when no handler matched (404) or before dispatch failed
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            recorder.end(queries, request.getMethod(), uri);
+        }
+
+        if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod handler) {
+            QueryBudget budget = handler.getMethodAnnotation(QueryBudget.class);
+            if (budget != null && queries.getStatements() > budget.value()) {
+                exceeded(request.getMethod(), uri, budget.value(), queries.getStatements());
+            }
+        }
+    }
+
+    private void exceeded(String method, String uri, int budget, int statements) {
+        Counter.builder("sql.request.budget.exceeded")
+                .description("Requests that executed more SQL statements than their handler's query budget")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .increment();
+        QueryBudgetExceededException exception = new QueryBudgetExceededException(method + " " + uri, budget,
+                statements);
+        if (enforceBudgets) {
+            throw exception;
+        }
+        log.warn(exception.getMessage());
+    }
+}
@@ -0,0 +1,59 @@
+package de.tum.aet.devops25.usersvc;
+
+import java.util.HexFormat;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Opens the server span of incoming requests. A valid W3C {@code traceparent} header continues the
+ * caller's trace and its sampling decision; otherwise a new trace is started and sampled with
+ * {@code user.tracing.sampling-probability}.
+ */
+public class Tracer {
+
+    // version-traceid-parentid-flags; unknown future versions are read the same way
+    private static final Pattern TRACEPARENT = Pattern.compile(
+            "(?!ff)[0-9a-f]{2}-(?!0{32})([0-9a-f]{32})-(?!0{16})([0-9a-f]{16})-([0-9a-f]{2})(-.*)?");
+
+    private final SpanExporter exporter;
+    private final double samplingProbability;
+
+    public Tracer(SpanExporter exporter, double samplingProbability) {
+        if (samplingProbability < 0 || samplingProbability > 1) {
+            throw new IllegalArgumentException("Sampling probability must be between 0 and 1: " + samplingProbability);
+        }
+        this.exporter = exporter;
+        this.samplingProbability = samplingProbability;
+    }
+
+    /**
+     * Opens a server span as the thread's current span; close it when the request is done.
+     *
+     * @param traceparent the request's {@code traceparent} header, may be {@code null}
+     */
+    public Span startServerSpan(String name, String traceparent) {
+        Matcher caller = traceparent != null ? TRACEPARENT.matcher(traceparent) : null;
+        Span span;
+        if (caller != null && caller.matches()) {
+            boolean sampled = (HexFormat.fromHexDigits(caller.group(3)) & 1) == 1;
+            span = new Span(caller.group(1), newSpanId(), caller.group(2), name, Span.Kind.SERVER, sampled,
+                    exporter, Span.current());
+        } else {
+            boolean sampled = ThreadLocalRandom.current().nextDouble() < samplingProbability;
+            span = new Span(newTraceId(), newSpanId(), null, name, Span.Kind.SERVER, sampled, exporter,
+                    Span.current());
+        }
+        span.makeCurrent();
+        return span;
+    }
+
+    static String newTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return HexFormat.of().toHexDigits(random.nextLong()) + HexFormat.of().toHexDigits(random.nextLong() | 1);
+    }
+
+    static String newSpanId() {
+        return HexFormat.of().toHexDigits(ThreadLocalRandom.current().nextLong() | 1);
+    }
+}
@@ -0,0 +1,135 @@
+package de.tum.aet.devops25.usersvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.jayway.jsonpath.JsonPath;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Runs the limit as configured for user-svc, with a fixed limit of one: logins and logouts use the
+ * priority headroom, so users can still sign in while the database is slow and regular requests
+ * are shed.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "user.concurrency-limit.enabled=true",
+        "user.concurrency-limit.initial-limit=1",
+        "user.concurrency-limit.min-limit=1",
+        "user.concurrency-limit.max-limit=1"
+})
+class ConcurrencyLimitFilterTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AdaptiveConcurrencyLimit limit;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private String email;
+    private int held;
+
+    @BeforeEach
+    void setUp() {
+        email = UUID.randomUUID() + "@example.com";
+        UserEntity user = new UserEntity();
+        user.setEmail(email);
+        user.setFirstName("Jane");
+        user.setLastName("Smith");
+        user.setActive(true);
+        user.setCreatedAt(OffsetDateTime.now());
+        user.setUpdatedAt(OffsetDateTime.now());
+        user.setPasswordHash(new BCryptPasswordEncoder().encode(PASSWORD));
+        userRepository.save(user);
+    }
+
+    @AfterEach
+    void tearDown() {
+        for (; held > 0; held--) {
+            limit.releaseWithoutSample();
+        }
+    }
+
+    @Test
+    void testLoginAndLogoutGetThroughWhileRegularRequestsAreShed() throws Exception {
+        // Given: the only regular slot is taken, e.g. by a request waiting for a connection
+        hold(false);
+        double shedBefore = rejected(false);
+
+        // When / Then
+        mockMvc.perform(get("/api/users/profile"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andExpect(jsonPath("$.error").value("SERVICE_UNAVAILABLE"));
+        String token = JsonPath.read(login().andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), "$.token");
+        mockMvc.perform(post("/api/users/logout").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+        assertThat(rejected(false) - shedBefore).isEqualTo(1);
+        assertThat(userRepository.findByEmail(email).orElseThrow().getLastLoginAt()).isNotNull();
+    }
+
+    @Test
+    void testLoginIsShedOnceThePriorityHeadroomIsUsedUp() throws Exception {
+        // Given: the regular slot and the headroom of a quarter, at least one, are taken
+        hold(false);
+        hold(true);
+        double shedBefore = rejected(true);
+
+        // When
+        login().andExpect(status().isServiceUnavailable());
+
+        // Then: rejected before the password check touched the database
+        assertThat(rejected(true) - shedBefore).isEqualTo(1);
+        assertThat(userRepository.findByEmail(email).orElseThrow().getLastLoginAt()).isNull();
+    }
+
+    private void hold(boolean priority) {
+        assertThat(limit.tryAcquire(priority)).isTrue();
+        held++;
+    }
+
+    private ResultActions login() throws Exception {
+        return mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"email": "%s", "password": "%s"}""".formatted(email, PASSWORD)));
+    }
+
+    private double rejected(boolean priority) {
+        return meterRegistry.get("user.concurrency.rejected").tag("priority", String.valueOf(priority))
+                .counter().count();
+    }
+}
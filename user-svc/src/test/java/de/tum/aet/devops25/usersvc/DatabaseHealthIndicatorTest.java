@@ -0,0 +1,98 @@
+package de.tum.aet.devops25.usersvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * The cached database check as user-svc's own {@code /health} endpoint reports it: the endpoint
+ * itself stays UP for the gateway, only its {@code database} entry follows the cached result.
+ */
+class DatabaseHealthIndicatorTest {
+
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection connection = mock(Connection.class);
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    @Test
+    void testHealthEndpointReportsDatabaseDownBeforeTheFirstCheck() {
+        // Given
+        UserController controller = controller(indicator(Duration.ofMinutes(1)));
+
+        // When / Then
+        assertThat(controller.getUserServiceHealth())
+                .containsEntry("status", "UP")
+                .containsEntry("database", "DOWN");
+        verifyNoInteractions(dataSource, userRepository);
+    }
+
+    @Test
+    void testHealthEndpointReadsTheCachedResultWithoutTouchingTheDatabase() throws Exception {
+        // Given
+        given(dataSource.getConnection()).willReturn(connection);
+        given(connection.isValid(anyInt())).willReturn(true);
+        DatabaseHealthIndicator indicator = indicator(Duration.ofMinutes(1));
+        UserController controller = controller(indicator);
+        indicator.check();
+
+        // When
+        for (int i = 0; i < 10; i++) {
+            assertThat(controller.getUserServiceHealth()).containsEntry("database", "UP");
+        }
+
+        // Then: one validation for the check, none for the requests; the connection went back to the pool
+        verify(connection).isValid(2);
+        verify(connection).close();
+        verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    void testRefusedConnectionIsReportedDownWithTheError() throws Exception {
+        // Given
+        given(dataSource.getConnection()).willThrow(new SQLException("Connection refused"));
+        DatabaseHealthIndicator indicator = indicator(Duration.ofMinutes(1));
+        UserController controller = controller(indicator);
+
+        // When
+        Status status = indicator.check();
+
+        // Then
+        assertThat(status).isEqualTo(Status.DOWN);
+        assertThat(indicator.health().getDetails()).containsKey("error");
+        assertThat(controller.getUserServiceHealth()).containsEntry("database", "DOWN");
+    }
+
+    @Test
+    void testStaleResultIsReportedDown() throws Exception {
+        // Given: the last successful check is older than the allowed age
+        given(dataSource.getConnection()).willReturn(connection);
+        given(connection.isValid(anyInt())).willReturn(true);
+        DatabaseHealthIndicator indicator = indicator(Duration.ofMillis(1));
+        UserController controller = controller(indicator);
+        indicator.check();
+        Thread.sleep(10);
+
+        // When / Then
+        assertThat(controller.getUserServiceHealth()).containsEntry("database", "DOWN");
+    }
+
+    private UserController controller(DatabaseHealthIndicator indicator) {
+        return new UserController(userRepository, indicator);
+    }
+
+    private DatabaseHealthIndicator indicator(Duration maxAge) {
+        return new DatabaseHealthIndicator(dataSource, Duration.ofSeconds(10), Duration.ofSeconds(2), maxAge);
+    }
+}
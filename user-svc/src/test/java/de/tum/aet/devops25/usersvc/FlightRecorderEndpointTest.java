@@ -0,0 +1,130 @@
+package de.tum.aet.devops25.usersvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.util.TestSocketUtils;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Flight recordings as operators take them from user-svc: on the management port only, never on
+ * the API port a signed-in user reaches, and without the environment and system properties that
+ * carry the JWT secret and database credentials.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+class FlightRecorderEndpointTest {
+
+    private static final int MANAGEMENT_PORT = TestSocketUtils.findAvailableTcpPort();
+    private static final String PASSWORD = "password123";
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void managementPort(DynamicPropertyRegistry registry) {
+        registry.add("management.server.port", () -> MANAGEMENT_PORT);
+        registry.add("management.endpoints.web.exposure.include", () -> "health,jfr");
+        registry.add("user.jfr.directory", () -> directory.resolve("jfr").toString());
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void testSignedInUserCannotReachRecordingsOnTheApiPort() {
+        // Given
+        HttpHeaders headers = new HttpHeaders();
+        headers.setBearerAuth(login());
+
+        // When
+        ResponseEntity<String> api = restTemplate.exchange("http://localhost:" + port + "/actuator/jfr",
+                HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        ResponseEntity<String> management = restTemplate.getForEntity(management("/actuator/jfr"), String.class);
+
+        // Then
+        assertThat(api.getStatusCode().value()).isEqualTo(404);
+        assertThat(management.getStatusCode().value()).isEqualTo(200);
+    }
+
+    @Test
+    void testRecordingFromTheManagementPortLeavesOutSecrets() throws Exception {
+        // Given
+        ResponseEntity<Map> started = restTemplate.postForEntity(management("/actuator/jfr"),
+                Map.of("duration", "1s"), Map.class);
+        assertThat(started.getStatusCode().value()).isEqualTo(200);
+        long id = ((Number) started.getBody().get("id")).longValue();
+
+        // When: STOPPED while JFR still writes the file, CLOSED once it is complete
+        for (int i = 0; i < 100 && !isClosed(id); i++) {
+            Thread.sleep(50);
+        }
+        byte[] recording = restTemplate.getForObject(management("/actuator/jfr/" + id), byte[].class);
+
+        // Then
+        assertThat(new String(Arrays.copyOf(recording, 4), StandardCharsets.ISO_8859_1)).isEqualTo("FLR\0");
+        Path file = Files.write(directory.resolve("downloaded.jfr"), recording);
+        assertThat(RecordingFile.readAllEvents(file)).isNotEmpty()
+                .extracting(event -> ((RecordedEvent) event).getEventType().getName())
+                .doesNotContainAnyElementsOf(FlightRecorderService.SECRET_EVENTS);
+        ResponseEntity<Void> deleted = restTemplate.exchange(management("/actuator/jfr/" + id), HttpMethod.DELETE,
+                null, Void.class);
+        assertThat(deleted.getStatusCode().value()).isEqualTo(204);
+    }
+
+    private boolean isClosed(long id) {
+        Map<?, ?>[] recordings = restTemplate.getForObject(management("/actuator/jfr"), Map[].class);
+        return Arrays.stream(recordings).anyMatch(recording -> ((Number) recording.get("id")).longValue() == id
+                && "CLOSED".equals(recording.get("state")));
+    }
+
+    private String login() {
+        String email = UUID.randomUUID() + "@example.com";
+        UserEntity user = new UserEntity();
+        user.setEmail(email);
+        user.setFirstName("Jane");
+        user.setLastName("Smith");
+        user.setActive(true);
+        user.setCreatedAt(OffsetDateTime.now());
+        user.setUpdatedAt(OffsetDateTime.now());
+        user.setPasswordHash(new BCryptPasswordEncoder().encode(PASSWORD));
+        userRepository.save(user);
+        ResponseEntity<Map> response = restTemplate.postForEntity("http://localhost:" + port + "/api/users/login",
+                Map.of("email", email, "password", PASSWORD), Map.class);
+        assertThat(response.getStatusCode().value()).isEqualTo(200);
+        return (String) response.getBody().get("token");
+    }
+
+    private static String management(String path) {
+        return "http://localhost:" + MANAGEMENT_PORT + path;
+    }
+}
@@ -0,0 +1,122 @@
+package de.tum.aet.devops25.usersvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+
+/**
+ * The series guards as wired into user-svc's registry: request timers get the configured SLO
+ * buckets, user ids in path tags collapse into one series, and the report covers the service's meters.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MetricsCardinalityTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CardinalityEndpoint cardinalityEndpoint;
+
+    @Test
+    void testLoginTimerGetsSloBucketsInsteadOfHistogram() throws Exception {
+        // When
+        login();
+
+        // Then
+        Timer requests = meterRegistry.get("http.server.requests")
+                .tag("method", "POST").tag("uri", "/api/users/login").timer();
+        assertThat(requests.count()).isPositive();
+        assertThat(buckets(requests)).containsExactly(0.05, 0.1, 0.25, 0.5, 1.0, 2.5, 5.0, 10.0);
+    }
+
+    @Test
+    void testUserIdsInPathTagsCollapseIntoOneSeries() {
+        // When: e.g. a client metric tagged with the raw request path
+        for (int i = 0; i < 150; i++) {
+            Counter.builder("user.profile.views").tag("path", "/api/users/" + UUID.randomUUID() + "/profile")
+                    .register(meterRegistry).increment();
+        }
+
+        // Then: well below user.metrics.max-tag-values, so nothing is folded into OTHER
+        assertThat(meterRegistry.get("user.profile.views").counters()).hasSize(1);
+        assertThat(meterRegistry.get("user.profile.views").tag("path", "/api/users/{id}/profile").counter().count())
+                .isEqualTo(150);
+    }
+
+    @Test
+    void testDistinctTagValuesBeyondTheLimitAreReportedAsOther() {
+        // When: e.g. a meter tagged with e-mail addresses
+        for (int i = 0; i < 105; i++) {
+            Counter.builder("user.login.attempts").tag("email", "user" + i + "@example.com")
+                    .register(meterRegistry).increment();
+        }
+
+        // Then
+        assertThat(meterRegistry.get("user.login.attempts").counters()).hasSize(101);
+        assertThat(meterRegistry.get("user.login.attempts").tag("email", CardinalityLimitFilter.OTHER)
+                .counter().count()).isEqualTo(5);
+        CardinalityEndpoint.Report report = cardinalityEndpoint.report();
+        assertThat(report.maxTagValues()).isEqualTo(100);
+        assertThat(report.meters()).filteredOn(meter -> meter.name().equals("user.login.attempts"))
+                .singleElement()
+                .satisfies(meter -> {
+                    assertThat(meter.tagValues()).containsEntry("email", 101);
+                    assertThat(meter.cappedTags()).containsExactly("email");
+                });
+    }
+
+    @Test
+    void testReportCoversRequestAndSqlMeters() throws Exception {
+        // Given
+        login();
+
+        // When
+        CardinalityEndpoint.Report report = cardinalityEndpoint.report();
+
+        // Then: count, sum and max per request timer, plus eight buckets and +Inf
+        assertThat(report.meters()).extracting(CardinalityEndpoint.MeterSeries::name)
+                .contains("http.server.requests", "sql.request.statements", "sql.request.time");
+        CardinalityEndpoint.MeterSeries requests = report.meters().stream()
+                .filter(meter -> meter.name().equals("http.server.requests")).findFirst().orElseThrow();
+        assertThat(requests.series()).isEqualTo(requests.meters() * (3 + 8 + 1L));
+    }
+
+    // Unknown e-mail: a 401 after one lookup, enough to publish the request meters
+    private void login() throws Exception {
+        mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"email": "%s@example.com", "password": "password123"}""".formatted(UUID.randomUUID())))
+                .andExpect(status().isUnauthorized());
+    }
+
+    private static double[] buckets(Timer timer) {
+        CountAtBucket[] counts = timer.takeSnapshot().histogramCounts();
+        double[] buckets = new double[counts.length];
+        for (int i = 0; i < counts.length; i++) {
+            buckets[i] = counts[i].bucket(TimeUnit.SECONDS);
+        }
+        return buckets;
+    }
+}
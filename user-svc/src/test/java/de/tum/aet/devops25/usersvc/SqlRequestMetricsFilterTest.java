@@ -0,0 +1,140 @@
+package de.tum.aet.devops25.usersvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SqlRequestMetricsFilterTest {
+
+    private static final String PASSWORD = "password123";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void testLoginLooksUpTheUserAndRecordsTheLoginTime() throws Exception {
+        // Given
+        String email = createUser();
+        double statementsBefore = loginStatements();
+        double updatesBefore = updates();
+
+        // When
+        login(email, PASSWORD).andExpect(status().isOk());
+
+        // Then: the lookup and the lastLoginAt update, within the login's @QueryBudget(4)
+        assertThat(loginStatements() - statementsBefore).isBetween(2.0, 4.0);
+        assertThat(updates() - updatesBefore).isEqualTo(1);
+        assertThat(meterRegistry.find("sql.request.budget.exceeded").tag("uri", "/api/users/login").counter())
+                .isNull();
+    }
+
+    @Test
+    void testUnknownEmailOnlyRunsTheLookup() throws Exception {
+        // Given
+        double statementsBefore = loginStatements();
+        double updatesBefore = updates();
+
+        // When
+        login(UUID.randomUUID() + "@example.com", PASSWORD).andExpect(status().isUnauthorized());
+
+        // Then
+        assertThat(loginStatements() - statementsBefore).isEqualTo(1);
+        assertThat(updates()).isEqualTo(updatesBefore);
+    }
+
+    @Test
+    void testLoginFailsOnceItExceedsItsQueryBudget() throws Exception {
+        // Given: the login handler as the dispatcher maps it, running one statement too many
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SqlStatementRecorder recorder = new SqlStatementRecorder(registry, Duration.ofMillis(100), 1.0);
+        SqlRequestMetricsFilter filter = new SqlRequestMetricsFilter(recorder, registry, true);
+        HandlerMethod handler = new HandlerMethod(new UserController(null, null),
+                UserController.class.getMethod("login", LoginRequest.class));
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void service(HttpServletRequest request, HttpServletResponse response) {
+                request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/api/users/login");
+                request.setAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, handler);
+                for (int i = 0; i < 5; i++) {
+                    recorder.record("select * from users where email = ?", 1_000);
+                }
+            }
+        });
+
+        // When / Then
+        assertThatThrownBy(() -> filter.doFilter(new MockHttpServletRequest("POST", "/api/users/login"),
+                new MockHttpServletResponse(), chain))
+                .isInstanceOf(QueryBudgetExceededException.class)
+                .hasMessage("POST /api/users/login executed 5 SQL statements, its query budget is 4");
+        assertThat(registry.get("sql.request.budget.exceeded").tag("uri", "/api/users/login").counter().count())
+                .isEqualTo(1);
+    }
+
+    private String createUser() {
+        UserEntity user = new UserEntity();
+        user.setEmail(UUID.randomUUID() + "@example.com");
+        user.setFirstName("Jane");
+        user.setLastName("Smith");
+        user.setActive(true);
+        user.setCreatedAt(OffsetDateTime.now());
+        user.setUpdatedAt(OffsetDateTime.now());
+        user.setPasswordHash(new BCryptPasswordEncoder().encode(PASSWORD));
+        return userRepository.save(user).getEmail();
+    }
+
+    private ResultActions login(String email, String password) throws Exception {
+        return mockMvc.perform(post("/api/users/login")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"email": "%s", "password": "%s"}""".formatted(email, password)));
+    }
+
+    // Absent until the first request to the endpoint was measured
+    private double loginStatements() {
+        DistributionSummary statements = meterRegistry.find("sql.request.statements")
+                .tag("method", "POST").tag("uri", "/api/users/login").summary();
+        return statements != null ? statements.totalAmount() : 0;
+    }
+
+    private double updates() {
+        Timer updates = meterRegistry.find("sql.statement.duration").tag("kind", "update").timer();
+        return updates != null ? updates.count() : 0;
+    }
+}
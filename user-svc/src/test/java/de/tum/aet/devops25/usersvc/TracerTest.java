@@ -0,0 +1,183 @@
+package de.tum.aet.devops25.usersvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jayway.jsonpath.JsonPath;
+
+/**
+ * Runs logins and logouts through the tracer with the OTLP JSON Lines exporter as configured by
+ * {@code user.tracing.exporter=file}, and reads the spans back the way the collector would.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TracerTest {
+
+    private static final String GATEWAY_SPAN_ID = "00f067aa0ba902b7";
+    private static final String PASSWORD = "password123";
+
+    @TempDir
+    static Path directory;
+
+    @DynamicPropertySource
+    static void fileExporter(DynamicPropertyRegistry registry) {
+        registry.add("user.tracing.exporter", () -> "file");
+        registry.add("user.tracing.file", () -> directory.resolve("traces/spans.jsonl").toString());
+        // Flushed by the tests instead
+        registry.add("user.tracing.flush-interval", () -> "1h");
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SpanExporter exporter;
+
+    @Value("${spring.application.name}")
+    private String serviceName;
+
+    private String email;
+    private String traceId;
+
+    @BeforeEach
+    void setUp() {
+        email = UUID.randomUUID() + "@example.com";
+        UserEntity user = new UserEntity();
+        user.setEmail(email);
+        user.setFirstName("Jane");
+        user.setLastName("Smith");
+        user.setActive(true);
+        user.setCreatedAt(OffsetDateTime.now());
+        user.setUpdatedAt(OffsetDateTime.now());
+        user.setPasswordHash(new BCryptPasswordEncoder().encode(PASSWORD));
+        userRepository.save(user);
+        byte[] id = new byte[16];
+        ThreadLocalRandom.current().nextBytes(id);
+        traceId = HexFormat.of().formatHex(id);
+    }
+
+    @Test
+    void testLoginAndLogoutAreWrittenAsOtlpJsonLines() throws Exception {
+        // When
+        String token = JsonPath.read(login(PASSWORD, "01").andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), "$.token");
+        mockMvc.perform(post("/api/users/logout")
+                .header("traceparent", traceparent("01"))
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                .andExpect(status().isOk());
+
+        // Then: both requests continue the gateway's trace, the user lookup below the login
+        List<JsonNode> spans = spans();
+        JsonNode login = span(spans, "POST /api/users/login");
+        JsonNode logout = span(spans, "POST /api/users/logout");
+        assertThat(login.get("parentSpanId").asText()).isEqualTo(GATEWAY_SPAN_ID);
+        assertThat(logout.get("parentSpanId").asText()).isEqualTo(GATEWAY_SPAN_ID);
+        assertThat(login.get("kind").asInt()).isEqualTo(2);
+        assertThat(span(spans, "UserRepository.findByEmail").get("parentSpanId").asText())
+                .isEqualTo(login.get("spanId").asText());
+        assertThat(attribute(spans.stream()
+                .filter(span -> span.get("name").asText().equals("jwt.verify"))
+                .filter(span -> span.get("parentSpanId").asText().equals(logout.get("spanId").asText()))
+                .findFirst().orElseThrow(), "jwt.valid").asBoolean()).isTrue();
+        assertThat(Long.parseLong(login.get("endTimeUnixNano").asText()))
+                .isGreaterThanOrEqualTo(Long.parseLong(login.get("startTimeUnixNano").asText()));
+    }
+
+    @Test
+    void testWrongPasswordIsNotASpanError() throws Exception {
+        // When
+        login("wrong-password", "01").andExpect(status().isUnauthorized());
+
+        // Then: a client error, not a failure of user-svc
+        JsonNode login = span(spans(), "POST /api/users/login");
+        assertThat(attribute(login, "http.response.status_code").asText()).isEqualTo("401");
+        assertThat(login.has("status")).isFalse();
+    }
+
+    @Test
+    void testUnsampledLoginWritesNothing() throws Exception {
+        // When
+        login(PASSWORD, "00").andExpect(status().isOk());
+
+        // Then
+        assertThat(spans()).isEmpty();
+    }
+
+    private ResultActions login(String password, String flags) throws Exception {
+        return mockMvc.perform(post("/api/users/login")
+                .header("traceparent", traceparent(flags))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"email": "%s", "password": "%s"}""".formatted(email, password)));
+    }
+
+    private String traceparent(String flags) {
+        return "00-" + traceId + "-" + GATEWAY_SPAN_ID + "-" + flags;
+    }
+
+    // The spans of this test's trace, across all lines written so far
+    private List<JsonNode> spans() throws Exception {
+        ((OtlpJsonFileSpanExporter) exporter).flush();
+        Path file = directory.resolve("traces/spans.jsonl");
+        List<JsonNode> spans = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return spans;
+        }
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (String line : Files.readAllLines(file)) {
+            JsonNode request = objectMapper.readTree(line).get("resourceSpans").get(0);
+            assertThat(request.at("/resource/attributes/0/value/stringValue").asText()).isEqualTo(serviceName);
+            for (JsonNode span : request.at("/scopeSpans/0/spans")) {
+                if (span.get("traceId").asText().equals(traceId)) {
+                    spans.add(span);
+                }
+            }
+        }
+        return spans;
+    }
+
+    private static JsonNode span(List<JsonNode> spans, String name) {
+        return spans.stream().filter(span -> span.get("name").asText().equals(name)).findFirst().orElseThrow();
+    }
+
+    private static JsonNode attribute(JsonNode span, String key) {
+        for (JsonNode attribute : span.get("attributes")) {
+            if (attribute.get("key").asText().equals(key)) {
+                return attribute.get("value").elements().next();
+            }
+        }
+        throw new AssertionError("No attribute " + key + " on " + span.get("name").asText());
+    }
+}
@@ -3,6 +3,7 @@ package de.tum.aet.devops25.usersvc;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -20,6 +21,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
@@ -43,6 +45,9 @@ class UserControllerTest {
     @MockBean
     private UserRepository userRepository;
 
+    @MockBean
+    private DatabaseHealthIndicator databaseHealthIndicator;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -133,7 +138,7 @@ class UserControllerTest {
     @Test
     @DisplayName("Should return health status")
     void testGetUserServiceHealth() throws Exception {
-        when(userRepository.count()).thenReturn(5L);
+        when(databaseHealthIndicator.health()).thenReturn(Health.up().build());
 
         mockMvc.perform(get("/health"))
                 .andExpect(status().isOk())
@@ -141,21 +146,19 @@ class UserControllerTest {
                 .andExpect(jsonPath("$.service").value("user-service"))
                 .andExpect(jsonPath("$.database").value("UP"));
 
-        verify(userRepository).count();
+        verify(userRepository, never()).count();
     }
 
     @Test
     @DisplayName("Should return health status with database down")
     void testGetUserServiceHealth_DatabaseDown() throws Exception {
-        when(userRepository.count()).thenThrow(new RuntimeException("Database connection failed"));
+        when(databaseHealthIndicator.health()).thenReturn(Health.down().build());
 
         mockMvc.perform(get("/health"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.status").value("UP"))
                 .andExpect(jsonPath("$.service").value("user-service"))
                 .andExpect(jsonPath("$.database").value("DOWN"));
-
-        verify(userRepository).count();
     }
 
     @Test